@@ -1,5 +1,6 @@
 package com.boundesu.words;
 
+import com.boundesu.words.common.cache.ConversionCache;
 import com.boundesu.words.common.exception.BoundesuWordsException;
 import com.boundesu.words.common.model.Document;
 import com.boundesu.words.core.BoundesuWords;
@@ -30,15 +31,26 @@ public class BoundesuWordsAll {
     private final BoundesuWordsService service;
     private final HtmlToDocxConverter htmlConverter;
     private final XmlToDocxConverter xmlConverter;
+    private final boolean cacheEnabled;
 
     /**
      * 构造函数
      */
     public BoundesuWordsAll() {
+        this(null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param cache 转换结果缓存，为 null 时不使用缓存；相同输入的重复转换直接返回缓存结果
+     */
+    public BoundesuWordsAll(ConversionCache cache) {
         this.coreService = new BoundesuWords();
-        this.service = new BoundesuWordsService();
+        this.service = new BoundesuWordsService(cache);
         this.htmlConverter = new HtmlToDocxConverter();
         this.xmlConverter = new XmlToDocxConverter();
+        this.cacheEnabled = cache != null;
         log.info("Boundesu Words All SDK 初始化完成");
     }
 
@@ -70,6 +82,9 @@ public class BoundesuWordsAll {
      * @throws BoundesuWordsException 转换异常
      */
     public Document htmlToDocx(String htmlContent) throws BoundesuWordsException {
+        if (cacheEnabled) {
+            return service.convertHtmlToDocx(htmlContent);
+        }
         return htmlConverter.convertHtmlToDocx(htmlContent);
     }
 
@@ -81,6 +96,9 @@ public class BoundesuWordsAll {
      * @throws BoundesuWordsException 转换异常
      */
     public Document htmlToDocx(File htmlFile) throws BoundesuWordsException {
+        if (cacheEnabled) {
+            return service.convertHtmlFileToDocx(htmlFile);
+        }
         try (FileInputStream fis = new FileInputStream(htmlFile)) {
             return htmlConverter.convertHtmlToDocx(fis);
         } catch (IOException e) {
@@ -96,6 +114,9 @@ public class BoundesuWordsAll {
      * @throws BoundesuWordsException 转换异常
      */
     public Document xmlToDocx(String xmlContent) throws BoundesuWordsException {
+        if (cacheEnabled) {
+            return service.convertXmlToDocx(xmlContent);
+        }
         return xmlConverter.convertXmlToDocx(xmlContent);
     }
 
@@ -107,6 +128,9 @@ public class BoundesuWordsAll {
      * @throws BoundesuWordsException 转换异常
      */
     public Document xmlToDocx(File xmlFile) throws BoundesuWordsException {
+        if (cacheEnabled) {
+            return service.convertXmlFileToDocx(xmlFile);
+        }
         try (java.io.FileInputStream fis = new java.io.FileInputStream(xmlFile)) {
             return xmlConverter.convertXmlToDocx(fis);
         } catch (java.io.IOException e) {
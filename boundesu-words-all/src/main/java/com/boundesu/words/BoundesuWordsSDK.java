@@ -1,21 +1,35 @@
 package com.boundesu.words;
 
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.BlockDocument;
+import com.boundesu.words.common.block.BlockDocxWriter;
 import com.boundesu.words.common.creator.DocumentCreator;
 import com.boundesu.words.common.exception.BoundesuWordsException;
 import com.boundesu.words.common.util.DocumentValidator;
 import com.boundesu.words.common.util.PerformanceMonitor;
 import com.boundesu.words.core.advanced.AdvancedDocumentGenerator;
+import com.boundesu.words.core.config.HtmlLoadConfig;
+import com.boundesu.words.core.config.XmlLoadConfig;
 import com.boundesu.words.core.creator.DocumentCreatorFactory;
+import com.boundesu.words.core.resource.ResourceCache;
+import com.boundesu.words.core.resource.ResourceLoader;
 import com.boundesu.words.html.converter.HtmlToDocxConverter;
-import com.boundesu.words.html.parser.HtmlContentParser;
+import com.boundesu.words.html.parser.HtmlBlockParser;
+import com.boundesu.words.html.util.HtmlUtils;
+import com.boundesu.words.html.util.ParsedHtml;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
 import com.boundesu.words.xml.parser.XmlContentParser;
+import org.jsoup.nodes.Element;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Boundesu Words SDK 主入口类
@@ -113,19 +127,53 @@ public class BoundesuWordsSDK {
      * @throws IOException 文件操作异常
      */
     public static void createDocumentFromHtml(String htmlContent, Path filePath) throws IOException {
-        DocumentCreator creator = createDocumentCreator("html");
+        createDocumentFromHtml(HtmlUtils.parse(htmlContent), filePath);
+    }
 
-        // 解析HTML并生成文档结构
-        List<HtmlContentParser.DocumentStructure> structures = HtmlContentParser.parseHtmlContent(htmlContent);
+    /**
+     * 从已解析的HTML创建文档
+     * 预处理阶段已经用 {@link HtmlUtils#parse(String)} 解析过的HTML直接转换，不再重新解析
+     *
+     * @param html     已解析的HTML
+     * @param filePath 输出文件路径
+     * @throws IOException 文件操作异常
+     */
+    public static void createDocumentFromHtml(ParsedHtml html, Path filePath) throws IOException {
+        createDocumentFromHtml(html, filePath, HtmlLoadConfig.createDefault());
+    }
 
-        if (!structures.isEmpty() && structures.get(0).getTitle() != null && !structures.get(0).getTitle().isEmpty()) {
-            creator.setTitle(structures.get(0).getTitle());
+    /**
+     * 从已解析的HTML创建文档（使用加载配置）
+     * 图片按配置的图片目录、基础地址和外部资源选项，通过 {@link ResourceLoader} 在写入正文前并发预取
+     *
+     * @param html     已解析的HTML
+     * @param filePath 输出文件路径
+     * @param config   HTML加载配置
+     * @throws IOException 文件操作异常
+     */
+    public static void createDocumentFromHtml(ParsedHtml html, Path filePath, HtmlLoadConfig config) throws IOException {
+        // 直接生成块序列并输出，不再经过创建器拼接HTML后重新解析
+        BlockDocument.Builder document = BlockDocument.builder()
+                .addAll(HtmlBlockParser.parse(html));
+
+        Element firstHeading = html.getDocument().selectFirst("h1, h2, h3, h4, h5, h6");
+        if (firstHeading != null && !firstHeading.text().isEmpty()) {
+            document.setTitle(firstHeading.text());
         }
 
-        for (HtmlContentParser.DocumentStructure structure : structures) {
-            addStructureToCreator(creator, structure);
+        if (config == null) {
+            config = HtmlLoadConfig.createDefault();
+        }
+        Function<String, byte[]> images = source -> null;
+        if (config.isConvertImages() && config.isEmbedImages()) {
+            ResourceLoader loader = new ResourceLoader(config.getBaseUrl(), config.getImageFolder(), 0, null,
+                    config.isLoadExternalResources(), ResourceCache.getDefault());
+            loader.prefetchImages(html.getDocument());
+            images = loader::get;
+        }
+        try (OutputStream out = Files.newOutputStream(filePath)) {
+            BlockDocxWriter.write(document.build(), out, images);
         }
-        creator.createDocument(filePath);
     }
 
     /**
@@ -178,22 +226,64 @@ public class BoundesuWordsSDK {
      * @throws IOException 文件操作异常
      */
     public static void createDocumentFromXml(String xmlContent, Path filePath) throws IOException {
-        DocumentCreator creator = createDocumentCreator("xml");
+        createDocumentFromXml(xmlContent, filePath, XmlLoadConfig.createDefault());
+    }
 
-        // 解析XML并生成文档结构
-        List<XmlContentParser.XmlDocumentStructure> structures = XmlContentParser.parseXmlContent(xmlContent);
+    /**
+     * 从XML创建文档（使用加载配置）
+     * 启用 {@link XmlLoadConfig#isEnableCaching() 缓存} 时，相同XML的重复转换直接复用已解析的结构，不再解析
+     *
+     * @param xmlContent XML内容
+     * @param filePath   输出文件路径
+     * @param config     XML加载配置
+     * @throws IOException 文件操作异常
+     */
+    public static void createDocumentFromXml(String xmlContent, Path filePath, XmlLoadConfig config) throws IOException {
+        // 同类型XML共享缓存的标签映射，输入只完整解析一次
+        XmlContentParser.XmlTagMapping tagMapping = XmlContentParser.getCachedTagMapping(xmlContent);
+        List<XmlContentParser.XmlDocumentStructure> structures =
+                XmlContentParser.parseXmlContent(xmlContent, tagMapping, config.isEnableCaching());
 
+        BlockDocument.Builder document = BlockDocument.builder();
         if (!structures.isEmpty()) {
             XmlContentParser.XmlDocumentStructure firstStructure = structures.get(0);
             if (firstStructure.getTagName() != null && !firstStructure.getTagName().isEmpty()) {
-                creator.setTitle(firstStructure.getTagName());
+                document.setTitle(firstStructure.getTagName());
             }
 
             for (XmlContentParser.XmlDocumentStructure structure : structures) {
-                addXmlStructureToCreator(creator, structure);
+                addXmlStructureBlocks(document, structure, tagMapping);
             }
         }
-        creator.createDocument(filePath);
+        writeBlockDocument(document.build(), filePath);
+    }
+
+    /**
+     * 从XML文件创建文档（使用加载配置）
+     * 按配置的解析方式、缓冲区大小、Schema校验和错误处理选项转换；启用流式解析时不构建DOM，
+     * 输入和输出都直接读写文件，适合数百MB的XML数据文件
+     *
+     * @param xmlFile  XML文件路径
+     * @param filePath 输出文件路径
+     * @param config   XML加载配置
+     * @throws IOException 文件操作或转换失败
+     */
+    public static void createDocumentFromXmlFile(Path xmlFile, Path filePath, XmlLoadConfig config) throws IOException {
+        try (InputStream in = Files.newInputStream(xmlFile);
+             OutputStream out = Files.newOutputStream(filePath)) {
+            OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(in, out, config.toConversionOptions());
+        } catch (BoundesuWordsException e) {
+            throw new IOException("XML转换失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 把块文档写入文件
+     */
+    private static void writeBlockDocument(BlockDocument document, Path filePath) throws IOException {
+        try (OutputStream out = Files.newOutputStream(filePath)) {
+            BlockDocxWriter.write(document, out);
+        }
     }
 
     /**
@@ -280,43 +370,38 @@ public class BoundesuWordsSDK {
     }
 
     /**
-     * 将HTML文档结构添加到创建器
+     * 将XML文档结构转换为块
      *
-     * @param creator   文档创建器
-     * @param structure HTML文档结构
+     * @param document   块文档构建器
+     * @param structure  XML文档结构
+     * @param tagMapping 标签映射，识别为标题或段落的标签直接输出对应内容
      */
-    private static void addStructureToCreator(DocumentCreator creator, HtmlContentParser.DocumentStructure structure) {
+    private static void addXmlStructureBlocks(BlockDocument.Builder document,
+                                              XmlContentParser.XmlDocumentStructure structure,
+                                              XmlContentParser.XmlTagMapping tagMapping) {
         if (structure.getContent() != null && !structure.getContent().isEmpty()) {
-            creator.addHeading(structure.getTitle(), structure.getLevel());
-            creator.addParagraph(structure.getContent());
-        }
-
-        if (structure.getChildren() != null) {
-            for (HtmlContentParser.DocumentStructure child : structure.getChildren()) {
-                addStructureToCreator(creator, child);
+            String tagName = structure.getTagName();
+            if (tagMapping.isHeadingTag(tagName)) {
+                document.add(Block.heading(structure.getContent(), headingLevel(tagMapping.getHeadingLevel(tagName))));
+            } else if (tagMapping.isParagraphTag(tagName)) {
+                document.add(Block.paragraph(structure.getContent()));
+            } else {
+                document.add(Block.heading(tagName, headingLevel(structure.getLevel())));
+                document.add(Block.paragraph(structure.getContent()));
             }
         }
-    }
-
-    /**
-     * 将XML文档结构添加到创建器
-     *
-     * @param creator   文档创建器
-     * @param structure XML文档结构
-     */
-    private static void addXmlStructureToCreator(DocumentCreator creator, XmlContentParser.XmlDocumentStructure structure) {
-        if (structure.getContent() != null && !structure.getContent().isEmpty()) {
-            creator.addHeading(structure.getTagName(), structure.getLevel());
-            creator.addParagraph(structure.getContent());
-        }
 
         if (structure.getChildren() != null) {
             for (XmlContentParser.XmlDocumentStructure child : structure.getChildren()) {
-                addXmlStructureToCreator(creator, child);
+                addXmlStructureBlocks(document, child, tagMapping);
             }
         }
     }
 
+    private static int headingLevel(int level) {
+        return Math.min(Math.max(level, 1), 6);
+    }
+
     /**
      * 工具类，提供便捷的文档创建方法
      */
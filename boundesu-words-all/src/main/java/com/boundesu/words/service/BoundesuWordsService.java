@@ -1,5 +1,6 @@
 package com.boundesu.words.service;
 
+import com.boundesu.words.common.cache.ConversionCache;
 import com.boundesu.words.common.constants.BoundesuConstants;
 import com.boundesu.words.common.exception.BoundesuWordsException;
 import com.boundesu.words.common.util.StringUtils;
@@ -9,10 +10,14 @@ import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -26,15 +31,40 @@ public class BoundesuWordsService {
 
     private static final Logger log = LoggerFactory.getLogger(BoundesuWordsService.class);
 
+    private static final String HTML_CONVERTER = "html";
+    private static final String XML_CONVERTER = "xml";
+    /** 当前入口使用的转换选项固定为默认值，选项可配置后需在此给出其规范化形式 */
+    private static final String DEFAULT_OPTIONS = "margins=default";
+
     private final HtmlToDocxConverter htmlConverter;
     private final XmlToDocxConverter xmlConverter;
+    private final ConversionCache cache;
 
     /**
      * 构造函数
      */
     public BoundesuWordsService() {
+        this(null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param cache 转换结果缓存，为 null 时不使用缓存
+     */
+    public BoundesuWordsService(ConversionCache cache) {
         this.htmlConverter = new HtmlToDocxConverter();
         this.xmlConverter = new XmlToDocxConverter();
+        this.cache = cache;
+    }
+
+    /**
+     * 获取转换结果缓存
+     *
+     * @return 缓存，未启用时为 null
+     */
+    public ConversionCache getCache() {
+        return cache;
     }
 
     /**
@@ -75,6 +105,10 @@ public class BoundesuWordsService {
         }
 
         log.info("开始HTML到DOCX转换");
+        if (cache != null) {
+            byte[] input = htmlContent.getBytes(StandardCharsets.UTF_8);
+            return convertWithCache(HTML_CONVERTER, input, () -> htmlConverter.convertHtmlToDocx(htmlContent));
+        }
         return htmlConverter.convertHtmlToDocx(htmlContent);
     }
 
@@ -90,6 +124,13 @@ public class BoundesuWordsService {
             throw new BoundesuWordsException("FILE_NOT_FOUND", "HTML文件不存在");
         }
 
+        if (cache != null) {
+            log.info("开始HTML文件到DOCX转换: {}", htmlFile.getAbsolutePath());
+            byte[] input = readFile(htmlFile, "读取HTML文件失败");
+            return convertWithCache(HTML_CONVERTER, input,
+                    () -> htmlConverter.convertHtmlToDocx(new ByteArrayInputStream(input)));
+        }
+
         try (FileInputStream fis = new FileInputStream(htmlFile)) {
             log.info("开始HTML文件到DOCX转换: {}", htmlFile.getAbsolutePath());
             return htmlConverter.convertHtmlToDocx(fis);
@@ -111,6 +152,10 @@ public class BoundesuWordsService {
         }
 
         log.info("开始XML到DOCX转换");
+        if (cache != null) {
+            byte[] input = xmlContent.getBytes(StandardCharsets.UTF_8);
+            return convertWithCache(XML_CONVERTER, input, () -> xmlConverter.convertXmlToDocx(xmlContent));
+        }
         return xmlConverter.convertXmlToDocx(xmlContent);
     }
 
@@ -126,6 +171,13 @@ public class BoundesuWordsService {
             throw new BoundesuWordsException("FILE_NOT_FOUND", "XML文件不存在");
         }
 
+        if (cache != null) {
+            log.info("开始XML文件到DOCX转换: {}", xmlFile.getAbsolutePath());
+            byte[] input = readFile(xmlFile, "读取XML文件失败");
+            return convertWithCache(XML_CONVERTER, input,
+                    () -> xmlConverter.convertXmlToDocx(new ByteArrayInputStream(input)));
+        }
+
         try (FileInputStream fis = new FileInputStream(xmlFile)) {
             log.info("开始XML文件到DOCX转换: {}", xmlFile.getAbsolutePath());
             return xmlConverter.convertXmlToDocx(fis);
@@ -202,4 +254,47 @@ public class BoundesuWordsService {
         }
         saveDocxToFile(document.getXWPFDocument(), outputFile);
     }
-}
\ No newline at end of file
+
+    /**
+     * 通过缓存执行转换：命中时直接从缓存的DOCX字节打开文档，未命中时转换并写入缓存
+     */
+    private com.boundesu.words.common.model.Document convertWithCache(String converterType, byte[] input,
+                                                                      Conversion conversion) throws BoundesuWordsException {
+        String key = ConversionCache.key(converterType, DEFAULT_OPTIONS, input);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            try {
+                log.debug("命中转换缓存: {}", key);
+                return new com.boundesu.words.common.model.Document(new XWPFDocument(new ByteArrayInputStream(cached)));
+            } catch (IOException e) {
+                log.warn("缓存内容无法打开，重新转换: {}", e.getMessage());
+            }
+        }
+
+        com.boundesu.words.common.model.Document document = conversion.convert();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.write(out);
+            cache.put(key, out.toByteArray());
+        } catch (IOException e) {
+            log.warn("写入转换缓存失败: {}", e.getMessage());
+        }
+        return document;
+    }
+
+    private byte[] readFile(File file, String errorMessage) throws BoundesuWordsException {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new BoundesuWordsException("FILE_READ_ERROR", errorMessage, e);
+        }
+    }
+
+    /**
+     * 转换操作
+     */
+    @FunctionalInterface
+    private interface Conversion {
+        com.boundesu.words.common.model.Document convert() throws BoundesuWordsException;
+    }
+}
@@ -0,0 +1,152 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.BlockDocument;
+import com.boundesu.words.common.block.BlockDocxWriter;
+import com.boundesu.words.common.block.Run;
+import com.boundesu.words.html.parser.HtmlBlockParser;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFHyperlinkRun;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFPictureData;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 块模型与共用DOCX输出测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class BlockDocxWriterTest {
+
+    @Test
+    public void testBlockDocumentIsWrittenAsDocx() throws Exception {
+        List<List<Block>> items = Arrays.asList(
+                Collections.<Block>singletonList(Block.paragraph("第一项")),
+                Arrays.asList(Block.paragraph("第二项"),
+                        Block.list(Arrays.asList("子项甲", "子项乙"), false)));
+        Block.Table nested = Block.table(new String[][]{{"内层"}}, false);
+        Block.Table table = new Block.Table(Collections.singletonList(Arrays.asList(
+                Block.Cell.of("外层", Run.BOLD),
+                new Block.Cell(Arrays.asList(Block.paragraph("单元格"), nested)))));
+
+        BlockDocument document = BlockDocument.builder()
+                .setTitle("块文档")
+                .setAuthor("李四")
+                .add(Block.heading("概述", 1))
+                .add(Block.paragraph(Arrays.asList(Run.of("普通"), Run.of("斜体", Run.ITALIC), Run.link("链接"))))
+                .add(new Block.ListBlock(true, items))
+                .add(table)
+                .build();
+
+        XWPFDocument docx = open(BlockDocxWriter.toBytes(document));
+        List<XWPFParagraph> paragraphs = docx.getParagraphs();
+
+        Assert.assertEquals(docx.getProperties().getCoreProperties().getTitle(), "块文档");
+        Assert.assertEquals(paragraphs.get(0).getStyle(), "Heading1");
+        Assert.assertEquals(paragraphs.get(1).getText(), "普通斜体链接");
+        Assert.assertTrue(paragraphs.get(1).getRuns().get(1).isItalic());
+        Assert.assertEquals(paragraphs.get(1).getRuns().get(2).getColor(), Run.LINK_COLOR);
+        Assert.assertEquals(paragraphs.get(2).getText(), "第一项");
+        Assert.assertEquals(paragraphs.get(2).getNumFmt(), "decimal");
+        Assert.assertEquals(paragraphs.get(3).getNumID(), paragraphs.get(2).getNumID());
+        Assert.assertEquals(paragraphs.get(4).getText(), "子项甲");
+        Assert.assertEquals(paragraphs.get(4).getNumFmt(), "bullet");
+        Assert.assertEquals(paragraphs.get(4).getNumIlvl().intValue(), 1);
+
+        XWPFTable outer = docx.getTables().get(0);
+        Assert.assertTrue(outer.getRow(0).getCell(0).getParagraphs().get(0).getRuns().get(0).isBold());
+        Assert.assertEquals(outer.getRow(0).getCell(1).getTables().get(0).getRow(0).getCell(0).getText(), "内层");
+    }
+
+    @Test
+    public void testLocalImageIsEmbedded() throws Exception {
+        Path image = Files.createTempFile("block_image", ".png");
+        try {
+            BufferedImage buffered = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+            ImageIO.write(buffered, "png", image.toFile());
+
+            BlockDocument document = BlockDocument.builder()
+                    .add(Block.paragraph("图片前"))
+                    .add(Block.image(image.toString(), "示意图"))
+                    .add(Block.image(image.resolveSibling("missing.png").toString(), "不存在"))
+                    .build();
+
+            XWPFDocument docx = open(BlockDocxWriter.toBytes(document));
+            List<XWPFPictureData> pictures = docx.getAllPictures();
+
+            Assert.assertEquals(pictures.size(), 1);
+            Assert.assertEquals(pictures.get(0).suggestFileExtension(), "png");
+            Assert.assertEquals(docx.getParagraphs().get(1).getRuns().get(0).getEmbeddedPictures().size(), 1);
+        } finally {
+            Files.deleteIfExists(image);
+        }
+    }
+
+    @Test
+    public void testHtmlIsParsedIntoBlocks() {
+        List<Block> blocks = HtmlBlockParser.parse("<h2>标题</h2><p>正文 <b>加粗</b><br>换行</p>"
+                + "<ul><li>甲<ol><li>乙</li></ol></li></ul>"
+                + "<table><thead><tr><th>列</th></tr></thead><tbody><tr><td>值</td></tr></tbody></table>"
+                + "<div style=\"page-break-after: always\"></div><script>ignored()</script>");
+
+        Assert.assertEquals(blocks.size(), 5);
+        Assert.assertEquals(((Block.Heading) blocks.get(0)).getLevel(), 2);
+
+        List<Run> runs = ((Block.Paragraph) blocks.get(1)).getRuns();
+        Assert.assertEquals(runs.get(0).getText(), "正文 ");
+        Assert.assertTrue(runs.get(1).isBold());
+        Assert.assertEquals(runs.get(2).getText(), "\n");
+
+        Block.ListBlock list = (Block.ListBlock) blocks.get(2);
+        Assert.assertFalse(list.isOrdered());
+        Assert.assertTrue(((Block.ListBlock) list.getItems().get(0).get(1)).isOrdered());
+
+        Block.Table table = (Block.Table) blocks.get(3);
+        Assert.assertEquals(table.getRows().size(), 2);
+        Block.Paragraph header = (Block.Paragraph) table.getRows().get(0).get(0).getBlocks().get(0);
+        Assert.assertTrue(header.getRuns().get(0).isBold());
+        Assert.assertEquals(blocks.get(4).getKind(), Block.Kind.BREAK);
+    }
+
+    @Test
+    public void testLinkRunsAreWrittenAsExternalHyperlinks() throws Exception {
+        String href = "https://example.com/search?q=1&lang=zh";
+        List<Block> blocks = HtmlBlockParser.parse("<p>访问 <a href=\"" + href.replace("&", "&amp;")
+                + "\">官方<b>网站</b></a> 了解更多</p>");
+        Assert.assertEquals(((Block.Paragraph) blocks.get(0)).getRuns().get(2).getHref(), href);
+
+        BlockDocument document = BlockDocument.builder()
+                .addAll(blocks)
+                .add(Block.paragraph(Collections.singletonList(Run.link("再次访问", href))))
+                .build();
+        XWPFDocument docx = open(BlockDocxWriter.toBytes(document));
+
+        XWPFParagraph paragraph = docx.getParagraphs().get(0);
+        Assert.assertEquals(paragraph.getText(), "访问 官方网站 了解更多");
+        XWPFHyperlinkRun link = (XWPFHyperlinkRun) paragraph.getRuns().get(1);
+        Assert.assertEquals(link.getHyperlink(docx).getURL(), href);
+        Assert.assertTrue(paragraph.getRuns().get(2).isBold());
+        Assert.assertFalse(paragraph.getRuns().get(3) instanceof XWPFHyperlinkRun);
+
+        XWPFHyperlinkRun second = (XWPFHyperlinkRun) docx.getParagraphs().get(1).getRuns().get(0);
+        Assert.assertEquals(second.getHyperlinkId(), link.getHyperlinkId());
+        Assert.assertEquals(docx.getHyperlinks().length, 1);
+    }
+
+    private static XWPFDocument open(byte[] bytes) throws IOException {
+        return new XWPFDocument(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,107 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.cache.ConversionCache;
+import com.boundesu.words.common.model.Document;
+import com.boundesu.words.service.BoundesuWordsService;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+/**
+ * 转换结果缓存测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ConversionCacheTest {
+
+    @Test
+    public void testKeyDependsOnTypeOptionsAndInput() {
+        byte[] input = "<p>hello</p>".getBytes(StandardCharsets.UTF_8);
+        String key = ConversionCache.key("html", "default", input);
+        Assert.assertEquals(ConversionCache.key("html", "default", input.clone()), key);
+        Assert.assertNotEquals(ConversionCache.key("xml", "default", input), key);
+        Assert.assertNotEquals(ConversionCache.key("html", "landscape", input), key);
+        Assert.assertNotEquals(ConversionCache.key("html", "default", "<p>hello!</p>".getBytes(StandardCharsets.UTF_8)), key);
+    }
+
+    @Test
+    public void testDiskTierSurvivesNewInstanceAndEvicts() throws Exception {
+        Path directory = Files.createTempDirectory("conversion-cache");
+        ConversionCache cache = new ConversionCache(directory, 10 * 1024, 0);
+        String first = ConversionCache.key("html", "default", new byte[]{1});
+        cache.put(first, new byte[4 * 1024]);
+        Assert.assertNull(cache.get(ConversionCache.key("html", "default", new byte[]{9})));
+
+        ConversionCache reopened = new ConversionCache(directory, 10 * 1024, 0);
+        Assert.assertEquals(reopened.get(first).length, 4 * 1024);
+        Assert.assertEquals(reopened.getStatistics().get("diskHits"), 1L);
+
+        // 写满后最早访问的条目被淘汰，最新写入的条目保留
+        Files.setLastModifiedTime(directory.resolve(first.substring(0, 2)).resolve(first + ".bin"),
+                FileTime.fromMillis(0));
+        String second = ConversionCache.key("html", "default", new byte[]{2});
+        String third = ConversionCache.key("html", "default", new byte[]{3});
+        reopened.put(second, new byte[4 * 1024]);
+        reopened.put(third, new byte[4 * 1024]);
+
+        Map<String, Object> stats = reopened.getStatistics();
+        Assert.assertTrue((Long) stats.get("evictions") >= 1L);
+        Assert.assertTrue((Long) stats.get("diskBytes") <= 10 * 1024L);
+        Assert.assertNull(reopened.get(first));
+        Assert.assertNotNull(reopened.get(third));
+        reopened.clear();
+    }
+
+    @Test
+    public void testCallersCannotCorruptCachedBytes() throws Exception {
+        Path directory = Files.createTempDirectory("conversion-cache");
+        ConversionCache cache = new ConversionCache(directory, 10 * 1024, 1024 * 1024);
+        String key = ConversionCache.key("html", "default", new byte[]{4});
+        byte[] value = {1, 2, 3};
+        cache.put(key, value);
+        value[0] = 9;
+
+        byte[] hit = cache.get(key);
+        Assert.assertEquals(hit, new byte[]{1, 2, 3});
+        hit[1] = 9;
+        Assert.assertEquals(cache.get(key), new byte[]{1, 2, 3});
+        cache.clear();
+    }
+
+    @Test
+    public void testOverwritingEntryCountsSizeDifferenceOnly() throws Exception {
+        Path directory = Files.createTempDirectory("conversion-cache");
+        ConversionCache cache = new ConversionCache(directory, 10 * 1024, 0);
+        String first = ConversionCache.key("html", "default", new byte[]{5});
+        cache.put(first, new byte[3 * 1024]);
+        for (int i = 0; i < 5; i++) {
+            cache.put(first, new byte[3 * 1024]);
+        }
+        Assert.assertEquals(cache.getStatistics().get("diskBytes"), 3 * 1024L);
+        Assert.assertEquals(cache.getStatistics().get("evictions"), 0L);
+        cache.clear();
+    }
+
+    @Test
+    public void testServiceReturnsCachedConversion() throws Exception {
+        Path directory = Files.createTempDirectory("conversion-cache");
+        ConversionCache cache = new ConversionCache(directory, 16 * 1024 * 1024, 4 * 1024 * 1024);
+        BoundesuWordsService service = new BoundesuWordsService(cache);
+
+        String html = "<html><body><h1>缓存</h1><p>第一段</p></body></html>";
+        Document converted = service.convertHtmlToDocx(html);
+        Document cached = service.convertHtmlToDocx(html);
+
+        Assert.assertEquals(cache.getStatistics().get("memoryHits"), 1L);
+        Assert.assertEquals(cached.getXWPFDocument().getParagraphs().size(),
+                converted.getXWPFDocument().getParagraphs().size());
+        Assert.assertTrue(cached.getXWPFDocument().getParagraphs().get(0).getText().contains("缓存"));
+        cache.clear();
+    }
+}
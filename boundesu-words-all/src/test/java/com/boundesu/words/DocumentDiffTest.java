@@ -0,0 +1,110 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.diff.DocumentFingerprint;
+import com.boundesu.words.core.diff.DocumentFingerprinter;
+import com.boundesu.words.core.diff.FingerprintDiff;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 文档指纹与差异比较测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class DocumentDiffTest {
+
+    @Test
+    public void testDiffReportsChangedRanges() throws Exception {
+        DocumentFingerprinter fingerprinter = new DocumentFingerprinter();
+        DocumentFingerprint oldVersion = fingerprinter.fingerprint(new ByteArrayInputStream(
+                createDocument(new String[]{"第一条", "第二条", "第三条", "第四条"}, "甲方")));
+        DocumentFingerprint newVersion = fingerprinter.fingerprint(new ByteArrayInputStream(
+                createDocument(new String[]{"第一条", "第二条（修订）", "第三条", "第四条", "第五条"}, "甲方")));
+
+        Assert.assertEquals(oldVersion.size(), 5);
+        Assert.assertEquals(newVersion.size(), 6);
+
+        List<FingerprintDiff.DiffRange> ranges = FingerprintDiff.diff(oldVersion, newVersion);
+        Assert.assertEquals(ranges.size(), 2);
+        Assert.assertEquals(ranges.get(0).getType(), FingerprintDiff.ChangeType.CHANGED);
+        Assert.assertEquals(ranges.get(0).getOldStart(), 1);
+        Assert.assertEquals(ranges.get(0).getOldEnd(), 2);
+        Assert.assertEquals(ranges.get(1).getType(), FingerprintDiff.ChangeType.INSERTED);
+        Assert.assertEquals(ranges.get(1).getNewStart(), 4);
+        Assert.assertEquals(ranges.get(1).getNewEnd(), 5);
+    }
+
+    @Test
+    public void testWhitespaceNormalizationAndPersistence() throws Exception {
+        DocumentFingerprinter fingerprinter = new DocumentFingerprinter();
+        DocumentFingerprint first = fingerprinter.fingerprint(new ByteArrayInputStream(
+                createDocument(new String[]{"合同  条款 ", "", "结束"}, "乙方")));
+        DocumentFingerprint second = fingerprinter.fingerprint(new ByteArrayInputStream(
+                createDocument(new String[]{" 合同 条款", "结束"}, "乙方")));
+        Assert.assertEquals(first, second);
+        Assert.assertTrue(FingerprintDiff.diff(first, second).isEmpty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        first.writeTo(out);
+        Assert.assertEquals(DocumentFingerprint.readFrom(new ByteArrayInputStream(out.toByteArray())), first);
+    }
+
+    @Test
+    public void testDiffMatchesLongestCommonSubsequence() throws Exception {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            String[] a = randomParagraphs(random);
+            String[] b = randomParagraphs(random);
+            DocumentFingerprinter fingerprinter = new DocumentFingerprinter();
+            DocumentFingerprint fa = fingerprinter.fingerprint(new ByteArrayInputStream(createDocument(a, null)));
+            DocumentFingerprint fb = fingerprinter.fingerprint(new ByteArrayInputStream(createDocument(b, null)));
+
+            int removed = 0;
+            for (FingerprintDiff.DiffRange range : FingerprintDiff.diff(fa, fb)) {
+                removed += range.getOldEnd() - range.getOldStart();
+            }
+            Assert.assertEquals(a.length - removed, lcs(a, b), "round " + round);
+        }
+    }
+
+    private String[] randomParagraphs(Random random) {
+        String[] paragraphs = new String[random.nextInt(12)];
+        for (int i = 0; i < paragraphs.length; i++) {
+            paragraphs[i] = "段落" + random.nextInt(4);
+        }
+        return paragraphs;
+    }
+
+    private int lcs(String[] a, String[] b) {
+        int[][] table = new int[a.length + 1][b.length + 1];
+        for (int i = a.length - 1; i >= 0; i--) {
+            for (int j = b.length - 1; j >= 0; j--) {
+                table[i][j] = a[i].equals(b[j]) ? table[i + 1][j + 1] + 1 : Math.max(table[i + 1][j], table[i][j + 1]);
+            }
+        }
+        return table[0][0];
+    }
+
+    private byte[] createDocument(String[] paragraphs, String tableCell) throws Exception {
+        try (XWPFDocument document = new XWPFDocument()) {
+            for (String paragraph : paragraphs) {
+                document.createParagraph().createRun().setText(paragraph);
+            }
+            if (tableCell != null) {
+                XWPFTable table = document.createTable(1, 2);
+                table.getRow(0).getCell(0).setText(tableCell);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+}
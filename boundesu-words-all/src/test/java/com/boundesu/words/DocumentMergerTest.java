@@ -0,0 +1,205 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.merge.DocumentMerger;
+import org.apache.poi.xwpf.usermodel.*;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTAbstractNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STNumberFormat;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 文档合并器测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class DocumentMergerTest {
+
+    @Test
+    public void testMergePreservesOrder() throws Exception {
+        XWPFDocument target = new XWPFDocument();
+        target.createParagraph().createRun().setText("目标段落");
+
+        XWPFDocument source = new XWPFDocument();
+        source.createParagraph().createRun().setText("段落A");
+        XWPFTable table = source.createTable(1, 2);
+        table.getRow(0).getCell(0).setText("单元格");
+        source.createParagraph().createRun().setText("段落B");
+
+        new DocumentMerger(target).append(source);
+        XWPFDocument merged = reload(target);
+
+        List<IBodyElement> elements = merged.getBodyElements();
+        Assert.assertEquals(elements.size(), 4);
+        Assert.assertEquals(((XWPFParagraph) elements.get(1)).getText(), "段落A");
+        Assert.assertTrue(elements.get(2) instanceof XWPFTable);
+        Assert.assertEquals(((XWPFParagraph) elements.get(3)).getText(), "段落B");
+    }
+
+    @Test
+    public void testMergeRemapsStylesAndNumbering() throws Exception {
+        XWPFDocument target = new XWPFDocument();
+        addStyle(target, "Custom", "000000");
+        target.createParagraph().createRun().setText("目标段落");
+
+        XWPFDocument first = createListDocument("FF0000");
+        XWPFDocument second = createListDocument("FF0000");
+
+        DocumentMerger merger = new DocumentMerger(target);
+        merger.append(first).append(second);
+        XWPFDocument merged = reload(target);
+
+        // 相同定义的样式只保留一份，冲突的同名样式被重命名
+        Assert.assertNotNull(merged.getStyles().getStyle("Custom_1"));
+        Assert.assertNull(merged.getStyles().getStyle("Custom_2"));
+        Assert.assertEquals(merged.getParagraphs().get(1).getStyle(), "Custom_1");
+        Assert.assertEquals(merged.getParagraphs().get(2).getStyle(), "Custom_1");
+
+        // 每个源文档的列表独立编号，但抽象编号定义被去重
+        Assert.assertEquals(merged.getNumbering().getNums().size(), 2);
+        Assert.assertEquals(merged.getNumbering().getAbstractNums().size(), 1);
+        Assert.assertNotEquals(merged.getParagraphs().get(1).getNumID(), merged.getParagraphs().get(2).getNumID());
+    }
+
+    @Test
+    public void testMergeDocumentsApi() throws Exception {
+        XWPFDocument target = new XWPFDocument();
+        XWPFDocument source = new XWPFDocument();
+        source.createParagraph().createRun().setText("合并内容");
+
+        Document.mergeDocuments(target, Arrays.asList(source));
+        XWPFDocument merged = reload(target);
+
+        Assert.assertEquals(merged.getParagraphs().size(), 1);
+        Assert.assertEquals(merged.getParagraphs().get(0).getText(), "合并内容");
+    }
+
+    @Test
+    public void testMergedContentIsVisibleWithoutReload() throws Exception {
+        XWPFDocument target = new XWPFDocument();
+        XWPFParagraph original = target.createParagraph();
+        original.createRun().setText("目标段落");
+
+        XWPFDocument source = new XWPFDocument();
+        source.createParagraph().createRun().setText("段落A");
+        source.createTable(1, 1).getRow(0).getCell(0).setText("单元格");
+
+        Document.mergeDocuments(target, Arrays.asList(source));
+
+        Assert.assertEquals(target.getBodyElements().size(), 3);
+        Assert.assertSame(target.getParagraphs().get(0), original);
+        Assert.assertEquals(target.getParagraphs().get(1).getText(), "段落A");
+        Assert.assertEquals(target.getTables().size(), 1);
+        Assert.assertEquals(target.getTables().get(0).getRow(0).getCell(0).getText(), "单元格");
+        Assert.assertEquals(target.getParagraphPos(1), target.getPosOfParagraph(target.getParagraphs().get(1)));
+        // 刷新后的视图可以继续用POI接口编辑
+        target.createParagraph().createRun().setText("追加");
+        Assert.assertEquals(reload(target).getParagraphs().get(2).getText(), "追加");
+    }
+
+    @Test
+    public void testInsertionPointKeepsBodyElementsInOrder() throws Exception {
+        XWPFDocument target = new XWPFDocument();
+        target.createParagraph().createRun().setText("开头");
+        XWPFParagraph end = target.createParagraph();
+        end.createRun().setText("结尾");
+
+        XWPFDocument source = new XWPFDocument();
+        source.createParagraph().createRun().setText("段落A");
+        source.createTable(1, 1).getRow(0).getCell(0).setText("单元格");
+
+        new DocumentMerger(target).setInsertionPoint(end).append(source);
+
+        List<IBodyElement> elements = target.getBodyElements();
+        Assert.assertEquals(elements.size(), 4);
+        Assert.assertEquals(((XWPFParagraph) elements.get(1)).getText(), "段落A");
+        Assert.assertEquals(((XWPFTable) elements.get(2)).getRow(0).getCell(0).getText(), "单元格");
+        Assert.assertSame(elements.get(3), end);
+        Assert.assertEquals(target.getParagraphs().get(1).getText(), "段落A");
+        Assert.assertEquals(reload(target).getParagraphs().get(2).getText(), "结尾");
+    }
+
+    @Test
+    public void testMergeCopiesFootnotesAndCommentsWithNewIds() throws Exception {
+        XWPFDocument target = new XWPFDocument();
+        XWPFFootnote existing = target.createFootnote();
+        existing.createParagraph().createRun().setText("目标脚注");
+        target.createParagraph().addFootnoteReference(existing);
+
+        XWPFDocument source = new XWPFDocument();
+        XWPFFootnote footnote = source.createFootnote();
+        footnote.createParagraph().createRun().setText("源脚注");
+        XWPFParagraph paragraph = source.createParagraph();
+        paragraph.createRun().setText("正文");
+        paragraph.addFootnoteReference(footnote);
+
+        XWPFComment comment = source.createComments().createComment(BigInteger.ZERO);
+        comment.setAuthor("审阅人");
+        comment.createParagraph().createRun().setText("批注内容");
+        paragraph.getCTP().addNewCommentRangeStart().setId(BigInteger.ZERO);
+        paragraph.getCTP().addNewCommentRangeEnd().setId(BigInteger.ZERO);
+        paragraph.createRun().getCTR().addNewCommentReference().setId(BigInteger.ZERO);
+        Assert.assertEquals(footnote.getId(), existing.getId());
+
+        new DocumentMerger(target).append(source);
+        XWPFDocument merged = reload(target);
+
+        Assert.assertEquals(merged.getFootnotes().size(), 2);
+        XWPFParagraph mergedParagraph = merged.getParagraphs().get(1);
+        BigInteger footnoteId = mergedParagraph.getCTP().getRArray(1).getFootnoteReferenceArray(0).getId();
+        Assert.assertNotEquals(footnoteId, existing.getId());
+        Assert.assertEquals(merged.getFootnoteByID(footnoteId.intValue()).getParagraphs().get(0).getText(), "源脚注");
+
+        XWPFComment mergedComment = merged.getComments()[0];
+        Assert.assertEquals(mergedComment.getAuthor(), "审阅人");
+        Assert.assertEquals(mergedComment.getText(), "批注内容");
+        Assert.assertEquals(mergedParagraph.getCTP().getCommentRangeStartArray(0).getId().toString(),
+                mergedComment.getId());
+        Assert.assertEquals(mergedParagraph.getCTP().getRArray(2).getCommentReferenceArray(0).getId().toString(),
+                mergedComment.getId());
+    }
+
+    private XWPFDocument createListDocument(String color) {
+        XWPFDocument document = new XWPFDocument();
+        addStyle(document, "Custom", color);
+
+        CTAbstractNum abstractNum = CTAbstractNum.Factory.newInstance();
+        abstractNum.setAbstractNumId(BigInteger.ZERO);
+        abstractNum.addNewLvl().setIlvl(BigInteger.ZERO);
+        abstractNum.getLvlArray(0).addNewNumFmt().setVal(STNumberFormat.DECIMAL);
+        XWPFNumbering numbering = document.createNumbering();
+        BigInteger abstractId = numbering.addAbstractNum(new XWPFAbstractNum(abstractNum, numbering));
+        BigInteger numId = numbering.addNum(abstractId);
+
+        XWPFParagraph paragraph = document.createParagraph();
+        paragraph.setStyle("Custom");
+        paragraph.setNumID(numId);
+        paragraph.createRun().setText("列表项");
+        return document;
+    }
+
+    private void addStyle(XWPFDocument document, String styleId, String color) {
+        CTStyle style = CTStyle.Factory.newInstance();
+        style.setStyleId(styleId);
+        style.setType(STStyleType.PARAGRAPH);
+        style.addNewName().setVal(styleId);
+        style.addNewRPr().addNewColor().setVal(color);
+        XWPFStyles styles = document.createStyles();
+        styles.addStyle(new XWPFStyle(style, styles));
+    }
+
+    private XWPFDocument reload(XWPFDocument document) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        return new XWPFDocument(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.split.DocumentSplitter;
+import org.apache.poi.common.usermodel.PictureType;
+import org.apache.poi.util.Units;
+import org.apache.poi.xwpf.usermodel.*;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 文档拆分器测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class DocumentSplitterTest {
+
+    private static final byte[] PNG = {
+            (byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A, 0x00, 0x00, 0x00, 0x0D, 0x49, 0x48, 0x44, 0x52,
+            0x00, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x01, 0x08, 0x06, 0x00, 0x00, 0x00, 0x1F, 0x15, (byte) 0xC4,
+            (byte) 0x89, 0x00, 0x00, 0x00, 0x0A, 0x49, 0x44, 0x41, 0x54, 0x78, (byte) 0x9C, 0x63, 0x00, 0x01, 0x00,
+            0x00, 0x05, 0x00, 0x01, 0x0D, 0x0A, 0x2D, (byte) 0xB4, 0x00, 0x00, 0x00, 0x00, 0x49, 0x45, 0x4E, 0x44,
+            (byte) 0xAE, 0x42, 0x60, (byte) 0x82
+    };
+
+    @Test
+    public void testSplitByHeading() throws Exception {
+        Path dir = Files.createTempDirectory("split-test");
+        Path source = dir.resolve("manual.docx");
+        createManual(source);
+
+        List<Path> pieces = new DocumentSplitter().split(source, dir.resolve("out"));
+        Assert.assertEquals(pieces.size(), 3);
+
+        try (XWPFDocument preface = open(pieces.get(0));
+             XWPFDocument first = open(pieces.get(1));
+             XWPFDocument second = open(pieces.get(2))) {
+            Assert.assertEquals(preface.getParagraphs().get(0).getText(), "前言");
+
+            Assert.assertEquals(first.getParagraphs().get(0).getText(), "第一章");
+            Assert.assertEquals(first.getAllPictures().size(), 1);
+            Assert.assertNotNull(first.getStyles().getStyle("Heading1"));
+            Assert.assertNull(first.getStyles().getStyle("Quote"));
+
+            Assert.assertEquals(second.getParagraphs().get(0).getText(), "第二章");
+            Assert.assertEquals(second.getAllPictures().size(), 0);
+            Assert.assertNotNull(second.getStyles().getStyle("Quote"));
+        }
+    }
+
+    @Test
+    public void testSplitByParagraphBudget() throws Exception {
+        Path dir = Files.createTempDirectory("split-test");
+        Path source = dir.resolve("budget.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(source)) {
+            for (int i = 0; i < 5; i++) {
+                document.createParagraph().createRun().setText("段落" + i);
+            }
+            document.write(out);
+        }
+
+        DocumentSplitter.SplitOptions options = new DocumentSplitter.SplitOptions()
+                .setHeadingLevel(0)
+                .setMaxParagraphs(2)
+                .setFileNamePrefix("part");
+        List<Path> pieces = new DocumentSplitter(options).split(source, dir);
+
+        Assert.assertEquals(pieces.size(), 3);
+        Assert.assertEquals(pieces.get(2).getFileName().toString(), "part_003.docx");
+        try (XWPFDocument last = open(pieces.get(2))) {
+            Assert.assertEquals(last.getParagraphs().size(), 1);
+            Assert.assertEquals(last.getParagraphs().get(0).getText(), "段落4");
+        }
+    }
+
+    private void createManual(Path target) throws Exception {
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(target)) {
+            XWPFStyles styles = document.createStyles();
+            addStyle(styles, "Heading1", "heading 1");
+            addStyle(styles, "Quote", "Quote");
+
+            document.createParagraph().createRun().setText("前言");
+
+            XWPFParagraph chapter1 = document.createParagraph();
+            chapter1.setStyle("Heading1");
+            chapter1.createRun().setText("第一章");
+            XWPFRun pictureRun = document.createParagraph().createRun();
+            pictureRun.addPicture(new ByteArrayInputStream(PNG), PictureType.PNG, "dot.png",
+                    Units.toEMU(10), Units.toEMU(10));
+
+            XWPFParagraph chapter2 = document.createParagraph();
+            chapter2.setStyle("Heading1");
+            chapter2.createRun().setText("第二章");
+            XWPFParagraph quote = document.createParagraph();
+            quote.setStyle("Quote");
+            quote.createRun().setText("引用");
+
+            document.write(out);
+        }
+    }
+
+    private void addStyle(XWPFStyles styles, String styleId, String name) {
+        CTStyle style = CTStyle.Factory.newInstance();
+        style.setStyleId(styleId);
+        style.setType(STStyleType.PARAGRAPH);
+        style.addNewName().setVal(name);
+        styles.addStyle(new XWPFStyle(style, styles));
+    }
+
+    private XWPFDocument open(Path path) throws Exception {
+        try (InputStream in = Files.newInputStream(path)) {
+            return new XWPFDocument(in);
+        }
+    }
+}
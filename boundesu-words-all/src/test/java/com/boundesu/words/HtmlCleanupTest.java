@@ -0,0 +1,63 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.config.HtmlLoadConfig;
+import com.boundesu.words.core.options.HtmlLoadOptions;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * HTML文本清理选项测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class HtmlCleanupTest {
+
+    private static final String HTML = "<html><body>"
+            + "<p>  正文\n\t<b>重点</b>   <i> </i>  内容 </p>"
+            + "<p> </p><p><span>\n</span></p>"
+            + "<p>结尾</p>"
+            + "</body></html>";
+
+    @Test
+    public void testWhitespaceIsNormalizedAndEmptyParagraphsDropped() throws Exception {
+        List<XWPFParagraph> paragraphs = convert(HtmlLoadConfig.createDefault());
+
+        Assert.assertEquals(paragraphs.size(), 2);
+        Assert.assertEquals(paragraphs.get(0).getText(), "正文 重点 内容");
+        Assert.assertEquals(paragraphs.get(0).getRuns().get(0).text(), "正文");
+        Assert.assertEquals(paragraphs.get(0).getRuns().get(1).text(), " 重点");
+        Assert.assertEquals(paragraphs.get(1).getText(), "结尾");
+    }
+
+    @Test
+    public void testCleanupCanBeDisabled() throws Exception {
+        List<XWPFParagraph> paragraphs = convert(HtmlLoadConfig.createDefault().setCleanupOptions(false, true, true));
+        Assert.assertEquals(paragraphs.size(), 4);
+        Assert.assertEquals(paragraphs.get(0).getText(), "正文 重点 内容");
+
+        paragraphs = convert(HtmlLoadConfig.createDefault().setCleanupOptions(true, false, false));
+        Assert.assertEquals(paragraphs.size(), 2);
+        Assert.assertTrue(paragraphs.get(0).getText().startsWith("  正文\n\t重点"));
+    }
+
+    private static List<XWPFParagraph> convert(HtmlLoadConfig config) throws Exception {
+        Path htmlFile = Files.createTempFile("html_cleanup", ".html");
+        try {
+            Files.write(htmlFile, HTML.getBytes(StandardCharsets.UTF_8));
+            Document document = new Document(htmlFile.toString(), new HtmlLoadOptions(), config);
+            List<XWPFParagraph> paragraphs = document.getXWPFDocument().getParagraphs();
+            document.close();
+            return paragraphs;
+        } finally {
+            Files.deleteIfExists(htmlFile);
+        }
+    }
+}
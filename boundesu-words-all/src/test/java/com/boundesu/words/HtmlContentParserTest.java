@@ -0,0 +1,73 @@
+package com.boundesu.words;
+
+import com.boundesu.words.html.parser.HtmlContentParser;
+import com.boundesu.words.html.parser.HtmlContentParser.DocumentStructure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * HTML大纲提取测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class HtmlContentParserTest {
+
+    @Test
+    public void testOutlineHierarchyAndContent() {
+        String html = "<body><p>前言</p>"
+                + "<h1>第一章</h1><p>段落一</p><ul><li>甲</li><li>乙</li></ul>"
+                + "<h2>1.1 小节</h2><table><tr><th>名称</th><td>值</td></tr></table>"
+                + "<div><h3>1.1.1 嵌套</h3><p>嵌套正文</p></div>"
+                + "<h1>第二章</h1><div>尾部</div></body>";
+
+        List<DocumentStructure> outline = HtmlContentParser.parseHtmlContent(html);
+
+        Assert.assertEquals(outline.size(), 2);
+        DocumentStructure chapter = outline.get(0);
+        Assert.assertEquals(chapter.getTitle(), "第一章");
+        Assert.assertEquals(chapter.getContent(), "段落一\n\n• 甲\n• 乙");
+        DocumentStructure section = chapter.getChildren().get(0);
+        Assert.assertEquals(section.getLevel(), 2);
+        Assert.assertEquals(section.getContent(), "名称\t值\n\n1.1.1 嵌套 嵌套正文");
+        DocumentStructure nested = section.getChildren().get(0);
+        Assert.assertEquals(nested.getTitle(), "1.1.1 嵌套");
+        Assert.assertEquals(nested.getContent(), "嵌套正文");
+        Assert.assertEquals(outline.get(1).getContent(), "尾部");
+    }
+
+    @Test
+    public void testLongFlatDocumentIsLinear() {
+        StringBuilder html = new StringBuilder("<body>");
+        for (int i = 0; i < 20000; i++) {
+            html.append("<h2>标题").append(i).append("</h2><p>正文").append(i).append("</p>");
+        }
+        html.append("</body>");
+
+        long start = System.nanoTime();
+        List<DocumentStructure> outline = HtmlContentParser.parseHtmlContent(html.toString());
+        Assert.assertTrue(System.nanoTime() - start < 10_000_000_000L);
+        Assert.assertEquals(outline.size(), 20000);
+        Assert.assertEquals(outline.get(19999).getContent(), "正文19999");
+    }
+
+    @Test
+    public void testBuilderAcceptsStreamedEvents() {
+        HtmlContentParser.OutlineBuilder builder = new HtmlContentParser.OutlineBuilder();
+        builder.content("忽略");
+        builder.heading(1, "总则");
+        builder.content("第一段 ");
+        builder.heading(3, "细则");
+        builder.content("条款");
+        builder.heading(2, "附则");
+
+        List<DocumentStructure> outline = builder.build();
+        Assert.assertEquals(outline.size(), 1);
+        Assert.assertEquals(outline.get(0).getContent(), "第一段");
+        Assert.assertEquals(outline.get(0).getChildren().size(), 2);
+        Assert.assertEquals(outline.get(0).getChildren().get(0).getContent(), "条款");
+        Assert.assertEquals(outline.get(0).getChildren().get(1).getTitle(), "附则");
+    }
+}
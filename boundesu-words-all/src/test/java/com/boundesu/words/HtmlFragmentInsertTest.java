@@ -0,0 +1,117 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.builder.DocumentBuilder;
+import com.boundesu.words.core.builder.HtmlFragmentCache;
+import com.boundesu.words.core.merge.DocumentFragment;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DocumentBuilder插入HTML测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class HtmlFragmentInsertTest {
+
+    private static final String SIGNATURE = "<p>此致 <b>敬礼</b></p>"
+            + "<ol><li>联系人：张三</li><li>电话：123</li></ol>"
+            + "<table><tr><th>部门</th><td>研发部</td></tr></table>";
+
+    @Test
+    public void testHtmlIsInsertedAtCursorWithFormatting() throws Exception {
+        DocumentBuilder builder = new DocumentBuilder();
+        builder.writeln("正文");
+        builder.insertHtml(SIGNATURE);
+        builder.write("结尾");
+
+        List<XWPFParagraph> live = builder.getDocument().getParagraphs();
+        Assert.assertEquals(live.get(1).getText(), "此致 敬礼");
+        Assert.assertEquals(live.get(live.size() - 1).getText(), "结尾");
+
+        XWPFDocument document = reopen(builder.getDocument());
+        List<XWPFParagraph> paragraphs = document.getParagraphs();
+        Assert.assertEquals(paragraphs.get(0).getText().trim(), "正文");
+        Assert.assertEquals(paragraphs.get(1).getText(), "此致 敬礼");
+        Assert.assertTrue(paragraphs.get(1).getRuns().get(1).isBold());
+        Assert.assertEquals(paragraphs.get(2).getText(), "联系人：张三");
+        Assert.assertEquals(paragraphs.get(2).getNumFmt(), "decimal");
+        Assert.assertEquals(document.getTables().size(), 1);
+        Assert.assertEquals(document.getTables().get(0).getRow(0).getCell(1).getText(), "研发部");
+        Assert.assertEquals(paragraphs.get(paragraphs.size() - 1).getText(), "结尾");
+    }
+
+    @Test
+    public void testRepeatedSnippetIsConvertedOnce() throws Exception {
+        String snippet = "<p>本邮件仅供收件人使用 " + System.nanoTime() + "</p>";
+        long misses = (Long) HtmlFragmentCache.getDefault().getStatistics().get("misses");
+
+        DocumentBuilder builder = new DocumentBuilder();
+        for (int i = 0; i < 3; i++) {
+            builder.insertHtml(snippet);
+        }
+        builder.insertHtml("<ul><li>甲</li></ul>");
+        builder.insertHtml("<ul><li>乙</li></ul>");
+
+        Assert.assertEquals(HtmlFragmentCache.getDefault().getStatistics().get("misses"), misses + 3);
+        List<XWPFParagraph> paragraphs = reopen(builder.getDocument()).getParagraphs();
+        Assert.assertEquals(paragraphs.get(0).getText(), paragraphs.get(2).getText());
+        Assert.assertTrue(paragraphs.get(0).getText().startsWith("本邮件仅供收件人使用"));
+        Assert.assertEquals(paragraphs.get(3).getNumFmt(), "bullet");
+        Assert.assertEquals(paragraphs.get(4).getNumFmt(), "bullet");
+    }
+
+    @Test
+    public void testCachedFragmentCarriesImagesIntoEachDocument() throws Exception {
+        String html = "<p>标志 <img src=\"data:image/png;base64,"
+                + "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg=="
+                + "\" width=\"16\" height=\"16\"></p>";
+        for (int i = 0; i < 2; i++) {
+            DocumentBuilder builder = new DocumentBuilder();
+            builder.insertHtml(html);
+            builder.insertHtml(html);
+
+            XWPFDocument document = reopen(builder.getDocument());
+            Assert.assertEquals(document.getAllPictures().size(), 1);
+            Assert.assertEquals(document.getParagraphs().get(0).getRuns().get(1).getEmbeddedPictures().size(), 1);
+            Assert.assertEquals(document.getParagraphs().get(1).getRuns().get(1).getEmbeddedPictures().size(), 1);
+        }
+    }
+
+    @Test
+    public void testCacheIsBoundedByFragmentSize() throws Exception {
+        HtmlFragmentCache probe = new HtmlFragmentCache(1024 * 1024);
+        long weight = probe.get("<p>片段一</p>").getWeight();
+        Assert.assertTrue(weight > 0);
+        Assert.assertEquals(probe.getStatistics().get("weight"), weight);
+
+        // 约能容纳四个片段
+        long maxWeight = weight * 4 + weight / 2;
+        HtmlFragmentCache cache = new HtmlFragmentCache(maxWeight);
+        DocumentFragment first = cache.get("<p>片段一</p>");
+        Assert.assertSame(cache.get("<p>片段一</p>"), first);
+        for (int i = 0; i < 10; i++) {
+            cache.get("<p>片段 " + i + "</p>");
+        }
+        Map<String, Object> stats = cache.getStatistics();
+        Assert.assertTrue((Long) stats.get("weight") <= maxWeight);
+        Assert.assertTrue((Long) stats.get("evictions") > 0);
+        Assert.assertNotSame(cache.get("<p>片段一</p>"), first);
+
+        cache.clear();
+        Assert.assertEquals(cache.getStatistics().get("weight"), 0L);
+    }
+
+    private static XWPFDocument reopen(XWPFDocument document) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        return new XWPFDocument(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.html.creator.HtmlToDocxCreator;
+import com.boundesu.words.html.parser.HtmlBlockParser;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * HTML创建器测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class HtmlToDocxCreatorTest {
+
+    @Test
+    public void testStyleRulesAddedAfterContentKeepBodyIntact() {
+        HtmlToDocxCreator creator = new HtmlToDocxCreator();
+        creator.addParagraph("第一段 <正文>");
+        creator.setHeader("页眉");
+        creator.setTitle("报告");
+        creator.addParagraph("第二段");
+        creator.setFooter("页脚");
+
+        String html = creator.getHtmlContent();
+        Assert.assertTrue(html.contains("<title>报告</title>"));
+        Assert.assertTrue(html.indexOf("@top-center") < html.indexOf("@bottom-center"));
+        Assert.assertTrue(html.indexOf("@bottom-center") < html.indexOf("</style>"));
+        Assert.assertTrue(html.indexOf("<p>第一段 &lt;正文&gt;</p>") < html.indexOf("<p>第二段</p>"));
+        Assert.assertTrue(html.endsWith("</body>\n</html>"));
+        Assert.assertEquals(creator.getHtmlContent(), html);
+    }
+
+    @Test
+    public void testHtmlViewIsRenderedFromBlocks() throws Exception {
+        HtmlToDocxCreator creator = new HtmlToDocxCreator();
+        creator.addHeading("概述", 2);
+        creator.addTable(new String[][]{{"列"}, {"值"}});
+        creator.addList(Arrays.asList("甲", "乙"), true);
+        creator.addLink("https://example.com/?a=1&b=2", "示例");
+        creator.addCustomHtml("<p>自定义 <i>斜体</i></p>");
+
+        String html = creator.getHtmlContent();
+        Assert.assertTrue(html.contains("<h2>概述</h2>"));
+        Assert.assertTrue(html.contains("<td><b>列</b></td>"));
+        Assert.assertTrue(html.contains("<ol>\n<li>甲</li>\n<li>乙</li>\n</ol>"));
+        Assert.assertTrue(html.contains("<p><a href=\"https://example.com/?a=1&amp;b=2\">示例</a></p>"));
+        Assert.assertTrue(html.contains("<p>自定义 <i>斜体</i></p>"));
+
+        List<Block> reparsed = HtmlBlockParser.parse(html);
+        Assert.assertEquals(reparsed.size(), 5);
+        Assert.assertEquals(((Block.Paragraph) reparsed.get(3)).getRuns().get(0).getHref(),
+                "https://example.com/?a=1&b=2");
+
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(creator.createDocumentAsBytes()))) {
+            Assert.assertEquals(document.getHyperlinks()[0].getURL(), "https://example.com/?a=1&b=2");
+            Assert.assertEquals(document.getTables().get(0).getRow(1).getCell(0).getText(), "值");
+        }
+    }
+
+    @Test
+    public void testDocumentCanBeCreatedRepeatedly() throws Exception {
+        HtmlToDocxCreator creator = new HtmlToDocxCreator();
+        creator.setTitle("重复生成");
+        for (int i = 0; i < 30; i++) {
+            creator.addParagraph("段落编号 " + i * 37);
+            if (i % 10 == 0) {
+                creator.setPageNumberEnabled(true);
+            }
+        }
+
+        byte[] first = creator.createDocumentAsBytes();
+        byte[] second = creator.createDocumentAsBytes();
+        try (XWPFDocument a = new XWPFDocument(new ByteArrayInputStream(first));
+             XWPFDocument b = new XWPFDocument(new ByteArrayInputStream(second))) {
+            Assert.assertEquals(b.getParagraphs().size(), a.getParagraphs().size());
+            Assert.assertEquals(a.getProperties().getCoreProperties().getTitle(), "重复生成");
+        }
+    }
+}
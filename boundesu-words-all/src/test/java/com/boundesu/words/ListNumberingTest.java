@@ -0,0 +1,126 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.BlockDocument;
+import com.boundesu.words.common.block.BlockDocxWriter;
+import com.boundesu.words.common.style.ListNumbering;
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.options.HtmlLoadOptions;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFNum;
+import org.apache.poi.xwpf.usermodel.XWPFNumbering;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTNum;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 列表编号定义测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ListNumberingTest {
+
+    @Test
+    public void testHtmlNestedListsUseNumberingWithoutDuplicates() throws Exception {
+        Path htmlFile = Files.createTempFile("html_lists", ".html");
+        try {
+            String html = "<html><body><ul><li>甲<ol><li>一</li><li>二</li></ol>续行</li><li>乙</li></ul>"
+                    + "<ul><li>丙</li></ul></body></html>";
+            Files.write(htmlFile, html.getBytes(StandardCharsets.UTF_8));
+            Document document = new Document(htmlFile.toString(), new HtmlLoadOptions());
+
+            XWPFDocument docx = document.getXWPFDocument();
+            List<XWPFParagraph> paragraphs = docx.getParagraphs();
+            Assert.assertEquals(paragraphs.size(), 6);
+            Assert.assertEquals(paragraphs.get(0).getText(), "甲");
+            Assert.assertEquals(paragraphs.get(0).getNumFmt(), "bullet");
+            Assert.assertEquals(paragraphs.get(1).getText(), "一");
+            Assert.assertEquals(paragraphs.get(1).getNumFmt(), "lowerLetter");
+            Assert.assertEquals(paragraphs.get(1).getNumIlvl().intValue(), 1);
+            Assert.assertNull(paragraphs.get(3).getNumID());
+            Assert.assertEquals(paragraphs.get(3).getText(), "续行");
+            // 两个无序列表共用同一编号实例，抽象定义只有项目符号和数字两种
+            Assert.assertEquals(paragraphs.get(5).getNumID(), paragraphs.get(0).getNumID());
+            Assert.assertEquals(docx.getNumbering().getAbstractNums().size(), 2);
+            document.close();
+        } finally {
+            Files.deleteIfExists(htmlFile);
+        }
+    }
+
+    @Test
+    public void testXmlOrderedListsRestartNumbering() throws Exception {
+        String xml = "<document><list type=\"ordered\"><item>第一</item><item>第二"
+                + "<list><item>子项</item></list></item></list>"
+                + "<list type=\"ordered\"><item>重新开始</item></list></document>";
+        byte[] bytes = OptimizedXmlToDocxConverter.getInstance()
+                .convertXmlToDocx(xml, new OptimizedXmlToDocxConverter.ConversionOptions());
+
+        XWPFDocument docx = new XWPFDocument(new ByteArrayInputStream(bytes));
+        List<XWPFParagraph> items = docx.getParagraphs();
+        XWPFParagraph first = find(items, "第一");
+        XWPFParagraph nested = find(items, "子项");
+        XWPFParagraph restarted = find(items, "重新开始");
+        Assert.assertEquals(first.getNumFmt(), "decimal");
+        Assert.assertEquals(nested.getNumFmt(), "bullet");
+        Assert.assertEquals(nested.getNumIlvl().intValue(), 1);
+        Assert.assertNotEquals(restarted.getNumID(), first.getNumID());
+        Assert.assertFalse(first.getText().startsWith("•"));
+    }
+
+    @Test
+    public void testNewNumIdsSkipNonContiguousExistingIds() {
+        XWPFDocument document = new XWPFDocument();
+        XWPFNumbering numbering = document.createNumbering();
+        for (long id : new long[]{1, 3}) {
+            CTNum num = CTNum.Factory.newInstance();
+            num.setNumId(BigInteger.valueOf(id));
+            num.addNewAbstractNumId().setVal(BigInteger.ZERO);
+            numbering.addNum(new XWPFNum(num, numbering));
+        }
+
+        ListNumbering listNumbering = new ListNumbering(document);
+        BigInteger ordered = listNumbering.startList(true);
+        BigInteger bullet = listNumbering.startList(false);
+        Assert.assertEquals(ordered, BigInteger.valueOf(4));
+        Assert.assertEquals(bullet, BigInteger.valueOf(5));
+        Assert.assertEquals(numbering.getNums().size(), 4);
+    }
+
+    @Test
+    public void testBlockWriterEmitsNumberingPart() throws Exception {
+        BlockDocument document = BlockDocument.builder()
+                .add(Block.list(Arrays.asList("甲", "乙"), true))
+                .add(Block.list(Arrays.asList("丙"), true))
+                .add(Block.list(Arrays.asList("丁"), false))
+                .build();
+
+        XWPFDocument docx = new XWPFDocument(new ByteArrayInputStream(BlockDocxWriter.toBytes(document)));
+        List<XWPFParagraph> paragraphs = docx.getParagraphs();
+        Assert.assertEquals(paragraphs.get(0).getText(), "甲");
+        Assert.assertEquals(paragraphs.get(1).getNumID(), paragraphs.get(0).getNumID());
+        Assert.assertNotEquals(paragraphs.get(2).getNumID(), paragraphs.get(0).getNumID());
+        Assert.assertEquals(paragraphs.get(3).getNumFmt(), "bullet");
+        Assert.assertEquals(docx.getNumbering().getAbstractNums().size(), 2);
+    }
+
+    private static XWPFParagraph find(List<XWPFParagraph> paragraphs, String text) {
+        for (XWPFParagraph paragraph : paragraphs) {
+            if (paragraph.getText().contains(text)) {
+                return paragraph;
+            }
+        }
+        throw new AssertionError("未找到段落: " + text);
+    }
+}
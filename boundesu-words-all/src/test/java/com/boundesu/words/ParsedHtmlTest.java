@@ -0,0 +1,67 @@
+package com.boundesu.words;
+
+import com.boundesu.words.html.converter.HtmlToDocxConverter;
+import com.boundesu.words.html.parser.HtmlContentParser;
+import com.boundesu.words.html.util.HtmlUtils;
+import com.boundesu.words.html.util.ParsedHtml;
+import org.jsoup.select.Elements;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 单次解析HTML句柄测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ParsedHtmlTest {
+
+    private static final String HTML = "<html><head><title>年度报告</title></head><body>"
+            + "<h1>概述</h1><p>正文<a href=\"https://example.com\">链接</a><a name=\"anchor\">锚点</a></p>"
+            + "<img src=\"logo.png\"><img alt=\"无地址\">"
+            + "<table><tr><td>单元格</td></tr></table>"
+            + "<script>alert('x')</script></body></html>";
+
+    @Test
+    public void testQueriesShareOneTree() {
+        ParsedHtml html = HtmlUtils.parse(HTML);
+
+        Assert.assertEquals(HtmlUtils.getTitle(html), "年度报告");
+        Assert.assertEquals(HtmlUtils.getLinks(html).size(), 1);
+        Assert.assertEquals(HtmlUtils.getImages(html).size(), 1);
+        Assert.assertEquals(HtmlUtils.getTables(html).size(), 1);
+        Assert.assertTrue(HtmlUtils.containsTag(html, "TABLE"));
+        Assert.assertFalse(HtmlUtils.containsTag(html, "ul"));
+        Assert.assertTrue(HtmlUtils.extractText(html).contains("单元格"));
+        Assert.assertFalse(HtmlUtils.cleanHtml(html).contains("script"));
+
+        // 结果与逐次解析的字符串方法一致
+        Assert.assertEquals(HtmlUtils.extractText(html), HtmlUtils.extractText(HTML));
+        Assert.assertEquals(HtmlUtils.getLinks(html).first().attr("href"), HtmlUtils.getLinks(HTML).first().attr("href"));
+
+        // 元素索引返回副本，修改结果不影响后续查询
+        Elements tables = html.getTables();
+        tables.clear();
+        Assert.assertEquals(html.getTables().size(), 1);
+        Assert.assertSame(html.getTables().first(), html.getDocument().selectFirst("table"));
+    }
+
+    @Test
+    public void testConvertersAcceptParsedHtml() throws Exception {
+        ParsedHtml html = HtmlUtils.parse(HTML);
+
+        Assert.assertEquals(HtmlContentParser.parseHtmlContent(html).get(0).getTitle(), "概述");
+        Assert.assertNotNull(new HtmlToDocxConverter().convertHtmlToDocx(html).getXWPFDocument());
+
+        Path tempFile = Files.createTempFile("parsed_html", ".docx");
+        try {
+            BoundesuWordsSDK.createDocumentFromHtml(html, tempFile);
+            Assert.assertTrue(Files.size(tempFile) > 0);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
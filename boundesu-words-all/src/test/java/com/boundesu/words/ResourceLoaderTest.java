@@ -0,0 +1,260 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.config.HtmlLoadConfig;
+import com.boundesu.words.core.options.HtmlLoadOptions;
+import com.boundesu.words.core.options.ResourceLoadingAction;
+import com.boundesu.words.core.options.ResourceLoadingArgs;
+import com.boundesu.words.core.options.ResourceLoadingCallback;
+import com.boundesu.words.core.resource.ResourceCache;
+import com.boundesu.words.core.resource.ResourceLoader;
+import com.boundesu.words.html.util.ParsedHtml;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.jsoup.Jsoup;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTML外部资源并发预取测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ResourceLoaderTest {
+
+    private static final int PARALLEL_IMAGES = 3;
+
+    private HttpServer server;
+    private String baseUrl;
+    private byte[] png;
+    private final CountDownLatch parallelArrivals = new CountDownLatch(PARALLEL_IMAGES);
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        png = png(30, 10);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        // 只有请求并发到达时才会全部及时返回
+        server.createContext("/parallel/", exchange -> {
+            requests.incrementAndGet();
+            parallelArrivals.countDown();
+            try {
+                parallelArrivals.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, png);
+        });
+        server.createContext("/slow/", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, png);
+        });
+        server.createContext("/static/", exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, png);
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testImagesAreFetchedConcurrently() {
+        StringBuilder html = new StringBuilder("<body>");
+        for (int i = 0; i < PARALLEL_IMAGES; i++) {
+            html.append("<img src=\"parallel/").append(i).append(".png\">");
+        }
+        html.append("</body>");
+        ResourceLoader loader = new ResourceLoader(baseUrl, null, 10000, null, new ResourceCache(1024 * 1024));
+
+        long start = System.nanoTime();
+        Assert.assertEquals(loader.prefetchImages(Jsoup.parse(html.toString())), PARALLEL_IMAGES);
+        for (int i = 0; i < PARALLEL_IMAGES; i++) {
+            Assert.assertEquals(loader.get("parallel/" + i + ".png"), png);
+        }
+        // 串行下载时第一个请求要等满5秒
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+    }
+
+    @Test
+    public void testCallbackCacheAndTimeout() {
+        ResourceCache cache = new ResourceCache(1024 * 1024);
+        List<String> seen = new ArrayList<>();
+        byte[] provided = {1, 2, 3};
+        ResourceLoadingCallback callback = args -> {
+            seen.add(args.getOriginalUri());
+            if (args.getOriginalUri().startsWith("skip")) {
+                return ResourceLoadingAction.SKIP;
+            }
+            if (args.getOriginalUri().startsWith("provided")) {
+                args.setData(provided);
+                return ResourceLoadingAction.USER_PROVIDED;
+            }
+            Assert.assertEquals(args.getResourceType(), ResourceLoadingArgs.ResourceType.IMAGE);
+            return ResourceLoadingAction.DEFAULT;
+        };
+
+        ResourceLoader loader = new ResourceLoader(baseUrl, null, 10000, callback, cache);
+        Assert.assertNull(loader.get("skip.png"));
+        Assert.assertEquals(loader.get("provided.png"), provided);
+        Assert.assertEquals(loader.get("static/a.png"), png);
+        Assert.assertEquals(seen.size(), 3);
+
+        int before = requests.get();
+        ResourceLoader second = new ResourceLoader(baseUrl, null, 10000, null, cache);
+        Assert.assertEquals(second.get("static/a.png"), png);
+        Assert.assertEquals(requests.get(), before);
+        Assert.assertEquals(cache.getStatistics().get("hits"), 1L);
+
+        ResourceLoader impatient = new ResourceLoader(baseUrl, null, 200, null, cache);
+        long start = System.nanoTime();
+        Assert.assertNull(impatient.get("slow/a.png"));
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+    }
+
+    @Test
+    public void testHtmlDocumentEmbedsLocalImages() throws Exception {
+        Path dir = Files.createTempDirectory("html_images");
+        Path folder = Files.createDirectory(dir.resolve("images"));
+        Path htmlFile = dir.resolve("page.html");
+        try {
+            Files.write(dir.resolve("relative.png"), png(20, 20));
+            Files.write(folder.resolve("folder.png"), png(40, 20));
+            String html = "<html><body><p>文本<img src=\"relative.png\"></p>"
+                    + "<img src=\"folder.png\"><img src=\"missing.png\" alt=\"缺失图片\"></body></html>";
+            Files.write(htmlFile, html.getBytes(StandardCharsets.UTF_8));
+
+            HtmlLoadConfig config = HtmlLoadConfig.createDefault()
+                    .setImageOptions(true, true, folder.toString());
+            Document document = new Document(htmlFile.toString(), new HtmlLoadOptions(), config);
+
+            Assert.assertEquals(document.getXWPFDocument().getAllPictures().size(), 2);
+            Assert.assertTrue(document.getText().contains("缺失图片"));
+            document.close();
+        } finally {
+            Files.deleteIfExists(htmlFile);
+            Files.deleteIfExists(dir.resolve("relative.png"));
+            Files.deleteIfExists(folder.resolve("folder.png"));
+            Files.deleteIfExists(folder);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testExternalResourcesNeedExplicitPermission() {
+        ResourceCache cache = new ResourceCache(1024 * 1024);
+        String absolute = baseUrl + "static/external.png";
+
+        ResourceLoader fragment = new ResourceLoader(null, null, 10000, null, cache);
+        Assert.assertNull(fragment.get(absolute));
+        Assert.assertNull(fragment.get("static/external.png"));
+
+        // 与基础地址同源的绝对地址可以读取
+        ResourceLoader sameOrigin = new ResourceLoader(baseUrl + "pages/", null, 10000, null, cache);
+        Assert.assertEquals(sameOrigin.get(absolute), png);
+        Assert.assertNull(sameOrigin.get("http://localhost:1/other.png"));
+
+        ResourceLoader trusted = new ResourceLoader(null, null, 10000, null, true, cache);
+        Assert.assertEquals(trusted.get(absolute), png);
+    }
+
+    @Test
+    public void testHtmlDocumentSkipsFilesOutsideItsDirectory() throws Exception {
+        Path dir = Files.createTempDirectory("html_scope");
+        Path page = Files.createDirectory(dir.resolve("page"));
+        Path outside = dir.resolve("outside.png");
+        Path htmlFile = page.resolve("page.html");
+        try {
+            Files.write(outside, png(20, 20));
+            String html = "<html><body><img src=\"" + outside.toUri() + "\" alt=\"外部\">"
+                    + "<img src=\"../outside.png\" alt=\"上级\"></body></html>";
+            Files.write(htmlFile, html.getBytes(StandardCharsets.UTF_8));
+
+            Document document = new Document(htmlFile.toString(), new HtmlLoadOptions(), HtmlLoadConfig.createDefault());
+            Assert.assertTrue(document.getXWPFDocument().getAllPictures().isEmpty());
+            Assert.assertTrue(document.getText().contains("外部"));
+            document.close();
+
+            HtmlLoadConfig trusted = HtmlLoadConfig.createDefault().setLoadExternalResources(true);
+            document = new Document(htmlFile.toString(), new HtmlLoadOptions(), trusted);
+            Assert.assertEquals(document.getXWPFDocument().getAllPictures().size(), 1);
+            document.close();
+        } finally {
+            Files.deleteIfExists(htmlFile);
+            Files.deleteIfExists(outside);
+            Files.deleteIfExists(page);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testSdkHtmlConversionLoadsImagesThroughResourceLoader() throws Exception {
+        Path dir = Files.createTempDirectory("sdk_images");
+        Path image = dir.resolve("logo.png");
+        Path output = dir.resolve("out.docx");
+        try {
+            Files.write(image, png(20, 10));
+            String html = "<h1>标题</h1><img src=\"logo.png\"><img src=\"" + baseUrl + "static/sdk.png\">";
+
+            BoundesuWordsSDK.createDocumentFromHtml(ParsedHtml.parse(html), output,
+                    HtmlLoadConfig.createDefault().setImageOptions(true, true, dir.toString()));
+            try (XWPFDocument document = new XWPFDocument(Files.newInputStream(output))) {
+                Assert.assertEquals(document.getAllPictures().size(), 1);
+            }
+
+            BoundesuWordsSDK.createDocumentFromHtml(ParsedHtml.parse(html), output,
+                    HtmlLoadConfig.createDefault().setImageOptions(true, true, dir.toString())
+                            .setLoadExternalResources(true));
+            try (XWPFDocument document = new XWPFDocument(Files.newInputStream(output))) {
+                Assert.assertEquals(document.getAllPictures().size(), 2);
+            }
+        } finally {
+            Files.deleteIfExists(output);
+            Files.deleteIfExists(image);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,134 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.core.config.XmlLoadConfig;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * XML流式转换测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class StreamingXmlConversionTest {
+
+    private static final String SAMPLE = "<document>"
+            + "<title>年度报告</title>"
+            + "<h2>概述</h2>"
+            + "<paragraph>正文 <bold>重点</bold></paragraph>"
+            + "<table><row><cell>A1</cell><cell>B1</cell></row><row><cell>A2</cell><cell>B2</cell></row></table>"
+            + "<list><item>第一项</item><item>第二项</item></list>"
+            + "</document>";
+
+    @Test
+    public void testStreamingMatchesDomForCommonVocabulary() throws Exception {
+        XWPFDocument dom = open(new OptimizedXmlToDocxConverter().convertXmlToDocx(SAMPLE,
+                new OptimizedXmlToDocxConverter.ConversionOptions()));
+        XWPFDocument streaming = open(new OptimizedXmlToDocxConverter().convertXmlToDocx(SAMPLE,
+                XmlLoadConfig.createFast().toConversionOptions()));
+
+        Assert.assertEquals(texts(streaming), texts(dom));
+        XWPFTable table = streaming.getTables().get(0);
+        Assert.assertEquals(table.getNumberOfRows(), 2);
+        Assert.assertEquals(table.getRow(1).getCell(1).getText(), "B2");
+        String boldStyle = streaming.getParagraphs().get(2).getRuns().get(1).getStyle();
+        Assert.assertTrue(XmlMappingRulesTest.styleRunProperties(streaming, boldStyle).sizeOfBArray() > 0);
+        Assert.assertEquals(dom.getParagraphs().get(2).getRuns().get(1).getStyle(), boldStyle);
+    }
+
+    @Test
+    public void testNestedTablesAndListsInBothModes() throws Exception {
+        String xml = "<document>"
+                + "<table><row><cell>外层"
+                + "<table><row><cell>内层A</cell><cell>内层B</cell></row></table>"
+                + "</cell><cell>右侧</cell></row></table>"
+                + "<list><item>一级<list><item>二级</item></list></item><item>一级二</item></list>"
+                + "</document>";
+
+        for (boolean streaming : new boolean[]{false, true}) {
+            XWPFDocument document = open(new OptimizedXmlToDocxConverter().convertXmlToDocx(xml,
+                    new OptimizedXmlToDocxConverter.ConversionOptions().setUseStreamingParser(streaming)));
+            String mode = streaming ? "streaming" : "dom";
+
+            Assert.assertEquals(document.getTables().size(), 1, mode);
+            XWPFTable outer = document.getTables().get(0);
+            Assert.assertEquals(outer.getNumberOfRows(), 1, mode);
+            Assert.assertEquals(outer.getRow(0).getTableCells().size(), 2, mode);
+            Assert.assertEquals(outer.getRow(0).getCell(1).getText(), "右侧", mode);
+
+            XWPFTable inner = outer.getRow(0).getCell(0).getTables().get(0);
+            Assert.assertEquals(inner.getRow(0).getTableCells().size(), 2, mode);
+            Assert.assertEquals(inner.getRow(0).getCell(1).getText(), "内层B", mode);
+
+            List<String> texts = texts(document);
+            Assert.assertEquals(texts, Arrays.asList("一级", "二级", "一级二"), mode);
+            Assert.assertEquals(document.getParagraphs().get(0).getNumFmt(), "bullet", mode);
+            Assert.assertEquals(document.getParagraphs().get(1).getNumIlvl().intValue(), 1, mode);
+        }
+    }
+
+    @Test
+    public void testStreamingLargeInput() throws Exception {
+        int count = 20000;
+        List<InputStream> parts = new ArrayList<>();
+        parts.add(new ByteArrayInputStream("<document>".getBytes(StandardCharsets.UTF_8)));
+        for (int i = 0; i < count; i++) {
+            parts.add(new ByteArrayInputStream(("<p>数据行 " + i + "</p>").getBytes(StandardCharsets.UTF_8)));
+        }
+        parts.add(new ByteArrayInputStream("</document>".getBytes(StandardCharsets.UTF_8)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new OptimizedXmlToDocxConverter().convertXmlToDocx(new SequenceInputStream(Collections.enumeration(parts)),
+                out, new OptimizedXmlToDocxConverter.ConversionOptions().setUseStreamingParser(true).setBufferSize(4096));
+
+        XWPFDocument document = open(out.toByteArray());
+        Assert.assertEquals(document.getParagraphs().size(), count);
+        Assert.assertEquals(document.getParagraphs().get(count - 1).getText(), "数据行 " + (count - 1));
+    }
+
+    @Test
+    public void testLoadConfigParserSettingsReachBothParsers() throws Exception {
+        String xml = "<!DOCTYPE document [<!ENTITY co \"博达科技\">]><document><p>&co;年报</p></document>";
+        for (boolean streaming : new boolean[]{false, true}) {
+            OptimizedXmlToDocxConverter.ConversionOptions options = XmlLoadConfig.createDefault()
+                    .setEntityOptions(true, true)
+                    .setPerformanceOptions(streaming, 8192, true)
+                    .toConversionOptions();
+            Assert.assertTrue(options.getParserSettings().isResolveExternalEntities());
+
+            XWPFDocument document = open(new OptimizedXmlToDocxConverter().convertXmlToDocx(xml, options));
+            Assert.assertEquals(document.getParagraphs().get(0).getText(), "博达科技年报", "streaming=" + streaming);
+        }
+
+        // 默认不解析DTD：流式模式下未声明的实体引用报错，而不是静默丢弃
+        Assert.assertThrows(BoundesuWordsException.class, () -> new OptimizedXmlToDocxConverter().convertXmlToDocx(xml,
+                XmlLoadConfig.createDefault().setPerformanceOptions(true, 8192, true).toConversionOptions()));
+    }
+
+    private XWPFDocument open(byte[] docx) throws Exception {
+        return new XWPFDocument(new ByteArrayInputStream(docx));
+    }
+
+    private List<String> texts(XWPFDocument document) {
+        List<String> texts = new ArrayList<>();
+        for (XWPFParagraph paragraph : document.getParagraphs()) {
+            texts.add(paragraph.getText().replace(" ", ""));
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,130 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.style.StyleInterner;
+import com.boundesu.words.core.builder.DocumentBuilder;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * 文本格式驻留测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class StyleInternerTest {
+
+    @Test
+    public void testDistinctFormatsAreInternedOnce() {
+        XWPFDocument document = new XWPFDocument();
+        StyleInterner interner = new StyleInterner(document, "宋体", 11);
+
+        String bold = interner.characterStyle(StyleInterner.BOLD, null, 0, null);
+        Assert.assertEquals(interner.characterStyle(StyleInterner.BOLD, null, 11, "宋体"), bold);
+        Assert.assertNotEquals(interner.characterStyle(StyleInterner.BOLD | StyleInterner.ITALIC, null, 0, null), bold);
+        Assert.assertNull(interner.characterStyle(0, null, 11, "宋体"));
+        Assert.assertEquals(interner.getCharacterStyleCount(), 2);
+
+        CTRPr defaults = document.getStyles().getCtStyles().getDocDefaults().getRPrDefault().getRPr();
+        Assert.assertEquals(defaults.getRFontsArray(0).getAscii(), "宋体");
+        Assert.assertEquals(defaults.getSzArray(0).getVal().toString(), "22");
+        Assert.assertEquals(interner.headingStyle(2, 16), "Heading2");
+        Assert.assertEquals(interner.headingStyle(2, 16), "Heading2");
+    }
+
+    @Test
+    public void testBuilderRunsReferenceSharedStyles() throws Exception {
+        DocumentBuilder builder = new DocumentBuilder();
+        builder.getFont().setBold(true);
+        for (int i = 0; i < 5; i++) {
+            builder.writeln("粗体" + i);
+        }
+        builder.getFont().setBold(false);
+        builder.getFont().setColor(Color.BLACK);
+        builder.write("正文");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.getDocument().write(out);
+        XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(out.toByteArray()));
+
+        String boldStyle = document.getParagraphs().get(0).getRuns().get(0).getStyle();
+        for (int i = 1; i < 5; i++) {
+            XWPFRun run = document.getParagraphs().get(i).getRuns().get(0);
+            Assert.assertEquals(run.getStyle(), boldStyle);
+            Assert.assertFalse(run.getCTR().isSetRPr() && run.getCTR().getRPr().sizeOfBArray() > 0);
+        }
+        Assert.assertTrue(XmlMappingRulesTest.styleRunProperties(document, boldStyle).sizeOfBArray() > 0);
+        XWPFRun plain = document.getParagraphs().get(5).getRuns().get(0);
+        Assert.assertNotEquals(plain.getStyle(), boldStyle);
+    }
+
+    @Test
+    public void testBuilderFollowsFontChangesBetweenWrites() {
+        DocumentBuilder builder = new DocumentBuilder();
+        builder.getFont().setItalic(true);
+        builder.writeln("斜体一");
+        builder.writeln("斜体二");
+        builder.getFont().setItalic(false);
+        builder.getFont().setColor(null);
+        builder.writeln("默认");
+        builder.getFont().setUnderline(DocumentBuilder.UnderlineType.SINGLE);
+        builder.write("下划线");
+
+        XWPFDocument document = builder.getDocument();
+        XWPFRun first = document.getParagraphs().get(0).getRuns().get(0);
+        XWPFRun second = document.getParagraphs().get(1).getRuns().get(0);
+        Assert.assertEquals(second.getStyle(), first.getStyle());
+        Assert.assertNotSame(second.getCTR().getRPr(), first.getCTR().getRPr());
+        Assert.assertTrue(XmlMappingRulesTest.styleRunProperties(document, first.getStyle()).sizeOfIArray() > 0);
+        Assert.assertFalse(document.getParagraphs().get(2).getRuns().get(0).getCTR().isSetRPr());
+        String underline = document.getParagraphs().get(3).getRuns().get(0).getStyle();
+        Assert.assertTrue(XmlMappingRulesTest.styleRunProperties(document, underline).sizeOfUArray() > 0);
+    }
+
+    @Test
+    public void testBuildersSharingDocumentDoNotReuseStyleIds() throws Exception {
+        DocumentBuilder first = new DocumentBuilder();
+        first.getFont().setBold(true);
+        first.writeln("粗体");
+
+        DocumentBuilder second = new DocumentBuilder(first.getDocument());
+        second.getFont().setItalic(true);
+        second.write("斜体");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        first.getDocument().write(out);
+        XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(out.toByteArray()));
+
+        String boldStyle = document.getParagraphs().get(0).getRuns().get(0).getStyle();
+        String italicStyle = document.getParagraphs().get(2).getRuns().get(0).getStyle();
+        Assert.assertNotEquals(italicStyle, boldStyle);
+        CTRPr bold = XmlMappingRulesTest.styleRunProperties(document, boldStyle);
+        CTRPr italic = XmlMappingRulesTest.styleRunProperties(document, italicStyle);
+        Assert.assertTrue(bold.sizeOfBArray() > 0);
+        Assert.assertEquals(bold.sizeOfIArray(), 0);
+        Assert.assertTrue(italic.sizeOfIArray() > 0);
+        Assert.assertEquals(italic.sizeOfBArray(), 0);
+    }
+
+    @Test
+    public void testXmlHeadingsUseParagraphStyles() throws Exception {
+        String xml = "<document><h1>第一章</h1><paragraph>正文</paragraph><h1>第二章</h1></document>";
+        XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(
+                OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(xml,
+                new OptimizedXmlToDocxConverter.ConversionOptions())));
+
+        XWPFParagraph first = document.getParagraphs().get(0);
+        Assert.assertEquals(first.getStyle(), "Heading1");
+        Assert.assertEquals(document.getParagraphs().get(2).getStyle(), "Heading1");
+        Assert.assertTrue(first.getRuns().get(0).getStyle().isEmpty());
+        Assert.assertTrue(document.getParagraphs().get(1).getRuns().get(0).getStyle().isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.config.HtmlLoadConfig;
+import com.boundesu.words.core.css.StyleSheet;
+import com.boundesu.words.core.css.StyleSheetCache;
+import com.boundesu.words.core.options.HtmlLoadOptions;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 跨文档样式表缓存测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class StyleSheetCacheTest {
+
+    @Test
+    public void testStyleSheetIsCompiledIntoIndexes() {
+        StyleSheet sheet = StyleSheet.parse("/* 页面 { color: red } */ @charset \"UTF-8\";"
+                + "p { color: #111111; margin: 0 }"
+                + "@media print { p { color: #222222 } }"
+                + "th, td { padding: 4pt }"
+                + "p { font-weight: bold }");
+
+        Map<String, String> paragraph = sheet.getRules("p");
+        Assert.assertEquals(sheet.size(), 2);
+        Assert.assertEquals(paragraph.get("font-weight"), "bold");
+        Assert.assertNull(paragraph.get("color"));
+        Assert.assertEquals(sheet.getGroupRules("td").get(0).get("padding"), "4pt");
+        Assert.assertTrue(sheet.getGroupRules("p").isEmpty());
+    }
+
+    @Test
+    public void testIdenticalCssIsCompiledOnce() {
+        StyleSheetCache cache = new StyleSheetCache(1024 * 1024);
+        String css = "h1 { color: #123456 } .note { font-style: italic }";
+
+        StyleSheet first = cache.get(css);
+        Assert.assertSame(cache.get(new String(css.toCharArray())), first);
+        StyleSheet merged = cache.get(Arrays.asList(css, "h1 { color: #654321 }"));
+        Assert.assertSame(cache.get(Arrays.asList(css, "h1 { color: #654321 }")), merged);
+        Assert.assertEquals(merged.getRules("h1").get("color"), "#654321");
+        Assert.assertEquals(merged.getRules(".note").get("font-style"), "italic");
+        Assert.assertEquals(cache.getStatistics().get("entries"), 3);
+    }
+
+    @Test
+    public void testLinkedStyleSheetIsResolvedFromBaseUrl() throws Exception {
+        Path dir = Files.createTempDirectory("html_css");
+        Path assets = Files.createDirectory(dir.resolve("assets"));
+        Path htmlFile = dir.resolve("report.html");
+        Path cssFile = assets.resolve("theme.css");
+        try {
+            Files.write(cssFile, ".hl { color: #FF0000 }".getBytes(StandardCharsets.UTF_8));
+            String html = "<html><head><link rel=\"stylesheet\" href=\"theme.css\"></head>"
+                    + "<body><p><span class=\"hl\">重点</span></p></body></html>";
+            Files.write(htmlFile, html.getBytes(StandardCharsets.UTF_8));
+
+            HtmlLoadConfig config = HtmlLoadConfig.createDefault()
+                    .setLinkOptions(true, false, assets.toUri().toString());
+            HtmlLoadOptions options = new HtmlLoadOptions();
+            Document document = new Document(htmlFile.toString(), options, config);
+
+            XWPFParagraph paragraph = document.getXWPFDocument().getParagraphs().get(0);
+            Assert.assertEquals(paragraph.getRuns().get(0).getColor(), "FF0000");
+            document.close();
+        } finally {
+            Files.deleteIfExists(htmlFile);
+            Files.deleteIfExists(cssFile);
+            Files.deleteIfExists(assets);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.cache.WeightedLruCache;
+import com.boundesu.words.core.resource.ResourceCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+/**
+ * 按权重计量的LRU缓存测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class WeightedLruCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvictedByWeight() {
+        WeightedLruCache<String, String> cache = new WeightedLruCache<>(12, String::length);
+        Assert.assertTrue(cache.put("a", "aaa"));
+        Assert.assertTrue(cache.put("b", "bbb"));
+        Assert.assertEquals(cache.get("a"), "aaa");
+        Assert.assertTrue(cache.put("c", "ccc"));
+        Assert.assertTrue(cache.put("d", "ddd"));
+        Assert.assertTrue(cache.put("e", "ee"));
+
+        // b 最久未访问，先被淘汰
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals(cache.get("a"), "aaa");
+        Assert.assertEquals(cache.getWeight(), 11);
+
+        // 超过容量1/4的条目不缓存
+        Assert.assertFalse(cache.put("f", "ffff"));
+        Assert.assertNull(cache.get("f"));
+
+        Map<String, Object> stats = cache.getStatistics();
+        Assert.assertEquals(stats.get("hits"), 2L);
+        Assert.assertEquals(stats.get("misses"), 2L);
+        Assert.assertEquals(stats.get("evictions"), 1L);
+        Assert.assertEquals(stats.get("entries"), 4);
+        Assert.assertEquals(stats.get("maxWeight"), 12L);
+
+        cache.clear();
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getWeight(), 0);
+    }
+
+    @Test
+    public void testDefaultCacheCanBeReplaced() {
+        ResourceCache original = ResourceCache.getDefault();
+        ResourceCache small = new ResourceCache(1024);
+        try {
+            ResourceCache.setDefault(small);
+            Assert.assertSame(ResourceCache.getDefault(), small);
+            Assert.assertEquals(small.getStatistics().get("maxWeight"), 1024L);
+        } finally {
+            ResourceCache.setDefault(original);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCapacityMustBePositive() {
+        new WeightedLruCache<String, String>(0, String::length);
+    }
+}
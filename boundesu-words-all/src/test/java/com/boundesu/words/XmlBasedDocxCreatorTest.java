@@ -0,0 +1,108 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.creator.DocumentCreatorFactory;
+import com.boundesu.words.core.creator.impl.XmlBasedDocxCreator;
+import org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * XML创建器WordprocessingML直接输出测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlBasedDocxCreatorTest {
+
+    @Test
+    public void testContentIsWrittenAsWordprocessingMl() throws Exception {
+        XmlBasedDocxCreator creator = DocumentCreatorFactory.createXmlCreator();
+        creator.setTitle("季度总结");
+        creator.setAuthor("张三");
+        creator.addHeading("第一章", 1);
+        creator.addParagraph("普通段落 <带符号> & 引号'");
+        creator.addBoldText("加粗文本");
+        creator.addTable(new String[]{"名称", "数量"}, new String[][]{{"苹果", "3"}, {"梨"}});
+        creator.addList(new String[]{"甲", "乙"}, true);
+
+        XWPFDocument document = open(creator.createDocumentAsBytes());
+        List<XWPFParagraph> paragraphs = document.getParagraphs();
+
+        Assert.assertEquals(document.getProperties().getCoreProperties().getTitle(), "季度总结");
+        Assert.assertEquals(document.getProperties().getCoreProperties().getCreator(), "张三");
+        Assert.assertEquals(paragraphs.get(0).getText(), "第一章");
+        Assert.assertEquals(paragraphs.get(0).getStyle(), "Heading1");
+        Assert.assertEquals(paragraphs.get(1).getText(), "普通段落 <带符号> & 引号'");
+        Assert.assertTrue(paragraphs.get(2).getRuns().get(0).isBold());
+        Assert.assertEquals(paragraphs.get(3).getText(), "甲");
+        Assert.assertEquals(paragraphs.get(3).getNumFmt(), "decimal");
+
+        XWPFTable table = document.getTables().get(0);
+        Assert.assertEquals(table.getNumberOfRows(), 3);
+        Assert.assertTrue(table.getRow(0).getCell(0).getParagraphs().get(0).getRuns().get(0).isBold());
+        Assert.assertEquals(table.getRow(2).getTableCells().size(), 2);
+        Assert.assertEquals(table.getRow(2).getCell(1).getText(), "");
+        Assert.assertEquals(creator.getXmlContent().size(), 5);
+    }
+
+    @Test
+    public void testXmlFragmentsAreTranslatedInsteadOfWrittenAsText() throws Exception {
+        XmlBasedDocxCreator creator = DocumentCreatorFactory.createXmlCreator();
+        creator.addXml("<paragraph>正文<bold>重点</bold></paragraph>"
+                + "<table><row><cell>A1<table><row><cell>内层</cell></row></table></cell></row></table>"
+                + "<list type='unordered'><item>项目</item></list>");
+        creator.addXml("<paragraph>未闭合");
+
+        XWPFDocument document = open(creator.createDocumentAsBytes());
+        List<XWPFParagraph> paragraphs = document.getParagraphs();
+
+        XWPFRun bold = paragraphs.get(0).getRuns().get(1);
+        Assert.assertEquals(paragraphs.get(0).getText(), "正文重点");
+        Assert.assertTrue(bold.isBold());
+
+        XWPFTable outer = document.getTables().get(0);
+        Assert.assertEquals(outer.getRow(0).getCell(0).getTables().get(0).getRow(0).getCell(0).getText(), "内层");
+        Assert.assertEquals(paragraphs.get(1).getText(), "项目");
+        Assert.assertEquals(paragraphs.get(1).getNumFmt(), "bullet");
+        Assert.assertEquals(paragraphs.get(2).getText(), "<paragraph>未闭合");
+    }
+
+    @Test
+    public void testHeaderFooterAndFileOutput() throws Exception {
+        XmlBasedDocxCreator creator = DocumentCreatorFactory.createXmlCreator();
+        creator.setHeader("页头文字");
+        creator.setFooter("页脚文字");
+        creator.setPageNumberEnabled(true);
+        creator.addPageBreak();
+        creator.addSection("第二节", "章节正文");
+
+        Path output = Files.createTempFile("xml-creator", ".docx");
+        try {
+            creator.createDocument(output);
+            XWPFDocument document = open(Files.readAllBytes(output));
+            XWPFHeaderFooterPolicy policy = document.getHeaderFooterPolicy();
+            Assert.assertEquals(policy.getDefaultHeader().getText().trim(), "页头文字");
+            Assert.assertTrue(policy.getDefaultFooter().getText().startsWith("页脚文字 - 第 "));
+            Assert.assertTrue(document.getParagraphs().stream().anyMatch(p -> "第二节".equals(p.getText())));
+        } finally {
+            Files.deleteIfExists(output);
+        }
+
+        creator.clear();
+        Assert.assertTrue(open(creator.createDocumentAsBytes()).getParagraphs().isEmpty());
+    }
+
+    private static XWPFDocument open(byte[] docx) throws IOException {
+        return new XWPFDocument(new ByteArrayInputStream(docx));
+    }
+}
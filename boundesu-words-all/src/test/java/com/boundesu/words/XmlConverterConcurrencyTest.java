@@ -0,0 +1,49 @@
+package com.boundesu.words;
+
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * XML转换器并发测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlConverterConcurrencyTest {
+
+    @Test
+    public void testSharedConverterIsolatesConcurrentConversions() throws Exception {
+        OptimizedXmlToDocxConverter converter = OptimizedXmlToDocxConverter.getInstance();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String xml = "<document><title>文档" + i + "</title><p>内容" + i + "</p><p>结尾" + i + "</p></document>";
+                boolean streaming = i % 2 == 0;
+                results.add(pool.submit(() -> converter.convertXmlToDocx(xml,
+                        new OptimizedXmlToDocxConverter.ConversionOptions().setUseStreamingParser(streaming))));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(results.get(i).get()))) {
+                    List<XWPFParagraph> paragraphs = document.getParagraphs();
+                    Assert.assertEquals(paragraphs.size(), 3, "document " + i);
+                    Assert.assertEquals(paragraphs.get(0).getText(), "文档" + i);
+                    Assert.assertEquals(paragraphs.get(2).getText(), "结尾" + i);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
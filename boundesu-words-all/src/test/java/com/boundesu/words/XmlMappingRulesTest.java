@@ -0,0 +1,116 @@
+package com.boundesu.words;
+
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import com.boundesu.words.xml.converter.XmlMappingRules;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STUnderline;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * 声明式XML映射规则测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlMappingRulesTest {
+
+    private static final String INVOICE = "<invoice>"
+            + "<header><number>INV-001</number><memo>内部备注</memo></header>"
+            + "<lines>"
+            + "<line><sku>A-1</sku><qty>2</qty><amount>100</amount></line>"
+            + "<line><sku>B-2</sku><qty>1</qty><amount sign=\"negative\">-20</amount></line>"
+            + "</lines>"
+            + "<notes><note>请于月底前付款</note></notes>"
+            + "</invoice>";
+
+    private static final String RULES = "# 发票映射\n"
+            + "invoice/header/number = heading:2\n"
+            + "invoice/header/memo = ignore\n"
+            + "invoice/lines = table\n"
+            + "invoice/lines/line = row\n"
+            + "invoice/lines/line/* -> cell\n"
+            + "**/amount[@sign=negative] = +italic\n"
+            + "**/note = paragraph\n";
+
+    @Test
+    public void testRulesApplyInDomAndStreamingModes() throws Exception {
+        XmlMappingRules rules = XmlMappingRules.parse(RULES);
+
+        for (boolean streaming : new boolean[]{false, true}) {
+            String mode = streaming ? "streaming" : "dom";
+            XWPFDocument document = open(OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(INVOICE,
+                    new OptimizedXmlToDocxConverter.ConversionOptions()
+                            .setMappingRules(rules)
+                            .setUseStreamingParser(streaming)));
+
+            XWPFParagraph heading = document.getParagraphs().get(0);
+            Assert.assertEquals(heading.getText(), "INV-001", mode);
+            CTRPr headingStyle = styleRunProperties(document, heading.getStyle());
+            Assert.assertTrue(headingStyle.sizeOfBArray() > 0, mode);
+            Assert.assertEquals(headingStyle.getSzArray(0).getVal().toString(), "32", mode);
+            Assert.assertFalse(document.getParagraphs().stream()
+                    .anyMatch(p -> p.getText().contains("内部备注")), mode);
+
+            Assert.assertEquals(document.getTables().size(), 1, mode);
+            XWPFTable table = document.getTables().get(0);
+            Assert.assertEquals(table.getNumberOfRows(), 2, mode);
+            Assert.assertEquals(table.getRow(0).getTableCells().size(), 3, mode);
+            Assert.assertEquals(table.getRow(1).getCell(0).getText(), "B-2", mode);
+
+            XWPFRun negative = table.getRow(1).getCell(2).getParagraphs().get(0).getRuns().get(0);
+            Assert.assertEquals(negative.text(), "-20", mode);
+            Assert.assertTrue(styleRunProperties(document, negative.getStyle()).sizeOfIArray() > 0, mode);
+            XWPFRun positive = table.getRow(0).getCell(2).getParagraphs().get(0).getRuns().get(0);
+            Assert.assertTrue(positive.getStyle().isEmpty(), mode);
+
+            XWPFParagraph last = document.getParagraphs().get(document.getParagraphs().size() - 1);
+            Assert.assertEquals(last.getText(), "请于月底前付款", mode);
+        }
+    }
+
+    @Test
+    public void testBuiltInVocabularyStillAppliesAlongsideRules() throws Exception {
+        XmlMappingRules rules = XmlMappingRules.builder()
+                .rule("report/*/caption", XmlMappingRules.Target.TITLE)
+                .style("report/**/p[@important]", XmlMappingRules.Target.UNDERLINE)
+                .build();
+        String xml = "<report><section1><caption>标题</caption><p important=\"yes\">正文<b>加粗</b></p></section1></report>";
+
+        XWPFDocument document = open(OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(xml,
+                new OptimizedXmlToDocxConverter.ConversionOptions().setMappingRules(rules)));
+
+        Assert.assertEquals(document.getParagraphs().get(0).getText(), "标题");
+        CTRPr titleStyle = styleRunProperties(document, document.getParagraphs().get(0).getStyle());
+        Assert.assertEquals(titleStyle.getSzArray(0).getVal().toString(), "36");
+        CTRPr bold = styleRunProperties(document, document.getParagraphs().get(1).getRuns().get(1).getStyle());
+        Assert.assertTrue(bold.sizeOfBArray() > 0);
+        Assert.assertEquals(bold.getUArray(0).getVal(), STUnderline.SINGLE);
+        Assert.assertFalse(rules.isEmpty());
+        Assert.assertTrue(XmlMappingRules.BUILT_IN.isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidRuleIsRejected() {
+        XmlMappingRules.parse("invoice/lines = tablerow");
+    }
+
+    private static XWPFDocument open(byte[] docx) throws Exception {
+        return new XWPFDocument(new ByteArrayInputStream(docx));
+    }
+
+    /**
+     * 文本格式以样式引用的形式写入，断言时读取样式中的 rPr
+     */
+    static CTRPr styleRunProperties(XWPFDocument document, String styleId) {
+        Assert.assertNotNull(styleId);
+        Assert.assertTrue(document.getStyles().styleExist(styleId), styleId);
+        return document.getStyles().getStyle(styleId).getCTStyle().getRPr();
+    }
+}
@@ -0,0 +1,54 @@
+package com.boundesu.words;
+
+import com.boundesu.words.core.config.XmlLoadConfig;
+import com.boundesu.words.xml.util.XmlParserProvider;
+import com.boundesu.words.xml.util.XmlUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilder;
+import java.util.Map;
+
+/**
+ * XML解析器提供者测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlParserProviderTest {
+
+    @Test
+    public void testBuildersAreReusedPerThreadAndSettings() throws Exception {
+        XmlParserProvider.ParserSettings settings = XmlLoadConfig.createFast().toParserSettings();
+        Assert.assertFalse(settings.isNamespaceAware());
+        Assert.assertTrue(settings.isCoalescing());
+
+        DocumentBuilder first = XmlParserProvider.getDocumentBuilder(settings);
+        Assert.assertSame(XmlParserProvider.getDocumentBuilder(settings), first);
+        Assert.assertSame(XmlParserProvider.getDocumentBuilder(settings.withCoalescing(true)), first);
+        Assert.assertNotSame(XmlParserProvider.getDocumentBuilder(XmlParserProvider.ParserSettings.NAMESPACE_AWARE), first);
+    }
+
+    @Test
+    public void testParseRecordsStatistics() throws Exception {
+        long before = (Long) XmlParserProvider.getStatistics().get("parseCount");
+        long failuresBefore = (Long) XmlParserProvider.getStatistics().get("parseFailures");
+
+        Document document = XmlUtils.parseXml("<a:root xmlns:a=\"urn:test\"><a:p>文本</a:p></a:root>");
+        Assert.assertEquals(document.getDocumentElement().getLocalName(), "root");
+        Assert.assertFalse(XmlUtils.isWellFormed("<root><p></root>"));
+        Assert.assertTrue(XmlUtils.documentToString(document, false).contains("文本"));
+
+        Map<String, Object> stats = XmlParserProvider.getStatistics();
+        Assert.assertTrue((Long) stats.get("parseCount") >= before + 2);
+        Assert.assertTrue((Long) stats.get("parseFailures") >= failuresBefore + 1);
+    }
+
+    @Test
+    public void testExternalEntitiesAreNotResolvedByDefault() throws Exception {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE r [<!ENTITY x SYSTEM \"file:///etc/hostname\">]><r>&x;</r>";
+        Document document = XmlParserProvider.parse(xml, XmlParserProvider.ParserSettings.DEFAULT);
+        Assert.assertEquals(document.getDocumentElement().getTextContent(), "");
+    }
+}
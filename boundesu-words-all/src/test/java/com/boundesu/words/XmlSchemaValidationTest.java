@@ -0,0 +1,163 @@
+package com.boundesu.words;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.config.XmlLoadConfig;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import com.boundesu.words.xml.util.XmlParserProvider;
+import com.boundesu.words.xml.util.XmlSchemaCache;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * XML Schema校验测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlSchemaValidationTest {
+
+    private static final String SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+            + "<xs:element name=\"document\"><xs:complexType><xs:sequence>"
+            + "<xs:element name=\"title\" type=\"xs:string\" minOccurs=\"0\"/>"
+            + "<xs:element name=\"paragraph\" type=\"xs:string\" maxOccurs=\"unbounded\"/>"
+            + "</xs:sequence><xs:attribute name=\"version\" type=\"xs:int\"/></xs:complexType></xs:element>"
+            + "</xs:schema>";
+
+    private static final String VALID = "<document version=\"1\"><title>标题</title>"
+            + "<paragraph>第一段</paragraph><paragraph>第二段</paragraph></document>";
+
+    private static final String INVALID = "<document version=\"abc\"><paragraph>第一段</paragraph>"
+            + "<note>多余元素</note></document>";
+
+    private Path schemaFile;
+
+    @BeforeClass
+    public void createSchema() throws Exception {
+        schemaFile = Files.createTempFile("document", ".xsd");
+        Files.write(schemaFile, SCHEMA.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterClass
+    public void deleteSchema() throws Exception {
+        XmlSchemaCache.evict(schemaFile.toString());
+        Files.deleteIfExists(schemaFile);
+    }
+
+    @Test
+    public void testValidDocumentConvertsInBothModesWithOneCompile() throws Exception {
+        XmlSchemaCache.evict(schemaFile.toString());
+        long compiled = (Long) XmlSchemaCache.getStatistics().get("compileCount");
+
+        for (boolean streaming : new boolean[]{false, true, false, true}) {
+            byte[] docx = OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(VALID, config(false, 10)
+                    .setPerformanceOptions(streaming, 8192, true).toConversionOptions());
+            XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(docx));
+            Assert.assertEquals(document.getParagraphs().get(document.getParagraphs().size() - 1).getText(), "第二段");
+        }
+
+        Assert.assertEquals((long) (Long) XmlSchemaCache.getStatistics().get("compileCount"), compiled + 1);
+    }
+
+    @Test
+    public void testInvalidDocumentFailsWithCollectedErrors() {
+        for (boolean streaming : new boolean[]{false, true}) {
+            try {
+                OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(INVALID, config(false, 10)
+                        .setPerformanceOptions(streaming, 8192, true).toConversionOptions());
+                Assert.fail("校验错误应中止转换");
+            } catch (BoundesuWordsException e) {
+                Assert.assertEquals(e.getErrorCode(), "XML_VALIDATION_ERROR");
+                Assert.assertTrue(e.getMessage().contains("note"), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingErrorsReportLineNumbers() {
+        String invalid = "<document>\n<paragraph>第一段</paragraph>\n<note>多余元素</note>\n</document>";
+        try {
+            OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(invalid, config(false, 10)
+                    .setPerformanceOptions(true, 8192, true).toConversionOptions());
+            Assert.fail("校验错误应中止转换");
+        } catch (BoundesuWordsException e) {
+            Assert.assertTrue(e.getMessage().contains("第 3 行"), e.getMessage());
+            Assert.assertFalse(e.getMessage().contains("-1"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMaxErrorCountStopsAtFirstError() {
+        try {
+            OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(INVALID, config(false, 1).toConversionOptions());
+            Assert.fail("校验错误应中止转换");
+        } catch (BoundesuWordsException e) {
+            Assert.assertEquals(e.getErrorCode(), "XML_VALIDATION_ERROR");
+            Assert.assertTrue(e.getMessage().contains("共 1 个错误"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testIgnoredErrorsStillConvert() throws Exception {
+        for (boolean streaming : new boolean[]{false, true}) {
+            byte[] docx = OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(INVALID, config(true, 10)
+                    .setPerformanceOptions(streaming, 8192, true).toConversionOptions());
+            XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(docx));
+            Assert.assertEquals(document.getParagraphs().get(0).getText(), "第一段");
+        }
+    }
+
+    @Test
+    public void testParserSettingsUseCachedSchemaInsteadOfDtd() throws Exception {
+        XmlParserProvider.ParserSettings settings = config(false, 10).toParserSettings();
+        Assert.assertFalse(settings.isValidating());
+        Assert.assertSame(settings.getSchema(), XmlSchemaCache.getSchema(schemaFile.toString()));
+
+        XmlParserProvider.ParserSettings withoutLocation = XmlLoadConfig.createDefault()
+                .setValidationOptions(true, null, null).toParserSettings();
+        Assert.assertFalse(withoutLocation.isValidating());
+        Assert.assertNull(withoutLocation.getSchema());
+    }
+
+    @Test
+    public void testFileLoadingHonorsConfig() throws Exception {
+        Path xmlFile = Files.createTempFile("schema_load", ".xml");
+        Path docxFile = Files.createTempFile("schema_load", ".docx");
+        try {
+            Files.write(xmlFile, INVALID.getBytes(StandardCharsets.UTF_8));
+            try {
+                Document.fromXml(xmlFile.toString(), config(false, 10));
+                Assert.fail("校验错误应中止加载");
+            } catch (BoundesuWordsException e) {
+                Assert.assertTrue(e.getMessage().contains("note"), e.getMessage());
+            }
+            Document ignored = Document.fromXml(xmlFile.toString(), config(true, 10));
+            Assert.assertEquals(ignored.getXWPFDocument().getParagraphs().get(0).getText(), "第一段");
+            ignored.close();
+
+            Files.write(xmlFile, VALID.getBytes(StandardCharsets.UTF_8));
+            BoundesuWordsSDK.createDocumentFromXmlFile(xmlFile, docxFile,
+                    config(false, 10).setPerformanceOptions(true, 8192, true));
+            try (XWPFDocument document = new XWPFDocument(Files.newInputStream(docxFile))) {
+                Assert.assertEquals(document.getParagraphs().get(document.getParagraphs().size() - 1).getText(), "第二段");
+            }
+        } finally {
+            Files.deleteIfExists(xmlFile);
+            Files.deleteIfExists(docxFile);
+        }
+    }
+
+    private XmlLoadConfig config(boolean ignoreErrors, int maxErrors) {
+        return XmlLoadConfig.createDefault()
+                .setValidationOptions(true, schemaFile.toString(), null)
+                .setErrorHandling(ignoreErrors, false, maxErrors);
+    }
+}
@@ -0,0 +1,73 @@
+package com.boundesu.words;
+
+import com.boundesu.words.xml.parser.XmlContentParser;
+import com.boundesu.words.xml.parser.XmlStructureCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * XML结构缓存测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlStructureCacheTest {
+
+    private static String catalogue(int id) {
+        StringBuilder xml = new StringBuilder("<catalogue id=\"").append(id).append("\"><title>产品目录 ")
+                .append(id).append("</title>");
+        for (int i = 0; i < 20; i++) {
+            xml.append("<paragraph>条目 ").append(id * 100 + i).append(" 的说明</paragraph>");
+        }
+        return xml.append("</catalogue>").toString();
+    }
+
+    @Test
+    public void testRepeatedParseHitsCacheAndReturnsFrozenTree() {
+        XmlStructureCache cache = new XmlStructureCache(1024 * 1024);
+        XmlContentParser.XmlTagMapping mapping = new XmlContentParser.XmlTagMapping();
+        String xml = catalogue(1);
+
+        List<XmlContentParser.XmlDocumentStructure> first = cache.get(xml, mapping);
+        List<XmlContentParser.XmlDocumentStructure> second = cache.get(xml, new XmlContentParser.XmlTagMapping());
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(cache.getStatistics().get("hits"), 1L);
+        Assert.assertEquals(cache.getStatistics().get("misses"), 1L);
+        Assert.assertEquals(first.get(0).getChildren().size(), 21);
+        Assert.assertTrue(first.get(0).isFrozen());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> first.get(0).setContent("修改"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> first.get(0).getChildren().clear());
+
+        // 映射不同则视为不同条目
+        cache.get(xml, new XmlContentParser.XmlTagMapping().addIgnoreTag("paragraph"));
+        Assert.assertEquals(cache.getStatistics().get("misses"), 2L);
+    }
+
+    @Test
+    public void testWeightBoundEvictsLeastRecentlyUsed() {
+        XmlStructureCache cache = new XmlStructureCache(40 * 1024);
+        XmlContentParser.XmlTagMapping mapping = new XmlContentParser.XmlTagMapping();
+        for (int i = 0; i < 20; i++) {
+            cache.get(catalogue(i), mapping);
+        }
+
+        Assert.assertTrue((Long) cache.getStatistics().get("evictions") > 0);
+        Assert.assertTrue((Long) cache.getStatistics().get("weight") <= 40 * 1024);
+
+        cache.get(catalogue(0), mapping);
+        Assert.assertEquals(cache.getStatistics().get("hits"), 0L);
+        cache.get(catalogue(19), mapping);
+        Assert.assertEquals(cache.getStatistics().get("hits"), 1L);
+    }
+
+    @Test
+    public void testUncachedParseStaysMutable() {
+        List<XmlContentParser.XmlDocumentStructure> structures =
+                XmlContentParser.parseXmlContent(catalogue(7), new XmlContentParser.XmlTagMapping(), false);
+        Assert.assertFalse(structures.get(0).isFrozen());
+        structures.get(0).setContent("可修改");
+    }
+}
@@ -0,0 +1,54 @@
+package com.boundesu.words;
+
+import com.boundesu.words.xml.parser.XmlContentParser;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * XML标签映射推断测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlTagMappingTest {
+
+    @Test
+    public void testInferenceOnlyReadsSample() {
+        StringBuilder xml = new StringBuilder("<report><chapterTitle>一</chapterTitle>");
+        for (int i = 0; i < 50; i++) {
+            xml.append("<para>段落").append(i).append("</para>");
+        }
+        // 样本之外的标签和格式错误都不会被读取
+        xml.append("<datagrid><row/></datagrid><broken>");
+
+        XmlContentParser.XmlTagMapping mapping = XmlContentParser.createSmartTagMapping(xml.toString(), 20, 64 * 1024);
+        Assert.assertTrue(mapping.isHeadingTag("chaptertitle"));
+        Assert.assertTrue(mapping.isParagraphTag("para"));
+        Assert.assertFalse(mapping.isTableTag("datagrid"));
+
+        Assert.assertTrue(XmlContentParser.createSmartTagMapping(xml.toString()).isTableTag("datagrid"));
+    }
+
+    @Test
+    public void testMappingIsCachedPerRootAndNamespace() {
+        XmlContentParser.clearTagMappingCache();
+        XmlContentParser.XmlTagMapping first = XmlContentParser.getCachedTagMapping(
+                "<feed xmlns=\"urn:a\"><entryHeading>标题</entryHeading></feed>");
+        Assert.assertTrue(first.isHeadingTag("entryheading"));
+
+        // 同一类型的后续文档直接使用首个文档推断出的映射
+        XmlContentParser.XmlTagMapping second = XmlContentParser.getCachedTagMapping(
+                "<feed xmlns=\"urn:a\"><summaryText>摘要</summaryText></feed>");
+        Assert.assertTrue(second.isHeadingTag("entryheading"));
+        Assert.assertFalse(second.isParagraphTag("summarytext"));
+
+        // 返回的是副本，修改不影响缓存
+        second.addIgnoreTag("entryheading");
+        Assert.assertFalse(XmlContentParser.getCachedTagMapping("<feed xmlns=\"urn:a\"/>").isIgnoreTag("entryheading"));
+
+        XmlContentParser.XmlTagMapping other = XmlContentParser.getCachedTagMapping(
+                "<feed xmlns=\"urn:b\"><summaryText>摘要</summaryText></feed>");
+        Assert.assertTrue(other.isParagraphTag("summarytext"));
+        Assert.assertEquals(XmlContentParser.getTagMappingCacheSize(), 2);
+    }
+}
@@ -0,0 +1,96 @@
+package com.boundesu.words;
+
+import com.boundesu.words.xml.creator.XmlToDocxCreator;
+import com.boundesu.words.xml.util.XmlUtils;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+/**
+ * XML创建器操作日志测试类
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlToDocxCreatorTest {
+
+    private static XmlToDocxCreator sampleCreator() {
+        return new XmlToDocxCreator()
+                .setTitle("月度报表")
+                .setAuthor("财务部")
+                .addHeading("概述", 1)
+                .addParagraph("本月收入稳定 <增长>", true)
+                .addTable(new String[][]{{"项目", "金额"}, {"收入", "100"}, {"支出", "100"}})
+                .addList(Arrays.asList("核对账目", "提交审批"), true)
+                .addPageBreak()
+                .addParagraph("附录");
+    }
+
+    @Test
+    public void testReplayBuildsDocumentInOrder() throws Exception {
+        XmlToDocxCreator creator = sampleCreator();
+        Assert.assertEquals(creator.getElementCount(), 6);
+
+        try (XWPFDocument document = creator.createDocument()) {
+            Assert.assertEquals(document.getProperties().getCoreProperties().getTitle(), "月度报表");
+            Assert.assertEquals(document.getParagraphs().get(0).getText(), "概述");
+            Assert.assertTrue(document.getParagraphs().get(1).getRuns().get(0).isBold());
+            Assert.assertEquals(document.getParagraphs().get(1).getText(), "本月收入稳定 <增长>");
+            Assert.assertEquals(document.getParagraphs().get(2).getText(), "核对账目");
+            Assert.assertEquals(document.getParagraphs().get(2).getNumFmt(), "decimal");
+            Assert.assertEquals(document.getParagraphs().get(3).getText(), "提交审批");
+            Assert.assertEquals(document.getParagraphs().get(5).getText(), "附录");
+
+            XWPFTable table = document.getTables().get(0);
+            Assert.assertEquals(table.getNumberOfRows(), 3);
+            Assert.assertEquals(table.getRow(2).getCell(0).getText(), "支出");
+            Assert.assertEquals(table.getRow(2).getCell(1).getText(), "100");
+        }
+    }
+
+    @Test
+    public void testExportedBytesMatchReplayedDocument() throws Exception {
+        XmlToDocxCreator creator = sampleCreator();
+        try (XWPFDocument replayed = creator.createDocument();
+             XWPFDocument exported = new XWPFDocument(new ByteArrayInputStream(creator.exportToBytes()))) {
+            Assert.assertEquals(exported.getParagraphs().size(), replayed.getParagraphs().size());
+            for (int i = 0; i < replayed.getParagraphs().size(); i++) {
+                Assert.assertEquals(exported.getParagraphs().get(i).getText(), replayed.getParagraphs().get(i).getText());
+                Assert.assertEquals(exported.getParagraphs().get(i).getNumFmt(), replayed.getParagraphs().get(i).getNumFmt());
+            }
+            Assert.assertEquals(exported.getTables().get(0).getRow(1).getCell(1).getText(),
+                    replayed.getTables().get(0).getRow(1).getCell(1).getText());
+            Assert.assertEquals(exported.getProperties().getCoreProperties().getCreator(), "财务部");
+        }
+    }
+
+    @Test
+    public void testXmlViewIsSerializedFromLog() throws Exception {
+        String xml = sampleCreator().getXmlContent();
+        Document parsed = XmlUtils.parseXml(xml);
+
+        Assert.assertEquals(parsed.getElementsByTagName("title").item(0).getTextContent(), "月度报表");
+        Assert.assertEquals(parsed.getElementsByTagName("heading").item(0).getAttributes()
+                .getNamedItem("level").getNodeValue(), "1");
+        Assert.assertEquals(parsed.getElementsByTagName("paragraph").item(0).getTextContent(), "本月收入稳定 <增长>");
+        Assert.assertEquals(parsed.getElementsByTagName("cell").getLength(), 6);
+        Assert.assertEquals(parsed.getElementsByTagName("item").getLength(), 2);
+        Assert.assertEquals(parsed.getElementsByTagName("pagebreak").getLength(), 1);
+    }
+
+    @Test
+    public void testClearResetsLog() throws Exception {
+        XmlToDocxCreator creator = sampleCreator().clear();
+        Assert.assertEquals(creator.getElementCount(), 0);
+        Assert.assertEquals(creator.getTitle(), "");
+        try (XWPFDocument document = creator.addParagraph("新内容").createDocument()) {
+            Assert.assertEquals(document.getParagraphs().size(), 1);
+            Assert.assertTrue(document.getTables().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.boundesu.words.common.block;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 文档块：解析器与创建器之间共享的中间模型
+ * HTML、XML解析结果和各创建器添加的内容都表示为块序列，由 {@link BlockDocxWriter} 统一输出为DOCX，
+ * 不再经过HTML或XML字符串的序列化与重新解析。
+ *
+ * <p>所有块都是不可变的，可以在线程之间共享和缓存。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public abstract class Block {
+
+    /**
+     * 块类型
+     */
+    public enum Kind {
+        HEADING, PARAGRAPH, TABLE, LIST, IMAGE, BREAK
+    }
+
+    private final Kind kind;
+
+    private Block(Kind kind) {
+        this.kind = kind;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // ========== 工厂方法 ==========
+
+    /**
+     * 标题，级别限制在 0~6 之间，0 表示文档标题（Title样式，居中）
+     */
+    public static Heading heading(String text, int level) {
+        return new Heading(level, Collections.singletonList(Run.of(text)));
+    }
+
+    public static Paragraph paragraph(String text) {
+        return new Paragraph(Collections.singletonList(Run.of(text)));
+    }
+
+    public static Paragraph paragraph(String text, int styles) {
+        return new Paragraph(Collections.singletonList(Run.of(text, styles)));
+    }
+
+    public static Paragraph paragraph(List<Run> runs) {
+        return new Paragraph(runs);
+    }
+
+    /**
+     * 由二维文本数组创建表格
+     *
+     * @param data      表格数据，null 单元格视为空文本
+     * @param headerRow 第一行是否为表头（加粗）
+     */
+    public static Table table(String[][] data, boolean headerRow) {
+        List<List<Cell>> rows = new ArrayList<>(data.length);
+        for (int i = 0; i < data.length; i++) {
+            String[] rowData = data[i] != null ? data[i] : new String[0];
+            List<Cell> cells = new ArrayList<>(rowData.length);
+            for (String text : rowData) {
+                cells.add(Cell.of(text, headerRow && i == 0 ? Run.BOLD : 0));
+            }
+            rows.add(cells);
+        }
+        return new Table(rows);
+    }
+
+    public static ListBlock list(List<String> items, boolean ordered) {
+        List<List<Block>> blocks = new ArrayList<>(items.size());
+        for (String item : items) {
+            blocks.add(Collections.singletonList(paragraph(item)));
+        }
+        return new ListBlock(ordered, blocks);
+    }
+
+    public static Image image(String source, String altText) {
+        return new Image(source, altText, -1, -1);
+    }
+
+    public static Image image(String source, String altText, int width, int height) {
+        return new Image(source, altText, width, height);
+    }
+
+    public static Break pageBreak() {
+        return Break.PAGE;
+    }
+
+    /**
+     * 空行（空段落）
+     */
+    public static Break lineBreak() {
+        return Break.LINE;
+    }
+
+    private static <T> List<T> freeze(List<T> items) {
+        return items.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    // ========== 块类型 ==========
+
+    /**
+     * 标题
+     */
+    public static final class Heading extends Block {
+        private final int level;
+        private final List<Run> runs;
+
+        public Heading(int level, List<Run> runs) {
+            super(Kind.HEADING);
+            this.level = Math.min(Math.max(level, 0), 6);
+            this.runs = freeze(runs);
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public List<Run> getRuns() {
+            return runs;
+        }
+    }
+
+    /**
+     * 段落，没有文本段时为空段落
+     */
+    public static final class Paragraph extends Block {
+        private final List<Run> runs;
+
+        public Paragraph(List<Run> runs) {
+            super(Kind.PARAGRAPH);
+            this.runs = freeze(runs);
+        }
+
+        public List<Run> getRuns() {
+            return runs;
+        }
+    }
+
+    /**
+     * 表格，每行的单元格数可以不同
+     */
+    public static final class Table extends Block {
+        private final List<List<Cell>> rows;
+
+        public Table(List<List<Cell>> rows) {
+            super(Kind.TABLE);
+            List<List<Cell>> copy = new ArrayList<>(rows.size());
+            for (List<Cell> row : rows) {
+                copy.add(freeze(row));
+            }
+            this.rows = freeze(copy);
+        }
+
+        public List<List<Cell>> getRows() {
+            return rows;
+        }
+    }
+
+    /**
+     * 表格单元格，内容为块序列，可以嵌套表格和列表
+     */
+    public static final class Cell {
+        private final List<Block> blocks;
+
+        public Cell(List<Block> blocks) {
+            this.blocks = freeze(blocks);
+        }
+
+        public static Cell of(String text, int styles) {
+            return new Cell(Collections.singletonList(paragraph(text, styles)));
+        }
+
+        public List<Block> getBlocks() {
+            return blocks;
+        }
+    }
+
+    /**
+     * 列表，每个列表项为块序列：第一个段落带项目符号，嵌套的列表缩进一级
+     */
+    public static final class ListBlock extends Block {
+        private final boolean ordered;
+        private final List<List<Block>> items;
+
+        public ListBlock(boolean ordered, List<List<Block>> items) {
+            super(Kind.LIST);
+            this.ordered = ordered;
+            List<List<Block>> copy = new ArrayList<>(items.size());
+            for (List<Block> item : items) {
+                copy.add(freeze(item));
+            }
+            this.items = freeze(copy);
+        }
+
+        public boolean isOrdered() {
+            return ordered;
+        }
+
+        public List<List<Block>> getItems() {
+            return items;
+        }
+    }
+
+    /**
+     * 图片，宽高单位为像素，-1 表示使用图片原始尺寸
+     */
+    public static final class Image extends Block {
+        private final String source;
+        private final String altText;
+        private final int width;
+        private final int height;
+
+        public Image(String source, String altText, int width, int height) {
+            super(Kind.IMAGE);
+            this.source = source;
+            this.altText = altText != null ? altText : "";
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getAltText() {
+            return altText;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * 分页符或空行
+     */
+    public static final class Break extends Block {
+        private static final Break PAGE = new Break(true);
+        private static final Break LINE = new Break(false);
+
+        private final boolean page;
+
+        private Break(boolean page) {
+            super(Kind.BREAK);
+            this.page = page;
+        }
+
+        public boolean isPageBreak() {
+            return page;
+        }
+    }
+}
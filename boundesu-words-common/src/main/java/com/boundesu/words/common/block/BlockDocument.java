@@ -0,0 +1,117 @@
+package com.boundesu.words.common.block;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 块文档：文档属性加块序列，不可变
+ * 通过 {@link #builder()} 逐块构建，由 {@link BlockDocxWriter#write(BlockDocument, java.io.OutputStream)} 输出。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class BlockDocument {
+
+    private final String title;
+    private final String author;
+    private final String headerText;
+    private final String footerText;
+    private final boolean pageNumberEnabled;
+    private final List<Block> blocks;
+
+    private BlockDocument(Builder builder) {
+        this.title = builder.title;
+        this.author = builder.author;
+        this.headerText = builder.headerText;
+        this.footerText = builder.footerText;
+        this.pageNumberEnabled = builder.pageNumberEnabled;
+        this.blocks = Collections.unmodifiableList(new ArrayList<>(builder.blocks));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getHeaderText() {
+        return headerText;
+    }
+
+    public String getFooterText() {
+        return footerText;
+    }
+
+    public boolean isPageNumberEnabled() {
+        return pageNumberEnabled;
+    }
+
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * 块文档构建器
+     */
+    public static final class Builder {
+        private String title = "";
+        private String author = "";
+        private String headerText = "";
+        private String footerText = "";
+        private boolean pageNumberEnabled;
+        private final List<Block> blocks = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder setTitle(String title) {
+            this.title = title != null ? title : "";
+            return this;
+        }
+
+        public Builder setAuthor(String author) {
+            this.author = author != null ? author : "";
+            return this;
+        }
+
+        public Builder setHeaderText(String headerText) {
+            this.headerText = headerText != null ? headerText : "";
+            return this;
+        }
+
+        public Builder setFooterText(String footerText) {
+            this.footerText = footerText != null ? footerText : "";
+            return this;
+        }
+
+        public Builder setPageNumberEnabled(boolean pageNumberEnabled) {
+            this.pageNumberEnabled = pageNumberEnabled;
+            return this;
+        }
+
+        public Builder add(Block block) {
+            if (block != null) {
+                blocks.add(block);
+            }
+            return this;
+        }
+
+        public Builder addAll(List<? extends Block> blocks) {
+            for (Block block : blocks) {
+                add(block);
+            }
+            return this;
+        }
+
+        public BlockDocument build() {
+            return new BlockDocument(this);
+        }
+    }
+}
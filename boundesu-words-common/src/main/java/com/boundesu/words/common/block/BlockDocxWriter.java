@@ -0,0 +1,996 @@
+package com.boundesu.words.common.block;
+
+import com.boundesu.words.common.util.ImageUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 块模型的DOCX输出器，所有创建器共用的输出后端
+ * 写入块时即用 {@link XMLStreamWriter} 写成 {@code word/document.xml} 的正文片段，
+ * 生成文档时把正文字节原样写入ZIP条目，样式、设置、关系等静态部件直接复制缓存的字节，
+ * 整个过程不经过DOM或XmlBeans，适合只写不读的文档生成。
+ *
+ * <p>图片块默认从本地文件路径或 {@code file:} URL 读取，也可以通过 {@link #setImageLoader(Function)}
+ * 使用调用方预取的数据，无法读取的图片跳过。
+ * 带地址的文本段写为 {@code w:hyperlink}，地址作为外部关系写入文档关系部件。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class BlockDocxWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockDocxWriter.class);
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String WP = "http://schemas.openxmlformats.org/drawingml/2006/wordprocessingDrawing";
+    private static final String A = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String PIC = "http://schemas.openxmlformats.org/drawingml/2006/picture";
+    private static final String FONT = "宋体";
+    private static final String HEADER_FOOTER_FONT = "Times New Roman";
+    /** 每级列表的缩进（缇） */
+    private static final int LIST_INDENT = 420;
+    /** Word支持的列表级数 */
+    private static final int LIST_LEVELS = 9;
+    /** 所有无序列表共用的编号实例，有序列表的编号实例从 2 开始 */
+    private static final int BULLET_NUM_ID = 1;
+    /** 版心宽度（EMU），超宽的图片按比例缩小 */
+    private static final long MAX_IMAGE_WIDTH = (11906 - 1800 * 2) * 635L;
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final byte[] ROOT_RELS = bytes("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"word/document.xml\"/>"
+            + "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/package/2006/relationships/metadata/core-properties\" Target=\"docProps/core.xml\"/>"
+            + "<Relationship Id=\"rId3\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/extended-properties\" Target=\"docProps/app.xml\"/>"
+            + "</Relationships>");
+
+    private static final byte[] APP = bytes("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<Properties xmlns=\"http://schemas.openxmlformats.org/officeDocument/2006/extended-properties\">"
+            + "<Application>Boundesu Words</Application></Properties>");
+
+    private static final byte[] SETTINGS = bytes("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<w:settings xmlns:w=\"" + W + "\">"
+            + "<w:defaultTabStop w:val=\"420\"/><w:characterSpacingControl w:val=\"compressPunctuation\"/>"
+            + "<w:compat><w:compatSetting w:name=\"compatibilityMode\" w:uri=\"http://schemas.microsoft.com/office/word\" w:val=\"15\"/></w:compat>"
+            + "</w:settings>");
+
+    private static final byte[] STYLES = bytes(createStyles());
+
+    /** 编号定义：抽象编号 0 为项目符号，1 为数字编号，之后是各个列表的编号实例 */
+    private static final byte[] NUMBERING_START = bytes(createNumberingDefinitions());
+
+    private static final byte[] DOCUMENT_START = bytes("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<w:document xmlns:w=\"" + W + "\" xmlns:r=\"" + R + "\" xmlns:wp=\"" + WP
+            + "\" xmlns:a=\"" + A + "\" xmlns:pic=\"" + PIC + "\"><w:body>");
+
+    private static final byte[] DOCUMENT_END = bytes("</w:body></w:document>");
+
+    /** 按是否有页头（位0）、页脚（位1）、列表编号（位2）缓存的内容类型与文档关系 */
+    private static final byte[][] CONTENT_TYPES = new byte[8][];
+    private static final byte[][] DOCUMENT_RELS = new byte[8][];
+
+    static {
+        for (int parts = 0; parts < 8; parts++) {
+            CONTENT_TYPES[parts] = bytes(createContentTypes((parts & 1) != 0, (parts & 2) != 0,
+                    (parts & 4) != 0, new LinkedHashSet<>()));
+            DOCUMENT_RELS[parts] = bytes(createDocumentRels((parts & 1) != 0, (parts & 2) != 0,
+                    (parts & 4) != 0, new ArrayList<>(), new ArrayList<>()));
+        }
+    }
+
+    private ByteArrayOutputStream body;
+    private XMLStreamWriter writer;
+    private final Deque<Container> containers = new ArrayDeque<>();
+    private boolean paragraphOpen;
+    private final List<ImagePart> images = new ArrayList<>();
+    /** 超链接地址，关系ID为 rIdLink + 序号（从1开始），同一地址共用一个关系 */
+    private final List<String> hyperlinks = new ArrayList<>();
+    private final Map<String, Integer> hyperlinkIds = new HashMap<>();
+    private boolean bulletListUsed;
+    private int orderedLists;
+    private Function<String, byte[]> imageLoader = BlockDocxWriter::readLocalImage;
+
+    public BlockDocxWriter() {
+        reset();
+    }
+
+    /**
+     * 设置图片块的数据来源，未设置时读取本地文件路径或 {@code file:} URL
+     * 调用方可以传入已经预取好的资源，例如HTML转换时的资源加载器
+     *
+     * @param imageLoader 按图片块的地址返回图片字节，无法读取时返回 null
+     */
+    public BlockDocxWriter setImageLoader(Function<String, byte[]> imageLoader) {
+        this.imageLoader = imageLoader != null ? imageLoader : BlockDocxWriter::readLocalImage;
+        return this;
+    }
+
+    /**
+     * 把块文档输出为DOCX
+     *
+     * @param document 块文档
+     * @param out      输出流，调用方负责关闭
+     * @throws IOException 写入失败
+     */
+    public static void write(BlockDocument document, OutputStream out) throws IOException {
+        write(document, out, null);
+    }
+
+    /**
+     * 把块文档输出为DOCX，图片从指定来源读取
+     *
+     * @param document    块文档
+     * @param out         输出流，调用方负责关闭
+     * @param imageLoader 图片来源，为 null 时读取本地文件
+     * @throws IOException 写入失败
+     */
+    public static void write(BlockDocument document, OutputStream out, Function<String, byte[]> imageLoader)
+            throws IOException {
+        BlockDocxWriter writer = new BlockDocxWriter().setImageLoader(imageLoader);
+        writer.write(document.getBlocks());
+        writer.writeTo(out, document.getTitle(), document.getAuthor(), document.getHeaderText(),
+                document.getFooterText(), document.isPageNumberEnabled());
+    }
+
+    /**
+     * 把块文档输出为DOCX字节
+     */
+    public static byte[] toBytes(BlockDocument document) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        write(document, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 写入一个块
+     */
+    public void write(Block block) {
+        try {
+            writeBlock(block, 0);
+            endParagraph();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("写入文档内容失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按顺序写入多个块
+     */
+    public void write(List<? extends Block> blocks) {
+        for (Block block : blocks) {
+            write(block);
+        }
+    }
+
+    /**
+     * 丢弃已写入的正文
+     */
+    public void reset() {
+        body = new ByteArrayOutputStream();
+        try {
+            writer = OUTPUT_FACTORY.createXMLStreamWriter(body, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("创建XML输出器失败", e);
+        }
+        containers.clear();
+        containers.push(new Container());
+        paragraphOpen = false;
+        images.clear();
+        hyperlinks.clear();
+        hyperlinkIds.clear();
+        bulletListUsed = false;
+        orderedLists = 0;
+    }
+
+    private void writeBlock(Block block, int listDepth) throws XMLStreamException {
+        switch (block.getKind()) {
+            case HEADING:
+                Block.Heading heading = (Block.Heading) block;
+                if (heading.getLevel() == 0) {
+                    startParagraph("Title", true, 0);
+                } else {
+                    startParagraph("Heading" + heading.getLevel(), false, 0);
+                }
+                runs(heading.getRuns());
+                endParagraph();
+                break;
+            case PARAGRAPH:
+                startParagraph(null, false, listDepth);
+                runs(((Block.Paragraph) block).getRuns());
+                endParagraph();
+                break;
+            case TABLE:
+                writeTable((Block.Table) block);
+                break;
+            case LIST:
+                writeList((Block.ListBlock) block, listDepth);
+                break;
+            case IMAGE:
+                writeImage((Block.Image) block);
+                break;
+            case BREAK:
+                if (((Block.Break) block).isPageBreak()) {
+                    pageBreak();
+                } else {
+                    emptyParagraph();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void runs(List<Run> runs) throws XMLStreamException {
+        for (Run run : runs) {
+            if (run.getHref() == null) {
+                run(run.getText(), run.getStyles(), run.getColor());
+                continue;
+            }
+            if (!paragraphOpen) {
+                startParagraph(null, false, 0);
+            }
+            writer.writeStartElement("w", "hyperlink", W);
+            writer.writeAttribute("r", R, "id", hyperlinkId(run.getHref()));
+            writer.writeAttribute("w", W, "history", "1");
+            run(run.getText(), run.getStyles(), run.getColor());
+            writer.writeEndElement();
+        }
+    }
+
+    private String hyperlinkId(String href) {
+        Integer index = hyperlinkIds.get(href);
+        if (index == null) {
+            hyperlinks.add(href);
+            index = hyperlinks.size();
+            hyperlinkIds.put(href, index);
+        }
+        return "rIdLink" + index;
+    }
+
+    /**
+     * 写入表格，没有行的表格不输出（Word不接受空表格）
+     */
+    private void writeTable(Block.Table table) throws XMLStreamException {
+        if (table.getRows().isEmpty()) {
+            return;
+        }
+        startTable();
+        for (List<Block.Cell> row : table.getRows()) {
+            startRow();
+            for (Block.Cell cell : row) {
+                startCell();
+                for (Block block : cell.getBlocks()) {
+                    writeBlock(block, 0);
+                }
+                endCell();
+            }
+            endRow();
+        }
+        endTable();
+    }
+
+    /**
+     * 写入列表：每项第一个段落引用编号定义，项内的其他块与项目文本对齐，嵌套列表使用下一级编号。
+     * 无序列表共用一个编号实例，每个有序列表使用独立的编号实例，从 1 开始计数
+     */
+    private void writeList(Block.ListBlock list, int depth) throws XMLStreamException {
+        int numId;
+        if (list.isOrdered()) {
+            numId = BULLET_NUM_ID + ++orderedLists;
+        } else {
+            numId = BULLET_NUM_ID;
+            bulletListUsed = true;
+        }
+        for (List<Block> item : list.getItems()) {
+            boolean marked = false;
+            for (Block block : item) {
+                if (!marked) {
+                    startListItem(numId, depth);
+                    marked = true;
+                    if (block.getKind() == Block.Kind.PARAGRAPH) {
+                        runs(((Block.Paragraph) block).getRuns());
+                        endParagraph();
+                        continue;
+                    }
+                    endParagraph();
+                }
+                writeBlock(block, depth + 1);
+            }
+            if (!marked) {
+                startListItem(numId, depth);
+                endParagraph();
+            }
+        }
+    }
+
+    /**
+     * 开始列表项段落，只写编号实例和级别，符号和缩进由编号定义给出
+     */
+    private void startListItem(int numId, int level) throws XMLStreamException {
+        endParagraph();
+        writer.writeStartElement("w", "p", W);
+        writer.writeStartElement("w", "pPr", W);
+        writer.writeStartElement("w", "numPr", W);
+        writer.writeEmptyElement("w", "ilvl", W);
+        writer.writeAttribute("w", W, "val", String.valueOf(Math.min(level, LIST_LEVELS - 1)));
+        writer.writeEmptyElement("w", "numId", W);
+        writer.writeAttribute("w", W, "val", String.valueOf(numId));
+        writer.writeEndElement();
+        writer.writeEndElement();
+        paragraphOpen = true;
+        containers.peek().endsWithParagraph = true;
+    }
+
+    /**
+     * 添加空段落
+     */
+    private void emptyParagraph() throws XMLStreamException {
+        startParagraph(null, false, 0);
+        endParagraph();
+    }
+
+    /**
+     * 添加分页符
+     */
+    private void pageBreak() throws XMLStreamException {
+        startParagraph(null, false, 0);
+        writer.writeStartElement("w", "r", W);
+        writer.writeEmptyElement("w", "br", W);
+        writer.writeAttribute("w", W, "type", "page");
+        writer.writeEndElement();
+        endParagraph();
+    }
+
+    /**
+     * 开始段落
+     *
+     * @param style     段落样式ID，null 表示正文样式
+     * @param centered  是否居中
+     * @param listLevel 列表缩进级别，0 表示不缩进
+     */
+    private void startParagraph(String style, boolean centered, int listLevel) throws XMLStreamException {
+        endParagraph();
+        writer.writeStartElement("w", "p", W);
+        if (style != null || centered || listLevel > 0) {
+            writer.writeStartElement("w", "pPr", W);
+            if (style != null) {
+                writer.writeEmptyElement("w", "pStyle", W);
+                writer.writeAttribute("w", W, "val", style);
+            }
+            if (listLevel > 0) {
+                writer.writeEmptyElement("w", "ind", W);
+                writer.writeAttribute("w", W, "left", String.valueOf(listLevel * LIST_INDENT));
+            }
+            if (centered) {
+                writer.writeEmptyElement("w", "jc", W);
+                writer.writeAttribute("w", W, "val", "center");
+            }
+            writer.writeEndElement();
+        }
+        paragraphOpen = true;
+        containers.peek().endsWithParagraph = true;
+    }
+
+    /**
+     * 结束当前段落（没有打开的段落时忽略）
+     */
+    private void endParagraph() throws XMLStreamException {
+        if (paragraphOpen) {
+            writer.writeEndElement();
+            paragraphOpen = false;
+        }
+    }
+
+    /**
+     * 在当前段落中写入文本段，没有打开的段落时自动新建，文本中的换行符写为段内换行
+     *
+     * @param styles 样式位组合
+     * @param color  十六进制颜色，null 表示默认
+     */
+    private void run(String text, int styles, String color) throws XMLStreamException {
+        if (!paragraphOpen) {
+            startParagraph(null, false, 0);
+        }
+        writer.writeStartElement("w", "r", W);
+        if (styles != 0 || color != null) {
+            writer.writeStartElement("w", "rPr", W);
+            if ((styles & Run.BOLD) != 0) {
+                writer.writeEmptyElement("w", "b", W);
+            }
+            if ((styles & Run.ITALIC) != 0) {
+                writer.writeEmptyElement("w", "i", W);
+            }
+            if (color != null) {
+                writer.writeEmptyElement("w", "color", W);
+                writer.writeAttribute("w", W, "val", color);
+            }
+            if ((styles & Run.UNDERLINE) != 0) {
+                writer.writeEmptyElement("w", "u", W);
+                writer.writeAttribute("w", W, "val", "single");
+            }
+            writer.writeEndElement();
+        }
+        int start = 0;
+        int newline;
+        while ((newline = text.indexOf('\n', start)) >= 0) {
+            writeText(writer, text.substring(start, newline));
+            writer.writeEmptyElement("w", "br", W);
+            start = newline + 1;
+        }
+        writeText(writer, start == 0 ? text : text.substring(start));
+        writer.writeEndElement();
+    }
+
+    /**
+     * 写入嵌入图片段落，无法读取的图片跳过
+     */
+    private void writeImage(Block.Image image) throws XMLStreamException {
+        ImagePart part = loadImage(image);
+        if (part == null) {
+            log.debug("跳过无法读取的图片: {}", image.getSource());
+            return;
+        }
+        images.add(part);
+        int id = images.size();
+
+        startParagraph(null, false, 0);
+        writer.writeStartElement("w", "r", W);
+        writer.writeStartElement("w", "drawing", W);
+        writer.writeStartElement("wp", "inline", WP);
+        writer.writeEmptyElement("wp", "extent", WP);
+        writer.writeAttribute("cx", String.valueOf(part.width));
+        writer.writeAttribute("cy", String.valueOf(part.height));
+        writer.writeEmptyElement("wp", "docPr", WP);
+        writer.writeAttribute("id", String.valueOf(id));
+        writer.writeAttribute("name", "Picture " + id);
+        writer.writeAttribute("descr", image.getAltText());
+        writer.writeStartElement("a", "graphic", A);
+        writer.writeStartElement("a", "graphicData", A);
+        writer.writeAttribute("uri", PIC);
+        writer.writeStartElement("pic", "pic", PIC);
+        writer.writeStartElement("pic", "nvPicPr", PIC);
+        writer.writeEmptyElement("pic", "cNvPr", PIC);
+        writer.writeAttribute("id", "0");
+        writer.writeAttribute("name", part.fileName());
+        writer.writeEmptyElement("pic", "cNvPicPr", PIC);
+        writer.writeEndElement();
+        writer.writeStartElement("pic", "blipFill", PIC);
+        writer.writeEmptyElement("a", "blip", A);
+        writer.writeAttribute("r", R, "embed", part.relationshipId());
+        writer.writeStartElement("a", "stretch", A);
+        writer.writeEmptyElement("a", "fillRect", A);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeStartElement("pic", "spPr", PIC);
+        writer.writeStartElement("a", "xfrm", A);
+        writer.writeEmptyElement("a", "off", A);
+        writer.writeAttribute("x", "0");
+        writer.writeAttribute("y", "0");
+        writer.writeEmptyElement("a", "ext", A);
+        writer.writeAttribute("cx", String.valueOf(part.width));
+        writer.writeAttribute("cy", String.valueOf(part.height));
+        writer.writeEndElement();
+        writer.writeStartElement("a", "prstGeom", A);
+        writer.writeAttribute("prst", "rect");
+        writer.writeEmptyElement("a", "avLst", A);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        // pic:pic、a:graphicData、a:graphic、wp:inline、w:drawing、w:r
+        for (int i = 0; i < 6; i++) {
+            writer.writeEndElement();
+        }
+        endParagraph();
+    }
+
+    /**
+     * 读取图片，识别格式并计算显示尺寸（EMU）
+     */
+    private ImagePart loadImage(Block.Image image) {
+        String source = image.getSource();
+        if (source == null || source.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] data = imageLoader.apply(source);
+            String extension = ImageUtils.format(data);
+            if (extension == null) {
+                return null;
+            }
+            long[] size = ImageUtils.displaySize(data, image.getWidth(), image.getHeight(), MAX_IMAGE_WIDTH);
+            if (size == null) {
+                return null;
+            }
+            return new ImagePart(images.size() + 1, data, extension, size[0], size[1]);
+        } catch (IOException | RuntimeException e) {
+            log.debug("读取图片失败: {}, {}", source, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 默认的图片来源：本地文件路径或 {@code file:} URL
+     */
+    private static byte[] readLocalImage(String source) {
+        try {
+            Path path = source.startsWith("file:") ? Paths.get(URI.create(source)) : Paths.get(source);
+            return Files.isRegularFile(path) ? Files.readAllBytes(path) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("读取图片失败: {}, {}", source, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 开始表格，可以嵌套在单元格中
+     */
+    private void startTable() throws XMLStreamException {
+        endParagraph();
+        writer.writeStartElement("w", "tbl", W);
+        writer.writeStartElement("w", "tblPr", W);
+        writer.writeEmptyElement("w", "tblStyle", W);
+        writer.writeAttribute("w", W, "val", "TableGrid");
+        writer.writeEmptyElement("w", "tblW", W);
+        writer.writeAttribute("w", W, "w", "0");
+        writer.writeAttribute("w", W, "type", "auto");
+        writer.writeEndElement();
+        writer.writeEmptyElement("w", "tblGrid", W);
+        containers.peek().endsWithParagraph = false;
+    }
+
+    private void startRow() throws XMLStreamException {
+        writer.writeStartElement("w", "tr", W);
+        containers.peek().cells = 0;
+    }
+
+    private void startCell() throws XMLStreamException {
+        endParagraph();
+        containers.peek().cells++;
+        writer.writeStartElement("w", "tc", W);
+        writer.writeStartElement("w", "tcPr", W);
+        writer.writeEmptyElement("w", "tcW", W);
+        writer.writeAttribute("w", W, "w", "0");
+        writer.writeAttribute("w", W, "type", "auto");
+        writer.writeEndElement();
+        containers.push(new Container());
+    }
+
+    /**
+     * 结束单元格：单元格必须以段落结尾
+     */
+    private void endCell() throws XMLStreamException {
+        endParagraph();
+        if (!containers.pop().endsWithParagraph) {
+            writer.writeEmptyElement("w", "p", W);
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * 结束行：行内至少要有一个单元格
+     */
+    private void endRow() throws XMLStreamException {
+        if (containers.peek().cells == 0) {
+            startCell();
+            endCell();
+        }
+        writer.writeEndElement();
+    }
+
+    private void endTable() throws XMLStreamException {
+        writer.writeEndElement();
+    }
+
+    /**
+     * 正文已占用的字节数
+     */
+    public int getBodySize() {
+        return body.size();
+    }
+
+    /**
+     * 输出完整的DOCX包
+     */
+    public void writeTo(OutputStream out, String title, String author, String headerText, String footerText,
+                        boolean pageNumberEnabled) throws IOException {
+        boolean hasHeader = !headerText.isEmpty();
+        boolean hasFooter = !footerText.isEmpty() || pageNumberEnabled;
+        boolean hasNumbering = bulletListUsed || orderedLists > 0;
+        int parts = (hasHeader ? 1 : 0) | (hasFooter ? 2 : 0) | (hasNumbering ? 4 : 0);
+        try {
+            endParagraph();
+            writer.flush();
+
+            ZipOutputStream zip = new ZipOutputStream(out);
+            Set<String> extensions = new LinkedHashSet<>();
+            for (ImagePart image : images) {
+                extensions.add(image.extension);
+            }
+            putEntry(zip, "[Content_Types].xml", images.isEmpty() ? CONTENT_TYPES[parts]
+                    : bytes(createContentTypes(hasHeader, hasFooter, hasNumbering, extensions)));
+            putEntry(zip, "_rels/.rels", ROOT_RELS);
+            putEntry(zip, "docProps/app.xml", APP);
+            zip.putNextEntry(new ZipEntry("docProps/core.xml"));
+            writeCoreProperties(zip, title, author);
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(DOCUMENT_START);
+            body.writeTo(zip);
+            writeSectionProperties(zip, hasHeader, hasFooter);
+            zip.write(DOCUMENT_END);
+            zip.closeEntry();
+
+            putEntry(zip, "word/_rels/document.xml.rels", images.isEmpty() && hyperlinks.isEmpty()
+                    ? DOCUMENT_RELS[parts]
+                    : bytes(createDocumentRels(hasHeader, hasFooter, hasNumbering, images, hyperlinks)));
+            for (ImagePart image : images) {
+                putEntry(zip, "word/media/" + image.fileName(), image.data);
+            }
+            putEntry(zip, "word/styles.xml", STYLES);
+            putEntry(zip, "word/settings.xml", SETTINGS);
+            if (hasNumbering) {
+                zip.putNextEntry(new ZipEntry("word/numbering.xml"));
+                writeNumbering(zip, orderedLists);
+                zip.closeEntry();
+            }
+            if (hasHeader) {
+                zip.putNextEntry(new ZipEntry("word/header1.xml"));
+                writeHeaderFooter(zip, "hdr", headerText, false);
+                zip.closeEntry();
+            }
+            if (hasFooter) {
+                zip.putNextEntry(new ZipEntry("word/footer1.xml"));
+                writeHeaderFooter(zip, "ftr", footerText, pageNumberEnabled);
+                zip.closeEntry();
+            }
+            zip.finish();
+        } catch (XMLStreamException e) {
+            throw new IOException("写入WordprocessingML失败: " + e.getMessage(), e);
+        }
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static void writeCoreProperties(OutputStream out, String title, String author) throws XMLStreamException {
+        String dc = "http://purl.org/dc/elements/1.1/";
+        String dcterms = "http://purl.org/dc/terms/";
+        String xsi = "http://www.w3.org/2001/XMLSchema-instance";
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeStartElement("cp", "coreProperties",
+                "http://schemas.openxmlformats.org/package/2006/metadata/core-properties");
+        xml.writeNamespace("cp", "http://schemas.openxmlformats.org/package/2006/metadata/core-properties");
+        xml.writeNamespace("dc", dc);
+        xml.writeNamespace("dcterms", dcterms);
+        xml.writeNamespace("xsi", xsi);
+        if (!title.isEmpty()) {
+            xml.writeStartElement("dc", "title", dc);
+            xml.writeCharacters(title);
+            xml.writeEndElement();
+        }
+        if (!author.isEmpty()) {
+            xml.writeStartElement("dc", "creator", dc);
+            xml.writeCharacters(author);
+            xml.writeEndElement();
+        }
+        xml.writeStartElement("dcterms", "created", dcterms);
+        xml.writeAttribute("xsi", xsi, "type", "dcterms:W3CDTF");
+        xml.writeCharacters(format.format(new Date()));
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndDocument();
+        xml.flush();
+    }
+
+    private static void writeSectionProperties(OutputStream out, boolean hasHeader, boolean hasFooter)
+            throws XMLStreamException {
+        XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartElement("w", "sectPr", W);
+        if (hasHeader) {
+            xml.writeEmptyElement("w", "headerReference", W);
+            xml.writeAttribute("w", W, "type", "default");
+            xml.writeAttribute("r", R, "id", "rIdHeader1");
+        }
+        if (hasFooter) {
+            xml.writeEmptyElement("w", "footerReference", W);
+            xml.writeAttribute("w", W, "type", "default");
+            xml.writeAttribute("r", R, "id", "rIdFooter1");
+        }
+        xml.writeEmptyElement("w", "pgSz", W);
+        xml.writeAttribute("w", W, "w", "11906");
+        xml.writeAttribute("w", W, "h", "16838");
+        xml.writeEmptyElement("w", "pgMar", W);
+        xml.writeAttribute("w", W, "top", "1440");
+        xml.writeAttribute("w", W, "right", "1800");
+        xml.writeAttribute("w", W, "bottom", "1440");
+        xml.writeAttribute("w", W, "left", "1800");
+        xml.writeAttribute("w", W, "header", "851");
+        xml.writeAttribute("w", W, "footer", "992");
+        xml.writeAttribute("w", W, "gutter", "0");
+        xml.writeEndElement();
+        xml.flush();
+    }
+
+    /**
+     * 写入页头或页脚：居中的 Times New Roman 10 磅文本，页脚可追加“第 N 页”
+     */
+    private static void writeHeaderFooter(OutputStream out, String rootName, String text, boolean pageNumber)
+            throws XMLStreamException {
+        XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeStartElement("w", rootName, W);
+        xml.writeNamespace("w", W);
+        xml.writeNamespace("r", R);
+        xml.writeStartElement("w", "p", W);
+        xml.writeStartElement("w", "pPr", W);
+        xml.writeEmptyElement("w", "jc", W);
+        xml.writeAttribute("w", W, "val", "center");
+        xml.writeEndElement();
+
+        String content = text;
+        if (pageNumber) {
+            content = (content.isEmpty() ? "" : content + " - ") + "第 ";
+        }
+        writeHeaderFooterRun(xml, content);
+        if (pageNumber) {
+            xml.writeStartElement("w", "fldSimple", W);
+            xml.writeAttribute("w", W, "instr", "PAGE");
+            writeHeaderFooterRun(xml, "1");
+            xml.writeEndElement();
+            writeHeaderFooterRun(xml, " 页");
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndDocument();
+        xml.flush();
+    }
+
+    private static void writeHeaderFooterRun(XMLStreamWriter xml, String text) throws XMLStreamException {
+        xml.writeStartElement("w", "r", W);
+        xml.writeStartElement("w", "rPr", W);
+        xml.writeEmptyElement("w", "rFonts", W);
+        xml.writeAttribute("w", W, "ascii", HEADER_FOOTER_FONT);
+        xml.writeAttribute("w", W, "hAnsi", HEADER_FOOTER_FONT);
+        xml.writeEmptyElement("w", "sz", W);
+        xml.writeAttribute("w", W, "val", "20");
+        xml.writeEndElement();
+        writeText(xml, text);
+        xml.writeEndElement();
+    }
+
+    private static void writeText(XMLStreamWriter xml, String text) throws XMLStreamException {
+        xml.writeStartElement("w", "t", W);
+        xml.writeAttribute("xml", XMLConstants.XML_NS_URI, "space", "preserve");
+        xml.writeCharacters(text != null ? text : "");
+        xml.writeEndElement();
+    }
+
+    private static String createContentTypes(boolean header, boolean footer, boolean numbering,
+                                             Set<String> imageExtensions) {
+        String main = "application/vnd.openxmlformats-officedocument.wordprocessingml.";
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .append("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        for (String extension : imageExtensions) {
+            xml.append("<Default Extension=\"").append(extension).append("\" ContentType=\"image/")
+                    .append(extension).append("\"/>");
+        }
+        xml.append("<Override PartName=\"/word/document.xml\" ContentType=\"").append(main).append("document.main+xml\"/>")
+                .append("<Override PartName=\"/word/styles.xml\" ContentType=\"").append(main).append("styles+xml\"/>")
+                .append("<Override PartName=\"/word/settings.xml\" ContentType=\"").append(main).append("settings+xml\"/>")
+                .append("<Override PartName=\"/docProps/core.xml\" ContentType=\"application/vnd.openxmlformats-package.core-properties+xml\"/>")
+                .append("<Override PartName=\"/docProps/app.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.extended-properties+xml\"/>");
+        if (numbering) {
+            xml.append("<Override PartName=\"/word/numbering.xml\" ContentType=\"").append(main).append("numbering+xml\"/>");
+        }
+        if (header) {
+            xml.append("<Override PartName=\"/word/header1.xml\" ContentType=\"").append(main).append("header+xml\"/>");
+        }
+        if (footer) {
+            xml.append("<Override PartName=\"/word/footer1.xml\" ContentType=\"").append(main).append("footer+xml\"/>");
+        }
+        return xml.append("</Types>").toString();
+    }
+
+    private static String createDocumentRels(boolean header, boolean footer, boolean numbering,
+                                             List<ImagePart> images, List<String> hyperlinks) {
+        String type = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/";
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">")
+                .append("<Relationship Id=\"rIdStyles\" Type=\"").append(type).append("styles\" Target=\"styles.xml\"/>")
+                .append("<Relationship Id=\"rIdSettings\" Type=\"").append(type).append("settings\" Target=\"settings.xml\"/>");
+        if (numbering) {
+            xml.append("<Relationship Id=\"rIdNumbering\" Type=\"").append(type).append("numbering\" Target=\"numbering.xml\"/>");
+        }
+        if (header) {
+            xml.append("<Relationship Id=\"rIdHeader1\" Type=\"").append(type).append("header\" Target=\"header1.xml\"/>");
+        }
+        if (footer) {
+            xml.append("<Relationship Id=\"rIdFooter1\" Type=\"").append(type).append("footer\" Target=\"footer1.xml\"/>");
+        }
+        for (ImagePart image : images) {
+            xml.append("<Relationship Id=\"").append(image.relationshipId()).append("\" Type=\"").append(type)
+                    .append("image\" Target=\"media/").append(image.fileName()).append("\"/>");
+        }
+        for (int i = 0; i < hyperlinks.size(); i++) {
+            xml.append("<Relationship Id=\"rIdLink").append(i + 1).append("\" Type=\"").append(type)
+                    .append("hyperlink\" Target=\"").append(escapeAttribute(hyperlinks.get(i)))
+                    .append("\" TargetMode=\"External\"/>");
+        }
+        return xml.append("</Relationships>").toString();
+    }
+
+    private static String escapeAttribute(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+                    break;
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * 正文为宋体12磅；标题字号为 max(12, 20 - 级别 * 2) 磅，加粗
+     */
+    private static String createStyles() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<w:styles xmlns:w=\"").append(W).append("\">")
+                .append("<w:docDefaults><w:rPrDefault><w:rPr>")
+                .append("<w:rFonts w:ascii=\"").append(FONT).append("\" w:eastAsia=\"").append(FONT)
+                .append("\" w:hAnsi=\"").append(FONT).append("\" w:cs=\"").append(FONT).append("\"/>")
+                .append("<w:sz w:val=\"24\"/><w:szCs w:val=\"24\"/>")
+                .append("</w:rPr></w:rPrDefault><w:pPrDefault/></w:docDefaults>")
+                .append("<w:style w:type=\"paragraph\" w:default=\"1\" w:styleId=\"Normal\"><w:name w:val=\"Normal\"/><w:qFormat/></w:style>")
+                .append("<w:style w:type=\"paragraph\" w:styleId=\"Title\"><w:name w:val=\"Title\"/>")
+                .append("<w:basedOn w:val=\"Normal\"/><w:next w:val=\"Normal\"/><w:qFormat/>")
+                .append("<w:pPr><w:jc w:val=\"center\"/></w:pPr><w:rPr><w:b/><w:sz w:val=\"36\"/><w:szCs w:val=\"36\"/></w:rPr></w:style>");
+        for (int level = 1; level <= 6; level++) {
+            int halfPoints = Math.max(12, 20 - level * 2) * 2;
+            xml.append("<w:style w:type=\"paragraph\" w:styleId=\"Heading").append(level).append("\">")
+                    .append("<w:name w:val=\"heading ").append(level).append("\"/>")
+                    .append("<w:basedOn w:val=\"Normal\"/><w:next w:val=\"Normal\"/><w:qFormat/>")
+                    .append("<w:pPr><w:keepNext/><w:outlineLvl w:val=\"").append(level - 1).append("\"/></w:pPr>")
+                    .append("<w:rPr><w:b/><w:sz w:val=\"").append(halfPoints).append("\"/><w:szCs w:val=\"")
+                    .append(halfPoints).append("\"/></w:rPr></w:style>");
+        }
+        String border = " w:val=\"single\" w:sz=\"4\" w:space=\"0\" w:color=\"auto\"/>";
+        xml.append("<w:style w:type=\"table\" w:styleId=\"TableGrid\"><w:name w:val=\"Table Grid\"/><w:tblPr><w:tblBorders>")
+                .append("<w:top").append(border).append("<w:left").append(border)
+                .append("<w:bottom").append(border).append("<w:right").append(border)
+                .append("<w:insideH").append(border).append("<w:insideV").append(border)
+                .append("</w:tblBorders></w:tblPr></w:style>");
+        return xml.append("</w:styles>").toString();
+    }
+
+    /**
+     * 写入编号部件：固定的抽象编号和无序列表编号实例，加上每个有序列表从 1 重新计数的编号实例
+     */
+    private static void writeNumbering(OutputStream out, int orderedLists) throws IOException {
+        out.write(NUMBERING_START);
+        StringBuilder xml = new StringBuilder(orderedLists * 64 + 32);
+        for (int i = 0; i < orderedLists; i++) {
+            xml.append("<w:num w:numId=\"").append(BULLET_NUM_ID + 1 + i).append("\"><w:abstractNumId w:val=\"1\"/>");
+            for (int level = 0; level < LIST_LEVELS; level++) {
+                xml.append("<w:lvlOverride w:ilvl=\"").append(level)
+                        .append("\"><w:startOverride w:val=\"1\"/></w:lvlOverride>");
+            }
+            xml.append("</w:num>");
+        }
+        out.write(bytes(xml.append("</w:numbering>").toString()));
+    }
+
+    /**
+     * 项目符号依次为 •、◦、▪，数字编号依次为 1.、a.、i.，每级缩进 420 缇并悬挂同样宽度
+     */
+    private static String createNumberingDefinitions() {
+        String[] bullets = {"•", "◦", "▪"};
+        String[] formats = {"decimal", "lowerLetter", "lowerRoman"};
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<w:numbering xmlns:w=\"").append(W).append("\">");
+        for (int abstractId = 0; abstractId < 2; abstractId++) {
+            boolean ordered = abstractId == 1;
+            xml.append("<w:abstractNum w:abstractNumId=\"").append(abstractId).append("\">")
+                    .append("<w:multiLevelType w:val=\"hybridMultilevel\"/>");
+            for (int level = 0; level < LIST_LEVELS; level++) {
+                xml.append("<w:lvl w:ilvl=\"").append(level).append("\"><w:start w:val=\"1\"/>")
+                        .append("<w:numFmt w:val=\"").append(ordered ? formats[level % formats.length] : "bullet")
+                        .append("\"/><w:lvlText w:val=\"")
+                        .append(ordered ? "%" + (level + 1) + "." : bullets[level % bullets.length])
+                        .append("\"/><w:lvlJc w:val=\"left\"/><w:pPr><w:ind w:left=\"")
+                        .append((level + 1) * LIST_INDENT).append("\" w:hanging=\"").append(LIST_INDENT)
+                        .append("\"/></w:pPr></w:lvl>");
+            }
+            xml.append("</w:abstractNum>");
+        }
+        return xml.append("<w:num w:numId=\"").append(BULLET_NUM_ID)
+                .append("\"><w:abstractNumId w:val=\"0\"/></w:num>").toString();
+    }
+
+    private static byte[] bytes(String xml) {
+        return xml.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 嵌入的图片部件
+     */
+    private static final class ImagePart {
+        private final int index;
+        private final byte[] data;
+        private final String extension;
+        private final long width;
+        private final long height;
+
+        private ImagePart(int index, byte[] data, String extension, long width, long height) {
+            this.index = index;
+            this.data = data;
+            this.extension = extension;
+            this.width = width;
+            this.height = height;
+        }
+
+        private String fileName() {
+            return "image" + index + "." + extension;
+        }
+
+        private String relationshipId() {
+            return "rIdImage" + index;
+        }
+    }
+
+    /**
+     * 正文或单元格：记录最后一个块是否为段落以及当前行的单元格数
+     */
+    private static final class Container {
+        private boolean endsWithParagraph;
+        private int cells;
+    }
+}
@@ -0,0 +1,111 @@
+package com.boundesu.words.common.block;
+
+/**
+ * 文本段：一段具有相同字符格式的文本
+ * 不可变，文本中的换行符输出为段内换行。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class Run {
+
+    /** 样式位：粗体 */
+    public static final int BOLD = 1;
+    /** 样式位：斜体 */
+    public static final int ITALIC = 2;
+    /** 样式位：下划线 */
+    public static final int UNDERLINE = 4;
+
+    /** 链接文本使用的颜色 */
+    public static final String LINK_COLOR = "0000FF";
+
+    private final String text;
+    private final int styles;
+    private final String color;
+    private final String href;
+
+    /**
+     * 构造函数
+     *
+     * @param text   文本
+     * @param styles 样式位组合
+     * @param color  十六进制颜色（如 "FF0000"），null 表示默认颜色
+     */
+    public Run(String text, int styles, String color) {
+        this(text, styles, color, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param text   文本
+     * @param styles 样式位组合
+     * @param color  十六进制颜色（如 "FF0000"），null 表示默认颜色
+     * @param href   超链接地址，null 表示不是链接
+     */
+    public Run(String text, int styles, String color, String href) {
+        this.text = text != null ? text : "";
+        this.styles = styles & (BOLD | ITALIC | UNDERLINE);
+        this.color = color;
+        this.href = href != null && !href.isEmpty() ? href : null;
+    }
+
+    public static Run of(String text) {
+        return new Run(text, 0, null);
+    }
+
+    public static Run of(String text, int styles) {
+        return new Run(text, styles, null);
+    }
+
+    /**
+     * 链接样式的文本段：蓝色下划线
+     */
+    public static Run link(String text) {
+        return new Run(text, UNDERLINE, LINK_COLOR);
+    }
+
+    /**
+     * 指向外部地址的超链接文本段：蓝色下划线
+     */
+    public static Run link(String text, String href) {
+        return new Run(text, UNDERLINE, LINK_COLOR, href);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getStyles() {
+        return styles;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    /**
+     * 获取超链接地址，不是链接时返回 null
+     */
+    public String getHref() {
+        return href;
+    }
+
+    public boolean isBold() {
+        return (styles & BOLD) != 0;
+    }
+
+    public boolean isItalic() {
+        return (styles & ITALIC) != 0;
+    }
+
+    public boolean isUnderline() {
+        return (styles & UNDERLINE) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Run{text='" + text + "', styles=" + styles + (color != null ? ", color=" + color : "")
+                + (href != null ? ", href=" + href : "") + "}";
+    }
+}
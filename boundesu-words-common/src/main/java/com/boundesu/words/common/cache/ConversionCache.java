@@ -0,0 +1,342 @@
+package com.boundesu.words.common.cache;
+
+import com.boundesu.words.common.constants.BoundesuConstants;
+import com.boundesu.words.common.constants.ConfigConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 转换结果缓存
+ * 以“输入字节 + 转换器类型 + 规范化选项”的哈希为键（内容寻址），缓存转换生成的DOCX字节。
+ * 内存层为按字节计量的LRU，磁盘层位于缓存目录，超过容量时按最近访问时间淘汰。
+ *
+ * <p>并发安全：写入先落到临时文件再原子移动到目标位置，读者不会看到半写入的文件；
+ * 淘汰时持有缓存目录下的文件锁，多个JVM共享同一目录时也不会互相破坏。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ConversionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversionCache.class);
+
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LOCK_FILE = ".lock";
+
+    /** 同一JVM内对同一目录的互斥对象，FileLock 只能在进程之间互斥 */
+    private static final ConcurrentHashMap<Path, Object> DIRECTORY_MONITORS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final Object directoryMonitor;
+    private final long maxDiskBytes;
+    /** 内存层，容量为0时为 null */
+    private final WeightedLruCache<String, byte[]> memory;
+
+    /** 本JVM估算的磁盘占用，-1 表示尚未扫描 */
+    private final AtomicLong diskBytes = new AtomicLong(-1);
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 使用默认缓存目录与容量创建缓存
+     */
+    public ConversionCache() {
+        this(Paths.get(ConfigConstants.DEFAULT_CACHE_DIR), ConfigConstants.MAX_CACHE_SIZE,
+                ConfigConstants.MAX_MEMORY_CACHE_SIZE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param directory      磁盘缓存目录
+     * @param maxDiskBytes   磁盘层最大字节数
+     * @param maxMemoryBytes 内存层最大字节数，0 表示不使用内存层
+     */
+    public ConversionCache(Path directory, long maxDiskBytes, long maxMemoryBytes) {
+        if (directory == null) {
+            throw new IllegalArgumentException("缓存目录不能为空");
+        }
+        this.directory = directory;
+        this.directoryMonitor = DIRECTORY_MONITORS.computeIfAbsent(directory.toAbsolutePath().normalize(), p -> new Object());
+        this.maxDiskBytes = maxDiskBytes;
+        this.memory = maxMemoryBytes > 0 ? new WeightedLruCache<>(maxMemoryBytes, value -> value.length) : null;
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param converterType    转换器类型，如 "html"、"xml"
+     * @param canonicalOptions 规范化的选项字符串（相同选项必须得到相同字符串）
+     * @param input            输入字节
+     * @return 十六进制哈希键
+     */
+    public static String key(String converterType, String canonicalOptions, byte[] input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ConfigConstants.DEFAULT_HASH_ALGORITHM);
+            // 版本号参与计算，升级后旧结果自动失效
+            digest.update(BoundesuConstants.SDK_VERSION.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(converterType).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(canonicalOptions).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(input);
+
+            byte[] hash = digest.digest();
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持的哈希算法: " + ConfigConstants.DEFAULT_HASH_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * 读取缓存，未命中返回 null
+     * 返回的数组是副本，调用方修改不影响缓存内容
+     */
+    public byte[] get(String key) {
+        byte[] value = getFromMemory(key);
+        if (value != null) {
+            memoryHits.incrementAndGet();
+            return value.clone();
+        }
+
+        Path file = entryPath(key);
+        try {
+            value = Files.readAllBytes(file);
+            // 更新访问时间，供跨进程的LRU淘汰使用
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            putInMemory(key, value.clone());
+            diskHits.incrementAndGet();
+            return value;
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+        } catch (IOException e) {
+            log.warn("读取缓存文件失败: {}, {}", file, e.getMessage());
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存，磁盘写入失败只记录日志，不影响调用方
+     * 内存层保存的是副本，调用方之后修改数组不影响缓存内容
+     */
+    public void put(String key, byte[] value) {
+        if (key == null || value == null) {
+            return;
+        }
+        putInMemory(key, value.clone());
+
+        if (maxDiskBytes <= 0 || value.length > maxDiskBytes) {
+            return;
+        }
+        Path target = entryPath(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = target.resolveSibling(key + "." + UUID.randomUUID() + TEMP_SUFFIX);
+            Files.write(temp, value, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            // 覆盖已有条目时只计入大小差
+            long replaced = existingSize(target);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+
+            if (diskBytes.get() < 0) {
+                evictIfNeeded(true);
+            } else if (diskBytes.addAndGet(value.length - replaced) > maxDiskBytes) {
+                evictIfNeeded(false);
+            }
+        } catch (IOException e) {
+            log.warn("写入缓存文件失败: {}, {}", target, e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.debug("删除临时缓存文件失败: {}", temp);
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空内存层与磁盘层
+     */
+    public void clear() {
+        if (memory != null) {
+            memory.clear();
+        }
+        synchronized (directoryMonitor) {
+            try (FileChannel channel = lockChannel(); FileLock ignored = channel.lock()) {
+                for (Entry entry : listEntries()) {
+                    Files.deleteIfExists(entry.path);
+                }
+                diskBytes.set(0);
+            } catch (IOException e) {
+                log.warn("清空缓存目录失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("memoryEntries", memory != null ? memory.size() : 0);
+        stats.put("memoryBytes", memory != null ? memory.getWeight() : 0L);
+        stats.put("diskBytes", Math.max(diskBytes.get(), 0));
+        stats.put("directory", directory.toAbsolutePath().toString());
+        return stats;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // ========== 内存层 ==========
+
+    private byte[] getFromMemory(String key) {
+        return memory != null ? memory.get(key) : null;
+    }
+
+    /**
+     * 过大的结果只放磁盘，避免挤掉大量小条目
+     */
+    private void putInMemory(String key, byte[] value) {
+        if (memory != null) {
+            memory.put(key, value);
+        }
+    }
+
+    // ========== 磁盘层 ==========
+
+    private Path entryPath(String key) {
+        // 两级目录，避免单目录下文件过多
+        return directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static long existingSize(Path file) throws IOException {
+        try {
+            return Files.size(file);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 扫描磁盘占用，超过容量时按最近访问时间从旧到新删除，直到降到容量的90%
+     */
+    private void evictIfNeeded(boolean force) {
+        synchronized (directoryMonitor) {
+            try (FileChannel channel = lockChannel(); FileLock ignored = channel.lock()) {
+                List<Entry> entries = listEntries();
+                long total = 0;
+                for (Entry entry : entries) {
+                    total += entry.size;
+                }
+
+                if (total > maxDiskBytes) {
+                    entries.sort((a, b) -> Long.compare(a.lastAccess, b.lastAccess));
+                    long target = maxDiskBytes - maxDiskBytes / 10;
+                    for (Entry entry : entries) {
+                        if (total <= target) {
+                            break;
+                        }
+                        if (Files.deleteIfExists(entry.path)) {
+                            total -= entry.size;
+                            evictions.incrementAndGet();
+                        }
+                    }
+                    log.debug("缓存淘汰完成，当前磁盘占用 {} 字节", total);
+                }
+                diskBytes.set(total);
+            } catch (IOException e) {
+                if (force) {
+                    diskBytes.compareAndSet(-1, 0);
+                }
+                log.warn("缓存淘汰失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private FileChannel lockChannel() throws IOException {
+        Files.createDirectories(directory);
+        return FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private List<Entry> listEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> buckets = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path bucket : buckets) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(bucket, "*" + ENTRY_SUFFIX)) {
+                    for (Path file : files) {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                            entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                        } catch (NoSuchFileException e) {
+                            // 已被其他进程删除
+                        }
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static class Entry {
+        private final Path path;
+        private final long size;
+        private final long lastAccess;
+
+        private Entry(Path path, long size, long lastAccess) {
+            this.path = path;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.boundesu.words.common.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * 按权重计量的LRU缓存
+ * 各条目的权重由调用方提供的计量函数给出（字节数或估算的内存占用），总权重超过上限时按最近访问顺序淘汰；
+ * 单个条目超过上限的1/4时不缓存，避免挤掉大量小条目。
+ *
+ * <p>线程安全：读写在同一把锁下进行，计量函数在锁外调用。缓存只保存引用，值应当是不可变的。</p>
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param maxWeight 总权重上限
+     * @param weigher   条目权重的计量函数
+     */
+    public WeightedLruCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("权重计量函数不能为空");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * 读取缓存并计入命中统计
+     *
+     * @param key 键
+     * @return 值，未缓存时返回 null
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 写入缓存，超过上限时淘汰最久未访问的条目
+     *
+     * @param key   键
+     * @param value 值，调用方之后不应修改
+     * @return 条目过大未被缓存时返回 false
+     */
+    public boolean put(K key, V value) {
+        if (key == null || value == null) {
+            return false;
+        }
+        long entryWeight = weigher.applyAsLong(value);
+        if (entryWeight > maxWeight / 4) {
+            return false;
+        }
+        synchronized (entries) {
+            Entry<V> previous = entries.put(key, new Entry<>(value, entryWeight));
+            weight += entryWeight - (previous != null ? previous.weight : 0);
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (weight > maxWeight && iterator.hasNext()) {
+                weight -= iterator.next().weight;
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 清空缓存，统计计数保留
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * 当前条目数
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 当前总权重
+     */
+    public long getWeight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * 获取缓存统计信息：hits、misses、evictions、entries、weight、maxWeight
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("weight", weight);
+        }
+        stats.put("maxWeight", maxWeight);
+        return stats;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
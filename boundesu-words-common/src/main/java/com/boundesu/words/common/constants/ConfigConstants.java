@@ -105,6 +105,10 @@ public final class ConfigConstants {
      * 最大缓存大小（字节）
      */
     public static final long MAX_CACHE_SIZE = 500 * 1024 * 1024; // 500MB
+    /**
+     * 内存缓存最大大小（字节）
+     */
+    public static final long MAX_MEMORY_CACHE_SIZE = 64 * 1024 * 1024; // 64MB
     /**
      * 文件清理间隔（毫秒）
      */
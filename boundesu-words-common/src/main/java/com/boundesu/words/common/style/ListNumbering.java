@@ -0,0 +1,163 @@
+package com.boundesu.words.common.style;
+
+import org.apache.poi.xwpf.usermodel.XWPFAbstractNum;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFNum;
+import org.apache.poi.xwpf.usermodel.XWPFNumbering;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTAbstractNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTInd;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTLvl;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTNumLvl;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STJc;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STNumberFormat;
+
+import java.math.BigInteger;
+
+/**
+ * 文档的列表编号定义
+ * 项目符号列表和编号列表各对应一个 {@code numbering.xml} 抽象编号定义（9级），首次使用时创建，
+ * 之后同一文档中的所有同类列表共用。无序列表共用同一个编号实例；每个有序列表新建一个只包含
+ * 起始值覆盖的轻量编号实例，从 1 重新计数。
+ *
+ * <p>列表项段落只写入 {@code numPr}（编号实例和级别），符号与缩进由编号定义给出。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class ListNumbering {
+
+    /** 每级列表的缩进（缇），与项目符号的悬挂缩进相同 */
+    public static final int LEVEL_INDENT = 420;
+    /** Word支持的列表级数 */
+    public static final int MAX_LEVELS = 9;
+
+    private static final String[] BULLETS = {"•", "◦", "▪"};
+    private static final STNumberFormat.Enum[] ORDERED_FORMATS = {
+            STNumberFormat.DECIMAL, STNumberFormat.LOWER_LETTER, STNumberFormat.LOWER_ROMAN};
+
+    private final XWPFDocument document;
+    private XWPFNumbering numbering;
+    private BigInteger bulletAbstractId;
+    private BigInteger orderedAbstractId;
+    private BigInteger bulletNumId;
+
+    /**
+     * @param document 目标文档，编号定义在第一次开始列表时才写入
+     */
+    public ListNumbering(XWPFDocument document) {
+        this.document = document;
+    }
+
+    /**
+     * 开始一个列表
+     *
+     * @param ordered 是否为有序列表
+     * @return 列表项段落使用的编号实例ID
+     */
+    public BigInteger startList(boolean ordered) {
+        if (!ordered) {
+            if (bulletNumId == null) {
+                bulletNumId = numbering().addNum(new XWPFNum(newNum(bulletAbstractId()), numbering));
+            }
+            return bulletNumId;
+        }
+        CTNum num = newNum(orderedAbstractId());
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            CTNumLvl override = num.addNewLvlOverride();
+            override.setIlvl(BigInteger.valueOf(level));
+            override.addNewStartOverride().setVal(BigInteger.ONE);
+        }
+        return numbering.addNum(new XWPFNum(num, numbering));
+    }
+
+    /**
+     * 新建编号实例，ID取文档中已有实例的最大值加一（模板、合并得到的文档中编号实例ID不一定连续）
+     */
+    private CTNum newNum(BigInteger abstractId) {
+        BigInteger id = BigInteger.ONE;
+        for (XWPFNum existing : numbering().getNums()) {
+            BigInteger existingId = existing.getCTNum().getNumId();
+            if (existingId != null && existingId.compareTo(id) >= 0) {
+                id = existingId.add(BigInteger.ONE);
+            }
+        }
+        CTNum num = CTNum.Factory.newInstance();
+        num.setNumId(id);
+        num.addNewAbstractNumId().setVal(abstractId);
+        return num;
+    }
+
+    /**
+     * 把段落设为列表项
+     *
+     * @param paragraph 段落
+     * @param numId     {@link #startList(boolean)} 返回的编号实例ID
+     * @param level     嵌套级别，从 0 开始，超过 8 级时按第 9 级处理
+     */
+    public static void applyTo(XWPFParagraph paragraph, BigInteger numId, int level) {
+        paragraph.setNumID(numId);
+        paragraph.setNumILvl(BigInteger.valueOf(Math.min(Math.max(level, 0), MAX_LEVELS - 1)));
+    }
+
+    /**
+     * 指定级别列表项文本的左缩进（缇），用于列表项中编号段落之后的续行段落
+     */
+    public static int textIndent(int level) {
+        return (Math.min(Math.max(level, 0), MAX_LEVELS - 1) + 1) * LEVEL_INDENT;
+    }
+
+    private XWPFNumbering numbering() {
+        if (numbering == null) {
+            numbering = document.getNumbering() != null ? document.getNumbering() : document.createNumbering();
+        }
+        return numbering;
+    }
+
+    private BigInteger bulletAbstractId() {
+        if (bulletAbstractId == null) {
+            bulletAbstractId = addAbstractNum(false);
+        }
+        return bulletAbstractId;
+    }
+
+    private BigInteger orderedAbstractId() {
+        if (orderedAbstractId == null) {
+            orderedAbstractId = addAbstractNum(true);
+        }
+        return orderedAbstractId;
+    }
+
+    /**
+     * 添加抽象编号定义，ID取文档中已有定义的最大值加一（模板文档可能已有编号）
+     */
+    private BigInteger addAbstractNum(boolean ordered) {
+        BigInteger id = BigInteger.ZERO;
+        for (XWPFAbstractNum existing : numbering().getAbstractNums()) {
+            BigInteger existingId = existing.getCTAbstractNum().getAbstractNumId();
+            if (existingId != null && existingId.compareTo(id) >= 0) {
+                id = existingId.add(BigInteger.ONE);
+            }
+        }
+        CTAbstractNum abstractNum = CTAbstractNum.Factory.newInstance();
+        abstractNum.setAbstractNumId(id);
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            CTLvl lvl = abstractNum.addNewLvl();
+            lvl.setIlvl(BigInteger.valueOf(level));
+            lvl.addNewStart().setVal(BigInteger.ONE);
+            if (ordered) {
+                lvl.addNewNumFmt().setVal(ORDERED_FORMATS[level % ORDERED_FORMATS.length]);
+                lvl.addNewLvlText().setVal("%" + (level + 1) + ".");
+            } else {
+                lvl.addNewNumFmt().setVal(STNumberFormat.BULLET);
+                lvl.addNewLvlText().setVal(BULLETS[level % BULLETS.length]);
+            }
+            lvl.addNewLvlJc().setVal(STJc.LEFT);
+            CTInd ind = lvl.addNewPPr().addNewInd();
+            ind.setLeft(BigInteger.valueOf(textIndent(level)));
+            ind.setHanging(BigInteger.valueOf(LEVEL_INDENT));
+        }
+        return numbering.addAbstractNum(new XWPFAbstractNum(abstractNum, numbering));
+    }
+}
@@ -0,0 +1,211 @@
+package com.boundesu.words.common.style;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFStyle;
+import org.apache.poi.xwpf.usermodel.XWPFStyles;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTDocDefaults;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTFonts;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTPPrGeneral;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyles;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STJc;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STStyleType;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.STUnderline;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 文档的格式驻留表
+ * 生成过程中收集不同的文本格式组合，每种组合只在 {@code styles.xml} 中定义一次字符样式，
+ * 文本段只引用样式ID，不再各自携带完整的 {@code rPr}。默认字体和字号写入 {@code docDefaults}，
+ * 与默认值相同的格式不生成样式；标题使用带大纲级别的段落样式。
+ *
+ * <p>一个实例对应一个文档，不是线程安全的。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class StyleInterner {
+
+    /** 格式位：粗体 */
+    public static final int BOLD = 1;
+    /** 格式位：斜体 */
+    public static final int ITALIC = 2;
+    /** 格式位：单下划线 */
+    public static final int UNDERLINE = 4;
+
+    private static final String CHARACTER_STYLE_PREFIX = "BwChar";
+
+    private final XWPFStyles styles;
+    private final String defaultFontFamily;
+    private final int defaultFontSize;
+    private final Map<String, String> characterStyles = new HashMap<>();
+    private int nextStyleNumber = 1;
+
+    /**
+     * 不修改文档默认字体，用于在已有文档上继续编辑
+     *
+     * @param document 目标文档
+     */
+    public StyleInterner(XWPFDocument document) {
+        this(document, null, 0);
+    }
+
+    /**
+     * @param document          目标文档
+     * @param defaultFontFamily 写入 docDefaults 的默认字体，null 表示不设置
+     * @param defaultFontSize   写入 docDefaults 的默认字号（磅），0 表示不设置
+     */
+    public StyleInterner(XWPFDocument document, String defaultFontFamily, int defaultFontSize) {
+        this.styles = document.createStyles();
+        CTStyles ctStyles = styles.getCtStyles();
+        // 文档已有默认格式（如模板）时保留原值，格式比较也不再以传入的默认值为准
+        if ((defaultFontFamily != null || defaultFontSize > 0)
+                && (!ctStyles.isSetDocDefaults() || !ctStyles.getDocDefaults().isSetRPrDefault())) {
+            CTDocDefaults docDefaults = ctStyles.isSetDocDefaults() ? ctStyles.getDocDefaults()
+                    : ctStyles.addNewDocDefaults();
+            writeRunProperties(docDefaults.addNewRPrDefault().addNewRPr(), 0, null, defaultFontSize,
+                    defaultFontFamily);
+            this.defaultFontFamily = defaultFontFamily;
+            this.defaultFontSize = defaultFontSize;
+        } else {
+            this.defaultFontFamily = null;
+            this.defaultFontSize = 0;
+        }
+    }
+
+    /**
+     * 为文本段设置格式：与默认格式相同时不写任何属性，否则引用对应的字符样式
+     *
+     * @param run        文本段
+     * @param styleBits  {@link #BOLD}、{@link #ITALIC}、{@link #UNDERLINE} 的组合
+     * @param color      十六进制颜色，null 表示默认
+     * @param fontSize   字号（磅），0 表示默认
+     * @param fontFamily 字体，null 表示默认
+     */
+    public void applyRun(XWPFRun run, int styleBits, String color, int fontSize, String fontFamily) {
+        String styleId = characterStyle(styleBits, color, fontSize, fontFamily);
+        if (styleId != null) {
+            run.setStyle(styleId);
+        }
+    }
+
+    /**
+     * 获取格式组合对应的字符样式ID，首次出现时创建
+     *
+     * @return 样式ID，与默认格式相同时返回 null
+     */
+    public String characterStyle(int styleBits, String color, int fontSize, String fontFamily) {
+        if (fontSize == defaultFontSize) {
+            fontSize = 0;
+        }
+        if (fontFamily != null && fontFamily.equals(defaultFontFamily)) {
+            fontFamily = null;
+        }
+        if (styleBits == 0 && color == null && fontSize == 0 && fontFamily == null) {
+            return null;
+        }
+        String key = styleBits + "|" + color + "|" + fontSize + "|" + fontFamily;
+        String styleId = characterStyles.get(key);
+        if (styleId == null) {
+            // 同一文档可能先后由多个实例写入（如重新打开已生成的文档），跳过已被占用的编号
+            while (styles.styleExist(CHARACTER_STYLE_PREFIX + nextStyleNumber)) {
+                nextStyleNumber++;
+            }
+            styleId = CHARACTER_STYLE_PREFIX + nextStyleNumber;
+            CTStyle style = newStyle(styleId, "Boundesu Char " + nextStyleNumber, STStyleType.CHARACTER);
+            nextStyleNumber++;
+            writeRunProperties(style.addNewRPr(), styleBits, color, fontSize, fontFamily);
+            styles.addStyle(new XWPFStyle(style, styles));
+            characterStyles.put(key, styleId);
+        }
+        return styleId;
+    }
+
+    /**
+     * 获取标题段落样式 Heading1-Heading6（粗体、指定字号、与下段同页、大纲级别），文档中已有时直接复用
+     *
+     * @param level    标题级别，超出 1-6 时取边界值
+     * @param fontSize 字号（磅）
+     * @return 样式ID
+     */
+    public String headingStyle(int level, int fontSize) {
+        int clamped = Math.min(Math.max(level, 1), 6);
+        String styleId = "Heading" + clamped;
+        if (!styles.styleExist(styleId)) {
+            CTStyle style = newStyle(styleId, "heading " + clamped, STStyleType.PARAGRAPH);
+            style.addNewQFormat();
+            CTPPrGeneral paragraph = style.addNewPPr();
+            paragraph.addNewKeepNext();
+            paragraph.addNewOutlineLvl().setVal(BigInteger.valueOf(clamped - 1L));
+            writeRunProperties(style.addNewRPr(), BOLD, null, fontSize, null);
+            styles.addStyle(new XWPFStyle(style, styles));
+        }
+        return styleId;
+    }
+
+    /**
+     * 获取居中、粗体的文档标题段落样式 Title，文档中已有时直接复用
+     *
+     * @param fontSize 字号（磅）
+     * @return 样式ID
+     */
+    public String titleStyle(int fontSize) {
+        String styleId = "Title";
+        if (!styles.styleExist(styleId)) {
+            CTStyle style = newStyle(styleId, "Title", STStyleType.PARAGRAPH);
+            style.addNewQFormat();
+            style.addNewPPr().addNewJc().setVal(STJc.CENTER);
+            writeRunProperties(style.addNewRPr(), BOLD, null, fontSize, null);
+            styles.addStyle(new XWPFStyle(style, styles));
+        }
+        return styleId;
+    }
+
+    /**
+     * 已创建的字符样式数
+     */
+    public int getCharacterStyleCount() {
+        return characterStyles.size();
+    }
+
+    private static CTStyle newStyle(String styleId, String name, STStyleType.Enum type) {
+        CTStyle style = CTStyle.Factory.newInstance();
+        style.setStyleId(styleId);
+        style.setType(type);
+        style.addNewName().setVal(name);
+        return style;
+    }
+
+    private static void writeRunProperties(CTRPr properties, int styleBits, String color, int fontSize,
+                                           String fontFamily) {
+        if (fontFamily != null) {
+            CTFonts fonts = properties.addNewRFonts();
+            fonts.setAscii(fontFamily);
+            fonts.setHAnsi(fontFamily);
+            fonts.setEastAsia(fontFamily);
+            fonts.setCs(fontFamily);
+        }
+        if ((styleBits & BOLD) != 0) {
+            properties.addNewB();
+        }
+        if ((styleBits & ITALIC) != 0) {
+            properties.addNewI();
+        }
+        if (color != null) {
+            properties.addNewColor().setVal(color);
+        }
+        if (fontSize > 0) {
+            BigInteger halfPoints = BigInteger.valueOf(fontSize * 2L);
+            properties.addNewSz().setVal(halfPoints);
+            properties.addNewSzCs().setVal(halfPoints);
+        }
+        if ((styleBits & UNDERLINE) != 0) {
+            properties.addNewU().setVal(STUnderline.SINGLE);
+        }
+    }
+}
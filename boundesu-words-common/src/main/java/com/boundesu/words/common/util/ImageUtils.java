@@ -0,0 +1,109 @@
+package com.boundesu.words.common.util;
+
+import com.boundesu.words.common.constants.ImageConstants;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * 图片工具类
+ * 按文件头识别嵌入图片的格式，并计算图片在文档中的显示尺寸，HTML转换和块模型输出共用。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class ImageUtils {
+
+    /** 像素到EMU的换算（96 DPI） */
+    public static final long EMU_PER_PIXEL = 9525;
+
+    private ImageUtils() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 按文件头识别图片格式
+     *
+     * @param data 图片字节
+     * @return 格式扩展名（png、jpeg、gif、bmp），无法识别时返回 null
+     */
+    public static String format(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length >= 8 && (data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return ImageConstants.FORMAT_PNG;
+        }
+        if (data.length >= 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) {
+            return ImageConstants.FORMAT_JPEG;
+        }
+        if (data.length >= 6 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F') {
+            return ImageConstants.FORMAT_GIF;
+        }
+        if (data.length >= 2 && data[0] == 'B' && data[1] == 'M') {
+            return ImageConstants.FORMAT_BMP;
+        }
+        return null;
+    }
+
+    /**
+     * 按文件头识别POI图片类型
+     *
+     * @param data 图片字节
+     * @return {@code XWPFDocument.PICTURE_TYPE_*}，无法识别时返回 -1
+     */
+    public static int pictureType(byte[] data) {
+        String format = format(data);
+        if (format == null) {
+            return -1;
+        }
+        switch (format) {
+            case ImageConstants.FORMAT_PNG:
+                return XWPFDocument.PICTURE_TYPE_PNG;
+            case ImageConstants.FORMAT_JPEG:
+                return XWPFDocument.PICTURE_TYPE_JPEG;
+            case ImageConstants.FORMAT_GIF:
+                return XWPFDocument.PICTURE_TYPE_GIF;
+            default:
+                return XWPFDocument.PICTURE_TYPE_BMP;
+        }
+    }
+
+    /**
+     * 计算显示尺寸：只给出一边时按图片比例补齐另一边，都未给出时使用图片本身的像素尺寸，
+     * 超过最大宽度时按比例缩小
+     *
+     * @param data     图片字节
+     * @param width    指定宽度（像素），不大于0表示未指定
+     * @param height   指定高度（像素），不大于0表示未指定
+     * @param maxWidth 最大宽度（EMU）
+     * @return 宽、高（EMU），需要解码但无法解码时返回 null
+     * @throws IOException 读取图片失败
+     */
+    public static long[] displaySize(byte[] data, long width, long height, long maxWidth) throws IOException {
+        if (width <= 0 || height <= 0) {
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data));
+            if (decoded == null) {
+                return null;
+            }
+            if (width > 0) {
+                height = Math.round((double) decoded.getHeight() * width / decoded.getWidth());
+            } else if (height > 0) {
+                width = Math.round((double) decoded.getWidth() * height / decoded.getHeight());
+            } else {
+                width = decoded.getWidth();
+                height = decoded.getHeight();
+            }
+        }
+        width *= EMU_PER_PIXEL;
+        height *= EMU_PER_PIXEL;
+        if (width > maxWidth) {
+            height = height * maxWidth / width;
+            width = maxWidth;
+        }
+        return new long[]{width, height};
+    }
+}
@@ -6,6 +6,9 @@ import com.boundesu.words.common.exception.BoundesuWordsException;
 import com.boundesu.words.common.util.FileUtils;
 import com.boundesu.words.common.util.StringUtils;
 import com.boundesu.words.core.builder.DocumentBuilder;
+import com.boundesu.words.core.diff.DocumentFingerprinter;
+import com.boundesu.words.core.diff.FingerprintDiff;
+import com.boundesu.words.core.merge.DocumentMerger;
 import com.boundesu.words.core.options.DocxSaveOptions;
 import com.boundesu.words.core.options.HtmlLoadOptions;
 import com.boundesu.words.core.options.LoadOptions;
@@ -13,6 +16,7 @@ import com.boundesu.words.core.options.PdfSaveOptions;
 import com.boundesu.words.core.options.SaveOptions;
 import com.boundesu.words.core.options.LoadOptions.LoadFormat;
 import com.boundesu.words.core.options.SaveOptions.SaveFormat;
+import com.boundesu.words.core.split.DocumentSplitter;
 import org.apache.poi.xwpf.usermodel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -1194,6 +1198,8 @@ public class BoundesuWords {
 
     /**
      * 合并文档
+     * 按原始顺序在XML层面追加各文档正文，并重映射图片、超链接、编号与样式引用，
+     * 详见 {@link DocumentMerger}
      */
     public static XWPFDocument mergeDocuments(XWPFDocument mainDocument, List<XWPFDocument> documentsToMerge) throws BoundesuWordsException {
         if (mainDocument == null) {
@@ -1204,77 +1210,58 @@ public class BoundesuWords {
         }
         
         try {
+            DocumentMerger merger = new DocumentMerger(mainDocument);
             for (XWPFDocument docToMerge : documentsToMerge) {
-                if (docToMerge != null) {
-                    // 复制段落
-                    for (XWPFParagraph paragraph : docToMerge.getParagraphs()) {
-                        XWPFParagraph newParagraph = mainDocument.createParagraph();
-                        copyParagraph(paragraph, newParagraph);
-                    }
-                    
-                    // 复制表格
-                    for (XWPFTable table : docToMerge.getTables()) {
-                        copyTable(table, mainDocument);
-                    }
-                }
+                merger.append(docToMerge);
             }
             
-            log.info("文档合并完成，合并了{}个文档", documentsToMerge.size());
+            log.info("文档合并完成，合并了{}个文档", merger.getMergedCount());
             return mainDocument;
-        } catch (Exception e) {
+        } catch (BoundesuWordsException e) {
             log.error("合并文档失败: {}", e.getMessage(), e);
-            throw new BoundesuWordsException("合并文档失败: " + e.getMessage(), e);
+            throw e;
         }
     }
 
     /**
-     * 复制段落
+     * 流式合并DOCX文件，源文件逐个加载并在追加后立即释放
+     *
+     * @param sourceFiles 源文件列表（按合并顺序，第一个文件作为基础文档）
+     * @param outputFile  输出文件
      */
-    private static void copyParagraph(XWPFParagraph source, XWPFParagraph target) {
-        for (XWPFRun sourceRun : source.getRuns()) {
-            XWPFRun targetRun = target.createRun();
-            targetRun.setText(sourceRun.getText(0));
-            targetRun.setBold(sourceRun.isBold());
-            targetRun.setItalic(sourceRun.isItalic());
-            targetRun.setUnderline(sourceRun.getUnderline());
-            if (sourceRun.getFontFamily() != null) {
-                targetRun.setFontFamily(sourceRun.getFontFamily());
-            }
-            if (sourceRun.getFontSize() > 0) {
-                targetRun.setFontSize(sourceRun.getFontSize());
-            }
-        }
+    public static void mergeFiles(List<Path> sourceFiles, Path outputFile) throws BoundesuWordsException {
+        int count = DocumentMerger.mergeFiles(sourceFiles, outputFile);
+        log.info("文件合并完成，合并了{}个文件: {}", count, outputFile);
     }
 
     /**
-     * 复制表格
+     * 流式拆分DOCX文件，在标题1至标题N处切分
+     *
+     * @param sourceFile   源文件
+     * @param outputDir    输出目录
+     * @param headingLevel 切分标题级别
+     * @return 按顺序生成的片段文件
      */
-    private static void copyTable(XWPFTable sourceTable, XWPFDocument targetDocument) {
-        XWPFTable targetTable = targetDocument.createTable();
-        
-        for (int i = 0; i < sourceTable.getRows().size(); i++) {
-            XWPFTableRow sourceRow = sourceTable.getRow(i);
-            XWPFTableRow targetRow;
-            
-            if (i == 0) {
-                targetRow = targetTable.getRow(0);
-            } else {
-                targetRow = targetTable.createRow();
-            }
-            
-            for (int j = 0; j < sourceRow.getTableCells().size(); j++) {
-                XWPFTableCell sourceCell = sourceRow.getCell(j);
-                XWPFTableCell targetCell;
-                
-                if (j < targetRow.getTableCells().size()) {
-                    targetCell = targetRow.getCell(j);
-                } else {
-                    targetCell = targetRow.addNewTableCell();
-                }
-                
-                targetCell.setText(sourceCell.getText());
-            }
-        }
+    public static List<Path> splitDocument(Path sourceFile, Path outputDir, int headingLevel) throws BoundesuWordsException {
+        List<Path> pieces = new DocumentSplitter(new DocumentSplitter.SplitOptions().setHeadingLevel(headingLevel))
+                .split(sourceFile, outputDir);
+        log.info("文档拆分完成，生成了{}个文件", pieces.size());
+        return pieces;
+    }
+
+    /**
+     * 基于段落指纹比较两个DOCX文件，返回插入、删除、修改的块区间
+     *
+     * @param oldFile 旧版本文件
+     * @param newFile 新版本文件
+     * @return 变更区间列表
+     */
+    public static List<FingerprintDiff.DiffRange> compareDocuments(Path oldFile, Path newFile) throws BoundesuWordsException {
+        DocumentFingerprinter fingerprinter = new DocumentFingerprinter();
+        List<FingerprintDiff.DiffRange> ranges = FingerprintDiff.diff(
+                fingerprinter.fingerprint(oldFile), fingerprinter.fingerprint(newFile));
+        log.debug("文档比较完成，共{}处变更", ranges.size());
+        return ranges;
     }
 
     /**
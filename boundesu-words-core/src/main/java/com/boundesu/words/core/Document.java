@@ -1,11 +1,19 @@
 package com.boundesu.words.core;
 
 import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.common.style.ListNumbering;
+import com.boundesu.words.common.util.ImageUtils;
 import com.boundesu.words.common.util.StringUtils;
 import com.boundesu.words.core.config.DocumentPageConfig;
 import com.boundesu.words.core.config.HtmlLoadConfig;
 import com.boundesu.words.core.config.XmlLoadConfig;
+import com.boundesu.words.core.css.StyleSheet;
+import com.boundesu.words.core.css.StyleSheetCache;
+import com.boundesu.words.core.merge.DocumentMerger;
 import com.boundesu.words.core.options.HtmlLoadOptions;
+import com.boundesu.words.core.resource.ResourceCache;
+import com.boundesu.words.core.resource.ResourceLoader;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
 import org.apache.poi.xwpf.usermodel.*;
 import org.jsoup.nodes.Element;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.*;
@@ -30,6 +38,9 @@ public class Document {
 
     private static final Logger log = LoggerFactory.getLogger(Document.class);
 
+    /** 图片最大显示宽度（像素），A4页面默认边距下的正文宽度 */
+    private static final int MAX_IMAGE_WIDTH_PX = 600;
+
     private XWPFDocument document;
     private String filePath;
     private BuiltInDocumentProperties builtInDocumentProperties;
@@ -42,6 +53,14 @@ public class Document {
     private HtmlLoadConfig htmlConfig;
     private XmlLoadConfig xmlConfig;
 
+    /** HTML转换期间的图片加载器 */
+    private ResourceLoader resourceLoader;
+
+    /** 列表编号定义，第一个列表出现时创建，之后同一文档的列表共用 */
+    private ListNumbering listNumbering;
+    // HTML转换期间的文本清理，按HTML加载配置的清理选项创建
+    private HtmlTextNormalizer textNormalizer;
+
     /**
      * 内置文档属性类
      * 模拟Aspose Words BuiltInDocumentProperties类
@@ -445,6 +464,15 @@ public class Document {
      * 这是专门为HTML文件加载提供的便捷构造函数
      */
     public Document(String htmlFilePath, HtmlLoadOptions htmlLoadOptions) throws BoundesuWordsException {
+        this(htmlFilePath, htmlLoadOptions, HtmlLoadConfig.createDefault());
+    }
+
+    /**
+     * 从HTML文件路径、HTML加载选项和HTML加载配置加载文档
+     * 图片按配置的图片目录、基础地址解析，在转换开始前并发预取
+     */
+    public Document(String htmlFilePath, HtmlLoadOptions htmlLoadOptions, HtmlLoadConfig htmlConfig)
+            throws BoundesuWordsException {
         if (StringUtils.isEmpty(htmlFilePath)) {
             throw new BoundesuWordsException("HTML文件路径不能为空");
         }
@@ -454,6 +482,9 @@ public class Document {
         try {
             // 创建一个新的空白文档
             this.document = new XWPFDocument();
+            this.pageConfig = new DocumentPageConfig();
+            this.htmlConfig = htmlConfig != null ? htmlConfig : HtmlLoadConfig.createDefault();
+            this.xmlConfig = XmlLoadConfig.createDefault();
 
             // 读取HTML文件内容
             String htmlContent = readHtmlFile(htmlFilePath, htmlLoadOptions);
@@ -478,6 +509,52 @@ public class Document {
         }
     }
 
+    /**
+     * 从XML文件和XML加载配置加载文档
+     * 按配置的解析方式（DOM或StAX流式）、缓冲区大小、Schema校验和错误处理选项转换，
+     * XML文件直接以流读取，不先读成字符串
+     *
+     * @param xmlFilePath XML文件路径
+     * @param xmlConfig   XML加载配置，null 时使用默认配置
+     * @return 转换得到的文档
+     */
+    public static Document fromXml(String xmlFilePath, XmlLoadConfig xmlConfig) throws BoundesuWordsException {
+        if (StringUtils.isEmpty(xmlFilePath)) {
+            throw new BoundesuWordsException("XML文件路径不能为空");
+        }
+        XmlLoadConfig config = xmlConfig != null ? xmlConfig : XmlLoadConfig.createDefault();
+
+        ByteArrayOutputStream docx = new ByteArrayOutputStream();
+        try (InputStream xml = Files.newInputStream(Paths.get(xmlFilePath))) {
+            OptimizedXmlToDocxConverter.getInstance().convertXmlToDocx(xml, docx, config.toConversionOptions());
+        } catch (IOException e) {
+            throw new BoundesuWordsException("XML文件读取失败: " + e.getMessage(), e);
+        }
+
+        Document loaded = new Document(new ByteArrayInputStream(docx.toByteArray()));
+        loaded.filePath = xmlFilePath;
+        loaded.xmlConfig = config;
+        log.debug("使用XML加载配置从文件加载文档成功: {}", xmlFilePath);
+        return loaded;
+    }
+
+    /**
+     * 将HTML片段转换为新的Word文档
+     * 与加载HTML文件使用相同的转换流程，供在已有文档中插入HTML内容时使用；相对资源地址按配置的 baseUrl 解析
+     *
+     * @param html       HTML片段或完整的HTML文档
+     * @param htmlConfig HTML加载配置，null 时使用默认配置
+     * @return 转换得到的文档
+     */
+    public static XWPFDocument convertHtmlFragment(String html, HtmlLoadConfig htmlConfig) throws BoundesuWordsException {
+        Document fragment = new Document();
+        if (htmlConfig != null) {
+            fragment.htmlConfig = htmlConfig;
+        }
+        fragment.convertHtmlToDocument(html, null);
+        return fragment.document;
+    }
+
     /**
      * 应用加载选项
      *
@@ -526,8 +603,16 @@ public class Document {
                 htmlDoc = org.jsoup.Jsoup.parse(htmlContent);
             }
 
+            // 在处理正文之前提交所有外部样式表和图片的并发加载，正文转换只等待用到的资源
+            resourceLoader = createResourceLoader(htmlLoadOptions);
+            resourceLoader.prefetchStyleSheets(htmlDoc);
+            if (isEmbeddingImages()) {
+                resourceLoader.prefetchImages(htmlDoc);
+            }
+
             // 解析CSS样式（暂时默认启用CSS处理）
             parseCssStyles(htmlDoc);
+            textNormalizer = new HtmlTextNormalizer(htmlConfig);
 
             // 处理标题（仅处理head中的title）
             org.jsoup.select.Elements titles = htmlDoc.select("title");
@@ -555,6 +640,9 @@ public class Document {
             XWPFParagraph fallbackParagraph = document.createParagraph();
             XWPFRun fallbackRun = fallbackParagraph.createRun();
             fallbackRun.setText("[HTML转换失败] " + htmlContent.substring(0, Math.min(500, htmlContent.length())));
+        } finally {
+            resourceLoader = null;
+            textNormalizer = null;
         }
     }
 
@@ -581,7 +669,7 @@ public class Document {
                         break;
                     case "ul":
                     case "ol":
-                        processList(element);
+                        processList(element, 0);
                         break;
                     case "table":
                         processTable(element);
@@ -589,6 +677,9 @@ public class Document {
                     case "blockquote":
                         processBlockquote(element);
                         break;
+                    case "img":
+                        insertImage(element, document.createParagraph());
+                        break;
                     case "div":
                     case "section":
                     case "article":
@@ -597,7 +688,7 @@ public class Document {
                         break;
                     default:
                         // 对于其他元素，如果包含文本，作为段落处理
-                        String text = element.ownText().trim();
+                        String text = textNormalizer.blockText(element.ownText());
                         if (!text.isEmpty()) {
                             XWPFParagraph paragraph = document.createParagraph();
                             XWPFRun run = paragraph.createRun();
@@ -613,7 +704,7 @@ public class Document {
      * 处理标题元素
      */
     private void processHeading(Element heading, String tagName) {
-        String headingText = heading.text().trim();
+        String headingText = textNormalizer.blockText(heading);
         if (!headingText.isEmpty()) {
             XWPFParagraph headingParagraph = document.createParagraph();
             XWPFRun headingRun = headingParagraph.createRun();
@@ -631,10 +722,14 @@ public class Document {
     }
 
     /**
-     * 处理段落元素
+     * 处理段落元素，开启删除空段落时没有内容的段落不创建
      */
     private void processParagraph(org.jsoup.nodes.Element p) {
+        if (textNormalizer.isEmptyBlock(p)) {
+            return;
+        }
         XWPFParagraph wordParagraph = document.createParagraph();
+        textNormalizer.startBlock();
 
         // 处理段落内的所有子节点，包括文本和内联元素
         processInlineElements(p, wordParagraph);
@@ -646,9 +741,8 @@ public class Document {
     private void processInlineElements(org.jsoup.nodes.Element parentElement, XWPFParagraph wordParagraph) {
         for (org.jsoup.nodes.Node node : parentElement.childNodes()) {
             if (node instanceof org.jsoup.nodes.TextNode) {
-                // 处理纯文本节点
-                org.jsoup.nodes.TextNode textNode = (org.jsoup.nodes.TextNode) node;
-                String text = textNode.text().trim();
+                // 处理纯文本节点，只有空白的节点并入相邻文本之间的一个空格
+                String text = textNormalizer.inline((org.jsoup.nodes.TextNode) node);
                 if (!text.isEmpty()) {
                     XWPFRun run = wordParagraph.createRun();
                     run.setText(text);
@@ -666,7 +760,23 @@ public class Document {
      */
     private void processInlineElement(org.jsoup.nodes.Element element, XWPFParagraph wordParagraph) {
         String tagName = element.tagName().toLowerCase();
-        String text = element.text().trim();
+        if ("img".equals(tagName)) {
+            insertImage(element, wordParagraph);
+            return;
+        }
+        switch (tagName) {
+            case "strong":
+            case "b":
+            case "em":
+            case "i":
+            case "span":
+                break;
+            default:
+                // 对于其他内联元素，递归处理其子元素
+                processInlineElements(element, wordParagraph);
+                return;
+        }
+        String text = textNormalizer.inline(element);
 
         if (!text.isEmpty()) {
             XWPFRun run = wordParagraph.createRun();
@@ -682,14 +792,10 @@ public class Document {
                 case "i":
                     run.setItalic(true);
                     break;
-                case "span":
+                default:
                     // 处理span元素的样式
                     applySpanStyles(run, element);
                     break;
-                default:
-                    // 对于其他内联元素，递归处理其子元素
-                    processInlineElements(element, wordParagraph);
-                    return; // 避免重复处理文本
             }
         }
     }
@@ -749,33 +855,126 @@ public class Document {
         }
     }
 
+    /**
+     * 创建资源加载器：相对地址依次按配置的图片目录、加载选项的 baseUri、配置的 baseUrl 和HTML文件所在目录解析，
+     * 这些范围之外的资源只有配置允许加载外部资源时才读取
+     */
+    private ResourceLoader createResourceLoader(HtmlLoadOptions htmlLoadOptions) {
+        String baseUri = htmlLoadOptions != null ? htmlLoadOptions.getBaseUri() : null;
+        if (StringUtils.isEmpty(baseUri) && htmlConfig != null) {
+            baseUri = htmlConfig.getBaseUrl();
+        }
+        if (StringUtils.isEmpty(baseUri) && filePath != null) {
+            Path parent = Paths.get(filePath).toAbsolutePath().getParent();
+            baseUri = parent != null ? parent.toUri().toString() : null;
+        }
+        return new ResourceLoader(baseUri, htmlConfig != null ? htmlConfig.getImageFolder() : null,
+                htmlLoadOptions != null ? htmlLoadOptions.getWebRequestTimeout() : 0,
+                htmlLoadOptions != null ? htmlLoadOptions.getResourceLoadingCallback() : null,
+                htmlConfig != null && htmlConfig.isLoadExternalResources(), ResourceCache.getDefault());
+    }
+
+    private boolean isEmbeddingImages() {
+        return htmlConfig == null || (htmlConfig.isConvertImages() && htmlConfig.isEmbedImages());
+    }
+
+    /**
+     * 插入图片，等待预取结果；无法加载时输出替代文本
+     */
+    private void insertImage(org.jsoup.nodes.Element img, XWPFParagraph wordParagraph) {
+        String src = img.attr("src");
+        byte[] data = resourceLoader != null && isEmbeddingImages() ? resourceLoader.get(src) : null;
+        int pictureType = ImageUtils.pictureType(data);
+        if (pictureType < 0) {
+            String alt = img.attr("alt").trim();
+            if (!alt.isEmpty()) {
+                wordParagraph.createRun().setText(alt);
+            }
+            return;
+        }
+        try {
+            long[] size = ImageUtils.displaySize(data, parsePixels(img.attr("width")),
+                    parsePixels(img.attr("height")), MAX_IMAGE_WIDTH_PX * ImageUtils.EMU_PER_PIXEL);
+            if (size == null) {
+                return;
+            }
+            String fileName = src.substring(src.lastIndexOf('/') + 1);
+            wordParagraph.createRun().addPicture(new ByteArrayInputStream(data), pictureType,
+                    fileName.isEmpty() || fileName.startsWith("data:") ? "image" : fileName,
+                    (int) size[0], (int) size[1]);
+        } catch (IOException | org.apache.poi.openxml4j.exceptions.InvalidFormatException e) {
+            log.warn("插入图片失败: {}, {}", src, e.getMessage());
+        }
+    }
+
+    private static int parsePixels(String value) {
+        String trimmed = value.trim();
+        if (trimmed.endsWith("px")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 2).trim();
+        }
+        try {
+            return trimmed.isEmpty() ? -1 : Integer.parseInt(trimmed);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * 处理列表元素
+     * 只处理直接子元素中的列表项，项目符号和编号使用文档共用的编号定义；
+     * 嵌套列表按下一级输出，列表项中嵌套列表之后的内容写入与项目文本对齐的续行段落
      */
-    private void processList(org.jsoup.nodes.Element list) {
-        org.jsoup.select.Elements listItems = list.select("li");
-        for (int i = 0; i < listItems.size(); i++) {
-            org.jsoup.nodes.Element li = listItems.get(i);
-            String itemText = li.text().trim();
-            if (!itemText.isEmpty()) {
-                XWPFParagraph listParagraph = document.createParagraph();
-                XWPFRun listRun = listParagraph.createRun();
-
-                // 添加列表标记
-                String prefix = list.tagName().equals("ul") ? "• " : (i + 1) + ". ";
-                listRun.setText(prefix + itemText);
-
-                // 设置缩进
-                listParagraph.setIndentationLeft(400);
+    private void processList(org.jsoup.nodes.Element list, int level) {
+        if (listNumbering == null) {
+            listNumbering = new ListNumbering(document);
+        }
+        BigInteger numId = listNumbering.startList("ol".equals(list.normalName()));
+        for (org.jsoup.nodes.Element li : list.children()) {
+            if (!"li".equals(li.normalName()) || li.text().trim().isEmpty()) {
+                continue;
+            }
+            XWPFParagraph itemParagraph = document.createParagraph();
+            ListNumbering.applyTo(itemParagraph, numId, level);
+            XWPFParagraph current = itemParagraph;
+            textNormalizer.startBlock();
+            for (org.jsoup.nodes.Node node : li.childNodes()) {
+                if (node instanceof org.jsoup.nodes.Element && isList((Element) node)) {
+                    processList((Element) node, level + 1);
+                    current = null;
+                    continue;
+                }
+                if (node instanceof org.jsoup.nodes.TextNode && ((org.jsoup.nodes.TextNode) node).isBlank()) {
+                    if (current != null) {
+                        textNormalizer.inline((org.jsoup.nodes.TextNode) node);
+                    }
+                    continue;
+                }
+                if (current == null) {
+                    current = document.createParagraph();
+                    current.setIndentationLeft(ListNumbering.textIndent(level));
+                    textNormalizer.startBlock();
+                }
+                if (node instanceof org.jsoup.nodes.TextNode) {
+                    String text = textNormalizer.inline((org.jsoup.nodes.TextNode) node);
+                    if (!text.isEmpty()) {
+                        current.createRun().setText(text);
+                    }
+                } else if (node instanceof org.jsoup.nodes.Element) {
+                    processInlineElement((Element) node, current);
+                }
             }
         }
     }
 
+    private static boolean isList(Element element) {
+        return "ul".equals(element.normalName()) || "ol".equals(element.normalName());
+    }
+
     /**
      * 处理引用块元素
      */
     private void processBlockquote(org.jsoup.nodes.Element blockquote) {
-        String quoteText = blockquote.text().trim();
+        String quoteText = textNormalizer.blockText(blockquote);
         if (!quoteText.isEmpty()) {
             XWPFParagraph quoteParagraph = document.createParagraph();
             XWPFRun quoteRun = quoteParagraph.createRun();
@@ -822,7 +1021,7 @@ public class Document {
 
                 for (int cellIndex = 0; cellIndex < cells.size(); cellIndex++) {
                     org.jsoup.nodes.Element cell = cells.get(cellIndex);
-                    String cellText = cell.text().trim();
+                    String cellText = textNormalizer.blockText(cell);
 
                     XWPFTableCell wordCell;
                     if (cellIndex < wordRow.getTableCells().size()) {
@@ -1140,72 +1339,32 @@ public class Document {
         }
     }
 
-    // CSS样式缓存
-    private Map<String, Map<String, String>> cssRules = new HashMap<>();
+    // 当前HTML使用的样式表，来自进程内共享的样式表缓存
+    private StyleSheet styleSheet = StyleSheet.EMPTY;
 
     /**
      * 解析HTML文档中的CSS样式
+     * &lt;style&gt; 块和外部样式表按文档顺序合并，相同内容的CSS在文档之间只编译一次
      */
     private void parseCssStyles(org.jsoup.nodes.Document htmlDoc) {
         try {
-            // 解析<style>标签中的CSS
-            org.jsoup.select.Elements styleElements = htmlDoc.select("style");
-            for (org.jsoup.nodes.Element styleElement : styleElements) {
-                String cssContent = styleElement.html();
-                parseCssContent(cssContent);
-            }
-
-            log.debug("解析到 {} 个CSS规则", cssRules.size());
-        } catch (Exception e) {
-            log.warn("解析CSS样式时出错: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * 解析CSS内容
-     */
-    private void parseCssContent(String cssContent) {
-        try {
-            // 简单的CSS解析器
-            // 移除注释
-            cssContent = cssContent.replaceAll("/\\*.*?\\*/", "");
-
-            // 按规则分割（以}为分隔符）
-            String[] rules = cssContent.split("}");
-
-            for (String rule : rules) {
-                rule = rule.trim();
-                if (rule.isEmpty()) continue;
-
-                int braceIndex = rule.indexOf("{");
-                if (braceIndex > 0) {
-                    String selector = rule.substring(0, braceIndex).trim();
-                    String declarations = rule.substring(braceIndex + 1).trim();
-
-                    Map<String, String> properties = new HashMap<>();
-
-                    // 解析属性声明
-                    String[] declarationArray = declarations.split(";");
-                    for (String declaration : declarationArray) {
-                        declaration = declaration.trim();
-                        if (declaration.isEmpty()) continue;
-
-                        int colonIndex = declaration.indexOf(":");
-                        if (colonIndex > 0) {
-                            String property = declaration.substring(0, colonIndex).trim();
-                            String value = declaration.substring(colonIndex + 1).trim();
-                            properties.put(property, value);
-                        }
-                    }
-
-                    if (!properties.isEmpty()) {
-                        cssRules.put(selector, properties);
-                        log.debug("解析CSS规则: {} -> {}", selector, properties);
+            List<String> cssTexts = new ArrayList<>();
+            for (org.jsoup.nodes.Element element : htmlDoc.select("style, link[href]")) {
+                if ("style".equals(element.normalName())) {
+                    cssTexts.add(element.html());
+                } else if (resourceLoader != null && ResourceLoader.isStyleSheetLink(element)) {
+                    byte[] css = resourceLoader.get(element.attr("href"),
+                            com.boundesu.words.core.options.ResourceLoadingArgs.ResourceType.CSS_STYLE_SHEET);
+                    if (css != null) {
+                        cssTexts.add(new String(css, java.nio.charset.StandardCharsets.UTF_8));
                     }
                 }
             }
+            styleSheet = StyleSheetCache.getDefault().get(cssTexts);
+
+            log.debug("解析到 {} 个CSS规则", styleSheet.size());
         } catch (Exception e) {
-            log.warn("解析CSS内容时出错: {}", e.getMessage());
+            log.warn("解析CSS样式时出错: {}", e.getMessage());
         }
     }
 
@@ -1226,8 +1385,7 @@ public class Document {
 
         // 按优先级检查CSS规则：ID > Class > Tag
         if (!id.isEmpty()) {
-            String idSelector = "#" + id;
-            Map<String, String> idRules = cssRules.get(idSelector);
+            Map<String, String> idRules = styleSheet.getRules("#" + id);
             if (idRules != null && idRules.containsKey(property)) {
                 return idRules.get(property);
             }
@@ -1236,8 +1394,7 @@ public class Document {
         if (!className.isEmpty()) {
             String[] classes = className.split("\\s+");
             for (String cls : classes) {
-                String classSelector = "." + cls;
-                Map<String, String> classRules = cssRules.get(classSelector);
+                Map<String, String> classRules = styleSheet.getRules("." + cls);
                 if (classRules != null && classRules.containsKey(property)) {
                     return classRules.get(property);
                 }
@@ -1245,25 +1402,15 @@ public class Document {
         }
 
         // 检查标签选择器
-        Map<String, String> tagRules = cssRules.get(tagName);
+        Map<String, String> tagRules = styleSheet.getRules(tagName);
         if (tagRules != null && tagRules.containsKey(property)) {
             return tagRules.get(property);
         }
 
         // 检查组合选择器（如 "th, td"）
-        for (Map.Entry<String, Map<String, String>> entry : cssRules.entrySet()) {
-            String selector = entry.getKey();
-            Map<String, String> rules = entry.getValue();
-
-            // 检查是否为逗号分隔的选择器组合
-            if (selector.contains(",") && rules.containsKey(property)) {
-                String[] selectors = selector.split(",");
-                for (String singleSelector : selectors) {
-                    singleSelector = singleSelector.trim();
-                    if (singleSelector.equals(tagName)) {
-                        return rules.get(property);
-                    }
-                }
+        for (Map<String, String> rules : styleSheet.getGroupRules(tagName)) {
+            if (rules.containsKey(property)) {
+                return rules.get(property);
             }
         }
 
@@ -1524,6 +1671,8 @@ public class Document {
     /**
      * 合并文档
      * 静态工具方法，用于兼容原有的DocumentUtils API
+     * 按原始顺序在XML层面追加源文档正文，并重映射图片、超链接、编号与样式引用，
+     * 详见 {@link DocumentMerger}
      */
     public static void mergeDocuments(XWPFDocument targetDocument, List<XWPFDocument> sourceDocuments) throws BoundesuWordsException {
         if (targetDocument == null) {
@@ -1536,95 +1685,15 @@ public class Document {
         }
 
         try {
+            DocumentMerger merger = new DocumentMerger(targetDocument);
             for (XWPFDocument sourceDoc : sourceDocuments) {
-                if (sourceDoc != null) {
-                    // 复制段落
-                    for (XWPFParagraph sourceParagraph : sourceDoc.getParagraphs()) {
-                        XWPFParagraph targetParagraph = targetDocument.createParagraph();
-                        copyParagraph(sourceParagraph, targetParagraph);
-                    }
-
-                    // 复制表格
-                    for (XWPFTable sourceTable : sourceDoc.getTables()) {
-                        XWPFTable targetTable = targetDocument.createTable();
-                        copyTable(sourceTable, targetTable);
-                    }
-                }
+                merger.append(sourceDoc);
             }
 
-            log.debug("文档合并成功，合并了 {} 个源文档", sourceDocuments.size());
-        } catch (Exception e) {
+            log.debug("文档合并成功，合并了 {} 个源文档", merger.getMergedCount());
+        } catch (BoundesuWordsException e) {
             log.error("文档合并失败: {}", e.getMessage());
-            throw new BoundesuWordsException("文档合并失败: " + e.getMessage(), e);
-        }
-    }
-
-    /**
-     * 复制段落内容
-     */
-    private static void copyParagraph(XWPFParagraph source, XWPFParagraph target) {
-        try {
-            // 复制段落文本
-            for (XWPFRun sourceRun : source.getRuns()) {
-                XWPFRun targetRun = target.createRun();
-                targetRun.setText(sourceRun.getText(0));
-
-                // 复制格式
-                if (sourceRun.isBold()) {
-                    targetRun.setBold(true);
-                }
-                if (sourceRun.isItalic()) {
-                    targetRun.setItalic(true);
-                }
-                if (sourceRun.getFontSize() > 0) {
-                    targetRun.setFontSize(sourceRun.getFontSize());
-                }
-            }
-        } catch (Exception e) {
-            log.warn("复制段落时出错: {}", e.getMessage());
-        }
-    }
-
-    /**
-     * 复制表格内容
-     */
-    private static void copyTable(XWPFTable source, XWPFTable target) {
-        try {
-            List<XWPFTableRow> sourceRows = source.getRows();
-
-            for (int rowIndex = 0; rowIndex < sourceRows.size(); rowIndex++) {
-                XWPFTableRow sourceRow = sourceRows.get(rowIndex);
-                XWPFTableRow targetRow;
-
-                if (rowIndex == 0 && target.getRows().size() > 0) {
-                    targetRow = target.getRow(0);
-                } else {
-                    targetRow = target.createRow();
-                }
-
-                List<XWPFTableCell> sourceCells = sourceRow.getTableCells();
-                for (int cellIndex = 0; cellIndex < sourceCells.size(); cellIndex++) {
-                    XWPFTableCell sourceCell = sourceCells.get(cellIndex);
-                    XWPFTableCell targetCell;
-
-                    if (cellIndex < targetRow.getTableCells().size()) {
-                        targetCell = targetRow.getCell(cellIndex);
-                    } else {
-                        targetCell = targetRow.addNewTableCell();
-                    }
-
-                    // 复制单元格内容
-                    String cellText = sourceCell.getText();
-                    if (!cellText.isEmpty()) {
-                        targetCell.removeParagraph(0);
-                        XWPFParagraph cellParagraph = targetCell.addParagraph();
-                        XWPFRun cellRun = cellParagraph.createRun();
-                        cellRun.setText(cellText);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.warn("复制表格时出错: {}", e.getMessage());
+            throw e;
         }
     }
 
@@ -0,0 +1,130 @@
+package com.boundesu.words.core;
+
+import com.boundesu.words.core.config.HtmlLoadConfig;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+/**
+ * HTML文本清理
+ * 按 {@link HtmlLoadConfig} 的清理选项在转换遍历中处理文本：文本段输出时就地规范化空白，
+ * 块首、块尾的空白直接丢弃，相邻文本节点之间的空白（包括只有空白的文本节点）合并为一个空格，
+ * 空段落在创建Word段落之前判断并跳过，不对DOM做额外的清理遍历。
+ *
+ * <p>每个Word段落开始前调用 {@link #startBlock()}，之后按文档顺序取该段落内的文本。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+final class HtmlTextNormalizer {
+
+    private final boolean removeEmptyParagraphs;
+    private final boolean removeExtraSpaces;
+    private final boolean normalizeWhitespace;
+    private final StringBuilder buffer = new StringBuilder(64);
+
+    // 当前段落是否已经输出过非空白文本
+    private boolean started;
+    // 上一段文本以空白结尾，推迟到下一段非空文本之前输出，段落结尾的空白因此自然丢弃
+    private boolean pendingSpace;
+
+    HtmlTextNormalizer(HtmlLoadConfig config) {
+        this.removeEmptyParagraphs = config == null || config.isRemoveEmptyParagraphs();
+        this.removeExtraSpaces = config == null || config.isRemoveExtraSpaces();
+        this.normalizeWhitespace = config == null || config.isNormalizeWhitespace();
+    }
+
+    /**
+     * 开始一个新的Word段落
+     */
+    void startBlock() {
+        started = false;
+        pendingSpace = false;
+    }
+
+    /**
+     * 新段落中的整段文本，用于标题、引用、单元格等只生成一个文本段的块
+     */
+    String blockText(Element element) {
+        startBlock();
+        return inline(element);
+    }
+
+    /**
+     * 新段落中的一段已取出的文本
+     */
+    String blockText(String text) {
+        startBlock();
+        return next(text);
+    }
+
+    /**
+     * 元素的全部文本作为当前段落中的一个文本段
+     *
+     * @return 规范化后的文本，只有空白时返回空字符串
+     */
+    String inline(Element element) {
+        return next(normalizeWhitespace ? element.text() : element.wholeText());
+    }
+
+    /**
+     * 文本节点作为当前段落中的一个文本段
+     *
+     * @return 规范化后的文本，只有空白时返回空字符串
+     */
+    String inline(TextNode node) {
+        return next(node.getWholeText());
+    }
+
+    /**
+     * 开启了删除空段落时，判断块元素是否没有可输出的内容；遇到第一个非空白文本或图片即返回
+     */
+    boolean isEmptyBlock(Element block) {
+        return removeEmptyParagraphs && !hasContent(block);
+    }
+
+    private static boolean hasContent(Element element) {
+        for (Node node : element.childNodes()) {
+            if (node instanceof TextNode) {
+                if (!((TextNode) node).isBlank()) {
+                    return true;
+                }
+            } else if (node instanceof Element) {
+                Element child = (Element) node;
+                if ("img".equals(child.normalName()) || hasContent(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String next(String raw) {
+        if (!removeExtraSpaces && !normalizeWhitespace) {
+            return raw;
+        }
+        buffer.setLength(0);
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            boolean space = c == ' ' || (normalizeWhitespace && isBreakingWhitespace(c));
+            if (space && removeExtraSpaces) {
+                pendingSpace = started;
+                continue;
+            }
+            if (pendingSpace) {
+                buffer.append(' ');
+                pendingSpace = false;
+            }
+            buffer.append(space ? ' ' : c);
+            started = true;
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * HTML中按普通空格处理的空白字符；不间断空格和全角空格是有意输入的，保留原样
+     */
+    private static boolean isBreakingWhitespace(char c) {
+        return c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+}
@@ -1,8 +1,13 @@
 package com.boundesu.words.core.builder;
 
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.common.style.StyleInterner;
+import com.boundesu.words.core.merge.DocumentFragment;
+import com.boundesu.words.core.merge.DocumentMerger;
 import org.apache.poi.xwpf.usermodel.*;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTHyperlink;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTR;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
 import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTText;
 
 import java.awt.*;
@@ -23,12 +28,16 @@ public class DocumentBuilder {
     private Font font;
     private ParagraphFormat paragraphFormat;
     private PageSetup pageSetup;
+    // Distinct font settings become shared character styles; runs only reference a style id
+    private final StyleInterner styles;
+    private FontSnapshot fontSnapshot;
 
     public DocumentBuilder() {
         this.document = new XWPFDocument();
         this.font = new Font();
         this.paragraphFormat = new ParagraphFormat();
         this.pageSetup = new PageSetup();
+        this.styles = new StyleInterner(document, font.getName(), (int) font.getSize());
         createNewParagraph();
     }
 
@@ -37,6 +46,7 @@ public class DocumentBuilder {
         this.font = new Font();
         this.paragraphFormat = new ParagraphFormat();
         this.pageSetup = new PageSetup();
+        this.styles = new StyleInterner(document);
         createNewParagraph();
     }
 
@@ -86,24 +96,52 @@ public class DocumentBuilder {
 
     private void applyFontFormatting() {
         if (currentRun != null && font != null) {
-            currentRun.setFontFamily(font.getName());
-            currentRun.setFontSize((int) font.getSize());
-            currentRun.setBold(font.isBold());
-            currentRun.setItalic(font.isItalic());
-
-            if (font.getUnderline() != UnderlineType.NONE) {
-                currentRun.setUnderline(UnderlinePatterns.SINGLE);
+            FontSnapshot snapshot = fontSnapshot;
+            if (snapshot == null || snapshot.version != font.version) {
+                snapshot = new FontSnapshot(font.version, createRunProperties());
+                fontSnapshot = snapshot;
             }
-
-            if (font.getColor() != null) {
-                currentRun.setColor(String.format("%02x%02x%02x",
-                        font.getColor().getRed(),
-                        font.getColor().getGreen(),
-                        font.getColor().getBlue()));
+            CTR run = currentRun.getCTR();
+            if (snapshot.runProperties != null) {
+                // setRPr copies the template, so the snapshot stays untouched
+                run.setRPr(snapshot.runProperties);
+            } else if (run.isSetRPr()) {
+                run.unsetRPr();
             }
         }
     }
 
+    /**
+     * Builds the run properties for the current font, or null when it matches the document defaults.
+     */
+    private CTRPr createRunProperties() {
+        int styleBits = 0;
+        if (font.isBold()) {
+            styleBits |= StyleInterner.BOLD;
+        }
+        if (font.isItalic()) {
+            styleBits |= StyleInterner.ITALIC;
+        }
+        if (font.getUnderline() != UnderlineType.NONE) {
+            styleBits |= StyleInterner.UNDERLINE;
+        }
+
+        String color = null;
+        if (font.getColor() != null) {
+            color = String.format("%02x%02x%02x",
+                    font.getColor().getRed(),
+                    font.getColor().getGreen(),
+                    font.getColor().getBlue());
+        }
+        String styleId = styles.characterStyle(styleBits, color, (int) font.getSize(), font.getName());
+        if (styleId == null) {
+            return null;
+        }
+        CTRPr properties = CTRPr.Factory.newInstance();
+        properties.addNewRStyle().setVal(styleId);
+        return properties;
+    }
+
     private void applyParagraphFormatting() {
         if (currentParagraph != null && paragraphFormat != null) {
             switch (paragraphFormat.getAlignment()) {
@@ -192,12 +230,52 @@ public class DocumentBuilder {
         return new BookmarkEnd(name);
     }
 
+    /**
+     * Inserts HTML at the cursor using the same conversion as HTML file loading. The converted fragment is
+     * cached by content, so repeated snippets are spliced in without parsing them again. The fragment goes
+     * in front of an empty cursor paragraph, which keeps receiving whatever is written next.
+     */
     public void insertHtml(String html) {
-        String cleanText = html.replaceAll("<[^>]+>", "");
-        write(cleanText);
+        if (html == null || html.trim().isEmpty()) {
+            return;
+        }
+        try {
+            DocumentFragment fragment = HtmlFragmentCache.getDefault().get(html);
+            if (!isEmpty(currentParagraph)) {
+                createNewParagraph();
+            }
+            new DocumentMerger(document).setInsertionPoint(currentParagraph).append(fragment);
+        } catch (BoundesuWordsException e) {
+            throw new IllegalStateException("Failed to insert HTML: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isEmpty(XWPFParagraph paragraph) {
+        if (paragraph.getCTP().sizeOfHyperlinkArray() > 0) {
+            return false;
+        }
+        for (XWPFRun run : paragraph.getRuns()) {
+            if (!run.text().isEmpty() || !run.getEmbeddedPictures().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // Inner classes
+    /**
+     * Immutable run formatting computed for one version of the font.
+     */
+    private static final class FontSnapshot {
+        private final int version;
+        private final CTRPr runProperties;
+
+        private FontSnapshot(int version, CTRPr runProperties) {
+            this.version = version;
+            this.runProperties = runProperties;
+        }
+    }
+
     public static class Font {
         private String name = "Calibri";
         private double size = 11.0;
@@ -217,6 +295,8 @@ public class DocumentBuilder {
         private int scaling = 100;
         private Color highlightColor;
         private EmphasisMark emphasisMark = EmphasisMark.NONE;
+        // Incremented by every setter so the builder can tell when its cached run formatting is stale
+        private int version;
 
         // Getters and setters
         public String getName() {
@@ -225,6 +305,7 @@ public class DocumentBuilder {
 
         public void setName(String name) {
             this.name = name;
+            version++;
         }
 
         public double getSize() {
@@ -233,6 +314,7 @@ public class DocumentBuilder {
 
         public void setSize(double size) {
             this.size = size;
+            version++;
         }
 
         public boolean isBold() {
@@ -241,6 +323,7 @@ public class DocumentBuilder {
 
         public void setBold(boolean bold) {
             this.bold = bold;
+            version++;
         }
 
         public boolean isItalic() {
@@ -249,6 +332,7 @@ public class DocumentBuilder {
 
         public void setItalic(boolean italic) {
             this.italic = italic;
+            version++;
         }
 
         public UnderlineType getUnderline() {
@@ -257,6 +341,7 @@ public class DocumentBuilder {
 
         public void setUnderline(UnderlineType underline) {
             this.underline = underline;
+            version++;
         }
 
         public Color getColor() {
@@ -265,6 +350,7 @@ public class DocumentBuilder {
 
         public void setColor(Color color) {
             this.color = color;
+            version++;
         }
 
         public boolean isStrikeThrough() {
@@ -273,6 +359,7 @@ public class DocumentBuilder {
 
         public void setStrikeThrough(boolean strikeThrough) {
             this.strikeThrough = strikeThrough;
+            version++;
         }
 
         public boolean isDoubleStrikeThrough() {
@@ -281,6 +368,7 @@ public class DocumentBuilder {
 
         public void setDoubleStrikeThrough(boolean doubleStrikeThrough) {
             this.doubleStrikeThrough = doubleStrikeThrough;
+            version++;
         }
 
         public boolean isSubscript() {
@@ -289,6 +377,7 @@ public class DocumentBuilder {
 
         public void setSubscript(boolean subscript) {
             this.subscript = subscript;
+            version++;
         }
 
         public boolean isSuperscript() {
@@ -297,6 +386,7 @@ public class DocumentBuilder {
 
         public void setSuperscript(boolean superscript) {
             this.superscript = superscript;
+            version++;
         }
 
         public boolean isSmallCaps() {
@@ -305,6 +395,7 @@ public class DocumentBuilder {
 
         public void setSmallCaps(boolean smallCaps) {
             this.smallCaps = smallCaps;
+            version++;
         }
 
         public boolean isAllCaps() {
@@ -313,6 +404,7 @@ public class DocumentBuilder {
 
         public void setAllCaps(boolean allCaps) {
             this.allCaps = allCaps;
+            version++;
         }
 
         public boolean isHidden() {
@@ -321,6 +413,7 @@ public class DocumentBuilder {
 
         public void setHidden(boolean hidden) {
             this.hidden = hidden;
+            version++;
         }
 
         public double getSpacing() {
@@ -329,6 +422,7 @@ public class DocumentBuilder {
 
         public void setSpacing(double spacing) {
             this.spacing = spacing;
+            version++;
         }
 
         public double getPosition() {
@@ -337,6 +431,7 @@ public class DocumentBuilder {
 
         public void setPosition(double position) {
             this.position = position;
+            version++;
         }
 
         public int getScaling() {
@@ -345,6 +440,7 @@ public class DocumentBuilder {
 
         public void setScaling(int scaling) {
             this.scaling = scaling;
+            version++;
         }
 
         public Color getHighlightColor() {
@@ -353,6 +449,7 @@ public class DocumentBuilder {
 
         public void setHighlightColor(Color highlightColor) {
             this.highlightColor = highlightColor;
+            version++;
         }
 
         public EmphasisMark getEmphasisMark() {
@@ -361,6 +458,7 @@ public class DocumentBuilder {
 
         public void setEmphasisMark(EmphasisMark emphasisMark) {
             this.emphasisMark = emphasisMark;
+            version++;
         }
 
         public void clearFormatting() {
@@ -382,6 +480,7 @@ public class DocumentBuilder {
             this.scaling = 100;
             this.highlightColor = null;
             this.emphasisMark = EmphasisMark.NONE;
+            version++;
         }
     }
 
@@ -0,0 +1,99 @@
+package com.boundesu.words.core.builder;
+
+import com.boundesu.words.common.cache.ConversionCache;
+import com.boundesu.words.common.cache.WeightedLruCache;
+import com.boundesu.words.common.constants.ConfigConstants;
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.core.Document;
+import com.boundesu.words.core.merge.DocumentFragment;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * HTML片段缓存
+ * 以HTML文本的内容哈希为键缓存转换后的 {@link DocumentFragment}，反复插入的免责声明、签名块等片段
+ * 只解析、转换一次，之后直接把片段的正文XML拼接到目标文档中。
+ *
+ * <p>缓存只保存片段的XML文本和图片字节，不持有文档对象，多个线程可以同时拼接同一个片段。
+ * 容量按 {@link DocumentFragment#getWeight()} 计量，超过上限时按最近访问顺序淘汰；
+ * 默认缓存可以通过 {@link #setDefault(HtmlFragmentCache)} 替换为其他容量的实例。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class HtmlFragmentCache {
+
+    private static final String CACHE_TYPE = "html-fragment";
+
+    private static volatile HtmlFragmentCache defaultCache =
+            new HtmlFragmentCache(ConfigConstants.MAX_MEMORY_CACHE_SIZE / 4);
+
+    private final WeightedLruCache<String, DocumentFragment> entries;
+
+    /**
+     * 构造函数
+     *
+     * @param maxWeight 片段内容的总大小上限（字节）
+     */
+    public HtmlFragmentCache(long maxWeight) {
+        this.entries = new WeightedLruCache<>(maxWeight, DocumentFragment::getWeight);
+    }
+
+    /**
+     * 获取进程内共享的默认缓存
+     */
+    public static HtmlFragmentCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * 替换进程内共享的默认缓存
+     *
+     * @param cache 新的默认缓存
+     */
+    public static void setDefault(HtmlFragmentCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("默认缓存不能为空");
+        }
+        defaultCache = cache;
+    }
+
+    /**
+     * 获取HTML片段转换后的片段，命中缓存时不再解析
+     *
+     * @param html HTML片段
+     * @return 文档片段
+     */
+    public DocumentFragment get(String html) throws BoundesuWordsException {
+        String key = ConversionCache.key(CACHE_TYPE, "", html.getBytes(StandardCharsets.UTF_8));
+        DocumentFragment fragment = entries.get(key);
+        if (fragment != null) {
+            return fragment;
+        }
+        // 转换在锁外进行，并发的相同请求最多重复转换一次，结果相同
+        try (XWPFDocument document = Document.convertHtmlFragment(html, null)) {
+            fragment = DocumentFragment.of(document);
+        } catch (IOException e) {
+            throw new BoundesuWordsException("HTML_FRAGMENT_ERROR", "关闭HTML片段文档失败: " + e.getMessage(), e);
+        }
+        entries.put(key, fragment);
+        return fragment;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        return entries.getStatistics();
+    }
+}
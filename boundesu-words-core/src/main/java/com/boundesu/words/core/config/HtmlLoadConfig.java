@@ -25,6 +25,8 @@ public class HtmlLoadConfig {
     // 图片处理选项
     private String imageFolder;
     private boolean embedImages = true;
+    // 是否读取图片目录和基础地址范围之外的图片与样式表（文档中书写的绝对地址、绝对路径）
+    private boolean loadExternalResources = false;
     // CSS处理选项
     private boolean processCss = true;
     private boolean inlineCss = true;
@@ -124,6 +126,16 @@ public class HtmlLoadConfig {
         return this;
     }
 
+    /**
+     * 设置是否读取外部资源
+     * 默认只读取 data: 地址，以及图片目录、基础地址或HTML文件所在目录范围内的资源；
+     * 开启后也读取文档中书写的其他 http(s) 地址、file: 地址和绝对路径，只应在HTML来源可信时开启。
+     */
+    public HtmlLoadConfig setLoadExternalResources(boolean loadExternalResources) {
+        this.loadExternalResources = loadExternalResources;
+        return this;
+    }
+
     /**
      * 设置CSS处理选项
      */
@@ -263,6 +275,10 @@ public class HtmlLoadConfig {
         return embedImages;
     }
 
+    public boolean isLoadExternalResources() {
+        return loadExternalResources;
+    }
+
     public boolean isProcessCss() {
         return processCss;
     }
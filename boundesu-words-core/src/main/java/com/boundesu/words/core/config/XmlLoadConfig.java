@@ -1,5 +1,11 @@
 package com.boundesu.words.core.config;
 
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.xml.converter.OptimizedXmlToDocxConverter;
+import com.boundesu.words.xml.parser.XmlStructureCache;
+import com.boundesu.words.xml.util.XmlParserProvider;
+import com.boundesu.words.xml.util.XmlSchemaCache;
+
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -215,6 +221,7 @@ public class XmlLoadConfig {
 
     /**
      * 设置性能选项
+     * enableCaching 为 true 时，已解析的XML结构按内容哈希缓存在 {@link XmlStructureCache} 中
      */
     public XmlLoadConfig setPerformanceOptions(boolean useStreaming, int bufferSize, boolean enableCaching) {
         this.useStreamingParser = useStreaming;
@@ -223,6 +230,44 @@ public class XmlLoadConfig {
         return this;
     }
 
+    /**
+     * 转换为XML转换器选项（流式解析、缓冲区、解析器设置、Schema校验与错误处理设置）
+     * Schema只记录位置，转换开始时才从 {@link XmlSchemaCache} 获取
+     */
+    public OptimizedXmlToDocxConverter.ConversionOptions toConversionOptions() {
+        return new OptimizedXmlToDocxConverter.ConversionOptions()
+                .setUseStreamingParser(useStreamingParser)
+                .setBufferSize(bufferSize)
+                .setParserSettings(parserSettings())
+                .setSchemaLocation(validateXml ? schemaLocation : null)
+                .setMaxErrorCount(maxErrorCount)
+                .setIgnoreParseErrors(ignoreParseErrors)
+                .setLogParseErrors(logParseErrors);
+    }
+
+    /**
+     * 转换为解析器设置，相同设置的解析共享 {@link XmlParserProvider} 中缓存的解析器
+     * 开启校验并设置了Schema位置时按 {@link XmlSchemaCache} 中编译好的Schema校验，不做DTD校验
+     *
+     * @throws BoundesuWordsException Schema不存在或编译失败
+     */
+    public XmlParserProvider.ParserSettings toParserSettings() throws BoundesuWordsException {
+        XmlParserProvider.ParserSettings settings = parserSettings();
+        if (validateXml && schemaLocation != null && !schemaLocation.trim().isEmpty()) {
+            settings = settings.withSchema(XmlSchemaCache.getSchema(schemaLocation));
+        }
+        return settings;
+    }
+
+    private XmlParserProvider.ParserSettings parserSettings() {
+        return XmlParserProvider.ParserSettings.DEFAULT
+                .withNamespaceAware(namespaceMode != NamespaceMode.IGNORE)
+                .withExpandEntityReferences(expandEntityReferences)
+                .withResolveExternalEntities(resolveExternalEntities)
+                .withIgnoringComments(!preserveComments)
+                .withCoalescing(convertCDataToText);
+    }
+
     /**
      * 添加元素映射
      */
@@ -1,22 +1,36 @@
 package com.boundesu.words.core.creator.impl;
 
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.BlockDocxWriter;
+import com.boundesu.words.common.block.Run;
 import com.boundesu.words.common.creator.DocumentCreator;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 通过XML转换创建DOCX文档的实现类
  * 提供结构化程度最高的文档创建方式
  *
+ * <p>添加的内容表示为 {@link Block} 并即时由 {@link BlockDocxWriter} 写成WordprocessingML正文，
+ * 生成文档时直接打包为DOCX，不再经过DOM与XWPF重建。{@link #getXmlContent()}
+ * 仍返回按添加顺序记录的XML片段。</p>
+ *
  * @author Boundesu Team
  * @version 1.0.0
  */
 public class XmlBasedDocxCreator implements DocumentCreator {
 
     private final List<String> xmlContent;
+    private final BlockDocxWriter writer = new BlockDocxWriter();
     private String documentTitle;
     private String documentAuthor;
     private String headerText;
@@ -45,32 +59,9 @@ public class XmlBasedDocxCreator implements DocumentCreator {
 
     @Override
     public void createDocument(Path outputPath) throws IOException {
-        try {
-            com.boundesu.words.xml.creator.XmlToDocxCreator converter = new com.boundesu.words.xml.creator.XmlToDocxCreator();
-
-            if (!documentTitle.isEmpty()) {
-                converter.setTitle(documentTitle);
-            }
-
-            if (!documentAuthor.isEmpty()) {
-                converter.setAuthor(documentAuthor);
-            }
-
-            // 添加XML内容
-            for (String content : xmlContent) {
-                converter.addParagraph(content);
-            }
-
-            org.apache.poi.xwpf.usermodel.XWPFDocument document = converter.createDocument();
-
-            // 应用页头页脚设置
-            applyHeaderFooter(document);
-
-            try (java.io.FileOutputStream out = new java.io.FileOutputStream(outputPath.toFile())) {
-                document.write(out);
-            }
-            document.close();
-        } catch (Exception e) {
+        try (OutputStream out = Files.newOutputStream(outputPath)) {
+            writeDocument(out);
+        } catch (IOException e) {
             throw new IOException("Failed to create document: " + e.getMessage(), e);
         }
     }
@@ -78,27 +69,26 @@ public class XmlBasedDocxCreator implements DocumentCreator {
     @Override
     public byte[] createDocumentAsBytes() throws IOException {
         try {
-            com.boundesu.words.xml.creator.XmlToDocxCreator converter = new com.boundesu.words.xml.creator.XmlToDocxCreator();
-
-            if (!documentTitle.isEmpty()) {
-                converter.setTitle(documentTitle);
-            }
-
-            if (!documentAuthor.isEmpty()) {
-                converter.setAuthor(documentAuthor);
-            }
-
-            // 添加XML内容
-            for (String content : xmlContent) {
-                converter.addParagraph(content);
-            }
-
-            return converter.exportToBytes();
-        } catch (Exception e) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(writer.getBodySize() + 8192);
+            writeDocument(out);
+            return out.toByteArray();
+        } catch (IOException e) {
             throw new IOException("Failed to create document bytes: " + e.getMessage(), e);
         }
     }
 
+    private void writeDocument(OutputStream out) throws IOException {
+        writer.writeTo(out, documentTitle, documentAuthor, headerText, footerText, pageNumberEnabled);
+    }
+
+    /**
+     * 记录XML片段并写入对应的块
+     */
+    private void append(String fragment, Block block) {
+        xmlContent.add(fragment);
+        writer.write(block);
+    }
+
     @Override
     public DocumentCreator setTitle(String title) {
         this.documentTitle = title != null ? title.trim() : "";
@@ -121,9 +111,9 @@ public class XmlBasedDocxCreator implements DocumentCreator {
         String[] lines = text.split("\n");
         for (String line : lines) {
             if (line.trim().isEmpty()) {
-                xmlContent.add("<break/>");
+                append("<break/>", Block.lineBreak());
             } else {
-                xmlContent.add("<paragraph>" + escapeXml(line) + "</paragraph>");
+                append("<paragraph>" + escapeXml(line) + "</paragraph>", Block.paragraph(line));
             }
         }
 
@@ -140,12 +130,15 @@ public class XmlBasedDocxCreator implements DocumentCreator {
             throw new IllegalArgumentException("标题级别必须在1-6之间");
         }
 
-        xmlContent.add("<heading level='" + level + "'>" + escapeXml(text.trim()) + "</heading>");
+        append("<heading level='" + level + "'>" + escapeXml(text.trim()) + "</heading>",
+                Block.heading(text.trim(), level));
         return this;
     }
 
     /**
      * 添加XML内容
+     * 按创建器的元素词汇（paragraph、heading、table、list、bold 等）转换为Word内容，
+     * 不是格式良好的XML时作为普通文本段落输出
      *
      * @param xml XML内容
      * @return 当前创建器实例
@@ -153,6 +146,15 @@ public class XmlBasedDocxCreator implements DocumentCreator {
     public XmlBasedDocxCreator addXml(String xml) {
         if (xml != null && !xml.trim().isEmpty()) {
             xmlContent.add(xml);
+            if (XmlFragmentParser.isWellFormed(xml)) {
+                try {
+                    writer.write(XmlFragmentParser.parse(xml));
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException("解析XML片段失败: " + e.getMessage(), e);
+                }
+            } else {
+                writer.write(Block.paragraph(xml));
+            }
         }
         return this;
     }
@@ -196,7 +198,7 @@ public class XmlBasedDocxCreator implements DocumentCreator {
         }
 
         tableXml.append("</table>");
-        xmlContent.add(tableXml.toString());
+        append(tableXml.toString(), tableBlock(headers, rows));
 
         return this;
     }
@@ -224,7 +226,7 @@ public class XmlBasedDocxCreator implements DocumentCreator {
         }
 
         listXml.append("</list>");
-        xmlContent.add(listXml.toString());
+        append(listXml.toString(), Block.list(Arrays.asList(items), numbered));
 
         return this;
     }
@@ -235,7 +237,7 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      * @return 当前创建器实例
      */
     public XmlBasedDocxCreator addPageBreak() {
-        xmlContent.add("<pagebreak/>");
+        append("<pagebreak/>", Block.pageBreak());
         return this;
     }
 
@@ -245,7 +247,7 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      * @return 当前创建器实例
      */
     public XmlBasedDocxCreator addLineBreak() {
-        xmlContent.add("<break/>");
+        append("<break/>", Block.lineBreak());
         return this;
     }
 
@@ -257,7 +259,8 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      */
     public XmlBasedDocxCreator addBoldText(String text) {
         if (text != null && !text.trim().isEmpty()) {
-            xmlContent.add("<paragraph><bold>" + escapeXml(text) + "</bold></paragraph>");
+            append("<paragraph><bold>" + escapeXml(text) + "</bold></paragraph>",
+                    Block.paragraph(text, Run.BOLD));
         }
         return this;
     }
@@ -270,7 +273,8 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      */
     public XmlBasedDocxCreator addItalicText(String text) {
         if (text != null && !text.trim().isEmpty()) {
-            xmlContent.add("<paragraph><italic>" + escapeXml(text) + "</italic></paragraph>");
+            append("<paragraph><italic>" + escapeXml(text) + "</italic></paragraph>",
+                    Block.paragraph(text, Run.ITALIC));
         }
         return this;
     }
@@ -283,7 +287,8 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      */
     public XmlBasedDocxCreator addUnderlineText(String text) {
         if (text != null && !text.trim().isEmpty()) {
-            xmlContent.add("<paragraph><underline>" + escapeXml(text) + "</underline></paragraph>");
+            append("<paragraph><underline>" + escapeXml(text) + "</underline></paragraph>",
+                    Block.paragraph(text, Run.UNDERLINE));
         }
         return this;
     }
@@ -297,7 +302,8 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      */
     public XmlBasedDocxCreator addLink(String text, String url) {
         if (text != null && !text.trim().isEmpty() && url != null && !url.trim().isEmpty()) {
-            xmlContent.add("<paragraph><link url='" + escapeXml(url) + "'>" + escapeXml(text) + "</link></paragraph>");
+            append("<paragraph><link url='" + escapeXml(url) + "'>" + escapeXml(text) + "</link></paragraph>",
+                    Block.paragraph(Collections.singletonList(Run.link(text, url))));
         }
         return this;
     }
@@ -312,7 +318,9 @@ public class XmlBasedDocxCreator implements DocumentCreator {
     public XmlBasedDocxCreator addImage(String imagePath, String altText) {
         if (imagePath != null && !imagePath.trim().isEmpty()) {
             String alt = altText != null ? altText : "";
-            xmlContent.add("<image src='" + escapeXml(imagePath) + "' alt='" + escapeXml(alt) + "'/>");
+            // 本地图片嵌入文档，无法读取的图片只记录在XML内容中
+            append("<image src='" + escapeXml(imagePath) + "' alt='" + escapeXml(alt) + "'/>",
+                    Block.image(imagePath, alt));
         }
         return this;
     }
@@ -325,14 +333,14 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      * @return 当前创建器实例
      */
     public XmlBasedDocxCreator addSection(String title, String content) {
-        xmlContent.add("<section>");
+        append("<section>", Block.pageBreak());
 
         if (title != null && !title.trim().isEmpty()) {
-            xmlContent.add("<title>" + escapeXml(title) + "</title>");
+            append("<title>" + escapeXml(title) + "</title>", Block.heading(title, 0));
         }
 
         if (content != null && !content.trim().isEmpty()) {
-            xmlContent.add("<content>" + escapeXml(content) + "</content>");
+            append("<content>" + escapeXml(content) + "</content>", Block.paragraph(content));
         }
 
         xmlContent.add("</section>");
@@ -340,41 +348,19 @@ public class XmlBasedDocxCreator implements DocumentCreator {
     }
 
     /**
-     * 构建完整的XML文档
-     *
-     * @return 完整的XML文档字符串
+     * 创建表格块：表头行加粗，数据行按表头列数补齐
      */
-    private String buildFullXmlDocument() {
-        StringBuilder xml = new StringBuilder();
-
-        xml.append("<?xml version='1.0' encoding='UTF-8'?>");
-        xml.append("<document>");
-
-        // 添加文档元数据
-        if (!documentTitle.isEmpty() || !documentAuthor.isEmpty()) {
-            xml.append("<metadata>");
-
-            if (!documentTitle.isEmpty()) {
-                xml.append("<title>").append(escapeXml(documentTitle)).append("</title>");
+    private static Block tableBlock(String[] headers, String[][] rows) {
+        String[][] data = new String[1 + (rows != null ? rows.length : 0)][];
+        data[0] = headers;
+        for (int r = 1; r < data.length; r++) {
+            String[] row = rows[r - 1];
+            data[r] = new String[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                data[r][i] = (row != null && i < row.length && row[i] != null) ? row[i] : "";
             }
-
-            if (!documentAuthor.isEmpty()) {
-                xml.append("<author>").append(escapeXml(documentAuthor)).append("</author>");
-            }
-
-            xml.append("</metadata>");
         }
-
-        // 添加文档内容
-        xml.append("<content>");
-        for (String content : xmlContent) {
-            xml.append(content);
-        }
-        xml.append("</content>");
-
-        xml.append("</document>");
-
-        return xml.toString();
+        return Block.table(data, true);
     }
 
     /**
@@ -402,6 +388,7 @@ public class XmlBasedDocxCreator implements DocumentCreator {
      */
     public XmlBasedDocxCreator clear() {
         xmlContent.clear();
+        writer.reset();
         return this;
     }
 
@@ -467,70 +454,4 @@ public class XmlBasedDocxCreator implements DocumentCreator {
         this.footerImageHeight = height;
         return this;
     }
-
-    /**
-     * 应用页头页脚设置
-     */
-    private void applyHeaderFooter(org.apache.poi.xwpf.usermodel.XWPFDocument document) {
-        try {
-            // 创建页头
-            if (!headerText.isEmpty()) {
-                org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy headerFooterPolicy = document.getHeaderFooterPolicy();
-                if (headerFooterPolicy == null) {
-                    headerFooterPolicy = document.createHeaderFooterPolicy();
-                }
-
-                org.apache.poi.xwpf.usermodel.XWPFHeader header = headerFooterPolicy.createHeader(org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy.DEFAULT);
-                org.apache.poi.xwpf.usermodel.XWPFParagraph headerParagraph = header.createParagraph();
-                headerParagraph.setAlignment(org.apache.poi.xwpf.usermodel.ParagraphAlignment.CENTER);
-                org.apache.poi.xwpf.usermodel.XWPFRun headerRun = headerParagraph.createRun();
-                headerRun.setText(headerText);
-                headerRun.setFontFamily("Times New Roman");
-                headerRun.setFontSize(10);
-            }
-
-            // 创建页脚
-            if (!footerText.isEmpty() || pageNumberEnabled) {
-                org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy headerFooterPolicy = document.getHeaderFooterPolicy();
-                if (headerFooterPolicy == null) {
-                    headerFooterPolicy = document.createHeaderFooterPolicy();
-                }
-
-                org.apache.poi.xwpf.usermodel.XWPFFooter footer = headerFooterPolicy.createFooter(org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy.DEFAULT);
-                org.apache.poi.xwpf.usermodel.XWPFParagraph footerParagraph = footer.createParagraph();
-                footerParagraph.setAlignment(org.apache.poi.xwpf.usermodel.ParagraphAlignment.CENTER);
-                org.apache.poi.xwpf.usermodel.XWPFRun footerRun = footerParagraph.createRun();
-
-                String footerContent = "";
-                if (!footerText.isEmpty()) {
-                    footerContent = footerText;
-                }
-
-                if (pageNumberEnabled) {
-                    if (!footerContent.isEmpty()) {
-                        footerContent += " - ";
-                    }
-                    footerContent += "第 ";
-                    footerRun.setText(footerContent);
-                    footerRun.setFontFamily("Times New Roman");
-                    footerRun.setFontSize(10);
-
-                    // 添加页码字段
-                    footerParagraph.getCTP().addNewFldSimple().setInstr("PAGE");
-
-                    org.apache.poi.xwpf.usermodel.XWPFRun pageRun = footerParagraph.createRun();
-                    pageRun.setText(" 页");
-                    pageRun.setFontFamily("Times New Roman");
-                    pageRun.setFontSize(10);
-                } else {
-                    footerRun.setText(footerContent);
-                    footerRun.setFontFamily("Times New Roman");
-                    footerRun.setFontSize(10);
-                }
-            }
-        } catch (Exception e) {
-            // 页头页脚设置失败时不影响文档创建
-            System.err.println("设置页头页脚失败: " + e.getMessage());
-        }
-    }
-}
\ No newline at end of file
+}
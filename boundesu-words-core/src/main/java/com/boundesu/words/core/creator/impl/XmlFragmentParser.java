@@ -0,0 +1,301 @@
+package com.boundesu.words.core.creator.impl;
+
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.Run;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 按创建器的XML词汇（paragraph、heading、table、list、bold 等）把XML片段解析为块序列
+ * 片段可以包含多个顶层元素，表格和列表可以任意嵌套。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+final class XmlFragmentParser {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /** 正文、单元格或列表项的块序列，栈顶为当前输出位置 */
+    private final Deque<List<Block>> containers = new ArrayDeque<>();
+    /** 当前段落的文本段，null 表示没有打开的段落 */
+    private List<Run> runs;
+    /** 当前段落的标题级别：-1 为普通段落，0 为文档标题 */
+    private int headingLevel;
+
+    private XmlFragmentParser() {
+        containers.push(new ArrayList<>());
+    }
+
+    /**
+     * 判断字符串是否为格式良好的XML片段（可以包含多个顶层元素）
+     */
+    static boolean isWellFormed(String xml) {
+        try {
+            XMLStreamReader reader = openFragment(xml);
+            try {
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+            } finally {
+                reader.close();
+            }
+            return true;
+        } catch (XMLStreamException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析XML片段，片段应先经过 {@link #isWellFormed(String)} 检查
+     */
+    static List<Block> parse(String xml) throws XMLStreamException {
+        XmlFragmentParser parser = new XmlFragmentParser();
+        XMLStreamReader reader = openFragment(xml);
+        Deque<Frame> frames = new ArrayDeque<>();
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    frames.push(parser.startElement(reader, frames.peek()));
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    Frame frame = frames.pop();
+                    parser.endElement(frame, frames.peek());
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    Frame frame = frames.peek();
+                    if (frame != null && frame.acceptsText) {
+                        parser.text(reader.getText(), frame);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        parser.endParagraph();
+        return parser.containers.peek();
+    }
+
+    private static XMLStreamReader openFragment(String xml) throws XMLStreamException {
+        return INPUT_FACTORY.createXMLStreamReader(new StringReader("<fragment>" + xml + "</fragment>"));
+    }
+
+    private Frame startElement(XMLStreamReader reader, Frame parent) {
+        String name = reader.getLocalName().toLowerCase();
+        Frame frame = new Frame(parent);
+        if (parent != null && parent.ignored) {
+            frame.ignored = true;
+            frame.acceptsText = false;
+            return frame;
+        }
+        switch (name) {
+            case "paragraph":
+            case "p":
+            case "content":
+                startParagraph(-1);
+                frame.block = true;
+                break;
+            case "heading":
+                startParagraph(headingLevel(reader.getAttributeValue(null, "level")));
+                frame.block = true;
+                break;
+            case "h1":
+            case "h2":
+            case "h3":
+            case "h4":
+            case "h5":
+            case "h6":
+                startParagraph(name.charAt(1) - '0');
+                frame.block = true;
+                break;
+            case "title":
+                startParagraph(0);
+                frame.block = true;
+                break;
+            case "bold":
+            case "b":
+                frame.styles |= Run.BOLD;
+                break;
+            case "italic":
+            case "i":
+                frame.styles |= Run.ITALIC;
+                break;
+            case "underline":
+            case "u":
+                frame.styles |= Run.UNDERLINE;
+                break;
+            case "link":
+            case "a":
+                frame.styles |= Run.UNDERLINE;
+                frame.color = Run.LINK_COLOR;
+                String href = reader.getAttributeValue(null, "link".equals(name) ? "url" : "href");
+                if (href != null) {
+                    frame.href = href;
+                }
+                break;
+            case "table":
+                endParagraph();
+                frame.rows = new ArrayList<>();
+                frame.acceptsText = false;
+                break;
+            case "header":
+            case "row":
+            case "tr":
+                if (parent != null && parent.rows != null) {
+                    frame.cells = new ArrayList<>();
+                    frame.acceptsText = false;
+                    if ("header".equals(name)) {
+                        frame.styles |= Run.BOLD;
+                    }
+                }
+                break;
+            case "cell":
+            case "td":
+            case "th":
+                if (parent != null && parent.cells != null) {
+                    endParagraph();
+                    containers.push(new ArrayList<>());
+                    frame.isCell = true;
+                    frame.block = true;
+                }
+                break;
+            case "list":
+                endParagraph();
+                frame.ordered = "ordered".equals(reader.getAttributeValue(null, "type"));
+                frame.items = new ArrayList<>();
+                frame.acceptsText = false;
+                break;
+            case "item":
+            case "li":
+                if (parent != null && parent.items != null) {
+                    endParagraph();
+                    containers.push(new ArrayList<>());
+                    startParagraph(-1);
+                    frame.isItem = true;
+                    frame.block = true;
+                }
+                break;
+            case "pagebreak":
+            case "section":
+                endParagraph();
+                containers.peek().add(Block.pageBreak());
+                frame.acceptsText = "section".equals(name);
+                break;
+            case "break":
+            case "br":
+                if (runs != null) {
+                    runs.add(Run.of("\n"));
+                } else {
+                    containers.peek().add(Block.lineBreak());
+                }
+                frame.acceptsText = false;
+                break;
+            case "metadata":
+            case "image":
+            case "img":
+                frame.ignored = true;
+                frame.acceptsText = false;
+                break;
+            default:
+                break;
+        }
+        return frame;
+    }
+
+    private void endElement(Frame frame, Frame parent) {
+        if (frame.isCell) {
+            endParagraph();
+            parent.cells.add(new Block.Cell(containers.pop()));
+        } else if (frame.cells != null) {
+            parent.rows.add(frame.cells);
+        } else if (frame.rows != null) {
+            containers.peek().add(new Block.Table(frame.rows));
+        } else if (frame.isItem) {
+            endParagraph();
+            parent.items.add(containers.pop());
+        } else if (frame.items != null) {
+            Block.ListBlock list = new Block.ListBlock(frame.ordered, frame.items);
+            if (parent != null && parent.items != null) {
+                // 直接嵌套在列表中的列表作为单独的列表项
+                List<Block> item = new ArrayList<>();
+                item.add(list);
+                parent.items.add(item);
+            } else {
+                containers.peek().add(list);
+            }
+        } else if (frame.block) {
+            endParagraph();
+        }
+    }
+
+    private void text(String text, Frame frame) {
+        // 块级元素之间的缩进空白不输出
+        if (text.trim().isEmpty() && (frame.block || runs == null)) {
+            return;
+        }
+        if (runs == null) {
+            startParagraph(-1);
+        }
+        runs.add(new Run(text.replace('\n', ' '), frame.styles, frame.color, frame.href));
+    }
+
+    private void startParagraph(int level) {
+        endParagraph();
+        runs = new ArrayList<>();
+        headingLevel = level;
+    }
+
+    private void endParagraph() {
+        if (runs == null) {
+            return;
+        }
+        containers.peek().add(headingLevel >= 0 ? new Block.Heading(headingLevel, runs) : Block.paragraph(runs));
+        runs = null;
+    }
+
+    private static int headingLevel(String level) {
+        try {
+            return level != null ? Math.min(Math.max(Integer.parseInt(level.trim()), 1), 6) : 1;
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * 元素帧
+     */
+    private static final class Frame {
+        private int styles;
+        private String color;
+        private String href;
+        private boolean acceptsText = true;
+        private boolean block;
+        private boolean ignored;
+        private boolean isCell;
+        private boolean isItem;
+        private boolean ordered;
+        private List<List<Block.Cell>> rows;
+        private List<Block.Cell> cells;
+        private List<List<Block>> items;
+
+        private Frame(Frame parent) {
+            if (parent != null) {
+                this.styles = parent.styles;
+                this.color = parent.color;
+                this.href = parent.href;
+            }
+        }
+    }
+}
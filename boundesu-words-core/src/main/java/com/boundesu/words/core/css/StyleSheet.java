@@ -0,0 +1,198 @@
+package com.boundesu.words.core.css;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的样式表
+ * 规则按选择器建立索引，逗号分隔的选择器组另外按单个选择器建立索引，查询时不再遍历规则。
+ * 不可变，可以在多个文档和线程之间共享，通常通过 {@link StyleSheetCache} 获取。
+ *
+ * <p>同一选择器出现多次时，后出现的规则整体替换先出现的规则。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class StyleSheet {
+
+    /** 空样式表 */
+    public static final StyleSheet EMPTY = new StyleSheet(new LinkedHashMap<>());
+
+    private final Map<String, Map<String, String>> rules;
+    private final Map<String, List<Map<String, String>>> groupRules;
+    private final int weight;
+
+    private StyleSheet(LinkedHashMap<String, Map<String, String>> rules) {
+        Map<String, List<Map<String, String>>> groups = new HashMap<>();
+        int total = 64;
+        for (Map.Entry<String, Map<String, String>> rule : rules.entrySet()) {
+            String selector = rule.getKey();
+            if (selector.indexOf(',') >= 0) {
+                for (String single : selector.split(",")) {
+                    groups.computeIfAbsent(single.trim(), k -> new ArrayList<>()).add(rule.getValue());
+                }
+            }
+            total += 48 + 2 * selector.length();
+            for (Map.Entry<String, String> property : rule.getValue().entrySet()) {
+                total += 48 + 2 * (property.getKey().length() + property.getValue().length());
+            }
+        }
+        for (Map.Entry<String, List<Map<String, String>>> group : groups.entrySet()) {
+            group.setValue(Collections.unmodifiableList(group.getValue()));
+        }
+        this.rules = Collections.unmodifiableMap(rules);
+        this.groupRules = groups;
+        this.weight = total;
+    }
+
+    /**
+     * 编译CSS文本，单次扫描，跳过注释和 @media 等带嵌套块的 @ 规则
+     *
+     * @param css CSS文本
+     * @return 样式表
+     */
+    public static StyleSheet parse(String css) {
+        if (css == null || css.isEmpty()) {
+            return EMPTY;
+        }
+        LinkedHashMap<String, Map<String, String>> rules = new LinkedHashMap<>();
+        StringBuilder token = new StringBuilder();
+        String selector = null;
+        int length = css.length();
+        int i = 0;
+        while (i < length) {
+            char c = css.charAt(i);
+            if (c == '/' && i + 1 < length && css.charAt(i + 1) == '*') {
+                int end = css.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                continue;
+            }
+            if (selector == null) {
+                if (c == '{') {
+                    String candidate = token.toString().trim();
+                    token.setLength(0);
+                    if (candidate.startsWith("@")) {
+                        i = skipBlock(css, i);
+                        continue;
+                    }
+                    selector = candidate;
+                } else if (c == ';' && token.toString().trim().startsWith("@")) {
+                    // @import、@charset 等不带块的 @ 规则
+                    token.setLength(0);
+                } else {
+                    token.append(c);
+                }
+            } else if (c == '}') {
+                Map<String, String> properties = declarations(token);
+                token.setLength(0);
+                if (!selector.isEmpty() && !properties.isEmpty()) {
+                    rules.remove(selector);
+                    rules.put(selector, Collections.unmodifiableMap(properties));
+                }
+                selector = null;
+            } else {
+                token.append(c);
+            }
+            i++;
+        }
+        return rules.isEmpty() ? EMPTY : new StyleSheet(rules);
+    }
+
+    /**
+     * 按顺序合并多个样式表，后面的样式表覆盖前面的同名选择器
+     */
+    public static StyleSheet merge(List<StyleSheet> sheets) {
+        if (sheets.isEmpty()) {
+            return EMPTY;
+        }
+        if (sheets.size() == 1) {
+            return sheets.get(0);
+        }
+        LinkedHashMap<String, Map<String, String>> rules = new LinkedHashMap<>();
+        for (StyleSheet sheet : sheets) {
+            for (Map.Entry<String, Map<String, String>> rule : sheet.rules.entrySet()) {
+                rules.remove(rule.getKey());
+                rules.put(rule.getKey(), rule.getValue());
+            }
+        }
+        return new StyleSheet(rules);
+    }
+
+    /**
+     * 获取选择器对应的属性
+     *
+     * @param selector 完整选择器文本
+     * @return 只读属性表，没有规则时返回 null
+     */
+    public Map<String, String> getRules(String selector) {
+        return rules.get(selector);
+    }
+
+    /**
+     * 获取包含指定单个选择器的选择器组（如 "th, td"）的属性表
+     *
+     * @param selector 单个选择器
+     * @return 只读属性表列表，按规则出现顺序
+     */
+    public List<Map<String, String>> getGroupRules(String selector) {
+        List<Map<String, String>> group = groupRules.get(selector);
+        return group != null ? group : Collections.emptyList();
+    }
+
+    /**
+     * 规则数
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * 估算占用的内存（字节）
+     */
+    int getWeight() {
+        return weight;
+    }
+
+    private static int skipBlock(String css, int open) {
+        int depth = 0;
+        for (int i = open; i < css.length(); i++) {
+            char c = css.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return css.length();
+    }
+
+    private static Map<String, String> declarations(CharSequence block) {
+        Map<String, String> properties = new HashMap<>();
+        int start = 0;
+        int length = block.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || block.charAt(i) == ';') {
+                int colon = -1;
+                for (int j = start; j < i; j++) {
+                    if (block.charAt(j) == ':') {
+                        colon = j;
+                        break;
+                    }
+                }
+                if (colon > start) {
+                    String property = block.subSequence(start, colon).toString().trim();
+                    String value = block.subSequence(colon + 1, i).toString().trim();
+                    if (!property.isEmpty()) {
+                        properties.put(property, value);
+                    }
+                }
+                start = i + 1;
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,133 @@
+package com.boundesu.words.core.css;
+
+import com.boundesu.words.common.cache.ConversionCache;
+import com.boundesu.words.common.cache.WeightedLruCache;
+import com.boundesu.words.common.constants.ConfigConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 样式表缓存
+ * 以CSS文本的内容哈希为键缓存编译后的 {@link StyleSheet}，批量生成的文档携带相同的 &lt;style&gt;
+ * 块或引用相同的外部样式表时只解析一次。多个样式表合并的结果同样按各自的哈希组合缓存。
+ *
+ * <p>容量按样式表的估算内存占用计量，超过上限时按最近访问顺序淘汰。
+ * 默认缓存可以通过 {@link #setDefault(StyleSheetCache)} 替换为其他容量的实例。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class StyleSheetCache {
+
+    private static final String CACHE_TYPE = "stylesheet";
+
+    private static volatile StyleSheetCache defaultCache =
+            new StyleSheetCache(ConfigConstants.MAX_MEMORY_CACHE_SIZE / 4);
+
+    private final WeightedLruCache<String, StyleSheet> entries;
+
+    /**
+     * 构造函数
+     *
+     * @param maxWeight 最大估算内存占用（字节）
+     */
+    public StyleSheetCache(long maxWeight) {
+        this.entries = new WeightedLruCache<>(maxWeight, StyleSheet::getWeight);
+    }
+
+    /**
+     * 获取进程内共享的默认缓存
+     */
+    public static StyleSheetCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * 替换进程内共享的默认缓存
+     *
+     * @param cache 新的默认缓存
+     */
+    public static void setDefault(StyleSheetCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("默认缓存不能为空");
+        }
+        defaultCache = cache;
+    }
+
+    /**
+     * 获取CSS文本编译后的样式表，命中缓存时不再解析
+     *
+     * @param css CSS文本
+     * @return 样式表
+     */
+    public StyleSheet get(String css) {
+        if (css == null || css.trim().isEmpty()) {
+            return StyleSheet.EMPTY;
+        }
+        return get(css, key(css));
+    }
+
+    private StyleSheet get(String css, String key) {
+        StyleSheet sheet = entries.get(key);
+        if (sheet == null) {
+            // 解析在锁外进行，并发的相同请求最多重复解析一次，结果相同
+            sheet = StyleSheet.parse(css);
+            entries.put(key, sheet);
+        }
+        return sheet;
+    }
+
+    /**
+     * 获取多段CSS按顺序合并后的样式表，合并结果也会缓存
+     *
+     * @param cssTexts CSS文本，按文档中出现的顺序
+     * @return 样式表
+     */
+    public StyleSheet get(List<String> cssTexts) {
+        if (cssTexts.isEmpty()) {
+            return StyleSheet.EMPTY;
+        }
+        if (cssTexts.size() == 1) {
+            return get(cssTexts.get(0));
+        }
+        StringBuilder combined = new StringBuilder(cssTexts.size() * 65);
+        List<StyleSheet> sheets = new ArrayList<>(cssTexts.size());
+        for (String css : cssTexts) {
+            if (css == null || css.trim().isEmpty()) {
+                continue;
+            }
+            String key = key(css);
+            sheets.add(get(css, key));
+            combined.append(key).append(',');
+        }
+        String key = ConversionCache.key(CACHE_TYPE, "merged",
+                combined.toString().getBytes(StandardCharsets.UTF_8));
+        StyleSheet merged = entries.get(key);
+        if (merged == null) {
+            merged = StyleSheet.merge(sheets);
+            entries.put(key, merged);
+        }
+        return merged;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        return entries.getStatistics();
+    }
+
+    private static String key(String css) {
+        return ConversionCache.key(CACHE_TYPE, "", css.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,100 @@
+package com.boundesu.words.core.diff;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 文档指纹
+ * 按正文顺序保存每个块（段落或表格行）规范化内容的64位哈希，
+ * 可持久化保存并用于 {@link FingerprintDiff} 比较，比较时无需再读取原文。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class DocumentFingerprint {
+
+    private static final int MAGIC = 0x42574650;
+    private static final int VERSION = 1;
+
+    private final long[] hashes;
+
+    DocumentFingerprint(long[] hashes) {
+        this.hashes = hashes;
+    }
+
+    /**
+     * 获取块数量
+     */
+    public int size() {
+        return hashes.length;
+    }
+
+    /**
+     * 获取指定块的哈希
+     */
+    public long get(int index) {
+        return hashes[index];
+    }
+
+    long[] hashes() {
+        return hashes;
+    }
+
+    /**
+     * 写出紧凑的二进制格式（每个块8字节）
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(hashes.length);
+        for (long hash : hashes) {
+            out.writeLong(hash);
+        }
+        out.flush();
+    }
+
+    /**
+     * 从 {@link #writeTo(OutputStream)} 写出的数据读取指纹
+     */
+    public static DocumentFingerprint readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("不是有效的文档指纹数据");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("不支持的文档指纹版本: " + version);
+        }
+        long[] hashes = new long[in.readInt()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = in.readLong();
+        }
+        return new DocumentFingerprint(hashes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DocumentFingerprint)) {
+            return false;
+        }
+        return Arrays.equals(hashes, ((DocumentFingerprint) o).hashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(hashes);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentFingerprint{blocks=" + hashes.length + "}";
+    }
+}
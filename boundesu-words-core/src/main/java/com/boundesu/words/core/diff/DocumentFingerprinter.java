@@ -0,0 +1,260 @@
+package com.boundesu.words.core.diff;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 文档指纹生成器
+ * 流式读取DOCX的 document.xml，对每个正文段落和每个顶层表格行的规范化文本
+ * （空白折叠、首尾去空白）计算64位FNV-1a哈希，不构建文档对象模型，也不保留文本。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class DocumentFingerprinter {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentFingerprinter.class);
+
+    private static final String W_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String DOCUMENT_PART = "word/document.xml";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long PARAGRAPH_SEED = 0x5050L;
+    private static final long ROW_SEED = 0x5252L;
+    private static final char CELL_SEPARATOR = '\u001F';
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private boolean ignoreEmptyBlocks = true;
+
+    /**
+     * 设置是否忽略空段落（只含空白的段落通常只影响版式）
+     */
+    public DocumentFingerprinter setIgnoreEmptyBlocks(boolean ignoreEmptyBlocks) {
+        this.ignoreEmptyBlocks = ignoreEmptyBlocks;
+        return this;
+    }
+
+    /**
+     * 为DOCX文件生成指纹
+     */
+    public DocumentFingerprint fingerprint(Path docxPath) throws BoundesuWordsException {
+        if (docxPath == null || !Files.exists(docxPath)) {
+            throw new BoundesuWordsException("FILE_NOT_FOUND", "文件不存在: " + docxPath);
+        }
+        try (ZipFile zip = new ZipFile(docxPath.toFile())) {
+            ZipEntry entry = zip.getEntry(DOCUMENT_PART);
+            if (entry == null) {
+                throw new BoundesuWordsException("INVALID_INPUT", "不是有效的DOCX文件: " + docxPath);
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                return fingerprintDocumentXml(in);
+            }
+        } catch (IOException e) {
+            throw new BoundesuWordsException("FILE_READ_ERROR", "读取文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 为DOCX输入流生成指纹，只顺序读取一次
+     */
+    public DocumentFingerprint fingerprint(InputStream docxStream) throws BoundesuWordsException {
+        if (docxStream == null) {
+            throw new BoundesuWordsException("INVALID_INPUT", "输入流不能为空");
+        }
+        try {
+            ZipInputStream zip = new ZipInputStream(docxStream);
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (DOCUMENT_PART.equals(entry.getName())) {
+                    return fingerprintDocumentXml(zip);
+                }
+            }
+            throw new BoundesuWordsException("INVALID_INPUT", "不是有效的DOCX数据，缺少 " + DOCUMENT_PART);
+        } catch (IOException e) {
+            throw new BoundesuWordsException("FILE_READ_ERROR", "读取DOCX数据失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 为 document.xml 内容流生成指纹
+     */
+    public DocumentFingerprint fingerprintDocumentXml(InputStream documentXml) throws BoundesuWordsException {
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(documentXml);
+            BlockHasher hasher = new BlockHasher();
+            int tableDepth = 0;
+            boolean inParagraphBlock = false;
+            boolean inRowBlock = false;
+            boolean inText = false;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (!W_NS.equals(reader.getNamespaceURI())) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "tbl":
+                            tableDepth++;
+                            break;
+                        case "tr":
+                            if (tableDepth == 1) {
+                                inRowBlock = true;
+                                hasher.begin(ROW_SEED);
+                            }
+                            break;
+                        case "p":
+                            if (tableDepth == 0) {
+                                inParagraphBlock = true;
+                                hasher.begin(PARAGRAPH_SEED);
+                            }
+                            break;
+                        case "t":
+                            inText = inParagraphBlock || inRowBlock;
+                            break;
+                        case "tab":
+                        case "br":
+                        case "cr":
+                            hasher.whitespace();
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (!W_NS.equals(reader.getNamespaceURI())) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "tbl":
+                            tableDepth--;
+                            break;
+                        case "tr":
+                            if (tableDepth == 1 && inRowBlock) {
+                                inRowBlock = false;
+                                hasher.end(ignoreEmptyBlocks);
+                            }
+                            break;
+                        case "tc":
+                            hasher.separator(CELL_SEPARATOR);
+                            break;
+                        case "p":
+                            if (tableDepth == 0 && inParagraphBlock) {
+                                inParagraphBlock = false;
+                                hasher.end(ignoreEmptyBlocks);
+                            } else {
+                                hasher.whitespace();
+                            }
+                            break;
+                        case "t":
+                            inText = false;
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE
+                        || event == XMLStreamConstants.CDATA)) {
+                    hasher.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+            }
+
+            DocumentFingerprint fingerprint = new DocumentFingerprint(hasher.toArray());
+            log.debug("生成文档指纹: {} 个块", fingerprint.size());
+            return fingerprint;
+        } catch (XMLStreamException e) {
+            throw new BoundesuWordsException("XML_PARSE_ERROR", "解析 document.xml 失败: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    log.debug("关闭XML读取器失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 增量计算块哈希：连续空白折叠为一个空格，忽略首尾空白
+     */
+    private static class BlockHasher {
+        private long[] hashes = new long[256];
+        private int count;
+        private long hash;
+        private boolean empty;
+        private boolean pendingSpace;
+
+        void begin(long seed) {
+            hash = FNV_OFFSET ^ seed;
+            empty = true;
+            pendingSpace = false;
+        }
+
+        void append(char[] chars, int start, int length) {
+            for (int i = start; i < start + length; i++) {
+                char c = chars[i];
+                if (Character.isWhitespace(c) || c == '\u00A0' || c == '\u3000') {
+                    pendingSpace = !empty;
+                } else {
+                    if (pendingSpace) {
+                        mix(' ');
+                        pendingSpace = false;
+                    }
+                    mix(c);
+                    empty = false;
+                }
+            }
+        }
+
+        void whitespace() {
+            pendingSpace = !empty;
+        }
+
+        void separator(char c) {
+            pendingSpace = false;
+            mix(c);
+        }
+
+        void end(boolean ignoreEmpty) {
+            if (empty && ignoreEmpty) {
+                return;
+            }
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+            }
+            hashes[count++] = hash;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(hashes, count);
+        }
+
+        private void mix(char c) {
+            hash ^= c & 0xff;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.boundesu.words.core.diff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 指纹差异比较
+ * 在两个 {@link DocumentFingerprint} 的哈希序列上运行 Myers 线性空间差异算法
+ * （中间蛇分治），时间 O((N+M)D)、空间 O(N+M)，结果为按顺序排列的插入、删除、修改块区间。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class FingerprintDiff {
+
+    private FingerprintDiff() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 比较两个文档指纹
+     *
+     * @param oldFingerprint 旧版本指纹
+     * @param newFingerprint 新版本指纹
+     * @return 变更区间列表，文档相同时为空列表
+     */
+    public static List<DiffRange> diff(DocumentFingerprint oldFingerprint, DocumentFingerprint newFingerprint) {
+        if (oldFingerprint == null || newFingerprint == null) {
+            throw new IllegalArgumentException("文档指纹不能为空");
+        }
+        long[] a = oldFingerprint.hashes();
+        long[] b = newFingerprint.hashes();
+
+        List<DiffRange> edits = new ArrayList<>();
+        compare(a, 0, a.length, b, 0, b.length, edits);
+        return edits.isEmpty() ? Collections.<DiffRange>emptyList() : coalesce(edits);
+    }
+
+    private static void compare(long[] a, int aStart, int aEnd, long[] b, int bStart, int bEnd, List<DiffRange> edits) {
+        // 去掉公共前缀与后缀
+        while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+            aStart++;
+            bStart++;
+        }
+        while (aStart < aEnd && bStart < bEnd && a[aEnd - 1] == b[bEnd - 1]) {
+            aEnd--;
+            bEnd--;
+        }
+
+        if (aStart == aEnd && bStart == bEnd) {
+            return;
+        }
+        if (aStart == aEnd || bStart == bEnd) {
+            edits.add(new DiffRange(aStart, aEnd, bStart, bEnd));
+            return;
+        }
+
+        int[] snake = middleSnake(a, aStart, aEnd, b, bStart, bEnd);
+        compare(a, aStart, aStart + snake[0], b, bStart, bStart + snake[1], edits);
+        compare(a, aStart + snake[2], aEnd, b, bStart + snake[3], bEnd, edits);
+    }
+
+    /**
+     * 查找中间蛇，返回相对起点的 {x, y, u, v}，其中 (x,y)-(u,v) 为对角线上的匹配段
+     */
+    private static int[] middleSnake(long[] a, int aStart, int aEnd, long[] b, int bStart, int bEnd) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        int delta = n - m;
+        boolean odd = (delta & 1) != 0;
+        int max = (n + m + 1) / 2;
+        int offset = max + 1;
+        int[] forward = new int[2 * max + 3];
+        int[] backward = new int[2 * max + 3];
+
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1]))
+                        ? forward[offset + k + 1] : forward[offset + k - 1] + 1;
+                int y = x - k;
+                int startX = x;
+                int startY = y;
+                while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+
+                int reverseK = delta - k;
+                if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + backward[offset + reverseK] >= n) {
+                    return new int[]{startX, startY, x, y};
+                }
+            }
+
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1]))
+                        ? backward[offset + k + 1] : backward[offset + k - 1] + 1;
+                int y = x - k;
+                int startX = x;
+                int startY = y;
+                while (x < n && y < m && a[aEnd - 1 - x] == b[bEnd - 1 - y]) {
+                    x++;
+                    y++;
+                }
+                backward[offset + k] = x;
+
+                int forwardK = delta - k;
+                if (!odd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n) {
+                    return new int[]{n - x, m - y, n - startX, m - startY};
+                }
+            }
+        }
+        // 理论上不会到达：编辑距离不超过 n + m
+        return new int[]{n, m, n, m};
+    }
+
+    /**
+     * 合并相邻的编辑区间
+     */
+    private static List<DiffRange> coalesce(List<DiffRange> edits) {
+        List<DiffRange> result = new ArrayList<>(edits.size());
+        DiffRange current = edits.get(0);
+        for (int i = 1; i < edits.size(); i++) {
+            DiffRange next = edits.get(i);
+            if (next.getOldStart() == current.getOldEnd() && next.getNewStart() == current.getNewEnd()) {
+                current = new DiffRange(current.getOldStart(), next.getOldEnd(), current.getNewStart(), next.getNewEnd());
+            } else {
+                result.add(current);
+                current = next;
+            }
+        }
+        result.add(current);
+        return result;
+    }
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        /** 新版本插入的块 */
+        INSERTED,
+        /** 旧版本中被删除的块 */
+        DELETED,
+        /** 被替换的块 */
+        CHANGED
+    }
+
+    /**
+     * 变更区间，起始包含、结束不包含，均为块序号
+     */
+    public static final class DiffRange {
+        private final int oldStart;
+        private final int oldEnd;
+        private final int newStart;
+        private final int newEnd;
+
+        DiffRange(int oldStart, int oldEnd, int newStart, int newEnd) {
+            this.oldStart = oldStart;
+            this.oldEnd = oldEnd;
+            this.newStart = newStart;
+            this.newEnd = newEnd;
+        }
+
+        public ChangeType getType() {
+            if (oldStart == oldEnd) {
+                return ChangeType.INSERTED;
+            }
+            return newStart == newEnd ? ChangeType.DELETED : ChangeType.CHANGED;
+        }
+
+        public int getOldStart() {
+            return oldStart;
+        }
+
+        public int getOldEnd() {
+            return oldEnd;
+        }
+
+        public int getNewStart() {
+            return newStart;
+        }
+
+        public int getNewEnd() {
+            return newEnd;
+        }
+
+        @Override
+        public String toString() {
+            return getType() + " old[" + oldStart + "," + oldEnd + ") new[" + newStart + "," + newEnd + ")";
+        }
+    }
+}
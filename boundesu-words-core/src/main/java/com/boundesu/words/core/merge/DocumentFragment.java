@@ -0,0 +1,216 @@
+package com.boundesu.words.core.merge;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import org.apache.poi.common.usermodel.PictureType;
+import org.apache.poi.ooxml.POIXMLDocumentPart;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.TargetMode;
+import org.apache.poi.xwpf.usermodel.XWPFAbstractNum;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFNum;
+import org.apache.poi.xwpf.usermodel.XWPFNumbering;
+import org.apache.poi.xwpf.usermodel.XWPFPictureData;
+import org.apache.poi.xwpf.usermodel.XWPFStyles;
+import org.apache.xmlbeans.XmlException;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTAbstractNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBody;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyles;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 文档片段
+ * 源文档正文的XML文本，以及正文可能引用的样式、编号定义、图片和外部链接，全部以字符串和字节保存。
+ * 片段不持有 {@link XWPFDocument}，创建后不再变化，多个线程可以同时通过
+ * {@link DocumentMerger#append(DocumentFragment)} 把同一个片段拼接到各自的目标文档中，每次拼接重新解析所需的XML。
+ *
+ * <p>{@link #getWeight()} 是片段内容在内存中的大小：XML按字符数的两倍计，图片按字节数计。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class DocumentFragment {
+
+    private final String body;
+    private final Map<String, String> styles;
+    private final Map<BigInteger, String> nums;
+    private final Map<BigInteger, String> abstractNums;
+    private final Map<String, Picture> pictures;
+    private final Map<String, Link> links;
+    private final long weight;
+
+    private DocumentFragment(String body, Map<String, String> styles, Map<BigInteger, String> nums,
+                             Map<BigInteger, String> abstractNums, Map<String, Picture> pictures,
+                             Map<String, Link> links) {
+        this.body = body;
+        this.styles = Collections.unmodifiableMap(styles);
+        this.nums = Collections.unmodifiableMap(nums);
+        this.abstractNums = Collections.unmodifiableMap(abstractNums);
+        this.pictures = Collections.unmodifiableMap(pictures);
+        this.links = Collections.unmodifiableMap(links);
+
+        long size = 2L * body.length();
+        size += 2L * textLength(styles) + 2L * textLength(nums) + 2L * textLength(abstractNums);
+        for (Picture picture : pictures.values()) {
+            size += picture.data.length;
+        }
+        for (Link link : links.values()) {
+            size += 2L * (link.target.length() + link.type.length());
+        }
+        this.weight = size;
+    }
+
+    /**
+     * 从文档创建片段，之后源文档可以关闭
+     *
+     * @param document 源文档
+     * @return 片段
+     * @throws BoundesuWordsException 读取文档关系失败时抛出
+     */
+    public static DocumentFragment of(XWPFDocument document) throws BoundesuWordsException {
+        CTBody sourceBody = document.getDocument().getBody();
+        String body = sourceBody != null ? sourceBody.xmlText() : CTBody.Factory.newInstance().xmlText();
+
+        Map<String, String> styles = new HashMap<>();
+        XWPFStyles sourceStyles = document.getStyles();
+        CTStyles ctStyles = sourceStyles != null ? sourceStyles.getCtStyles() : null;
+        if (ctStyles != null) {
+            for (CTStyle style : ctStyles.getStyleArray()) {
+                if (style.getStyleId() != null) {
+                    styles.put(style.getStyleId(), style.xmlText());
+                }
+            }
+        }
+
+        Map<BigInteger, String> nums = new HashMap<>();
+        Map<BigInteger, String> abstractNums = new HashMap<>();
+        XWPFNumbering numbering = document.getNumbering();
+        if (numbering != null) {
+            for (XWPFNum num : numbering.getNums()) {
+                CTNum ctNum = num.getCTNum();
+                nums.put(ctNum.getNumId(), ctNum.xmlText());
+            }
+            for (XWPFAbstractNum abstractNum : numbering.getAbstractNums()) {
+                CTAbstractNum ctAbstractNum = abstractNum.getCTAbstractNum();
+                abstractNums.put(ctAbstractNum.getAbstractNumId(), ctAbstractNum.xmlText());
+            }
+        }
+
+        Map<String, Picture> pictures = new HashMap<>();
+        for (POIXMLDocumentPart.RelationPart part : document.getRelationParts()) {
+            if (part.getDocumentPart() instanceof XWPFPictureData) {
+                XWPFPictureData picture = part.getDocumentPart();
+                if (picture.getPictureTypeEnum() != null) {
+                    pictures.put(part.getRelationship().getId(),
+                            new Picture(picture.getData(), picture.getPictureTypeEnum()));
+                }
+            }
+        }
+
+        Map<String, Link> links = new HashMap<>();
+        try {
+            for (PackageRelationship relationship : document.getPackagePart().getRelationships()) {
+                if (relationship.getTargetMode() == TargetMode.EXTERNAL) {
+                    links.put(relationship.getId(), new Link(relationship.getTargetURI().toString(),
+                            relationship.getRelationshipType()));
+                }
+            }
+        } catch (InvalidFormatException e) {
+            throw new BoundesuWordsException("DOCUMENT_MERGE_ERROR", "读取文档关系失败: " + e.getMessage(), e);
+        }
+        return new DocumentFragment(body, styles, nums, abstractNums, pictures, links);
+    }
+
+    /**
+     * 片段内容在内存中的大小（字节）
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    CTBody body() throws XmlException {
+        return CTBody.Factory.parse(body);
+    }
+
+    CTStyle style(String styleId) throws XmlException {
+        String xml = styles.get(styleId);
+        return xml != null ? CTStyle.Factory.parse(xml) : null;
+    }
+
+    CTNum num(BigInteger numId) throws XmlException {
+        String xml = nums.get(numId);
+        return xml != null ? CTNum.Factory.parse(xml) : null;
+    }
+
+    CTAbstractNum abstractNum(BigInteger abstractNumId) throws XmlException {
+        String xml = abstractNums.get(abstractNumId);
+        return xml != null ? CTAbstractNum.Factory.parse(xml) : null;
+    }
+
+    Picture picture(String relationId) {
+        return pictures.get(relationId);
+    }
+
+    Link link(String relationId) {
+        return links.get(relationId);
+    }
+
+    private static long textLength(Map<?, String> texts) {
+        long length = 0;
+        for (String text : texts.values()) {
+            length += text.length();
+        }
+        return length;
+    }
+
+    /**
+     * 正文引用的图片
+     */
+    static final class Picture {
+        private final byte[] data;
+        private final PictureType type;
+
+        private Picture(byte[] data, PictureType type) {
+            this.data = data;
+            this.type = type;
+        }
+
+        /**
+         * 图片数据，调用方不能修改
+         */
+        byte[] getData() {
+            return data;
+        }
+
+        PictureType getType() {
+            return type;
+        }
+    }
+
+    /**
+     * 正文引用的外部链接
+     */
+    static final class Link {
+        private final String target;
+        private final String type;
+
+        private Link(String target, String type) {
+            this.target = target;
+            this.type = type;
+        }
+
+        String getTarget() {
+            return target;
+        }
+
+        String getType() {
+            return type;
+        }
+    }
+}
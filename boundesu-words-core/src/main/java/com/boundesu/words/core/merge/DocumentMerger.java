@@ -0,0 +1,1005 @@
+package com.boundesu.words.core.merge;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import org.apache.poi.common.usermodel.PictureType;
+import org.apache.poi.ooxml.POIXMLDocumentPart;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackagePartName;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackagingURIHelper;
+import org.apache.poi.openxml4j.opc.TargetMode;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xwpf.usermodel.BreakType;
+import org.apache.poi.xwpf.usermodel.XWPFAbstractNum;
+import org.apache.poi.xwpf.usermodel.XWPFComment;
+import org.apache.poi.xwpf.usermodel.XWPFComments;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFEndnote;
+import org.apache.poi.xwpf.usermodel.XWPFEndnotes;
+import org.apache.poi.xwpf.usermodel.XWPFFootnote;
+import org.apache.poi.xwpf.usermodel.XWPFFootnotes;
+import org.apache.poi.xwpf.usermodel.XWPFNum;
+import org.apache.poi.xwpf.usermodel.XWPFNumbering;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFPictureData;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFStyle;
+import org.apache.poi.xwpf.usermodel.XWPFStyles;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlException;
+import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTAbstractNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTBody;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTComment;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTFtnEdn;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTNum;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTP;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSdtBlock;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSectPr;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTStyle;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTbl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.namespace.QName;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文档合并器
+ * 在XML层面按原始顺序追加源文档的正文元素（段落、表格、内容控件），也可以插入到指定段落之前，
+ * 并重映射关系ID（图片、超链接、嵌入对象）、编号ID和样式ID，相同定义只保留一份。
+ * 正文引用的脚注、尾注和批注连同其内容复制到目标文档对应的部件中，并分配新的ID。
+ * 源文档逐个加载、追加后立即关闭，内存占用不随输入数量增长。
+ *
+ * <p>段落和表格通过 {@link XWPFDocument#createParagraph()}、{@link XWPFDocument#insertNewParagraph(XmlCursor)}
+ * 和 {@link XWPFDocument#insertTable(int, XWPFTable)} 加入目标文档，合并后立即出现在
+ * {@code getBodyElements()}、{@code getParagraphs()}、{@code getTables()} 中，已有的段落和表格对象保持不变；
+ * 正文级内容控件只写入XML，重新加载后才出现在对象视图中。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class DocumentMerger {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentMerger.class);
+
+    private static final String W_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String R_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final XmlOptions COMPARE_OPTIONS = new XmlOptions();
+
+    static {
+        Map<String, String> prefixes = new HashMap<>();
+        prefixes.put(W_NS, "w");
+        prefixes.put(R_NS, "r");
+        COMPARE_OPTIONS.setSaveSuggestedPrefixes(prefixes);
+        COMPARE_OPTIONS.setSaveAggressiveNamespaces();
+    }
+
+    private final XWPFDocument target;
+    private final Map<String, BigInteger> abstractNumIndex = new HashMap<>();
+    private XWPFNumbering targetNumbering;
+    private XWPFStyles targetStyles;
+    private long nextNumId;
+    private long nextAbstractNumId;
+    private long nextFootnoteId;
+    private long nextEndnoteId;
+    private long nextCommentId;
+    private int partNameCounter;
+    private int mergedCount;
+
+    private boolean pageBreakBetweenDocuments = false;
+    private boolean renameConflictingStyles = true;
+    private XWPFParagraph insertionPoint;
+
+    /**
+     * 构造函数
+     *
+     * @param target 目标文档，源文档内容将追加到其正文末尾
+     */
+    public DocumentMerger(XWPFDocument target) {
+        if (target == null) {
+            throw new IllegalArgumentException("目标文档不能为空");
+        }
+        this.target = target;
+        this.targetNumbering = target.getNumbering();
+        this.targetStyles = target.getStyles();
+        indexTargetNumbering();
+        indexTargetNotes();
+    }
+
+    /**
+     * 设置是否在每个源文档前插入分页符
+     */
+    public DocumentMerger setPageBreakBetweenDocuments(boolean pageBreakBetweenDocuments) {
+        this.pageBreakBetweenDocuments = pageBreakBetweenDocuments;
+        return this;
+    }
+
+    /**
+     * 设置样式ID冲突（同名但定义不同）时是否重命名源样式；
+     * 为false时沿用目标文档中的同名样式
+     */
+    public DocumentMerger setRenameConflictingStyles(boolean renameConflictingStyles) {
+        this.renameConflictingStyles = renameConflictingStyles;
+        return this;
+    }
+
+    /**
+     * 设置插入位置：源文档内容插入到该段落之前；为null时追加到正文末尾（默认）
+     *
+     * @throws IllegalArgumentException 段落不在目标文档正文中（例如位于表格单元格内）
+     */
+    public DocumentMerger setInsertionPoint(XWPFParagraph insertionPoint) {
+        if (insertionPoint != null && target.getPosOfParagraph(insertionPoint) < 0) {
+            throw new IllegalArgumentException("插入位置必须是目标文档正文中的段落");
+        }
+        this.insertionPoint = insertionPoint;
+        return this;
+    }
+
+    /**
+     * 追加一个已加载的源文档，源文档不会被关闭
+     */
+    public DocumentMerger append(XWPFDocument source) throws BoundesuWordsException {
+        if (source == null) {
+            return this;
+        }
+        return append(new DocumentContext(source));
+    }
+
+    /**
+     * 追加一个文档片段，片段本身不会被修改，可以反复追加到不同的目标文档
+     */
+    public DocumentMerger append(DocumentFragment fragment) throws BoundesuWordsException {
+        if (fragment == null) {
+            return this;
+        }
+        return append(new FragmentContext(fragment));
+    }
+
+    private DocumentMerger append(SourceContext context) throws BoundesuWordsException {
+        try {
+            appendBody(context);
+            mergedCount++;
+            return this;
+        } catch (BoundesuWordsException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("追加源文档失败: {}", e.getMessage(), e);
+            throw new BoundesuWordsException("DOCUMENT_MERGE_ERROR", "追加源文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从输入流加载源文档并追加，追加完成后立即释放源文档
+     */
+    public DocumentMerger append(InputStream inputStream) throws BoundesuWordsException {
+        if (inputStream == null) {
+            throw new BoundesuWordsException("INVALID_INPUT", "输入流不能为空");
+        }
+        try (XWPFDocument source = new XWPFDocument(inputStream)) {
+            return append(source);
+        } catch (IOException e) {
+            throw new BoundesuWordsException("FILE_READ_ERROR", "读取源文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 以只读方式打开源文件并追加，追加完成后立即关闭
+     */
+    public DocumentMerger append(Path sourcePath) throws BoundesuWordsException {
+        if (sourcePath == null || !Files.exists(sourcePath)) {
+            throw new BoundesuWordsException("FILE_NOT_FOUND", "源文件不存在: " + sourcePath);
+        }
+        try (XWPFDocument source = new XWPFDocument(OPCPackage.open(sourcePath.toFile(), PackageAccess.READ))) {
+            return append(source);
+        } catch (IOException | InvalidFormatException e) {
+            throw new BoundesuWordsException("FILE_READ_ERROR", "读取源文档失败: " + sourcePath + ", " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取目标文档
+     */
+    public XWPFDocument getTarget() {
+        return target;
+    }
+
+    /**
+     * 获取已追加的源文档数量
+     */
+    public int getMergedCount() {
+        return mergedCount;
+    }
+
+    /**
+     * 将合并结果写入输出流
+     */
+    public void writeTo(OutputStream outputStream) throws BoundesuWordsException {
+        try {
+            target.write(outputStream);
+        } catch (IOException e) {
+            throw new BoundesuWordsException("FILE_WRITE_ERROR", "写入合并文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 合并多个DOCX文件：以第一个文件为基础，其余文件逐个流式追加，结果写入输出文件
+     *
+     * @param sourcePaths 源文件列表（按合并顺序）
+     * @param outputPath  输出文件
+     * @return 合并的源文件数量
+     */
+    public static int mergeFiles(List<Path> sourcePaths, Path outputPath) throws BoundesuWordsException {
+        if (sourcePaths == null || sourcePaths.isEmpty()) {
+            throw new BoundesuWordsException("INVALID_INPUT", "要合并的文件列表不能为空");
+        }
+        if (outputPath == null) {
+            throw new BoundesuWordsException("INVALID_INPUT", "输出路径不能为空");
+        }
+
+        try (InputStream baseStream = Files.newInputStream(sourcePaths.get(0));
+             XWPFDocument base = new XWPFDocument(baseStream)) {
+            DocumentMerger merger = new DocumentMerger(base);
+            for (int i = 1; i < sourcePaths.size(); i++) {
+                merger.append(sourcePaths.get(i));
+            }
+
+            Path parent = outputPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(outputPath)) {
+                merger.writeTo(out);
+            }
+            log.info("文件合并完成，共 {} 个文件 -> {}", sourcePaths.size(), outputPath);
+            return sourcePaths.size();
+        } catch (IOException e) {
+            throw new BoundesuWordsException("DOCUMENT_MERGE_ERROR", "合并文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 合并多个DOCX文件（File版本）
+     */
+    public static int mergeFiles(List<File> sourceFiles, File outputFile) throws BoundesuWordsException {
+        if (sourceFiles == null || outputFile == null) {
+            throw new BoundesuWordsException("INVALID_INPUT", "文件参数不能为空");
+        }
+        List<Path> paths = new java.util.ArrayList<>(sourceFiles.size());
+        for (File file : sourceFiles) {
+            paths.add(file.toPath());
+        }
+        return mergeFiles(paths, outputFile.toPath());
+    }
+
+    // ========== 正文复制 ==========
+
+    private void appendBody(SourceContext context) throws Exception {
+        CTBody targetBody = target.getDocument().getBody();
+        CTBody sourceBody = context.body();
+        if (sourceBody == null) {
+            return;
+        }
+
+        if (pageBreakBetweenDocuments && (targetBody.sizeOfPArray() > 0 || targetBody.sizeOfTblArray() > 0)) {
+            newParagraph().createRun().addBreak(BreakType.PAGE);
+        }
+
+        try (XmlCursor cursor = sourceBody.newCursor()) {
+            if (!cursor.toFirstChild()) {
+                return;
+            }
+            do {
+                XmlObject element = cursor.getObject();
+                if (element instanceof CTSectPr) {
+                    // 节属性保持目标文档的设置
+                    continue;
+                }
+                XmlObject copy = element.copy();
+                remapReferences(copy, context);
+
+                if (element instanceof CTP) {
+                    fillParagraph(newParagraph(), copy);
+                } else if (element instanceof CTTbl) {
+                    addTable(copy);
+                } else if (insertionPoint != null) {
+                    insertElement(insertionPoint.getCTP(), cursor.getName(), copy);
+                } else if (element instanceof CTSdtBlock) {
+                    targetBody.addNewSdt().set(copy);
+                } else {
+                    appendOtherElement(targetBody, cursor.getName(), copy);
+                }
+            } while (cursor.toNextSibling());
+        }
+    }
+
+    /**
+     * 在插入位置之前或正文末尾创建空段落，段落同时登记到目标文档的对象视图
+     */
+    private XWPFParagraph newParagraph() {
+        if (insertionPoint == null) {
+            return target.createParagraph();
+        }
+        try (XmlCursor cursor = insertionPoint.getCTP().newCursor()) {
+            return target.insertNewParagraph(cursor);
+        }
+    }
+
+    /**
+     * 把复制出的段落XML写入新建的空段落。POI在创建段落对象时读取文本段，
+     * 因此写入后按新内容解析一次，把文本段补充到已登记的段落对象上
+     */
+    private static XWPFParagraph fillParagraph(XWPFParagraph paragraph, XmlObject copy) {
+        paragraph.getCTP().set(copy);
+        for (XWPFRun run : new XWPFParagraph(paragraph.getCTP(), paragraph.getBody()).getRuns()) {
+            paragraph.addRun(run);
+        }
+        return paragraph;
+    }
+
+    /**
+     * 先写入表格XML再按其内容创建表格对象，并登记到插入位置之前或正文末尾
+     */
+    private void addTable(XmlObject copy) {
+        CTTbl table;
+        int position;
+        if (insertionPoint != null) {
+            position = target.getPosOfParagraph(insertionPoint);
+            table = (CTTbl) insertElement(insertionPoint.getCTP(), new QName(W_NS, "tbl"), copy);
+        } else {
+            position = target.getBodyElements().size();
+            table = target.getDocument().getBody().addNewTbl();
+            table.set(copy);
+        }
+        target.insertTable(position, new XWPFTable(table, target));
+    }
+
+    /**
+     * 追加书签、批注范围等其他正文级元素，保持在节属性之前
+     */
+    private void appendOtherElement(CTBody targetBody, QName name, XmlObject copy) {
+        if (targetBody.isSetSectPr()) {
+            insertElement(targetBody.getSectPr(), name, copy);
+            return;
+        }
+        try (XmlCursor cursor = targetBody.newCursor()) {
+            cursor.toEndToken();
+            cursor.beginElement(name);
+            cursor.toParent();
+            cursor.getObject().set(copy);
+        }
+    }
+
+    /**
+     * 在指定元素之前插入正文级元素
+     *
+     * @return 插入的元素
+     */
+    private static XmlObject insertElement(XmlObject anchor, QName name, XmlObject copy) {
+        try (XmlCursor cursor = anchor.newCursor()) {
+            cursor.beginElement(name);
+            cursor.toParent();
+            XmlObject inserted = cursor.getObject();
+            inserted.set(copy);
+            return inserted;
+        }
+    }
+
+    // ========== 引用重映射 ==========
+
+    /**
+     * 遍历复制出的XML片段，重写关系ID、样式ID、编号ID以及脚注、尾注和批注ID
+     */
+    private void remapReferences(XmlObject copy, SourceContext context) throws Exception {
+        remapReferences(copy, context, context.documentRelations());
+    }
+
+    /**
+     * @param relations 片段所在部件的关系映射（正文、脚注、尾注或批注）
+     */
+    private void remapReferences(XmlObject copy, SourceContext context, Relations relations) throws Exception {
+        removeSectionReferences(copy);
+
+        try (XmlCursor cursor = copy.newCursor()) {
+            QName element = null;
+            XmlCursor.TokenType token = cursor.toNextToken();
+            while (!token.isNone()) {
+                if (token.isStart()) {
+                    element = cursor.getName();
+                } else if (token.isAttr()) {
+                    remapAttribute(cursor, element, context, relations);
+                }
+                token = cursor.toNextToken();
+            }
+        }
+    }
+
+    private void remapAttribute(XmlCursor cursor, QName element, SourceContext context, Relations relations)
+            throws Exception {
+        QName attribute = cursor.getName();
+        String value = cursor.getTextValue();
+
+        if (R_NS.equals(attribute.getNamespaceURI())) {
+            String mapped = relations.remap(value);
+            if (mapped != null && !mapped.equals(value)) {
+                cursor.setTextValue(mapped);
+            }
+            return;
+        }
+
+        if (element == null || !W_NS.equals(element.getNamespaceURI()) || !W_NS.equals(attribute.getNamespaceURI())) {
+            return;
+        }
+
+        String mapped = null;
+        if ("id".equals(attribute.getLocalPart())) {
+            switch (element.getLocalPart()) {
+                case "footnoteReference":
+                    mapped = remapFootnote(value, context);
+                    break;
+                case "endnoteReference":
+                    mapped = remapEndnote(value, context);
+                    break;
+                case "commentRangeStart":
+                case "commentRangeEnd":
+                case "commentReference":
+                    mapped = remapComment(value, context);
+                    break;
+                default:
+                    break;
+            }
+        } else if ("val".equals(attribute.getLocalPart())) {
+            mapped = remapValue(element.getLocalPart(), value, context);
+        }
+        if (mapped != null && !mapped.equals(value)) {
+            cursor.setTextValue(mapped);
+        }
+    }
+
+    private String remapValue(String element, String value, SourceContext context) throws Exception {
+        String mapped = null;
+        switch (element) {
+            case "pStyle":
+            case "rStyle":
+            case "tblStyle":
+            case "basedOn":
+            case "next":
+            case "link":
+            case "numStyleLink":
+            case "styleLink":
+                mapped = remapStyle(value, context);
+                break;
+            case "numId":
+                mapped = remapNumbering(value, context);
+                break;
+            default:
+                break;
+        }
+        return mapped;
+    }
+
+    /**
+     * 段落内节属性引用的页眉页脚不随正文复制，沿用目标文档的页眉页脚
+     */
+    private void removeSectionReferences(XmlObject copy) {
+        String path = "declare namespace w='" + W_NS + "' .//w:headerReference | .//w:footerReference";
+        for (XmlObject reference : copy.selectPath(path)) {
+            try (XmlCursor cursor = reference.newCursor()) {
+                cursor.removeXml();
+            }
+        }
+    }
+
+    /**
+     * 复制嵌入对象等其他内部部件（脚注、尾注和批注中的图片也按部件复制）
+     */
+    private String copyPart(PackageRelationship relationship, POIXMLDocumentPart source, POIXMLDocumentPart owner)
+            throws Exception {
+        PackagePart sourcePart = source.getPackagePart().getRelatedPart(relationship);
+        OPCPackage targetPackage = target.getPackage();
+        PackagePartName partName = uniquePartName(targetPackage, sourcePart.getPartName().getName());
+
+        PackagePart targetPart = targetPackage.createPart(partName, sourcePart.getContentType());
+        try (InputStream in = sourcePart.getInputStream(); OutputStream out = targetPart.getOutputStream()) {
+            IOUtils.copy(in, out);
+        }
+        return owner.getPackagePart()
+                .addRelationship(partName, TargetMode.INTERNAL, relationship.getRelationshipType())
+                .getId();
+    }
+
+    private PackagePartName uniquePartName(OPCPackage targetPackage, String name) throws InvalidFormatException {
+        PackagePartName partName = PackagingURIHelper.createPartName(name);
+        if (!targetPackage.containPart(partName)) {
+            return partName;
+        }
+        int dot = name.lastIndexOf('.');
+        String base = dot > name.lastIndexOf('/') ? name.substring(0, dot) : name;
+        String extension = dot > name.lastIndexOf('/') ? name.substring(dot) : "";
+        do {
+            partName = PackagingURIHelper.createPartName(base + "_m" + (++partNameCounter) + extension);
+        } while (targetPackage.containPart(partName));
+        return partName;
+    }
+
+    // ========== 脚注、尾注与批注 ==========
+
+    private String remapFootnote(String id, SourceContext context) throws Exception {
+        String mapped = context.footnoteIds.get(id);
+        if (mapped != null) {
+            return mapped;
+        }
+        XWPFFootnote note = context.footnote(Integer.parseInt(id));
+        if (note == null) {
+            return null;
+        }
+        XWPFFootnotes footnotes = target.createFootnotes();
+        CTFtnEdn copy = (CTFtnEdn) note.getCTFtnEdn().copy();
+        mapped = Long.toString(++nextFootnoteId);
+        copy.setId(new BigInteger(mapped));
+        // 先登记新ID，脚注内容再次引用自身时不会重复复制
+        context.footnoteIds.put(id, mapped);
+        remapReferences(copy, context, context.relations(note.getPart(), footnotes));
+        footnotes.addFootnote(copy);
+        return mapped;
+    }
+
+    private String remapEndnote(String id, SourceContext context) throws Exception {
+        String mapped = context.endnoteIds.get(id);
+        if (mapped != null) {
+            return mapped;
+        }
+        XWPFEndnote note = context.endnote(Integer.parseInt(id));
+        if (note == null) {
+            return null;
+        }
+        XWPFEndnotes endnotes = target.createEndnotes();
+        CTFtnEdn copy = (CTFtnEdn) note.getCTFtnEdn().copy();
+        mapped = Long.toString(++nextEndnoteId);
+        copy.setId(new BigInteger(mapped));
+        context.endnoteIds.put(id, mapped);
+        remapReferences(copy, context, context.relations(note.getPart(), endnotes));
+        endnotes.addEndnote(copy);
+        return mapped;
+    }
+
+    /**
+     * 批注范围起止与批注引用使用同一个ID，第一次遇到时复制批注内容
+     */
+    private String remapComment(String id, SourceContext context) throws Exception {
+        String mapped = context.commentIds.get(id);
+        if (mapped != null) {
+            return mapped;
+        }
+        XWPFComment source = context.comment(id);
+        if (source == null) {
+            return null;
+        }
+        XWPFComments comments = target.createComments();
+        mapped = Long.toString(++nextCommentId);
+        context.commentIds.put(id, mapped);
+
+        CTComment copy = (CTComment) source.getCtComment().copy();
+        remapReferences(copy, context, context.relations(source.getComments(), comments));
+        XWPFComment comment = comments.createComment(new BigInteger(mapped));
+        if (source.getAuthor() != null) {
+            comment.setAuthor(source.getAuthor());
+        }
+        if (source.getInitials() != null) {
+            comment.setInitials(source.getInitials());
+        }
+        if (source.getDate() != null) {
+            comment.setDate(source.getDate());
+        }
+        try (XmlCursor cursor = copy.newCursor()) {
+            if (cursor.toFirstChild()) {
+                do {
+                    XmlObject element = cursor.getObject();
+                    if (element instanceof CTP) {
+                        fillParagraph(comment.createParagraph(), element);
+                    } else if (element instanceof CTTbl) {
+                        CTTbl table = comment.getCtComment().addNewTbl();
+                        table.set(element);
+                        comment.insertTable(comment.getBodyElements().size(), new XWPFTable(table, comment));
+                    }
+                } while (cursor.toNextSibling());
+            }
+        }
+        return mapped;
+    }
+
+    private void indexTargetNotes() {
+        for (XWPFFootnote footnote : target.getFootnotes()) {
+            nextFootnoteId = Math.max(nextFootnoteId, footnote.getCTFtnEdn().getId().longValue());
+        }
+        for (XWPFEndnote endnote : target.getEndnotes()) {
+            nextEndnoteId = Math.max(nextEndnoteId, endnote.getCTFtnEdn().getId().longValue());
+        }
+        XWPFComment[] comments = target.getComments();
+        if (comments != null) {
+            for (XWPFComment comment : comments) {
+                nextCommentId = Math.max(nextCommentId, Long.parseLong(comment.getId()));
+            }
+        }
+    }
+
+    // ========== 样式 ==========
+
+    private String remapStyle(String styleId, SourceContext context) throws Exception {
+        String mapped = context.styleIds.get(styleId);
+        if (mapped != null) {
+            return mapped;
+        }
+
+        CTStyle style = context.style(styleId);
+        // 先登记原ID，防止 basedOn/link 循环引用导致无限递归
+        context.styleIds.put(styleId, styleId);
+        if (style == null) {
+            return styleId;
+        }
+
+        CTStyle copy = (CTStyle) style.copy();
+        remapReferences(copy, context);
+
+        XWPFStyles styles = targetStyles();
+        String baseName = copy.isSetName() ? copy.getName().getVal() : null;
+        String candidate = styleId;
+        int suffix = 0;
+        while (true) {
+            copy.setStyleId(candidate);
+            if (baseName != null) {
+                copy.getName().setVal(suffix == 0 ? baseName : baseName + " " + suffix);
+            }
+            XWPFStyle existing = styles.getStyle(candidate);
+            if (existing == null) {
+                styles.addStyle(new XWPFStyle(copy, styles));
+                break;
+            }
+            if (!renameConflictingStyles || sameDefinition(existing.getCTStyle(), copy)) {
+                break;
+            }
+            candidate = styleId + "_" + (++suffix);
+        }
+
+        context.styleIds.put(styleId, candidate);
+        return candidate;
+    }
+
+    private XWPFStyles targetStyles() {
+        if (targetStyles == null) {
+            targetStyles = target.createStyles();
+        }
+        return targetStyles;
+    }
+
+    // ========== 编号 ==========
+
+    private String remapNumbering(String numId, SourceContext context) throws Exception {
+        if ("0".equals(numId)) {
+            return numId;
+        }
+        String mapped = context.numIds.get(numId);
+        if (mapped != null) {
+            return mapped;
+        }
+
+        CTNum num = context.num(new BigInteger(numId));
+        if (num == null || num.getAbstractNumId() == null) {
+            return null;
+        }
+        CTAbstractNum abstractNum = context.abstractNum(num.getAbstractNumId().getVal());
+        if (abstractNum == null) {
+            return null;
+        }
+
+        BigInteger targetAbstractId = remapAbstractNum(abstractNum, context);
+        XWPFNumbering numbering = targetNumbering();
+
+        CTNum numCopy = (CTNum) num.copy();
+        BigInteger newNumId = BigInteger.valueOf(++nextNumId);
+        numCopy.setNumId(newNumId);
+        numCopy.getAbstractNumId().setVal(targetAbstractId);
+        numbering.addNum(new XWPFNum(numCopy, numbering));
+
+        mapped = newNumId.toString();
+        context.numIds.put(numId, mapped);
+        return mapped;
+    }
+
+    /**
+     * 映射抽象编号定义，内容相同的定义（忽略ID与nsid）复用目标文档已有的定义
+     */
+    private BigInteger remapAbstractNum(CTAbstractNum sourceAbstract, SourceContext context) throws Exception {
+        BigInteger sourceId = sourceAbstract.getAbstractNumId();
+        BigInteger mapped = context.abstractNumIds.get(sourceId);
+        if (mapped != null) {
+            return mapped;
+        }
+
+        CTAbstractNum copy = (CTAbstractNum) sourceAbstract.copy();
+        remapReferences(copy, context);
+
+        String key = definitionKey(copy);
+        mapped = abstractNumIndex.get(key);
+        if (mapped == null) {
+            XWPFNumbering numbering = targetNumbering();
+            mapped = BigInteger.valueOf(++nextAbstractNumId);
+            copy.setAbstractNumId(mapped);
+            numbering.addAbstractNum(new XWPFAbstractNum(copy, numbering));
+            abstractNumIndex.put(key, mapped);
+        }
+
+        context.abstractNumIds.put(sourceId, mapped);
+        return mapped;
+    }
+
+    private XWPFNumbering targetNumbering() {
+        if (targetNumbering == null) {
+            targetNumbering = target.createNumbering();
+        }
+        return targetNumbering;
+    }
+
+    private void indexTargetNumbering() {
+        nextNumId = 0;
+        nextAbstractNumId = -1;
+        if (targetNumbering == null) {
+            return;
+        }
+        for (XWPFNum num : targetNumbering.getNums()) {
+            nextNumId = Math.max(nextNumId, num.getCTNum().getNumId().longValue());
+        }
+        for (XWPFAbstractNum abstractNum : targetNumbering.getAbstractNums()) {
+            CTAbstractNum ctAbstractNum = abstractNum.getCTAbstractNum();
+            nextAbstractNumId = Math.max(nextAbstractNumId, ctAbstractNum.getAbstractNumId().longValue());
+            abstractNumIndex.putIfAbsent(definitionKey(ctAbstractNum), ctAbstractNum.getAbstractNumId());
+        }
+    }
+
+    private static String definitionKey(CTAbstractNum abstractNum) {
+        CTAbstractNum normalized = (CTAbstractNum) abstractNum.copy();
+        normalized.setAbstractNumId(BigInteger.ZERO);
+        if (normalized.isSetNsid()) {
+            normalized.unsetNsid();
+        }
+        if (normalized.isSetTmpl()) {
+            normalized.unsetTmpl();
+        }
+        return normalized.xmlText(COMPARE_OPTIONS);
+    }
+
+    private static boolean sameDefinition(CTStyle existing, CTStyle candidate) {
+        return existing.xmlText(COMPARE_OPTIONS).equals(candidate.xmlText(COMPARE_OPTIONS));
+    }
+
+    /**
+     * 单个源文档或片段的ID映射表，随追加过程一起释放
+     */
+    private abstract class SourceContext {
+        private final Map<POIXMLDocumentPart, Relations> partRelations = new IdentityHashMap<>();
+        private final Map<String, String> styleIds = new HashMap<>();
+        private final Map<String, String> numIds = new HashMap<>();
+        private final Map<BigInteger, BigInteger> abstractNumIds = new HashMap<>();
+        private final Map<String, String> footnoteIds = new HashMap<>();
+        private final Map<String, String> endnoteIds = new HashMap<>();
+        private final Map<String, String> commentIds = new HashMap<>();
+
+        abstract CTBody body() throws XmlException;
+
+        abstract CTStyle style(String styleId) throws XmlException;
+
+        abstract CTNum num(BigInteger numId) throws XmlException;
+
+        abstract CTAbstractNum abstractNum(BigInteger abstractNumId) throws XmlException;
+
+        /**
+         * 正文中关系ID的映射
+         */
+        abstract Relations documentRelations();
+
+        XWPFFootnote footnote(int id) {
+            return null;
+        }
+
+        XWPFEndnote endnote(int id) {
+            return null;
+        }
+
+        XWPFComment comment(String id) {
+            return null;
+        }
+
+        Relations relations(POIXMLDocumentPart sourcePart, POIXMLDocumentPart targetPart) {
+            return partRelations.computeIfAbsent(sourcePart, part -> new PartRelations(part, targetPart));
+        }
+    }
+
+    /**
+     * 已加载的源文档
+     */
+    private class DocumentContext extends SourceContext {
+        private final XWPFDocument source;
+        private final Relations documentRelations;
+
+        private DocumentContext(XWPFDocument source) {
+            this.source = source;
+            this.documentRelations = relations(source, target);
+        }
+
+        @Override
+        CTBody body() {
+            return source.getDocument().getBody();
+        }
+
+        @Override
+        CTStyle style(String styleId) {
+            XWPFStyles styles = source.getStyles();
+            XWPFStyle style = styles != null ? styles.getStyle(styleId) : null;
+            return style != null ? style.getCTStyle() : null;
+        }
+
+        @Override
+        CTNum num(BigInteger numId) {
+            XWPFNumbering numbering = source.getNumbering();
+            XWPFNum num = numbering != null ? numbering.getNum(numId) : null;
+            return num != null ? num.getCTNum() : null;
+        }
+
+        @Override
+        CTAbstractNum abstractNum(BigInteger abstractNumId) {
+            XWPFNumbering numbering = source.getNumbering();
+            XWPFAbstractNum abstractNum = numbering != null ? numbering.getAbstractNum(abstractNumId) : null;
+            return abstractNum != null ? abstractNum.getCTAbstractNum() : null;
+        }
+
+        @Override
+        Relations documentRelations() {
+            return documentRelations;
+        }
+
+        @Override
+        XWPFFootnote footnote(int id) {
+            return source.getFootnoteByID(id);
+        }
+
+        @Override
+        XWPFEndnote endnote(int id) {
+            return source.getEndnoteByID(id);
+        }
+
+        @Override
+        XWPFComment comment(String id) {
+            return source.getCommentByID(id);
+        }
+    }
+
+    /**
+     * 文档片段：每次追加重新解析需要的XML，片段本身保持不变
+     */
+    private class FragmentContext extends SourceContext {
+        private final DocumentFragment fragment;
+        private final Relations documentRelations = new FragmentRelations();
+
+        private FragmentContext(DocumentFragment fragment) {
+            this.fragment = fragment;
+        }
+
+        @Override
+        CTBody body() throws XmlException {
+            return fragment.body();
+        }
+
+        @Override
+        CTStyle style(String styleId) throws XmlException {
+            return fragment.style(styleId);
+        }
+
+        @Override
+        CTNum num(BigInteger numId) throws XmlException {
+            return fragment.num(numId);
+        }
+
+        @Override
+        CTAbstractNum abstractNum(BigInteger abstractNumId) throws XmlException {
+            return fragment.abstractNum(abstractNumId);
+        }
+
+        @Override
+        Relations documentRelations() {
+            return documentRelations;
+        }
+
+        /**
+         * 片段只保存图片和外部链接两类关系
+         */
+        private class FragmentRelations extends Relations {
+            @Override
+            String resolve(String relationId) throws Exception {
+                DocumentFragment.Picture picture = fragment.picture(relationId);
+                if (picture != null) {
+                    return target.addPictureData(picture.getData(), picture.getType());
+                }
+                DocumentFragment.Link link = fragment.link(relationId);
+                if (link != null) {
+                    return target.getPackagePart().addExternalRelationship(link.getTarget(), link.getType()).getId();
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 关系ID映射，同一个源关系只复制一次
+     */
+    private abstract static class Relations {
+        private final Map<String, String> ids = new HashMap<>();
+
+        String remap(String relationId) throws Exception {
+            String mapped = ids.get(relationId);
+            if (mapped == null) {
+                mapped = resolve(relationId);
+                if (mapped != null) {
+                    ids.put(relationId, mapped);
+                }
+            }
+            return mapped;
+        }
+
+        /**
+         * 在目标文档中建立对应的关系，源关系不存在时返回 null
+         */
+        abstract String resolve(String relationId) throws Exception;
+    }
+
+    /**
+     * 一个源部件到目标部件的关系映射
+     */
+    private class PartRelations extends Relations {
+        private final POIXMLDocumentPart source;
+        private final POIXMLDocumentPart owner;
+
+        private PartRelations(POIXMLDocumentPart source, POIXMLDocumentPart owner) {
+            this.source = source;
+            this.owner = owner;
+        }
+
+        @Override
+        String resolve(String relationId) throws Exception {
+            PackageRelationship relationship = source.getPackagePart().getRelationship(relationId);
+            if (relationship == null) {
+                return null;
+            }
+            if (relationship.getTargetMode() == TargetMode.EXTERNAL) {
+                return owner.getPackagePart()
+                        .addExternalRelationship(relationship.getTargetURI().toString(),
+                                relationship.getRelationshipType())
+                        .getId();
+            }
+            POIXMLDocumentPart related = source.getRelationById(relationId);
+            PictureType pictureType = owner == target && related instanceof XWPFPictureData
+                    ? ((XWPFPictureData) related).getPictureTypeEnum() : null;
+            if (pictureType != null) {
+                // addPictureData 按校验和去重，相同图片只保存一份
+                return target.addPictureData(((XWPFPictureData) related).getData(), pictureType);
+            }
+            return copyPart(relationship, source, owner);
+        }
+    }
+}
@@ -135,6 +135,9 @@ public class LoadOptions {
         this.preserveIncludePictureField = preserveIncludePictureField;
     }
 
+    /**
+     * 获取或设置外部资源加载回调，实现 {@link ResourceLoadingCallback} 时生效
+     */
     public Object getResourceLoadingCallback() {
         return resourceLoadingCallback;
     }
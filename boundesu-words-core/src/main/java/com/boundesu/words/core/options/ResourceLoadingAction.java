@@ -0,0 +1,22 @@
+package com.boundesu.words.core.options;
+
+/**
+ * 资源加载方式
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public enum ResourceLoadingAction {
+    /**
+     * 按 {@link ResourceLoadingArgs#getUri()} 正常加载
+     */
+    DEFAULT,
+    /**
+     * 跳过该资源
+     */
+    SKIP,
+    /**
+     * 使用回调通过 {@link ResourceLoadingArgs#setData(byte[])} 提供的数据
+     */
+    USER_PROVIDED
+}
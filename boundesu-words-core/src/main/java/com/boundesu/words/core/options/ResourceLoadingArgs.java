@@ -0,0 +1,61 @@
+package com.boundesu.words.core.options;
+
+/**
+ * 资源加载回调参数
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ResourceLoadingArgs {
+
+    private final String originalUri;
+    private final ResourceType resourceType;
+    private String uri;
+    private byte[] data;
+
+    public ResourceLoadingArgs(String originalUri, String uri, ResourceType resourceType) {
+        this.originalUri = originalUri;
+        this.uri = uri;
+        this.resourceType = resourceType;
+    }
+
+    /**
+     * 获取文档中书写的原始地址
+     */
+    public String getOriginalUri() {
+        return originalUri;
+    }
+
+    /**
+     * 获取或设置解析后的绝对地址，修改后按新地址加载
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * 获取或设置回调提供的资源数据，配合 {@link ResourceLoadingAction#USER_PROVIDED} 使用
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * 资源类型
+     */
+    public enum ResourceType {
+        IMAGE, CSS_STYLE_SHEET, FONT, DOCUMENT
+    }
+}
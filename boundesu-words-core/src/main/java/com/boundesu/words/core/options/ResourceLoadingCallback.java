@@ -0,0 +1,22 @@
+package com.boundesu.words.core.options;
+
+/**
+ * 外部资源加载回调
+ * 通过 {@link LoadOptions#setResourceLoadingCallback(Object)} 设置，加载HTML引用的图片等资源前调用，
+ * 可以改写资源地址、直接提供资源数据或跳过资源。
+ *
+ * <p>回调在发起加载的线程上按文档顺序调用，实际下载在后台线程中并发进行。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public interface ResourceLoadingCallback {
+
+    /**
+     * 资源加载前调用
+     *
+     * @param args 资源信息，可以修改地址或设置数据
+     * @return 加载方式
+     */
+    ResourceLoadingAction resourceLoading(ResourceLoadingArgs args);
+}
@@ -0,0 +1,86 @@
+package com.boundesu.words.core.resource;
+
+import com.boundesu.words.common.cache.WeightedLruCache;
+import com.boundesu.words.common.constants.ConfigConstants;
+
+import java.util.Map;
+
+/**
+ * 外部资源缓存
+ * 进程内共享，以资源的绝对地址（本地文件附带修改时间和大小）为键缓存下载的字节，
+ * 多次转换引用同一图片时只加载一次。
+ *
+ * <p>容量按字节计量，超过上限时按最近访问顺序淘汰；单个资源超过容量的1/4时不缓存。
+ * 默认缓存可以通过 {@link #setDefault(ResourceCache)} 替换为其他容量的实例。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ResourceCache {
+
+    private static volatile ResourceCache defaultCache = new ResourceCache(ConfigConstants.MAX_MEMORY_CACHE_SIZE);
+
+    private final WeightedLruCache<String, byte[]> entries;
+
+    /**
+     * 构造函数
+     *
+     * @param maxWeight 最大缓存字节数
+     */
+    public ResourceCache(long maxWeight) {
+        this.entries = new WeightedLruCache<>(maxWeight, data -> data.length);
+    }
+
+    /**
+     * 获取进程内共享的默认缓存
+     */
+    public static ResourceCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * 替换进程内共享的默认缓存，之后创建的加载器使用新的缓存
+     *
+     * @param cache 新的默认缓存
+     */
+    public static void setDefault(ResourceCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("默认缓存不能为空");
+        }
+        defaultCache = cache;
+    }
+
+    /**
+     * 获取缓存的资源
+     *
+     * @param key 资源键
+     * @return 资源字节，未缓存时返回 null
+     */
+    public byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 缓存资源
+     *
+     * @param key  资源键
+     * @param data 资源字节，调用方之后不应修改
+     */
+    public void put(String key, byte[] data) {
+        entries.put(key, data);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        return entries.getStatistics();
+    }
+}
@@ -0,0 +1,443 @@
+package com.boundesu.words.core.resource;
+
+import com.boundesu.words.common.constants.ConfigConstants;
+import com.boundesu.words.core.options.ResourceLoadingAction;
+import com.boundesu.words.core.options.ResourceLoadingArgs;
+import com.boundesu.words.core.options.ResourceLoadingCallback;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 外部资源加载器
+ * 转换开始前扫描已解析的HTML，把引用的图片和外部样式表一次性提交到共享线程池并发加载，
+ * 正文转换继续进行，只在用到某个资源时等待对应的结果。
+ *
+ * <p>相对地址依次按图片目录、基础地址解析；支持本地路径、file:、http(s): 和 data: 地址。
+ * 默认只读取 data: 地址，以及落在图片目录、本地基础目录或与基础地址同源的资源；文档中书写的其他绝对地址和
+ * 绝对路径只有在允许加载外部资源时才读取，没有配置基础地址时相对地址也不按工作目录解析。
+ * 每次加载前调用 {@link ResourceLoadingCallback}，回调改写的地址视为调用方显式允许；加载结果放入进程内共享的 {@link ResourceCache}，
+ * 并发转换中正在加载的同一资源只下载一次。</p>
+ *
+ * <p>实例只在一次转换中使用，不是线程安全的。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class ResourceLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceLoader.class);
+
+    /** 下载线程数上限，所有转换共享 */
+    private static final int MAX_CONCURRENCY = ConfigConstants.DEFAULT_THREAD_POOL_SIZE;
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    /** 正在加载的资源，并发转换共享同一次下载 */
+    private static final Map<String, CompletableFuture<byte[]>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private final String baseUri;
+    private final String imageFolder;
+    private final int timeout;
+    private final ResourceLoadingCallback callback;
+    private final boolean allowExternal;
+    private final ResourceCache cache;
+    private final Map<String, Future<byte[]>> requests = new HashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param baseUri     解析相对地址的基础地址（目录应以 / 结尾），可以为 null
+     * @param imageFolder 优先查找相对图片的本地目录，可以为 null
+     * @param timeout     连接和读取超时（毫秒），不大于0时使用默认值
+     * @param callback    资源加载回调，不是 {@link ResourceLoadingCallback} 时忽略
+     */
+    public ResourceLoader(String baseUri, String imageFolder, int timeout, Object callback) {
+        this(baseUri, imageFolder, timeout, callback, ResourceCache.getDefault());
+    }
+
+    public ResourceLoader(String baseUri, String imageFolder, int timeout, Object callback, ResourceCache cache) {
+        this(baseUri, imageFolder, timeout, callback, false, cache);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param allowExternal 是否读取图片目录和基础地址范围之外的资源
+     */
+    public ResourceLoader(String baseUri, String imageFolder, int timeout, Object callback, boolean allowExternal,
+                          ResourceCache cache) {
+        this.baseUri = baseUri;
+        this.imageFolder = imageFolder;
+        this.timeout = timeout > 0 ? timeout : ConfigConstants.DEFAULT_READ_TIMEOUT;
+        this.callback = callback instanceof ResourceLoadingCallback ? (ResourceLoadingCallback) callback : null;
+        this.allowExternal = allowExternal;
+        this.cache = cache;
+    }
+
+    /**
+     * 预取文档中所有图片，立即返回
+     *
+     * @param html 已解析的HTML文档
+     * @return 提交加载的资源数
+     */
+    public int prefetchImages(org.jsoup.nodes.Document html) {
+        int count = 0;
+        for (Element image : html.select("img[src]")) {
+            String src = image.attr("src").trim();
+            if (!src.isEmpty() && !requests.containsKey(src)) {
+                prefetch(src, ResourceLoadingArgs.ResourceType.IMAGE);
+                count++;
+            }
+        }
+        log.debug("预取 {} 个图片资源", count);
+        return count;
+    }
+
+    /**
+     * 预取文档中 &lt;link rel="stylesheet"&gt; 引用的外部样式表，立即返回
+     *
+     * @param html 已解析的HTML文档
+     * @return 提交加载的资源数
+     */
+    public int prefetchStyleSheets(org.jsoup.nodes.Document html) {
+        int count = 0;
+        for (Element link : styleSheetLinks(html)) {
+            String href = link.attr("href").trim();
+            if (!requests.containsKey(href)) {
+                prefetch(href, ResourceLoadingArgs.ResourceType.CSS_STYLE_SHEET);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 获取文档中引用外部样式表的 link 元素
+     */
+    public static List<Element> styleSheetLinks(org.jsoup.nodes.Document html) {
+        List<Element> links = new ArrayList<>();
+        for (Element link : html.select("link[href]")) {
+            if (isStyleSheetLink(link)) {
+                links.add(link);
+            }
+        }
+        return links;
+    }
+
+    /**
+     * 判断元素是否为引用外部样式表的 link 元素
+     */
+    public static boolean isStyleSheetLink(Element element) {
+        if (!"link".equals(element.normalName()) || element.attr("href").trim().isEmpty()) {
+            return false;
+        }
+        for (String rel : element.attr("rel").trim().split("\\s+")) {
+            if ("stylesheet".equalsIgnoreCase(rel)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 提交单个资源的加载，重复提交同一地址返回同一结果
+     *
+     * @param src  文档中书写的地址
+     * @param type 资源类型
+     * @return 资源字节的结果，无法加载时结果为 null
+     */
+    public Future<byte[]> prefetch(String src, ResourceLoadingArgs.ResourceType type) {
+        Future<byte[]> request = requests.get(src);
+        if (request == null) {
+            request = submit(src, type);
+            requests.put(src, request);
+        }
+        return request;
+    }
+
+    /**
+     * 获取资源，必要时等待加载完成
+     *
+     * @param src 文档中书写的地址
+     * @return 资源字节，跳过、失败或超时时返回 null
+     */
+    public byte[] get(String src) {
+        return get(src, ResourceLoadingArgs.ResourceType.IMAGE);
+    }
+
+    public byte[] get(String src, ResourceLoadingArgs.ResourceType type) {
+        if (src == null || src.trim().isEmpty()) {
+            return null;
+        }
+        Future<byte[]> request = prefetch(src.trim(), type);
+        try {
+            return request.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("加载资源失败: {}, {}", src, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            log.warn("加载资源超时: {}", src);
+            return null;
+        }
+    }
+
+    private Future<byte[]> submit(String src, ResourceLoadingArgs.ResourceType type) {
+        if (src.regionMatches(true, 0, "data:", 0, 5)) {
+            return CompletableFuture.completedFuture(decodeDataUri(src));
+        }
+        String uri = resolve(src);
+        boolean permitted = uri != null && isPermitted(uri);
+        if (callback != null) {
+            ResourceLoadingArgs args = new ResourceLoadingArgs(src, uri, type);
+            ResourceLoadingAction action = callback.resourceLoading(args);
+            if (action == ResourceLoadingAction.SKIP) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (action == ResourceLoadingAction.USER_PROVIDED) {
+                return CompletableFuture.completedFuture(args.getData());
+            }
+            if (!Objects.equals(uri, args.getUri())) {
+                uri = args.getUri();
+                permitted = true;
+            }
+        }
+        if (uri == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!permitted) {
+            log.debug("未允许加载外部资源，跳过: {}", src);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String key = cacheKey(uri);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = IN_FLIGHT.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        String target = uri;
+        EXECUTOR.execute(() -> {
+            try {
+                byte[] data = fetch(target);
+                cache.put(key, data);
+                future.complete(data);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                IN_FLIGHT.remove(key, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 把文档中的地址解析为绝对地址
+     */
+    String resolve(String src) {
+        try {
+            URI uri = new URI(src.replace(" ", "%20"));
+            if (uri.isAbsolute() && uri.getScheme().length() > 1) {
+                return uri.toString();
+            }
+            if (imageFolder != null && !imageFolder.trim().isEmpty()) {
+                Path candidate = Paths.get(imageFolder).resolve(stripLeadingSlashes(uri.getPath()));
+                if (Files.isRegularFile(candidate)) {
+                    return candidate.toAbsolutePath().toUri().toString();
+                }
+            }
+            if (baseUri != null && !baseUri.trim().isEmpty()) {
+                return new URI(baseUri.replace(" ", "%20")).resolve(uri).toString();
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            log.debug("资源地址不是合法URI，按本地路径处理: {}", src);
+        }
+        try {
+            Path path = Paths.get(src);
+            // 没有基础地址时相对路径不按工作目录解析
+            return path.isAbsolute() || allowExternal ? path.toAbsolutePath().toUri().toString() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 判断解析后的地址是否可以读取：允许外部资源时不限制，否则只读取图片目录或本地基础目录之下的文件，
+     * 以及与 http(s) 基础地址同源的资源
+     */
+    boolean isPermitted(String uri) {
+        if (allowExternal) {
+            return true;
+        }
+        URI target;
+        try {
+            target = new URI(uri).normalize();
+        } catch (URISyntaxException e) {
+            return false;
+        }
+        if (imageFolder != null && !imageFolder.trim().isEmpty()) {
+            try {
+                if (isUnder(target, Paths.get(imageFolder).toAbsolutePath().normalize())) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                log.debug("图片目录不是合法路径: {}", imageFolder);
+            }
+        }
+        if (baseUri != null && !baseUri.trim().isEmpty()) {
+            try {
+                URI base = new URI(baseUri.replace(" ", "%20")).normalize();
+                if ("file".equalsIgnoreCase(base.getScheme())) {
+                    return isUnder(target, Paths.get(base.resolve(".")).normalize());
+                }
+                return base.getScheme() != null && base.getScheme().equalsIgnoreCase(target.getScheme())
+                        && base.getHost() != null && base.getHost().equalsIgnoreCase(target.getHost())
+                        && base.getPort() == target.getPort();
+            } catch (URISyntaxException | RuntimeException e) {
+                log.debug("基础地址不是合法URI: {}", baseUri);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnder(URI target, Path directory) {
+        if (!"file".equalsIgnoreCase(target.getScheme())) {
+            return false;
+        }
+        return Paths.get(target).normalize().startsWith(directory);
+    }
+
+    /**
+     * 本地文件的缓存键附带修改时间和大小，文件变化后不会命中旧内容
+     */
+    private static String cacheKey(String uri) {
+        if (uri.startsWith("file:")) {
+            try {
+                Path path = Paths.get(URI.create(uri));
+                return uri + '#' + Files.getLastModifiedTime(path).toMillis() + ':' + Files.size(path);
+            } catch (IOException | RuntimeException e) {
+                return uri;
+            }
+        }
+        return uri;
+    }
+
+    private byte[] fetch(String uri) throws IOException {
+        String scheme = uri.substring(0, Math.max(uri.indexOf(':'), 0)).toLowerCase(Locale.ROOT);
+        if ("file".equals(scheme)) {
+            Path path = Paths.get(URI.create(uri));
+            if (!Files.isRegularFile(path)) {
+                log.debug("资源文件不存在: {}", path);
+                return null;
+            }
+            if (Files.size(path) > ConfigConstants.MAX_FILE_SIZE) {
+                throw new IOException("资源文件过大: " + path);
+            }
+            return Files.readAllBytes(path);
+        }
+        if (!"http".equals(scheme) && !"https".equals(scheme)) {
+            log.debug("不支持的资源地址: {}", uri);
+            return null;
+        }
+        URLConnection connection = URI.create(uri).toURL().openConnection();
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        try {
+            if (connection instanceof HttpURLConnection) {
+                int status = ((HttpURLConnection) connection).getResponseCode();
+                if (status < 200 || status >= 300) {
+                    throw new IOException("HTTP " + status);
+                }
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return readLimited(in, connection.getContentLength());
+            }
+        } finally {
+            if (connection instanceof HttpURLConnection) {
+                ((HttpURLConnection) connection).disconnect();
+            }
+        }
+    }
+
+    private static byte[] readLimited(InputStream in, int expectedLength) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(expectedLength > 0
+                ? expectedLength : ConfigConstants.DEFAULT_BUFFER_SIZE);
+        byte[] buffer = new byte[ConfigConstants.DEFAULT_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > ConfigConstants.MAX_FILE_SIZE) {
+                throw new IOException("资源过大");
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decodeDataUri(String src) {
+        int comma = src.indexOf(',');
+        if (comma < 0 || !src.substring(0, comma).toLowerCase(Locale.ROOT).endsWith(";base64")) {
+            return null;
+        }
+        try {
+            return Base64.getMimeDecoder().decode(src.substring(comma + 1));
+        } catch (IllegalArgumentException e) {
+            log.debug("data URI 解码失败");
+            return null;
+        }
+    }
+
+    private static String stripLeadingSlashes(String path) {
+        int start = 0;
+        while (start < path.length() && (path.charAt(start) == '/' || path.charAt(start) == '\\')) {
+            start++;
+        }
+        return path.substring(start);
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENCY, MAX_CONCURRENCY,
+                ConfigConstants.THREAD_POOL_KEEP_ALIVE_TIME, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "boundesu-resource-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
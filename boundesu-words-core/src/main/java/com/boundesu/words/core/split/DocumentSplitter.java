@@ -0,0 +1,833 @@
+package com.boundesu.words.core.split;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 文档拆分器
+ * 只对 document.xml 做一次流式（StAX）扫描，按标题级别、显式分页符或段落数/字节数预算切分正文，
+ * 每个片段输出为独立的DOCX包，且只携带片段实际引用的样式、编号和媒体等关系部件。
+ * 扫描过程中只缓存当前正文元素，片段正文写入临时文件，内存占用与源文档大小无关。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class DocumentSplitter {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentSplitter.class);
+
+    private static final String W_NS = StyleNumberingCatalog.W_NS;
+    private static final String R_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String OFFICE_DOCUMENT_TYPE = "/officeDocument";
+    private static final String STYLES_TYPE = "/styles";
+    private static final String NUMBERING_TYPE = "/numbering";
+    private static final String CONTENT_TYPES = "[Content_Types].xml";
+    private static final String PACKAGE_RELS = "_rels/.rels";
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    private final SplitOptions options;
+
+    /**
+     * 构造函数，使用默认选项（按标题1拆分）
+     */
+    public DocumentSplitter() {
+        this(new SplitOptions());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param options 拆分选项
+     */
+    public DocumentSplitter(SplitOptions options) {
+        this.options = options != null ? options : new SplitOptions();
+    }
+
+    /**
+     * 拆分DOCX文件
+     *
+     * @param sourcePath 源文件
+     * @param outputDir  输出目录
+     * @return 按顺序生成的片段文件
+     */
+    public List<Path> split(Path sourcePath, Path outputDir) throws BoundesuWordsException {
+        if (sourcePath == null || !Files.exists(sourcePath)) {
+            throw new BoundesuWordsException("FILE_NOT_FOUND", "源文件不存在: " + sourcePath);
+        }
+        if (outputDir == null) {
+            throw new BoundesuWordsException("INVALID_INPUT", "输出目录不能为空");
+        }
+
+        List<Piece> pieces = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(sourcePath.toFile())) {
+            Files.createDirectories(outputDir);
+            SourcePackage source = new SourcePackage(zip);
+
+            try {
+                BodyLayout layout = streamBody(source, pieces);
+                // 被正文引用的关系只随引用它的片段输出，其余文档级关系（设置、主题等）每个片段都保留
+                source.bodyReferencedIds.addAll(layout.commonReferences.relationIds);
+                for (Piece piece : pieces) {
+                    source.bodyReferencedIds.addAll(piece.references.relationIds);
+                }
+
+                String prefix = options.getFileNamePrefix() != null
+                        ? options.getFileNamePrefix() : stripExtension(sourcePath.getFileName().toString());
+                List<Path> outputs = new ArrayList<>(pieces.size());
+                for (int i = 0; i < pieces.size(); i++) {
+                    Path output = outputDir.resolve(String.format("%s_%03d.docx", prefix, i + 1));
+                    writePiece(source, layout, pieces.get(i), output);
+                    outputs.add(output);
+                }
+
+                log.info("文档拆分完成: {} -> {} 个片段", sourcePath, outputs.size());
+                return outputs;
+            } finally {
+                for (Piece piece : pieces) {
+                    Files.deleteIfExists(piece.bodyFile);
+                }
+            }
+        } catch (BoundesuWordsException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("拆分文档失败: {}", e.getMessage(), e);
+            throw new BoundesuWordsException("DOCUMENT_SPLIT_ERROR", "拆分文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    // ========== 正文流式扫描 ==========
+
+    private BodyLayout streamBody(SourcePackage source, List<Piece> pieces) throws Exception {
+        BodyLayout layout = new BodyLayout();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+
+        try (InputStream in = source.open(source.documentPart)) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                // 根元素
+                while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    // 跳过序言
+                }
+                layout.rootStartTag = startTag(reader);
+                layout.rootName = qualifiedName(reader.getPrefix(), reader.getLocalName());
+
+                // 正文之前的元素（如 w:background），每个片段都保留
+                ByteArrayOutputStream preBody = new ByteArrayOutputStream();
+                while (true) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (W_NS.equals(reader.getNamespaceURI()) && "body".equals(reader.getLocalName())) {
+                            layout.bodyName = qualifiedName(reader.getPrefix(), reader.getLocalName());
+                            break;
+                        }
+                        copyElement(reader, preBody, layout.commonReferences);
+                    } else if (event == XMLStreamConstants.END_DOCUMENT) {
+                        throw new BoundesuWordsException("INVALID_INPUT", "document.xml 中缺少 w:body 元素");
+                    }
+                }
+                layout.preBody = preBody.toByteArray();
+
+                Piece current = null;
+                boolean breakPending = false;
+                while (true) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.END_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) {
+                        break;
+                    }
+                    if (event != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+
+                    buffer.reset();
+                    BlockInfo block = copyElement(reader, buffer, new References());
+                    if (block.sectionProperties) {
+                        layout.sectionProperties = buffer.toByteArray();
+                        layout.commonReferences.addAll(block.references);
+                        continue;
+                    }
+
+                    int outline = block.outlineLevel >= 0
+                            ? block.outlineLevel
+                            : (block.styleId != null ? source.catalog.outlineLevel(block.styleId) : -1);
+                    if (current == null || shouldCut(current, block, outline, buffer.size(), breakPending)) {
+                        if (current != null) {
+                            current.close();
+                        }
+                        current = new Piece(Files.createTempFile("boundesu-split-", ".xml"));
+                        pieces.add(current);
+                    }
+                    current.append(buffer, block.references);
+                    breakPending = options.isSplitOnPageBreak() && block.pageBreakAfter;
+                }
+                if (current != null) {
+                    current.close();
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        if (pieces.isEmpty()) {
+            Piece empty = new Piece(Files.createTempFile("boundesu-split-", ".xml"));
+            empty.close();
+            pieces.add(empty);
+        }
+        return layout;
+    }
+
+    private boolean shouldCut(Piece current, BlockInfo block, int outline, int size, boolean breakPending) {
+        if (current.blockCount == 0) {
+            return false;
+        }
+        if (breakPending || (options.isSplitOnPageBreak() && block.pageBreakBefore)) {
+            return true;
+        }
+        if (options.getHeadingLevel() > 0 && outline >= 0 && outline < options.getHeadingLevel()) {
+            return true;
+        }
+        if (options.getMaxParagraphs() > 0 && current.blockCount >= options.getMaxParagraphs()) {
+            return true;
+        }
+        return options.getMaxBytes() > 0 && current.byteCount + size > options.getMaxBytes();
+    }
+
+    /**
+     * 将读取器当前所在元素（含子树）原样写出，同时收集引用与分段特征。
+     * 返回时读取器停在该元素的结束标签上。
+     */
+    private BlockInfo copyElement(XMLStreamReader reader, OutputStream out, References references)
+            throws XMLStreamException {
+        BlockInfo block = new BlockInfo(references);
+        block.sectionProperties = W_NS.equals(reader.getNamespaceURI()) && "sectPr".equals(reader.getLocalName());
+
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        List<String> path = new ArrayList<>();
+        int event = reader.getEventType();
+        try {
+            while (true) {
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT: {
+                        path.add(reader.getLocalName());
+                        inspect(reader, path, block);
+                        String prefix = reader.getPrefix() != null ? reader.getPrefix() : "";
+                        String localName = reader.getLocalName();
+                        String namespace = reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "";
+                        String[][] namespaces = namespaces(reader);
+                        String[][] attributes = attributes(reader);
+
+                        event = reader.next();
+                        if (event == XMLStreamConstants.END_ELEMENT) {
+                            writer.writeEmptyElement(prefix, localName, namespace);
+                            writeAttributes(writer, namespaces, attributes);
+                            path.remove(path.size() - 1);
+                            if (path.isEmpty()) {
+                                return block;
+                            }
+                            event = reader.next();
+                        } else {
+                            writer.writeStartElement(prefix, localName, namespace);
+                            writeAttributes(writer, namespaces, attributes);
+                        }
+                        continue;
+                    }
+                    case XMLStreamConstants.END_ELEMENT:
+                        writer.writeEndElement();
+                        path.remove(path.size() - 1);
+                        if (path.isEmpty()) {
+                            return block;
+                        }
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        writer.writeCData(reader.getText());
+                        break;
+                    default:
+                        break;
+                }
+                event = reader.next();
+            }
+        } finally {
+            writer.flush();
+            writer.close();
+        }
+    }
+
+    /**
+     * 收集样式、编号与关系引用，并识别标题级别和分页符
+     */
+    private void inspect(XMLStreamReader reader, List<String> path, BlockInfo block) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (R_NS.equals(reader.getAttributeNamespace(i))) {
+                block.references.relationIds.add(reader.getAttributeValue(i));
+            }
+        }
+        if (!W_NS.equals(reader.getNamespaceURI())) {
+            return;
+        }
+
+        String localName = reader.getLocalName();
+        String value = reader.getAttributeValue(W_NS, "val");
+        boolean paragraphProperties = path.size() == 3 && "p".equals(path.get(0)) && "pPr".equals(path.get(1));
+
+        switch (localName) {
+            case "pStyle":
+                if (paragraphProperties) {
+                    block.styleId = value;
+                }
+                block.references.styleIds.add(value);
+                break;
+            case "rStyle":
+            case "tblStyle":
+                block.references.styleIds.add(value);
+                break;
+            case "numId":
+                block.references.numIds.add(value);
+                break;
+            case "outlineLvl":
+                if (paragraphProperties) {
+                    block.outlineLevel = StyleNumberingCatalog.parseLevel(value);
+                }
+                break;
+            case "pageBreakBefore":
+                if (paragraphProperties && !"0".equals(value) && !"false".equals(value)) {
+                    block.pageBreakBefore = true;
+                }
+                break;
+            case "br":
+                if ("page".equals(reader.getAttributeValue(W_NS, "type"))) {
+                    block.pageBreakAfter = true;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static String[][] namespaces(XMLStreamReader reader) {
+        String[][] namespaces = new String[reader.getNamespaceCount()][];
+        for (int i = 0; i < namespaces.length; i++) {
+            namespaces[i] = new String[]{reader.getNamespacePrefix(i), reader.getNamespaceURI(i)};
+        }
+        return namespaces;
+    }
+
+    private static String[][] attributes(XMLStreamReader reader) {
+        String[][] attributes = new String[reader.getAttributeCount()][];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = new String[]{reader.getAttributePrefix(i), reader.getAttributeNamespace(i),
+                    reader.getAttributeLocalName(i), reader.getAttributeValue(i)};
+        }
+        return attributes;
+    }
+
+    private static void writeAttributes(XMLStreamWriter writer, String[][] namespaces, String[][] attributes)
+            throws XMLStreamException {
+        for (String[] namespace : namespaces) {
+            if (namespace[0] == null || namespace[0].isEmpty()) {
+                writer.writeDefaultNamespace(namespace[1]);
+            } else {
+                writer.writeNamespace(namespace[0], namespace[1]);
+            }
+        }
+        for (String[] attribute : attributes) {
+            if (attribute[0] == null || attribute[0].isEmpty()) {
+                writer.writeAttribute(attribute[2], attribute[3]);
+            } else {
+                writer.writeAttribute(attribute[0], attribute[1], attribute[2], attribute[3]);
+            }
+        }
+    }
+
+    private static byte[] startTag(XMLStreamReader reader) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        writer.writeStartElement(reader.getPrefix() != null ? reader.getPrefix() : "", reader.getLocalName(),
+                reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "");
+        writeAttributes(writer, namespaces(reader), attributes(reader));
+        // 写出空文本以闭合开始标签
+        writer.writeCharacters("");
+        writer.flush();
+        writer.close();
+        return out.toByteArray();
+    }
+
+    // ========== 片段打包 ==========
+
+    private void writePiece(SourcePackage source, BodyLayout layout, Piece piece, Path output) throws Exception {
+        References references = new References();
+        references.addAll(layout.commonReferences);
+        references.addAll(piece.references);
+
+        StyleNumberingCatalog.Closure closure = source.catalog.resolve(references.styleIds, references.numIds);
+        Set<String> parts = source.partsFor(references.relationIds);
+
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            Enumeration<? extends ZipEntry> entries = source.zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (CONTENT_TYPES.equals(name)) {
+                    putEntry(zip, name, source.filteredContentTypes(parts));
+                } else if (name.equals(source.documentPart)) {
+                    zip.putNextEntry(new ZipEntry(name));
+                    writeDocument(zip, layout, piece);
+                    zip.closeEntry();
+                } else if (name.equals(source.documentRelsPart)) {
+                    putEntry(zip, name, source.filteredDocumentRels(references.relationIds));
+                } else if (name.equals(source.stylesPart) && source.catalog.hasStyles()) {
+                    putEntry(zip, name, source.catalog.filteredStyles(closure));
+                } else if (name.equals(source.numberingPart) && source.catalog.hasNumbering()) {
+                    putEntry(zip, name, source.catalog.filteredNumbering(closure));
+                } else if (parts.contains(name) || PACKAGE_RELS.equals(name)
+                        || (name.endsWith(".rels") && parts.contains(ownerOfRels(name)))) {
+                    zip.putNextEntry(new ZipEntry(name));
+                    try (InputStream in = source.open(name)) {
+                        copy(in, zip);
+                    }
+                    zip.closeEntry();
+                }
+            }
+        }
+    }
+
+    private void writeDocument(OutputStream out, BodyLayout layout, Piece piece) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n".getBytes(StandardCharsets.UTF_8));
+        out.write(layout.rootStartTag);
+        out.write(layout.preBody);
+        out.write(("<" + layout.bodyName + ">").getBytes(StandardCharsets.UTF_8));
+        try (InputStream in = Files.newInputStream(piece.bodyFile)) {
+            copy(in, out);
+        }
+        if (layout.sectionProperties != null) {
+            out.write(layout.sectionProperties);
+        }
+        out.write(("</" + layout.bodyName + "></" + layout.rootName + ">").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    static String relsPartOf(String partName) {
+        int slash = partName.lastIndexOf('/');
+        return partName.substring(0, slash + 1) + "_rels/" + partName.substring(slash + 1) + ".rels";
+    }
+
+    static String ownerOfRels(String relsName) {
+        String withoutRels = relsName.replace("_rels/", "");
+        return withoutRels.substring(0, withoutRels.length() - ".rels".length());
+    }
+
+    // ========== 内部结构 ==========
+
+    /**
+     * 源DOCX包：关系表、内容类型与样式编号目录
+     */
+    private static class SourcePackage {
+        private final ZipFile zip;
+        private final Map<String, List<Relationship>> relationships = new HashMap<>();
+        private final String documentPart;
+        private final String documentRelsPart;
+        private final String stylesPart;
+        private final String numberingPart;
+        private final Set<String> packageParts = new LinkedHashSet<>();
+        private final Set<String> bodyReferencedIds = new HashSet<>();
+        private final StyleNumberingCatalog catalog;
+
+        private SourcePackage(ZipFile zip) throws Exception {
+            this.zip = zip;
+
+            String document = null;
+            for (Relationship relationship : relationships("")) {
+                if (relationship.type.endsWith(OFFICE_DOCUMENT_TYPE) && !relationship.external) {
+                    document = relationship.target;
+                } else if (!relationship.external) {
+                    packageParts.add(relationship.target);
+                }
+            }
+            if (document == null || zip.getEntry(document) == null) {
+                throw new BoundesuWordsException("INVALID_INPUT", "不是有效的DOCX文件，缺少主文档部件");
+            }
+            this.documentPart = document;
+            this.documentRelsPart = relsPartOf(document);
+
+            String styles = null;
+            String numbering = null;
+            for (Relationship relationship : relationships(document)) {
+                if (relationship.type.endsWith(STYLES_TYPE)) {
+                    styles = relationship.target;
+                } else if (relationship.type.endsWith(NUMBERING_TYPE)) {
+                    numbering = relationship.target;
+                }
+            }
+            this.stylesPart = styles;
+            this.numberingPart = numbering;
+
+            try (InputStream stylesStream = styles != null ? open(styles) : null;
+                 InputStream numberingStream = numbering != null ? open(numbering) : null) {
+                this.catalog = new StyleNumberingCatalog(stylesStream, numberingStream);
+            }
+        }
+
+        private InputStream open(String name) throws IOException {
+            ZipEntry entry = zip.getEntry(name);
+            if (entry == null) {
+                throw new IOException("缺少部件: " + name);
+            }
+            return zip.getInputStream(entry);
+        }
+
+        /**
+         * 读取部件的关系表（空字符串表示包级关系）
+         */
+        private List<Relationship> relationships(String partName) throws Exception {
+            List<Relationship> cached = relationships.get(partName);
+            if (cached != null) {
+                return cached;
+            }
+
+            String relsName = partName.isEmpty() ? PACKAGE_RELS : relsPartOf(partName);
+            List<Relationship> result = new ArrayList<>();
+            ZipEntry entry = zip.getEntry(relsName);
+            if (entry != null) {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setNamespaceAware(true);
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                Document rels;
+                try (InputStream in = zip.getInputStream(entry)) {
+                    rels = factory.newDocumentBuilder().parse(in);
+                }
+                for (Node node = rels.getDocumentElement().getFirstChild(); node != null; node = node.getNextSibling()) {
+                    if (node instanceof Element && "Relationship".equals(node.getLocalName())) {
+                        Element element = (Element) node;
+                        boolean external = "External".equals(element.getAttribute("TargetMode"));
+                        String target = element.getAttribute("Target");
+                        result.add(new Relationship(element.getAttribute("Id"), element.getAttribute("Type"),
+                                external ? target : resolve(partName, target), target, external));
+                    }
+                }
+            }
+            relationships.put(partName, result);
+            return result;
+        }
+
+        /**
+         * 计算片段需要携带的部件：包级部件、未被正文引用的文档级部件（样式、编号、设置、主题、字体等），
+         * 以及片段正文实际引用的部件，均包含其递归关系
+         */
+        private Set<String> partsFor(Set<String> relationIds) throws Exception {
+            Set<String> parts = new HashSet<>();
+            for (String part : packageParts) {
+                includePart(part, parts);
+            }
+            parts.add(documentPart);
+            for (Relationship relationship : relationships(documentPart)) {
+                if (!relationship.external && isIncluded(relationship, relationIds)) {
+                    includePart(relationship.target, parts);
+                }
+            }
+            return parts;
+        }
+
+        private boolean isIncluded(Relationship relationship, Set<String> relationIds) {
+            return relationIds.contains(relationship.id) || !bodyReferencedIds.contains(relationship.id);
+        }
+
+        private void includePart(String part, Set<String> parts) throws Exception {
+            if (!parts.add(part)) {
+                return;
+            }
+            for (Relationship relationship : relationships(part)) {
+                if (!relationship.external) {
+                    includePart(relationship.target, parts);
+                }
+            }
+        }
+
+        private byte[] filteredDocumentRels(Set<String> relationIds) throws Exception {
+            StringBuilder xml = new StringBuilder();
+            xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n");
+            xml.append("<Relationships xmlns=\"").append(REL_NS).append("\">");
+            for (Relationship relationship : relationships(documentPart)) {
+                if (!isIncluded(relationship, relationIds)) {
+                    continue;
+                }
+                xml.append("<Relationship Id=\"").append(escape(relationship.id))
+                        .append("\" Type=\"").append(escape(relationship.type))
+                        .append("\" Target=\"").append(escape(relationship.rawTarget)).append('"');
+                if (relationship.external) {
+                    xml.append(" TargetMode=\"External\"");
+                }
+                xml.append("/>");
+            }
+            xml.append("</Relationships>");
+            return xml.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private byte[] filteredContentTypes(Set<String> parts) throws Exception {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document types;
+            try (InputStream in = open(CONTENT_TYPES)) {
+                types = factory.newDocumentBuilder().parse(in);
+            }
+
+            StringBuilder xml = new StringBuilder();
+            xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n");
+            xml.append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+            for (Node node = types.getDocumentElement().getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (!(node instanceof Element)) {
+                    continue;
+                }
+                Element element = (Element) node;
+                if ("Default".equals(element.getLocalName())) {
+                    xml.append("<Default Extension=\"").append(escape(element.getAttribute("Extension")))
+                            .append("\" ContentType=\"").append(escape(element.getAttribute("ContentType"))).append("\"/>");
+                } else if ("Override".equals(element.getLocalName())) {
+                    String partName = element.getAttribute("PartName");
+                    if (parts.contains(partName.startsWith("/") ? partName.substring(1) : partName)) {
+                        xml.append("<Override PartName=\"").append(escape(partName))
+                                .append("\" ContentType=\"").append(escape(element.getAttribute("ContentType"))).append("\"/>");
+                    }
+                }
+            }
+            xml.append("</Types>");
+            return xml.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static String resolve(String sourcePart, String target) {
+            try {
+                URI base = new URI(null, null, "/" + sourcePart, null);
+                String path = base.resolve(new URI(target)).getPath();
+                return path.startsWith("/") ? path.substring(1) : path;
+            } catch (Exception e) {
+                String directory = sourcePart.substring(0, sourcePart.lastIndexOf('/') + 1);
+                return target.startsWith("/") ? target.substring(1) : directory + target;
+            }
+        }
+
+        private static String escape(String value) {
+            return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+        }
+    }
+
+    private static class Relationship {
+        private final String id;
+        private final String type;
+        private final String target;
+        private final String rawTarget;
+        private final boolean external;
+
+        private Relationship(String id, String type, String target, String rawTarget, boolean external) {
+            this.id = id;
+            this.type = type;
+            this.target = target;
+            this.rawTarget = rawTarget;
+            this.external = external;
+        }
+    }
+
+    /**
+     * 所有片段共享的文档外壳：根元素、正文前元素与最终节属性
+     */
+    private static class BodyLayout {
+        private byte[] rootStartTag;
+        private String rootName;
+        private String bodyName;
+        private byte[] preBody = new byte[0];
+        private byte[] sectionProperties;
+        private final References commonReferences = new References();
+    }
+
+    /**
+     * 正文元素引用的样式、编号与关系ID
+     */
+    private static class References {
+        private final Set<String> styleIds = new LinkedHashSet<>();
+        private final Set<String> numIds = new LinkedHashSet<>();
+        private final Set<String> relationIds = new LinkedHashSet<>();
+
+        private void addAll(References other) {
+            styleIds.addAll(other.styleIds);
+            numIds.addAll(other.numIds);
+            relationIds.addAll(other.relationIds);
+        }
+    }
+
+    /**
+     * 单个正文元素的扫描结果
+     */
+    private static class BlockInfo {
+        private final References references;
+        private boolean sectionProperties;
+        private String styleId;
+        private int outlineLevel = -1;
+        private boolean pageBreakBefore;
+        private boolean pageBreakAfter;
+
+        private BlockInfo(References references) {
+            this.references = references;
+        }
+    }
+
+    /**
+     * 拆分片段：正文写入临时文件，只在内存中保留引用集合
+     */
+    private static class Piece {
+        private final Path bodyFile;
+        private final OutputStream out;
+        private final References references = new References();
+        private int blockCount;
+        private long byteCount;
+
+        private Piece(Path bodyFile) throws IOException {
+            this.bodyFile = bodyFile;
+            this.out = new BufferedOutputStream(Files.newOutputStream(bodyFile));
+        }
+
+        private void append(ByteArrayOutputStream block, References blockReferences) throws IOException {
+            block.writeTo(out);
+            references.addAll(blockReferences);
+            blockCount++;
+            byteCount += block.size();
+        }
+
+        private void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * 拆分选项
+     */
+    public static class SplitOptions {
+        private int headingLevel = 1;
+        private boolean splitOnPageBreak = false;
+        private int maxParagraphs = 0;
+        private long maxBytes = 0;
+        private String fileNamePrefix;
+
+        public int getHeadingLevel() {
+            return headingLevel;
+        }
+
+        /**
+         * 在标题1至标题N处切分，0表示不按标题切分
+         */
+        public SplitOptions setHeadingLevel(int headingLevel) {
+            this.headingLevel = headingLevel;
+            return this;
+        }
+
+        public boolean isSplitOnPageBreak() {
+            return splitOnPageBreak;
+        }
+
+        /**
+         * 是否在显式分页符（w:br type="page" 或段前分页）处切分
+         */
+        public SplitOptions setSplitOnPageBreak(boolean splitOnPageBreak) {
+            this.splitOnPageBreak = splitOnPageBreak;
+            return this;
+        }
+
+        public int getMaxParagraphs() {
+            return maxParagraphs;
+        }
+
+        /**
+         * 每个片段最多包含的正文元素（段落、表格）数量，0表示不限制
+         */
+        public SplitOptions setMaxParagraphs(int maxParagraphs) {
+            this.maxParagraphs = maxParagraphs;
+            return this;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        /**
+         * 每个片段正文XML的最大字节数，0表示不限制
+         */
+        public SplitOptions setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public String getFileNamePrefix() {
+            return fileNamePrefix;
+        }
+
+        /**
+         * 输出文件名前缀，默认使用源文件名
+         */
+        public SplitOptions setFileNamePrefix(String fileNamePrefix) {
+            this.fileNamePrefix = fileNamePrefix;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.boundesu.words.core.split;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 样式与编号目录
+ * 读取源文档的 styles.xml 与 numbering.xml，计算拆分片段实际引用的样式、编号闭包，
+ * 并输出只包含这些定义的精简部件。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+class StyleNumberingCatalog {
+
+    static final String W_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private static final Pattern HEADING_NAME = Pattern.compile("(?i)heading\\s*([1-9])");
+
+    private final Document stylesDocument;
+    private final Document numberingDocument;
+    private final Map<String, Element> styles = new HashMap<>();
+    private final Set<String> defaultStyleIds = new LinkedHashSet<>();
+    private final Map<String, Element> nums = new HashMap<>();
+    private final Map<String, Element> abstractNums = new HashMap<>();
+    private final Map<String, Integer> outlineLevels = new HashMap<>();
+
+    StyleNumberingCatalog(InputStream stylesStream, InputStream numberingStream) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+        this.stylesDocument = stylesStream != null ? factory.newDocumentBuilder().parse(stylesStream) : null;
+        this.numberingDocument = numberingStream != null ? factory.newDocumentBuilder().parse(numberingStream) : null;
+
+        if (stylesDocument != null) {
+            for (Element style : children(stylesDocument.getDocumentElement(), "style")) {
+                String styleId = style.getAttributeNS(W_NS, "styleId");
+                styles.put(styleId, style);
+                String isDefault = style.getAttributeNS(W_NS, "default");
+                if ("1".equals(isDefault) || "true".equals(isDefault)) {
+                    defaultStyleIds.add(styleId);
+                }
+            }
+        }
+        if (numberingDocument != null) {
+            for (Element abstractNum : children(numberingDocument.getDocumentElement(), "abstractNum")) {
+                abstractNums.put(abstractNum.getAttributeNS(W_NS, "abstractNumId"), abstractNum);
+            }
+            for (Element num : children(numberingDocument.getDocumentElement(), "num")) {
+                nums.put(num.getAttributeNS(W_NS, "numId"), num);
+            }
+        }
+    }
+
+    boolean hasStyles() {
+        return stylesDocument != null;
+    }
+
+    boolean hasNumbering() {
+        return numberingDocument != null;
+    }
+
+    /**
+     * 获取样式的大纲级别（0 表示标题1），非标题样式返回 -1
+     */
+    int outlineLevel(String styleId) {
+        Integer cached = outlineLevels.get(styleId);
+        if (cached != null) {
+            return cached;
+        }
+        // 先占位，防止 basedOn 循环
+        outlineLevels.put(styleId, -1);
+
+        int level = -1;
+        Element style = styles.get(styleId);
+        if (style != null) {
+            Element outline = child(child(style, "pPr"), "outlineLvl");
+            Element name = child(style, "name");
+            Element basedOn = child(style, "basedOn");
+            if (outline != null) {
+                level = parseLevel(outline.getAttributeNS(W_NS, "val"));
+            } else if (name != null && matchHeading(name.getAttributeNS(W_NS, "val")) >= 0) {
+                level = matchHeading(name.getAttributeNS(W_NS, "val"));
+            } else if (basedOn != null) {
+                level = outlineLevel(basedOn.getAttributeNS(W_NS, "val"));
+            }
+        } else {
+            level = matchHeading(styleId);
+        }
+
+        outlineLevels.put(styleId, level);
+        return level;
+    }
+
+    /**
+     * 计算样式与编号的引用闭包：样式的 basedOn/link/next、样式中的编号、
+     * 编号级别中的样式以及 numStyleLink/styleLink 互相引用，直到不再新增
+     */
+    Closure resolve(Collection<String> styleIds, Collection<String> numIds) {
+        Closure closure = new Closure();
+        Deque<String> pendingStyles = new ArrayDeque<>(styleIds);
+        pendingStyles.addAll(defaultStyleIds);
+        Deque<String> pendingNums = new ArrayDeque<>(numIds);
+
+        while (!pendingStyles.isEmpty() || !pendingNums.isEmpty()) {
+            while (!pendingStyles.isEmpty()) {
+                String styleId = pendingStyles.poll();
+                Element style = styles.get(styleId);
+                if (style == null || !closure.styleIds.add(styleId)) {
+                    continue;
+                }
+                for (String reference : new String[]{"basedOn", "link", "next"}) {
+                    Element element = child(style, reference);
+                    if (element != null) {
+                        pendingStyles.add(element.getAttributeNS(W_NS, "val"));
+                    }
+                }
+                Element numId = child(child(child(style, "pPr"), "numPr"), "numId");
+                if (numId != null) {
+                    pendingNums.add(numId.getAttributeNS(W_NS, "val"));
+                }
+            }
+
+            while (!pendingNums.isEmpty()) {
+                String numId = pendingNums.poll();
+                Element num = nums.get(numId);
+                if (num == null || !closure.numIds.add(numId)) {
+                    continue;
+                }
+                Element abstractRef = child(num, "abstractNumId");
+                if (abstractRef == null) {
+                    continue;
+                }
+                String abstractId = abstractRef.getAttributeNS(W_NS, "val");
+                Element abstractNum = abstractNums.get(abstractId);
+                if (abstractNum == null || !closure.abstractNumIds.add(abstractId)) {
+                    continue;
+                }
+                for (String reference : new String[]{"numStyleLink", "styleLink"}) {
+                    Element element = child(abstractNum, reference);
+                    if (element != null) {
+                        pendingStyles.add(element.getAttributeNS(W_NS, "val"));
+                    }
+                }
+                for (Element level : children(abstractNum, "lvl")) {
+                    Element pStyle = child(level, "pStyle");
+                    if (pStyle != null) {
+                        pendingStyles.add(pStyle.getAttributeNS(W_NS, "val"));
+                    }
+                }
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * 输出只保留闭包内样式的 styles.xml（docDefaults、latentStyles 原样保留）
+     */
+    byte[] filteredStyles(Closure closure) throws Exception {
+        Document copy = (Document) stylesDocument.cloneNode(true);
+        for (Element style : children(copy.getDocumentElement(), "style")) {
+            if (!closure.styleIds.contains(style.getAttributeNS(W_NS, "styleId"))) {
+                copy.getDocumentElement().removeChild(style);
+            }
+        }
+        return serialize(copy);
+    }
+
+    /**
+     * 输出只保留闭包内编号定义的 numbering.xml（图片项目符号原样保留）
+     */
+    byte[] filteredNumbering(Closure closure) throws Exception {
+        Document copy = (Document) numberingDocument.cloneNode(true);
+        for (Element abstractNum : children(copy.getDocumentElement(), "abstractNum")) {
+            if (!closure.abstractNumIds.contains(abstractNum.getAttributeNS(W_NS, "abstractNumId"))) {
+                copy.getDocumentElement().removeChild(abstractNum);
+            }
+        }
+        for (Element num : children(copy.getDocumentElement(), "num")) {
+            if (!closure.numIds.contains(num.getAttributeNS(W_NS, "numId"))) {
+                copy.getDocumentElement().removeChild(num);
+            }
+        }
+        return serialize(copy);
+    }
+
+    private static byte[] serialize(Document document) throws Exception {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transformer.transform(new DOMSource(document), new StreamResult(out));
+        return out.toByteArray();
+    }
+
+    private static int matchHeading(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Matcher matcher = HEADING_NAME.matcher(name);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) - 1 : -1;
+    }
+
+    static int parseLevel(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Element child(Element parent, String localName) {
+        if (parent == null) {
+            return null;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && W_NS.equals(node.getNamespaceURI()) && localName.equals(node.getLocalName())) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static Collection<Element> children(Element parent, String localName) {
+        Collection<Element> result = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && W_NS.equals(node.getNamespaceURI()) && localName.equals(node.getLocalName())) {
+                result.add((Element) node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 样式与编号引用闭包
+     */
+    static class Closure {
+        final Set<String> styleIds = new HashSet<>();
+        final Set<String> numIds = new HashSet<>();
+        final Set<String> abstractNumIds = new HashSet<>();
+    }
+}
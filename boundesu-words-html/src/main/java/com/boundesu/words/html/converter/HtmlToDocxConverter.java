@@ -5,6 +5,8 @@ import com.boundesu.words.common.constants.FormatConstants;
 import com.boundesu.words.common.constants.PageConstants;
 import com.boundesu.words.common.constants.StyleConstants;
 import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.common.style.StyleInterner;
+import com.boundesu.words.html.util.ParsedHtml;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
@@ -49,11 +51,33 @@ public class HtmlToDocxConverter {
      * @throws BoundesuWordsException 转换异常
      */
     public com.boundesu.words.common.model.Document convertHtmlToDocx(String htmlContent, PageMargins margins) throws BoundesuWordsException {
+        return convertHtmlToDocx(ParsedHtml.parse(htmlContent), margins);
+    }
+
+    /**
+     * 将已解析的HTML转换为DOCX文档，不再重新解析
+     *
+     * @param html 已解析的HTML
+     * @return DOCX文档
+     * @throws BoundesuWordsException 转换异常
+     */
+    public com.boundesu.words.common.model.Document convertHtmlToDocx(ParsedHtml html) throws BoundesuWordsException {
+        return convertHtmlToDocx(html, null);
+    }
+
+    /**
+     * 将已解析的HTML转换为DOCX文档，并设置页边距
+     *
+     * @param html    已解析的HTML
+     * @param margins 页边距设置，为null时使用默认边距
+     * @return DOCX文档
+     * @throws BoundesuWordsException 转换异常
+     */
+    public com.boundesu.words.common.model.Document convertHtmlToDocx(ParsedHtml html, PageMargins margins) throws BoundesuWordsException {
         try {
             log.info("开始转换HTML内容到DOCX文档");
 
-            // 解析HTML内容
-            Document htmlDoc = Jsoup.parse(htmlContent);
+            Document htmlDoc = html.getDocument();
 
             // 创建DOCX文档
             XWPFDocument docxDoc = new XWPFDocument();
@@ -131,7 +155,7 @@ public class HtmlToDocxConverter {
         // 获取body元素
         Element body = htmlDoc.body();
         if (body != null) {
-            processElement(body, docxDoc);
+            processElement(body, docxDoc, new StyleInterner(docxDoc));
         }
     }
 
@@ -140,8 +164,9 @@ public class HtmlToDocxConverter {
      *
      * @param element HTML元素
      * @param docxDoc DOCX文档
+     * @param styles  文档的样式驻留表
      */
-    private void processElement(Element element, XWPFDocument docxDoc) {
+    private void processElement(Element element, XWPFDocument docxDoc, StyleInterner styles) {
         String tagName = element.tagName().toLowerCase();
 
         switch (tagName) {
@@ -154,7 +179,7 @@ public class HtmlToDocxConverter {
             case "h4":
             case "h5":
             case "h6":
-                processHeading(element, docxDoc, tagName);
+                processHeading(element, docxDoc, tagName, styles);
                 break;
             case "br":
                 processLineBreak(docxDoc);
@@ -162,7 +187,7 @@ public class HtmlToDocxConverter {
             default:
                 // 处理其他元素的子元素
                 for (Element child : element.children()) {
-                    processElement(child, docxDoc);
+                    processElement(child, docxDoc, styles);
                 }
                 break;
         }
@@ -186,21 +211,17 @@ public class HtmlToDocxConverter {
      * @param element 标题元素
      * @param docxDoc DOCX文档
      * @param tagName 标签名
+     * @param styles  文档的样式驻留表
      */
-    private void processHeading(Element element, XWPFDocument docxDoc, String tagName) {
+    private void processHeading(Element element, XWPFDocument docxDoc, String tagName, StyleInterner styles) {
         XWPFParagraph paragraph = docxDoc.createParagraph();
 
-        // 设置标题样式
-        String headingStyle = getHeadingStyle(tagName);
-        paragraph.setStyle(headingStyle);
+        // 粗体和按级别的字号由标题段落样式给出，文本段不再单独设置格式
+        int level = tagName.charAt(1) - '0';
+        paragraph.setStyle(styles.headingStyle(level, getHeadingFontSize(tagName)));
 
         XWPFRun run = paragraph.createRun();
         run.setText(element.text());
-        run.setBold(true);
-
-        // 根据标题级别设置字体大小
-        int fontSize = getHeadingFontSize(tagName);
-        run.setFontSize(fontSize);
     }
 
     /**
@@ -213,31 +234,6 @@ public class HtmlToDocxConverter {
         paragraph.createRun().addBreak();
     }
 
-    /**
-     * 获取标题样式名称
-     *
-     * @param tagName 标签名
-     * @return Word标题样式名称
-     */
-    private String getHeadingStyle(String tagName) {
-        switch (tagName) {
-            case "h1":
-                return "Heading 1";
-            case "h2":
-                return "Heading 2";
-            case "h3":
-                return "Heading 3";
-            case "h4":
-                return "Heading 4";
-            case "h5":
-                return "Heading 5";
-            case "h6":
-                return "Heading 6";
-            default:
-                return "Normal";
-        }
-    }
-
     /**
      * 获取标题字体大小
      *
@@ -1,21 +1,33 @@
 package com.boundesu.words.html.creator;
 
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.BlockDocxWriter;
+import com.boundesu.words.common.block.Run;
 import com.boundesu.words.common.creator.DocumentCreator;
 import com.boundesu.words.common.exception.BoundesuWordsException;
-import com.boundesu.words.html.converter.HtmlToDocxConverter;
+import com.boundesu.words.html.parser.HtmlBlockParser;
+import com.boundesu.words.html.util.HtmlBlockRenderer;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 基于HTML转换的DOCX文档创建器
  * 实现DocumentCreator接口，通过构建HTML内容然后转换为DOCX
  *
+ * <p>添加的内容只保存为 {@link Block} 序列，生成文档时由 {@link BlockDocxWriter} 直接写成DOCX，
+ * 不再把拼好的HTML交给转换器重新解析；{@link #getHtmlContent()} 调用时才从块序列渲染出等价的完整HTML。</p>
+ *
  * @author Boundesu Team
  * @version 1.0.0
  */
@@ -23,72 +35,56 @@ public class HtmlToDocxCreator implements DocumentCreator {
 
     private static final Logger log = LoggerFactory.getLogger(HtmlToDocxCreator.class);
 
-    private final StringBuilder htmlContent;
-    private final HtmlToDocxConverter converter;
+    /** 固定的默认样式，所有实例共享 */
+    private static final String DEFAULT_STYLES =
+            "body { font-family: '宋体', SimSun, serif; font-size: 12pt; line-height: 1.5; }\n"
+                    + "h1 { font-size: 18pt; font-weight: bold; margin: 12pt 0; }\n"
+                    + "h2 { font-size: 16pt; font-weight: bold; margin: 10pt 0; }\n"
+                    + "h3 { font-size: 14pt; font-weight: bold; margin: 8pt 0; }\n"
+                    + "h4, h5, h6 { font-size: 12pt; font-weight: bold; margin: 6pt 0; }\n"
+                    + "p { margin: 6pt 0; }\n"
+                    + "table { border-collapse: collapse; width: 100%; margin: 6pt 0; }\n"
+                    + "th, td { border: 1px solid #000; padding: 4pt; text-align: left; }\n"
+                    + "th { background-color: #f0f0f0; font-weight: bold; }\n"
+                    + "ul, ol { margin: 6pt 0; padding-left: 20pt; }\n"
+                    + "li { margin: 2pt 0; }\n";
+
+    /**
+     * 页眉、页脚、页码等追加的CSS规则，与正文分开保存，
+     * 只在 {@link #finalizeHtml()} 时拼接，追加规则不需要重写正文
+     */
+    private final StringBuilder styleRules;
+    private final List<Block> blocks;
     private String title = "";
     private String author = "";
+    private String headerText = "";
+    private String footerText = "";
     private boolean hasHeader = false;
     private boolean hasFooter = false;
     private boolean hasPageNumbers = false;
 
     public HtmlToDocxCreator() {
-        this.htmlContent = new StringBuilder();
-        this.converter = new HtmlToDocxConverter();
-        initializeHtml();
-    }
-
-    /**
-     * 初始化HTML结构
-     */
-    private void initializeHtml() {
-        htmlContent.append("<!DOCTYPE html>\n");
-        htmlContent.append("<html>\n");
-        htmlContent.append("<head>\n");
-        htmlContent.append("<meta charset=\"UTF-8\">\n");
-        htmlContent.append("<title></title>\n");
-        htmlContent.append("<style>\n");
-        htmlContent.append("body { font-family: '宋体', SimSun, serif; font-size: 12pt; line-height: 1.5; }\n");
-        htmlContent.append("h1 { font-size: 18pt; font-weight: bold; margin: 12pt 0; }\n");
-        htmlContent.append("h2 { font-size: 16pt; font-weight: bold; margin: 10pt 0; }\n");
-        htmlContent.append("h3 { font-size: 14pt; font-weight: bold; margin: 8pt 0; }\n");
-        htmlContent.append("h4, h5, h6 { font-size: 12pt; font-weight: bold; margin: 6pt 0; }\n");
-        htmlContent.append("p { margin: 6pt 0; }\n");
-        htmlContent.append("table { border-collapse: collapse; width: 100%; margin: 6pt 0; }\n");
-        htmlContent.append("th, td { border: 1px solid #000; padding: 4pt; text-align: left; }\n");
-        htmlContent.append("th { background-color: #f0f0f0; font-weight: bold; }\n");
-        htmlContent.append("ul, ol { margin: 6pt 0; padding-left: 20pt; }\n");
-        htmlContent.append("li { margin: 2pt 0; }\n");
-        htmlContent.append("</style>\n");
-        htmlContent.append("</head>\n");
-        htmlContent.append("<body>\n");
+        this.styleRules = new StringBuilder();
+        this.blocks = new ArrayList<>();
     }
 
     @Override
     public DocumentCreator setTitle(String title) {
-        this.title = title;
-        // 更新HTML中的title标签
-        String currentHtml = htmlContent.toString();
-        String updatedHtml = currentHtml.replaceFirst(
-                "<title></title>",
-                "<title>" + escapeHtml(title) + "</title>"
-        );
-        htmlContent.setLength(0);
-        htmlContent.append(updatedHtml);
-
+        this.title = title != null ? title : "";
         log.debug("设置文档标题: {}", title);
         return this;
     }
 
     @Override
     public DocumentCreator setAuthor(String author) {
-        this.author = author;
+        this.author = author != null ? author : "";
         log.debug("设置文档作者: {}", author);
         return this;
     }
 
     @Override
     public DocumentCreator addParagraph(String text) {
-        htmlContent.append("<p>").append(escapeHtml(text)).append("</p>\n");
+        blocks.add(Block.paragraph(text));
         log.debug("添加段落: {}", text.length() > 50 ? text.substring(0, 50) + "..." : text);
         return this;
     }
@@ -98,9 +94,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
         if (level < 1) level = 1;
         if (level > 6) level = 6;
 
-        htmlContent.append("<h").append(level).append(">")
-                .append(escapeHtml(text))
-                .append("</h").append(level).append(">\n");
+        blocks.add(Block.heading(text, level));
 
         log.debug("添加{}级标题: {}", level, text);
         return this;
@@ -112,31 +106,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
             return this;
         }
 
-        htmlContent.append("<table>\n");
-
-        // 添加表头（第一行作为表头）
-        if (data.length > 0) {
-            htmlContent.append("<thead>\n<tr>\n");
-            for (String cell : data[0]) {
-                htmlContent.append("<th>").append(escapeHtml(cell != null ? cell : "")).append("</th>\n");
-            }
-            htmlContent.append("</tr>\n</thead>\n");
-        }
-
-        // 添加表体
-        if (data.length > 1) {
-            htmlContent.append("<tbody>\n");
-            for (int i = 1; i < data.length; i++) {
-                htmlContent.append("<tr>\n");
-                for (String cell : data[i]) {
-                    htmlContent.append("<td>").append(escapeHtml(cell != null ? cell : "")).append("</td>\n");
-                }
-                htmlContent.append("</tr>\n");
-            }
-            htmlContent.append("</tbody>\n");
-        }
-
-        htmlContent.append("</table>\n");
+        blocks.add(Block.table(data, true));
 
         log.debug("添加表格: {}行 x {}列", data.length, data[0].length);
         return this;
@@ -148,28 +118,20 @@ public class HtmlToDocxCreator implements DocumentCreator {
             return this;
         }
 
-        String listTag = ordered ? "ol" : "ul";
-        htmlContent.append("<").append(listTag).append(">\n");
-
-        for (String item : items) {
-            htmlContent.append("<li>").append(escapeHtml(item != null ? item : "")).append("</li>\n");
-        }
-
-        htmlContent.append("</").append(listTag).append(">\n");
+        blocks.add(Block.list(items, ordered));
 
         log.debug("添加{}列表: {}项", ordered ? "有序" : "无序", items.size());
         return this;
     }
 
     public DocumentCreator addPageBreak() {
-        // HTML中使用CSS的page-break-after属性
-        htmlContent.append("<div style=\"page-break-after: always;\"></div>\n");
+        blocks.add(Block.pageBreak());
         log.debug("添加分页符");
         return this;
     }
 
     public DocumentCreator addLineBreak() {
-        htmlContent.append("<br>\n");
+        blocks.add(Block.lineBreak());
         log.debug("添加换行符");
         return this;
     }
@@ -177,6 +139,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
     @Override
     public DocumentCreator setHeader(String headerText) {
         this.hasHeader = true;
+        this.headerText = headerText != null ? headerText : "";
         // 在HTML中添加页眉样式
         String headerStyle = "@page { @top-center { content: '" + escapeHtml(headerText) + "'; } }";
         insertStyleRule(headerStyle);
@@ -192,6 +155,8 @@ public class HtmlToDocxCreator implements DocumentCreator {
     @Override
     public DocumentCreator setHeaderWithImage(String headerText, String imagePath, int width, int height) {
         this.hasHeader = true;
+        // 页眉图片只保留在HTML视图中，DOCX页眉输出文本
+        this.headerText = headerText != null ? headerText : "";
         // 在HTML中添加包含图片的页眉样式
         String imageHtml = "<img src='" + imagePath + "' style='width:" + width + "px;height:" + height + "px;vertical-align:middle;' alt='Header Image'/>";
         String headerContent = imageHtml;
@@ -207,6 +172,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
     @Override
     public DocumentCreator setFooter(String footerText) {
         this.hasFooter = true;
+        this.footerText = footerText != null ? footerText : "";
         // 在HTML中添加页脚样式
         String footerStyle = "@page { @bottom-center { content: '" + escapeHtml(footerText) + "'; } }";
         insertStyleRule(footerStyle);
@@ -222,6 +188,8 @@ public class HtmlToDocxCreator implements DocumentCreator {
     @Override
     public DocumentCreator setFooterWithImage(String footerText, String imagePath, int width, int height) {
         this.hasFooter = true;
+        // 页脚图片只保留在HTML视图中，DOCX页脚输出文本
+        this.footerText = footerText != null ? footerText : "";
         // 在HTML中添加包含图片的页脚样式
         String imageHtml = "<img src='" + imagePath + "' style='width:" + width + "px;height:" + height + "px;vertical-align:middle;' alt='Footer Image'/>";
         String footerContent = imageHtml;
@@ -247,26 +215,18 @@ public class HtmlToDocxCreator implements DocumentCreator {
     }
 
     /**
-     * 在HTML样式中插入新的CSS规则
+     * 追加CSS规则
      */
     private void insertStyleRule(String rule) {
-        String currentHtml = htmlContent.toString();
-        String updatedHtml = currentHtml.replace("</style>", rule + "\n</style>");
-        htmlContent.setLength(0);
-        htmlContent.append(updatedHtml);
+        styleRules.append(rule).append('\n');
     }
 
     @Override
     public void createDocument(Path outputPath) throws IOException {
-        try {
-            byte[] documentBytes = createDocumentAsBytes();
-            Files.write(outputPath, documentBytes);
-            log.info("文档已保存到: {}", outputPath);
-        } catch (IOException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new IOException("创建文档失败", e);
+        try (OutputStream out = Files.newOutputStream(outputPath)) {
+            writeDocument(out);
         }
+        log.info("文档已保存到: {}", outputPath);
     }
 
     @Override
@@ -278,25 +238,16 @@ public class HtmlToDocxCreator implements DocumentCreator {
         }
     }
 
+    private void writeDocument(OutputStream out) throws IOException {
+        BlockDocxWriter writer = new BlockDocxWriter();
+        writer.write(blocks);
+        writer.writeTo(out, title, author, headerText, footerText, hasPageNumbers);
+    }
+
     public com.boundesu.words.common.model.Document createDocument() throws BoundesuWordsException {
         try {
-            // 完成HTML结构
-            finalizeHtml();
-
-            // 转换为DOCX
-            String completeHtml = htmlContent.toString();
-            log.debug("开始将HTML转换为DOCX文档");
-
-            com.boundesu.words.common.model.Document document = converter.convertHtmlToDocx(completeHtml);
-
-            // 设置文档属性
-            if (!title.isEmpty()) {
-                document.getXWPFDocument().getProperties().getCoreProperties().setTitle(title);
-            }
-            if (!author.isEmpty()) {
-                document.getXWPFDocument().getProperties().getCoreProperties().setCreator(author);
-            }
-
+            com.boundesu.words.common.model.Document document = new com.boundesu.words.common.model.Document(
+                    new XWPFDocument(new ByteArrayInputStream(saveToBytes())));
             log.info("HTML到DOCX文档创建完成");
             return document;
 
@@ -308,20 +259,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
 
     public void saveToFile(String filePath) throws BoundesuWordsException {
         try {
-            com.boundesu.words.common.model.Document document = createDocument();
-            try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                document.write(baos);
-
-                // 这里应该将字节数组写入文件
-                // 为了简化，我们使用FileUtils（如果存在）
-                java.nio.file.Files.write(
-                        java.nio.file.Paths.get(filePath),
-                        baos.toByteArray()
-                );
-
-                log.info("文档已保存到: {}", filePath);
-            }
-            document.close();
+            createDocument(java.nio.file.Paths.get(filePath));
         } catch (IOException e) {
             log.error("保存文档到文件失败: {}", filePath, e);
             throw new BoundesuWordsException("FILE_SAVE_ERROR", "保存文档到文件失败: " + filePath, e);
@@ -330,14 +268,11 @@ public class HtmlToDocxCreator implements DocumentCreator {
 
     public byte[] saveToBytes() throws BoundesuWordsException {
         try {
-            com.boundesu.words.common.model.Document document = createDocument();
-            try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                document.write(baos);
-                byte[] result = baos.toByteArray();
-                log.debug("文档已转换为字节数组，大小: {} bytes", result.length);
-                document.close();
-                return result;
-            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(8192);
+            writeDocument(baos);
+            byte[] result = baos.toByteArray();
+            log.debug("文档已转换为字节数组，大小: {} bytes", result.length);
+            return result;
         } catch (IOException e) {
             log.error("将文档转换为字节数组失败", e);
             throw new BoundesuWordsException("BYTES_CONVERT_ERROR", "将文档转换为字节数组失败", e);
@@ -345,10 +280,27 @@ public class HtmlToDocxCreator implements DocumentCreator {
     }
 
     /**
-     * 完成HTML结构
+     * 拼接文档头、样式，并从块序列渲染正文，生成完整HTML
+     * 不修改已添加的内容，可以多次调用
      */
-    private void finalizeHtml() {
-        htmlContent.append("</body>\n</html>");
+    private String finalizeHtml() {
+        String escapedTitle = escapeHtml(title);
+        StringBuilder html = new StringBuilder(160 + DEFAULT_STYLES.length() + escapedTitle.length()
+                + styleRules.length() + blocks.size() * 32);
+        html.append("<!DOCTYPE html>\n");
+        html.append("<html>\n");
+        html.append("<head>\n");
+        html.append("<meta charset=\"UTF-8\">\n");
+        html.append("<title>").append(escapedTitle).append("</title>\n");
+        html.append("<style>\n");
+        html.append(DEFAULT_STYLES);
+        html.append(styleRules);
+        html.append("</style>\n");
+        html.append("</head>\n");
+        html.append("<body>\n");
+        HtmlBlockRenderer.render(blocks, html);
+        html.append("</body>\n</html>");
+        return html.toString();
     }
 
     /**
@@ -364,23 +316,25 @@ public class HtmlToDocxCreator implements DocumentCreator {
     }
 
     /**
-     * 获取当前HTML内容（用于调试）
+     * 获取当前完整的HTML内容（用于调试）
      */
     public String getHtmlContent() {
-        return htmlContent.toString();
+        return finalizeHtml();
     }
 
     /**
      * 清空所有内容
      */
     public HtmlToDocxCreator clear() {
-        htmlContent.setLength(0);
+        styleRules.setLength(0);
+        blocks.clear();
         title = "";
         author = "";
+        headerText = "";
+        footerText = "";
         hasHeader = false;
         hasFooter = false;
         hasPageNumbers = false;
-        initializeHtml();
         log.debug("HTML创建器已清空");
         return this;
     }
@@ -390,7 +344,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
      */
     public HtmlToDocxCreator addCustomHtml(String html) {
         if (html != null && !html.trim().isEmpty()) {
-            htmlContent.append(html).append("\n");
+            blocks.addAll(HtmlBlockParser.parse(html));
             log.debug("添加自定义HTML内容: {} 字符", html.length());
         }
         return this;
@@ -400,9 +354,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
      * 添加图片（通过HTML img标签）
      */
     public HtmlToDocxCreator addImage(String imagePath, String altText) {
-        htmlContent.append("<img src=\"").append(escapeHtml(imagePath))
-                .append("\" alt=\"").append(escapeHtml(altText != null ? altText : ""))
-                .append("\" style=\"max-width: 100%; height: auto;\">\n");
+        blocks.add(Block.image(imagePath, altText));
         log.debug("添加图片: {}", imagePath);
         return this;
     }
@@ -411,10 +363,7 @@ public class HtmlToDocxCreator implements DocumentCreator {
      * 添加链接
      */
     public HtmlToDocxCreator addLink(String url, String text) {
-        htmlContent.append("<a href=\"").append(escapeHtml(url))
-                .append("\">")
-                .append(escapeHtml(text != null ? text : url))
-                .append("</a>\n");
+        blocks.add(Block.paragraph(Collections.singletonList(Run.link(text != null ? text : url, url))));
         log.debug("添加链接: {} -> {}", text, url);
         return this;
     }
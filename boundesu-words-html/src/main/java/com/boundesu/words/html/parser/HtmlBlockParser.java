@@ -0,0 +1,388 @@
+package com.boundesu.words.html.parser;
+
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.Run;
+import com.boundesu.words.html.util.ParsedHtml;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML块解析器
+ * 把HTML解析为 {@link Block} 序列，供 {@link com.boundesu.words.common.block.BlockDocxWriter} 直接输出，
+ * 不再把内容拼成HTML字符串后交给转换器重新解析。
+ *
+ * <p>支持标题、段落、表格（可嵌套）、有序/无序列表（可嵌套）、图片、分页与换行，
+ * 行内的粗体、斜体、下划线、链接和文字颜色保留为文本段样式。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class HtmlBlockParser {
+
+    /** 递归处理子元素的容器标签 */
+    private static final Set<String> CONTAINER_TAGS = new HashSet<>(Arrays.asList(
+            "body", "div", "section", "article", "main", "header", "footer", "nav", "aside",
+            "figure", "form", "center", "blockquote", "dl", "dd", "dt", "address", "figcaption"));
+
+    /** 作为段落输出的标签 */
+    private static final Set<String> PARAGRAPH_TAGS = new HashSet<>(Arrays.asList("p", "caption"));
+
+    /** 不输出的标签 */
+    private static final Set<String> IGNORED_TAGS = new HashSet<>(Arrays.asList(
+            "head", "title", "script", "style", "noscript", "template", "meta", "link"));
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COLOR_STYLE = Pattern.compile("(?:^|;)\\s*color\\s*:\\s*#([0-9a-fA-F]{6})");
+
+    private HtmlBlockParser() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 解析HTML文档或片段
+     *
+     * @param html HTML内容
+     * @return 块序列
+     */
+    public static List<Block> parse(String html) {
+        if (html == null || html.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return parse(Jsoup.parse(html).body());
+    }
+
+    /**
+     * 解析已解析的HTML的正文，不再重新解析
+     *
+     * @param html 已解析的HTML
+     * @return 块序列
+     */
+    public static List<Block> parse(ParsedHtml html) {
+        return parse(html.getDocument().body());
+    }
+
+    /**
+     * 解析已解析的元素的子内容
+     *
+     * @param root 根元素，通常为 body
+     * @return 块序列
+     */
+    public static List<Block> parse(Element root) {
+        List<Block> blocks = new ArrayList<>();
+        children(root, 0, null, blocks);
+        return blocks;
+    }
+
+    /**
+     * 解析子节点：连续的行内内容合并为一个段落，块级元素单独输出
+     */
+    private static void children(Element parent, int styles, String color, List<Block> out) {
+        List<Run> runs = new ArrayList<>();
+        for (Node node : parent.childNodes()) {
+            if (node instanceof TextNode) {
+                text(((TextNode) node).getWholeText(), styles, color, runs);
+            } else if (node instanceof Element) {
+                Element element = (Element) node;
+                String tag = element.tagName().toLowerCase(Locale.ROOT);
+                if ("br".equals(tag) && isBlank(runs)) {
+                    runs.clear();
+                    out.add(Block.lineBreak());
+                } else if (isBlock(tag)) {
+                    flush(runs, out, false);
+                    block(element, tag, styles, color, out);
+                } else {
+                    inline(element, styles, color, runs, out);
+                }
+            }
+        }
+        flush(runs, out, false);
+    }
+
+    private static void block(Element element, String tag, int styles, String color, List<Block> out) {
+        boolean pageBreakAfter = hasStyle(element, "page-break-after");
+        if (hasStyle(element, "page-break-before")) {
+            out.add(Block.pageBreak());
+        }
+        switch (tag) {
+            case "h1":
+            case "h2":
+            case "h3":
+            case "h4":
+            case "h5":
+            case "h6":
+                out.add(new Block.Heading(tag.charAt(1) - '0', inlineRuns(element, styles, color, out)));
+                break;
+            case "pre":
+                out.add(Block.paragraph(Collections.singletonList(
+                        new Run(element.wholeText(), styles, color(element, color)))));
+                break;
+            case "table":
+                out.add(table(element, styles, color));
+                break;
+            case "ul":
+            case "ol":
+                out.add(list(element, styles, color));
+                break;
+            case "img":
+                out.add(image(element));
+                break;
+            case "hr":
+                out.add(Block.lineBreak());
+                break;
+            default:
+                if (IGNORED_TAGS.contains(tag)) {
+                    break;
+                }
+                if (PARAGRAPH_TAGS.contains(tag) && !hasBlockChildren(element)) {
+                    List<Run> runs = inlineRuns(element, styles, color, out);
+                    flush(runs, out, true);
+                } else {
+                    children(element, styles | tagStyles(tag), color(element, color), out);
+                }
+                break;
+        }
+        if (pageBreakAfter) {
+            out.add(Block.pageBreak());
+        }
+    }
+
+    /**
+     * 收集元素的行内内容，元素内的图片直接输出到块序列
+     */
+    private static List<Run> inlineRuns(Element element, int styles, String color, List<Block> out) {
+        List<Run> runs = new ArrayList<>();
+        inlineChildren(element, styles | tagStyles(element.tagName()), color(element, color), runs, out);
+        trim(runs);
+        return runs;
+    }
+
+    private static void inline(Element element, int styles, String color, List<Run> runs, List<Block> out) {
+        String tag = element.tagName().toLowerCase(Locale.ROOT);
+        if ("br".equals(tag)) {
+            runs.add(new Run("\n", styles, color));
+        } else if ("img".equals(tag)) {
+            // 段落中的图片单独成块，前后的文本分为两个段落
+            flush(runs, out, false);
+            out.add(image(element));
+        } else if ("a".equals(tag) && !element.attr("href").isEmpty()) {
+            // 链接内的文本段都带上链接地址
+            int start = runs.size();
+            inlineChildren(element, styles | tagStyles(tag), color(element, color), runs, out);
+            String href = element.attr("href");
+            for (int i = start; i < runs.size(); i++) {
+                Run run = runs.get(i);
+                runs.set(i, new Run(run.getText(), run.getStyles(), run.getColor(), href));
+            }
+        } else if (!IGNORED_TAGS.contains(tag)) {
+            inlineChildren(element, styles | tagStyles(tag), color(element, color), runs, out);
+        }
+    }
+
+    private static void inlineChildren(Element element, int styles, String color, List<Run> runs, List<Block> out) {
+        for (Node node : element.childNodes()) {
+            if (node instanceof TextNode) {
+                text(((TextNode) node).getWholeText(), styles, color, runs);
+            } else if (node instanceof Element) {
+                inline((Element) node, styles, color, runs, out);
+            }
+        }
+    }
+
+    private static void text(String text, int styles, String color, List<Run> runs) {
+        String normalized = WHITESPACE.matcher(text).replaceAll(" ");
+        if (normalized.isEmpty()) {
+            return;
+        }
+        // 与前一段的空格合并
+        if (normalized.charAt(0) == ' ' && !runs.isEmpty() && endsWithSpace(runs.get(runs.size() - 1).getText())) {
+            normalized = normalized.substring(1);
+            if (normalized.isEmpty()) {
+                return;
+            }
+        }
+        runs.add(new Run(normalized, styles, color));
+    }
+
+    /**
+     * 把收集的文本段输出为段落并清空
+     *
+     * @param keepEmpty 没有文本时是否仍输出空段落
+     */
+    private static void flush(List<Run> runs, List<Block> out, boolean keepEmpty) {
+        trim(runs);
+        if (!runs.isEmpty() || keepEmpty) {
+            out.add(Block.paragraph(runs));
+        }
+        runs.clear();
+    }
+
+    /**
+     * 去掉段落首尾的空白文本段和空格
+     */
+    private static void trim(List<Run> runs) {
+        while (!runs.isEmpty() && runs.get(0).getText().trim().isEmpty() && !"\n".equals(runs.get(0).getText())) {
+            runs.remove(0);
+        }
+        while (!runs.isEmpty() && runs.get(runs.size() - 1).getText().trim().isEmpty()) {
+            runs.remove(runs.size() - 1);
+        }
+        if (runs.isEmpty()) {
+            return;
+        }
+        Run first = runs.get(0);
+        if (first.getText().charAt(0) == ' ') {
+            runs.set(0, new Run(first.getText().substring(1), first.getStyles(), first.getColor(),
+                    first.getHref()));
+        }
+        Run last = runs.get(runs.size() - 1);
+        if (endsWithSpace(last.getText())) {
+            runs.set(runs.size() - 1, new Run(last.getText().substring(0, last.getText().length() - 1),
+                    last.getStyles(), last.getColor(), last.getHref()));
+        }
+    }
+
+    private static Block table(Element table, int styles, String color) {
+        List<List<Block.Cell>> rows = new ArrayList<>();
+        for (Element child : table.children()) {
+            String tag = child.tagName().toLowerCase(Locale.ROOT);
+            if ("tr".equals(tag)) {
+                rows.add(row(child, styles, color));
+            } else if ("thead".equals(tag) || "tbody".equals(tag) || "tfoot".equals(tag)) {
+                for (Element tr : child.children()) {
+                    if ("tr".equalsIgnoreCase(tr.tagName())) {
+                        rows.add(row(tr, styles, color));
+                    }
+                }
+            }
+        }
+        return new Block.Table(rows);
+    }
+
+    private static List<Block.Cell> row(Element tr, int styles, String color) {
+        List<Block.Cell> cells = new ArrayList<>();
+        for (Element cell : tr.children()) {
+            String tag = cell.tagName().toLowerCase(Locale.ROOT);
+            if ("td".equals(tag) || "th".equals(tag)) {
+                List<Block> blocks = new ArrayList<>();
+                children(cell, "th".equals(tag) ? styles | Run.BOLD : styles, color(cell, color), blocks);
+                cells.add(new Block.Cell(blocks));
+            }
+        }
+        return cells;
+    }
+
+    private static Block list(Element list, int styles, String color) {
+        List<List<Block>> items = new ArrayList<>();
+        for (Element child : list.children()) {
+            String tag = child.tagName().toLowerCase(Locale.ROOT);
+            List<Block> item = new ArrayList<>();
+            if ("li".equals(tag)) {
+                children(child, styles, color(child, color), item);
+            } else if ("ul".equals(tag) || "ol".equals(tag)) {
+                // 直接嵌套在列表中的列表作为单独的列表项
+                item.add(list(child, styles, color));
+            } else {
+                continue;
+            }
+            items.add(item);
+        }
+        return new Block.ListBlock("ol".equalsIgnoreCase(list.tagName()), items);
+    }
+
+    private static Block image(Element img) {
+        return Block.image(img.attr("src"), img.attr("alt"), intAttr(img, "width"), intAttr(img, "height"));
+    }
+
+    private static int intAttr(Element element, String name) {
+        String value = element.attr(name).trim();
+        if (value.endsWith("px")) {
+            value = value.substring(0, value.length() - 2).trim();
+        }
+        try {
+            return value.isEmpty() ? -1 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isBlock(String tag) {
+        return CONTAINER_TAGS.contains(tag) || PARAGRAPH_TAGS.contains(tag) || IGNORED_TAGS.contains(tag)
+                || (tag.length() == 2 && tag.charAt(0) == 'h' && tag.charAt(1) >= '1' && tag.charAt(1) <= '6')
+                || "pre".equals(tag) || "table".equals(tag) || "ul".equals(tag) || "ol".equals(tag)
+                || "img".equals(tag) || "hr".equals(tag);
+    }
+
+    private static boolean hasBlockChildren(Element element) {
+        for (Element child : element.children()) {
+            String tag = child.tagName().toLowerCase(Locale.ROOT);
+            if (isBlock(tag) && !"img".equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int tagStyles(String tag) {
+        switch (tag.toLowerCase(Locale.ROOT)) {
+            case "b":
+            case "strong":
+            case "th":
+                return Run.BOLD;
+            case "i":
+            case "em":
+            case "cite":
+                return Run.ITALIC;
+            case "u":
+            case "ins":
+            case "a":
+                return Run.UNDERLINE;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 元素的文字颜色：链接为蓝色，font color 与 style color 使用六位十六进制值，其余继承
+     */
+    private static String color(Element element, String inherited) {
+        if ("a".equalsIgnoreCase(element.tagName())) {
+            return Run.LINK_COLOR;
+        }
+        String value = element.attr("color");
+        if (value.length() == 7 && value.charAt(0) == '#') {
+            return value.substring(1).toUpperCase(Locale.ROOT);
+        }
+        Matcher matcher = COLOR_STYLE.matcher(element.attr("style"));
+        return matcher.find() ? matcher.group(1).toUpperCase(Locale.ROOT) : inherited;
+    }
+
+    private static boolean hasStyle(Element element, String property) {
+        String style = element.attr("style");
+        return !style.isEmpty() && style.replace(" ", "").toLowerCase(Locale.ROOT).contains(property + ":always");
+    }
+
+    private static boolean isBlank(List<Run> runs) {
+        for (Run run : runs) {
+            if (!run.getText().trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean endsWithSpace(String text) {
+        return !text.isEmpty() && text.charAt(text.length() - 1) == ' ';
+    }
+}
@@ -1,5 +1,6 @@
 package com.boundesu.words.html.parser;
 
+import com.boundesu.words.html.util.ParsedHtml;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -27,19 +28,56 @@ public class HtmlContentParser {
             return new ArrayList<>();
         }
 
-        Document doc = Jsoup.parse(htmlContent);
-        List<DocumentStructure> flatStructures = new ArrayList<>();
+        return parseHtmlContent(ParsedHtml.parse(htmlContent));
+    }
 
-        // 查找所有标题元素
-        Elements headings = doc.select("h1, h2, h3, h4, h5, h6");
-        for (Element heading : headings) {
-            int level = getHeadingLevel(heading.tagName());
-            String title = heading.text();
-            String content = getContentAfterHeading(heading);
-            flatStructures.add(new DocumentStructure(title, level, content));
+    /**
+     * 解析已解析的HTML为文档结构，不再重新解析
+     *
+     * @param html 已解析的HTML
+     * @return 文档结构列表
+     */
+    public static List<DocumentStructure> parseHtmlContent(ParsedHtml html) {
+        OutlineBuilder outline = new OutlineBuilder();
+        collectOutline(html.getDocument(), outline);
+        return outline.build();
+    }
+
+    /**
+     * 单次前序遍历收集大纲
+     * 每个元素的子元素只访问一次：遇到标题即生成结构项，其后的同级元素内容归入该标题，
+     * 直到下一个同级标题为止，再递归进入子元素查找嵌套的标题
+     */
+    private static void collectOutline(Element parent, OutlineBuilder outline) {
+        DocumentStructure current = null;
+        for (Element child : parent.children()) {
+            int level = headingLevel(child.normalName());
+            if (level > 0) {
+                current = outline.heading(level, child.text());
+            } else if (current != null) {
+                outline.content(current, blockContent(child));
+            }
+            if (child.childrenSize() > 0) {
+                collectOutline(child, outline);
+            }
         }
+    }
 
-        return buildHierarchy(flatStructures);
+    /**
+     * 标题后单个同级元素对应的内容
+     */
+    private static String blockContent(Element element) {
+        switch (element.normalName()) {
+            case "p":
+                return element.text() + "\n\n";
+            case "ul":
+            case "ol":
+                return parseList(element) + "\n";
+            case "table":
+                return parseTable(element) + "\n";
+            default:
+                return element.text() + "\n";
+        }
     }
 
     /**
@@ -78,94 +116,16 @@ public class HtmlContentParser {
     }
 
     /**
-     * 获取标题级别
-     */
-    private static int getHeadingLevel(String tagName) {
-        switch (tagName.toLowerCase()) {
-            case "h1":
-                return 1;
-            case "h2":
-                return 2;
-            case "h3":
-                return 3;
-            case "h4":
-                return 4;
-            case "h5":
-                return 5;
-            case "h6":
-                return 6;
-            default:
-                return 1;
-        }
-    }
-
-    /**
-     * 获取标题后的内容
-     */
-    private static String getContentAfterHeading(Element heading) {
-        StringBuilder content = new StringBuilder();
-        Element nextElement = heading.nextElementSibling();
-
-        while (nextElement != null && !isHeading(nextElement)) {
-            if (nextElement.tagName().equals("p")) {
-                content.append(nextElement.text()).append("\n\n");
-            } else if (nextElement.tagName().matches("ul|ol")) {
-                content.append(parseList(nextElement)).append("\n");
-            } else if (nextElement.tagName().equals("table")) {
-                content.append(parseTable(nextElement)).append("\n");
-            } else {
-                content.append(nextElement.text()).append("\n");
-            }
-            nextElement = nextElement.nextElementSibling();
-        }
-
-        return content.toString().trim();
-    }
-
-    /**
-     * 判断是否为标题元素
-     */
-    private static boolean isHeading(Element element) {
-        return element.tagName().matches("h[1-6]");
-    }
-
-    /**
-     * 获取跟随的内容
-     */
-    private static String getFollowingContent(Element element) {
-        StringBuilder content = new StringBuilder();
-        Element sibling = element.nextElementSibling();
-
-        while (sibling != null && !isHeading(sibling)) {
-            content.append(sibling.text()).append("\n");
-            sibling = sibling.nextElementSibling();
-        }
-
-        return content.toString().trim();
-    }
-
-    /**
-     * 构建层次结构
+     * 获取标题级别，非标题元素返回0
      */
-    private static List<DocumentStructure> buildHierarchy(List<DocumentStructure> flatStructures) {
-        List<DocumentStructure> result = new ArrayList<>();
-        Stack<DocumentStructure> stack = new Stack<>();
-
-        for (DocumentStructure structure : flatStructures) {
-            while (!stack.isEmpty() && stack.peek().getLevel() >= structure.getLevel()) {
-                stack.pop();
-            }
-
-            if (stack.isEmpty()) {
-                result.add(structure);
-            } else {
-                stack.peek().addChild(structure);
+    private static int headingLevel(String tagName) {
+        if (tagName.length() == 2 && tagName.charAt(0) == 'h') {
+            char digit = tagName.charAt(1);
+            if (digit >= '1' && digit <= '6') {
+                return digit - '0';
             }
-
-            stack.push(structure);
         }
-
-        return result;
+        return 0;
     }
 
     /**
@@ -215,13 +175,88 @@ public class HtmlContentParser {
         Elements headings = doc.select("h1, h2, h3, h4, h5, h6");
 
         for (Element heading : headings) {
-            String tagName = heading.tagName();
+            String tagName = heading.normalName();
             stats.put(tagName, stats.getOrDefault(tagName, 0) + 1);
         }
 
         return stats;
     }
 
+    /**
+     * 大纲构建器
+     * 按文档顺序接收标题和正文事件，用一个栈在线性时间内挂接层级，不需要预先拿到完整的DOM，
+     * 流式读取HTML（如SAX风格的解析器或逐段到达的内容）时可以边读边喂入。
+     *
+     * <p>标题出现时即按级别挂到最近的上级标题下；正文默认追加到最近的标题，
+     * 在 {@link #build()} 时统一去除首尾空白后写入 {@link DocumentStructure#getContent()}。</p>
+     */
+    public static class OutlineBuilder {
+        private final List<DocumentStructure> roots = new ArrayList<>();
+        private final Deque<DocumentStructure> stack = new ArrayDeque<>();
+        private final Map<DocumentStructure, StringBuilder> contents = new IdentityHashMap<>();
+        private DocumentStructure last;
+
+        /**
+         * 开始一个新标题
+         *
+         * @param level 标题级别（1-6）
+         * @param title 标题文本
+         * @return 新建的结构项
+         */
+        public DocumentStructure heading(int level, String title) {
+            DocumentStructure structure = new DocumentStructure(title, level, "");
+            while (!stack.isEmpty() && stack.peek().getLevel() >= level) {
+                stack.pop();
+            }
+            if (stack.isEmpty()) {
+                roots.add(structure);
+            } else {
+                stack.peek().addChild(structure);
+            }
+            stack.push(structure);
+            contents.put(structure, new StringBuilder());
+            last = structure;
+            return structure;
+        }
+
+        /**
+         * 向最近的标题追加正文，第一个标题之前的正文被忽略
+         *
+         * @param text 正文
+         */
+        public void content(String text) {
+            if (last != null) {
+                content(last, text);
+            }
+        }
+
+        /**
+         * 向指定标题追加正文
+         *
+         * @param structure 由 {@link #heading(int, String)} 返回的结构项
+         * @param text      正文
+         */
+        public void content(DocumentStructure structure, String text) {
+            StringBuilder buffer = contents.get(structure);
+            if (buffer == null) {
+                throw new IllegalArgumentException("结构项不属于当前大纲");
+            }
+            buffer.append(text);
+        }
+
+        /**
+         * 完成构建
+         *
+         * @return 顶层结构项列表
+         */
+        public List<DocumentStructure> build() {
+            for (Map.Entry<DocumentStructure, StringBuilder> entry : contents.entrySet()) {
+                entry.getKey().setContent(entry.getValue().toString().trim());
+            }
+            return roots;
+        }
+    }
+
     /**
      * 文档结构项
      */
@@ -0,0 +1,218 @@
+package com.boundesu.words.html.util;
+
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.Run;
+
+import java.util.List;
+
+/**
+ * HTML块渲染器
+ * 把 {@link Block} 序列渲染为HTML正文标记，是 {@link com.boundesu.words.html.parser.HtmlBlockParser} 的逆过程，
+ * 用于从块模型按需生成HTML视图，不需要另外保存一份HTML文本。
+ *
+ * <p>只包含单个段落的单元格和列表项直接输出段落内的文本，不再包一层 {@code <p>}。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class HtmlBlockRenderer {
+
+    private HtmlBlockRenderer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 渲染块序列
+     *
+     * @param blocks 块序列
+     * @return HTML正文标记，每个块一行
+     */
+    public static String render(List<? extends Block> blocks) {
+        StringBuilder html = new StringBuilder(blocks.size() * 32);
+        render(blocks, html);
+        return html.toString();
+    }
+
+    /**
+     * 把块序列渲染到已有的缓冲区
+     */
+    public static void render(List<? extends Block> blocks, StringBuilder html) {
+        for (Block block : blocks) {
+            block(block, html);
+        }
+    }
+
+    private static void block(Block block, StringBuilder html) {
+        switch (block.getKind()) {
+            case HEADING:
+                Block.Heading heading = (Block.Heading) block;
+                int level = Math.max(1, heading.getLevel());
+                html.append("<h").append(level).append('>');
+                runs(heading.getRuns(), html);
+                html.append("</h").append(level).append(">\n");
+                break;
+            case PARAGRAPH:
+                html.append("<p>");
+                runs(((Block.Paragraph) block).getRuns(), html);
+                html.append("</p>\n");
+                break;
+            case TABLE:
+                table((Block.Table) block, html);
+                break;
+            case LIST:
+                list((Block.ListBlock) block, html);
+                break;
+            case IMAGE:
+                image((Block.Image) block, html);
+                break;
+            case BREAK:
+                html.append(((Block.Break) block).isPageBreak()
+                        ? "<div style=\"page-break-after: always;\"></div>\n" : "<br>\n");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void table(Block.Table table, StringBuilder html) {
+        html.append("<table>\n");
+        for (List<Block.Cell> row : table.getRows()) {
+            html.append("<tr>\n");
+            for (Block.Cell cell : row) {
+                html.append("<td>");
+                content(cell.getBlocks(), html);
+                html.append("</td>\n");
+            }
+            html.append("</tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    private static void list(Block.ListBlock list, StringBuilder html) {
+        String tag = list.isOrdered() ? "ol" : "ul";
+        html.append('<').append(tag).append(">\n");
+        for (List<Block> item : list.getItems()) {
+            html.append("<li>");
+            content(item, html);
+            html.append("</li>\n");
+        }
+        html.append("</").append(tag).append(">\n");
+    }
+
+    /**
+     * 单元格或列表项的内容
+     */
+    private static void content(List<Block> blocks, StringBuilder html) {
+        if (blocks.size() == 1 && blocks.get(0).getKind() == Block.Kind.PARAGRAPH) {
+            runs(((Block.Paragraph) blocks.get(0)).getRuns(), html);
+        } else {
+            render(blocks, html);
+        }
+    }
+
+    private static void image(Block.Image image, StringBuilder html) {
+        html.append("<img src=\"").append(escape(image.getSource()))
+                .append("\" alt=\"").append(escape(image.getAltText())).append('"');
+        if (image.getWidth() > 0 && image.getHeight() > 0) {
+            html.append(" width=\"").append(image.getWidth())
+                    .append("\" height=\"").append(image.getHeight()).append('"');
+        } else {
+            html.append(" style=\"max-width: 100%; height: auto;\"");
+        }
+        html.append(">\n");
+    }
+
+    private static void runs(List<Run> runs, StringBuilder html) {
+        for (Run run : runs) {
+            run(run, html);
+        }
+    }
+
+    /**
+     * 链接文本段的蓝色下划线是 {@code <a>} 的默认样式，不另外输出
+     */
+    private static void run(Run run, StringBuilder html) {
+        boolean link = run.getHref() != null;
+        String color = link && Run.LINK_COLOR.equals(run.getColor()) ? null : run.getColor();
+        boolean underline = run.isUnderline() && !link;
+        if (link) {
+            html.append("<a href=\"").append(escape(run.getHref())).append("\">");
+        }
+        if (color != null) {
+            html.append("<span style=\"color: #").append(color).append(";\">");
+        }
+        if (run.isBold()) {
+            html.append("<b>");
+        }
+        if (run.isItalic()) {
+            html.append("<i>");
+        }
+        if (underline) {
+            html.append("<u>");
+        }
+        text(run.getText(), html);
+        if (underline) {
+            html.append("</u>");
+        }
+        if (run.isItalic()) {
+            html.append("</i>");
+        }
+        if (run.isBold()) {
+            html.append("</b>");
+        }
+        if (color != null) {
+            html.append("</span>");
+        }
+        if (link) {
+            html.append("</a>");
+        }
+    }
+
+    /**
+     * 转义后的文本，换行输出为 {@code <br>}
+     */
+    private static void text(String text, StringBuilder html) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                html.append("<br>");
+            } else {
+                escape(c, html);
+            }
+        }
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            escape(text.charAt(i), escaped);
+        }
+        return escaped.toString();
+    }
+
+    private static void escape(char c, StringBuilder html) {
+        switch (c) {
+            case '&':
+                html.append("&amp;");
+                break;
+            case '<':
+                html.append("&lt;");
+                break;
+            case '>':
+                html.append("&gt;");
+                break;
+            case '"':
+                html.append("&quot;");
+                break;
+            case '\'':
+                html.append("&#39;");
+                break;
+            default:
+                html.append(c);
+                break;
+        }
+    }
+}
@@ -3,13 +3,15 @@ package com.boundesu.words.html.util;
 import com.boundesu.words.common.util.StringUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 import org.jsoup.safety.Safelist;
 import org.jsoup.select.Elements;
 
 /**
  * HTML工具类
  *
+ * <p>对同一份HTML做多次查询时，先用 {@link #parse(String)} 解析一次，再调用接受 {@link ParsedHtml} 的重载，
+ * 接受字符串的方法每次调用都会重新解析。</p>
+ *
  * @author Boundesu
  * @version 1.0.0
  */
@@ -22,6 +24,16 @@ public class HtmlUtils {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
+    /**
+     * 解析HTML，供多次查询和转换共用
+     *
+     * @param html HTML内容
+     * @return 已解析的HTML
+     */
+    public static ParsedHtml parse(String html) {
+        return ParsedHtml.parse(html);
+    }
+
     /**
      * 清理HTML，移除不安全的标签和属性
      *
@@ -36,6 +48,16 @@ public class HtmlUtils {
         return Jsoup.clean(html, Safelist.relaxed());
     }
 
+    /**
+     * 清理已解析的HTML，移除不安全的标签和属性
+     *
+     * @param html 已解析的HTML
+     * @return 清理后的正文HTML
+     */
+    public static String cleanHtml(ParsedHtml html) {
+        return html != null ? html.cleanHtml() : "";
+    }
+
     /**
      * 提取HTML中的纯文本
      *
@@ -47,8 +69,17 @@ public class HtmlUtils {
             return "";
         }
 
-        Document doc = Jsoup.parse(html);
-        return doc.text();
+        return ParsedHtml.parse(html).getText();
+    }
+
+    /**
+     * 提取已解析HTML中的纯文本
+     *
+     * @param html 已解析的HTML
+     * @return 纯文本
+     */
+    public static String extractText(ParsedHtml html) {
+        return html != null ? html.getText() : "";
     }
 
     /**
@@ -81,8 +112,17 @@ public class HtmlUtils {
             return new Elements();
         }
 
-        Document doc = Jsoup.parse(html);
-        return doc.select("a[href]");
+        return ParsedHtml.parse(html).getLinks();
+    }
+
+    /**
+     * 获取已解析HTML中的所有链接
+     *
+     * @param html 已解析的HTML
+     * @return 链接列表
+     */
+    public static Elements getLinks(ParsedHtml html) {
+        return html != null ? html.getLinks() : new Elements();
     }
 
     /**
@@ -96,8 +136,17 @@ public class HtmlUtils {
             return new Elements();
         }
 
-        Document doc = Jsoup.parse(html);
-        return doc.select("img[src]");
+        return ParsedHtml.parse(html).getImages();
+    }
+
+    /**
+     * 获取已解析HTML中的所有图片
+     *
+     * @param html 已解析的HTML
+     * @return 图片元素列表
+     */
+    public static Elements getImages(ParsedHtml html) {
+        return html != null ? html.getImages() : new Elements();
     }
 
     /**
@@ -111,8 +160,17 @@ public class HtmlUtils {
             return new Elements();
         }
 
-        Document doc = Jsoup.parse(html);
-        return doc.select("table");
+        return ParsedHtml.parse(html).getTables();
+    }
+
+    /**
+     * 获取已解析HTML中的所有表格
+     *
+     * @param html 已解析的HTML
+     * @return 表格元素列表
+     */
+    public static Elements getTables(ParsedHtml html) {
+        return html != null ? html.getTables() : new Elements();
     }
 
     /**
@@ -173,9 +231,17 @@ public class HtmlUtils {
             return "";
         }
 
-        Document doc = Jsoup.parse(html);
-        Element titleElement = doc.selectFirst("title");
-        return titleElement != null ? titleElement.text() : "";
+        return ParsedHtml.parse(html).getTitle();
+    }
+
+    /**
+     * 获取已解析HTML文档的标题
+     *
+     * @param html 已解析的HTML
+     * @return 标题
+     */
+    public static String getTitle(ParsedHtml html) {
+        return html != null ? html.getTitle() : "";
     }
 
     /**
@@ -227,4 +293,15 @@ public class HtmlUtils {
         Elements elements = doc.select(tagName);
         return !elements.isEmpty();
     }
-}
\ No newline at end of file
+
+    /**
+     * 检查已解析的HTML是否包含指定的标签
+     *
+     * @param html    已解析的HTML
+     * @param tagName 标签名
+     * @return 是否包含
+     */
+    public static boolean containsTag(ParsedHtml html, String tagName) {
+        return html != null && !StringUtils.isBlank(tagName) && html.containsTag(tagName);
+    }
+}
@@ -0,0 +1,173 @@
+package com.boundesu.words.html.util;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.jsoup.select.Elements;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 已解析的HTML
+ * 对同一份HTML只解析一次，标题、纯文本、链接、图片、表格、标签查询和清理都基于同一棵DOM树回答，
+ * 也可以直接交给转换器，避免预处理和转换阶段各自重复解析。
+ *
+ * <p>按标签名的元素索引在第一次按标签查询时遍历一次DOM树建立，之后的查询不再遍历。
+ * 返回的元素属于共享的DOM树，调用方不应修改；实例可以在线程之间共享只读使用。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class ParsedHtml {
+
+    private final Document document;
+    private volatile Map<String, Elements> tagIndex;
+    private volatile String text;
+    private volatile String cleanHtml;
+
+    private ParsedHtml(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * 解析HTML
+     *
+     * @param html HTML内容，null 视为空文档
+     * @return 已解析的HTML
+     */
+    public static ParsedHtml parse(String html) {
+        return new ParsedHtml(Jsoup.parse(html != null ? html : ""));
+    }
+
+    /**
+     * 包装已解析的DOM文档
+     *
+     * @param document Jsoup文档
+     * @return 已解析的HTML
+     */
+    public static ParsedHtml of(Document document) {
+        if (document == null) {
+            throw new IllegalArgumentException("HTML文档不能为空");
+        }
+        return new ParsedHtml(document);
+    }
+
+    /**
+     * 获取DOM文档
+     */
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * 获取文档标题
+     */
+    public String getTitle() {
+        Elements titles = getElementsByTag("title");
+        return titles.isEmpty() ? "" : titles.first().text();
+    }
+
+    /**
+     * 获取纯文本
+     */
+    public String getText() {
+        String result = text;
+        if (result == null) {
+            result = document.text();
+            text = result;
+        }
+        return result;
+    }
+
+    /**
+     * 获取带 href 的链接
+     */
+    public Elements getLinks() {
+        return withAttribute(getElementsByTag("a"), "href");
+    }
+
+    /**
+     * 获取带 src 的图片
+     */
+    public Elements getImages() {
+        return withAttribute(getElementsByTag("img"), "src");
+    }
+
+    /**
+     * 获取所有表格
+     */
+    public Elements getTables() {
+        return getElementsByTag("table");
+    }
+
+    /**
+     * 检查是否包含指定标签
+     */
+    public boolean containsTag(String tagName) {
+        return tagName != null && !getElementsByTag(tagName).isEmpty();
+    }
+
+    /**
+     * 按标签名获取元素，按文档顺序排列
+     *
+     * @param tagName 标签名，不区分大小写
+     * @return 元素列表的副本
+     */
+    public Elements getElementsByTag(String tagName) {
+        if (tagName == null) {
+            return new Elements();
+        }
+        Elements elements = index().get(tagName.trim().toLowerCase(Locale.ROOT));
+        return elements != null ? new Elements(elements) : new Elements();
+    }
+
+    /**
+     * 按CSS选择器查询元素
+     */
+    public Elements select(String cssSelector) {
+        return document.select(cssSelector);
+    }
+
+    /**
+     * 获取按 {@link Safelist#relaxed()} 清理后的正文HTML
+     */
+    public String cleanHtml() {
+        String result = cleanHtml;
+        if (result == null) {
+            result = new Cleaner(Safelist.relaxed()).clean(document).body().html();
+            cleanHtml = result;
+        }
+        return result;
+    }
+
+    private Map<String, Elements> index() {
+        Map<String, Elements> result = tagIndex;
+        if (result == null) {
+            synchronized (this) {
+                result = tagIndex;
+                if (result == null) {
+                    result = new HashMap<>();
+                    for (Element element : document.getAllElements()) {
+                        result.computeIfAbsent(element.normalName(), k -> new Elements()).add(element);
+                    }
+                    tagIndex = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Elements withAttribute(Elements elements, String attribute) {
+        Elements result = new Elements(elements.size());
+        for (Element element : elements) {
+            if (element.hasAttr(attribute)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+}
@@ -1,6 +1,11 @@
 package com.boundesu.words.xml.converter;
 
 import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.common.style.ListNumbering;
+import com.boundesu.words.common.style.StyleInterner;
+import com.boundesu.words.xml.converter.XmlMappingRules.Target;
+import com.boundesu.words.xml.util.XmlParserProvider;
+import com.boundesu.words.xml.util.XmlSchemaCache;
 import org.apache.poi.xwpf.usermodel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,20 +14,33 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.validation.Schema;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * 优化的XML转DOCX转换器
  * 基于Apache POI的新特性进行优化
  *
+ * <p>转换器本身无状态：元素处理器表在类加载时构建一次，每次转换使用独立的
+ * {@link ConversionContext}（目标文档与选项），同一实例可被多个线程并发调用。</p>
+ *
+ * <p>元素名到处理器的映射经过 {@link XmlMappingRules}：可通过
+ * {@link ConversionOptions#setMappingRules(XmlMappingRules)} 按路径把业务XML映射为表格、段落或格式。</p>
+ *
  * @author Boundesu Team
  * @version 1.0.0
  */
@@ -30,77 +48,79 @@ public class OptimizedXmlToDocxConverter {
 
     private static final Logger log = LoggerFactory.getLogger(OptimizedXmlToDocxConverter.class);
 
-    private XWPFDocument document;
-    private Map<String, ElementProcessor> elementProcessors;
+    private static final Map<Target, ElementProcessor> ELEMENT_PROCESSORS = createElementProcessors();
+
+    /** 文档标题字号（磅） */
+    static final int TITLE_FONT_SIZE = 18;
+    /** 链接颜色 */
+    static final String LINK_COLOR = "0000FF";
+    private static final OptimizedXmlToDocxConverter INSTANCE = new OptimizedXmlToDocxConverter();
 
     /**
      * 构造函数
      */
     public OptimizedXmlToDocxConverter() {
-        this.document = new XWPFDocument();
-        initializeElementProcessors();
     }
 
     /**
-     * 初始化元素处理器
+     * 获取共享实例
+     */
+    public static OptimizedXmlToDocxConverter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 创建元素处理器表：映射目标到处理方法，元素名到目标的映射由 {@link XmlMappingRules} 负责
      */
-    private void initializeElementProcessors() {
-        elementProcessors = new HashMap<>();
+    private static Map<Target, ElementProcessor> createElementProcessors() {
+        Map<Target, ElementProcessor> elementProcessors = new EnumMap<>(Target.class);
 
         // 文档结构元素
-        elementProcessors.put("document", this::processDocumentElement);
-        elementProcessors.put("root", this::processDocumentElement);
+        elementProcessors.put(Target.DOCUMENT, OptimizedXmlToDocxConverter::processDocumentElement);
 
         // 标题和标题元素
-        elementProcessors.put("title", this::processTitleElement);
-        elementProcessors.put("heading", this::processHeadingElement);
-        elementProcessors.put("h1", (e, p, o) -> processHeadingElement(e, p, o, 1));
-        elementProcessors.put("h2", (e, p, o) -> processHeadingElement(e, p, o, 2));
-        elementProcessors.put("h3", (e, p, o) -> processHeadingElement(e, p, o, 3));
-        elementProcessors.put("h4", (e, p, o) -> processHeadingElement(e, p, o, 4));
-        elementProcessors.put("h5", (e, p, o) -> processHeadingElement(e, p, o, 5));
-        elementProcessors.put("h6", (e, p, o) -> processHeadingElement(e, p, o, 6));
+        elementProcessors.put(Target.TITLE, OptimizedXmlToDocxConverter::processTitleElement);
+        elementProcessors.put(Target.HEADING, OptimizedXmlToDocxConverter::processHeadingElement);
 
         // 段落和文本元素
-        elementProcessors.put("paragraph", this::processParagraphElement);
-        elementProcessors.put("p", this::processParagraphElement);
-        elementProcessors.put("text", this::processTextElement);
+        elementProcessors.put(Target.PARAGRAPH, OptimizedXmlToDocxConverter::processParagraphElement);
+        elementProcessors.put(Target.TEXT, OptimizedXmlToDocxConverter::processTextElement);
 
         // 格式化元素
-        elementProcessors.put("bold", this::processBoldElement);
-        elementProcessors.put("b", this::processBoldElement);
-        elementProcessors.put("italic", this::processItalicElement);
-        elementProcessors.put("i", this::processItalicElement);
-        elementProcessors.put("underline", this::processUnderlineElement);
-        elementProcessors.put("u", this::processUnderlineElement);
+        elementProcessors.put(Target.BOLD, OptimizedXmlToDocxConverter::processBoldElement);
+        elementProcessors.put(Target.ITALIC, OptimizedXmlToDocxConverter::processItalicElement);
+        elementProcessors.put(Target.UNDERLINE, OptimizedXmlToDocxConverter::processUnderlineElement);
 
         // 表格元素
-        elementProcessors.put("table", this::processTableElement);
-        elementProcessors.put("row", this::processRowElement);
-        elementProcessors.put("cell", this::processCellElement);
+        elementProcessors.put(Target.TABLE, OptimizedXmlToDocxConverter::processTableElement);
+        elementProcessors.put(Target.ROW, OptimizedXmlToDocxConverter::processRowElement);
+        elementProcessors.put(Target.CELL, OptimizedXmlToDocxConverter::processCellElement);
 
         // 列表元素
-        elementProcessors.put("list", this::processListElement);
-        elementProcessors.put("item", this::processItemElement);
+        elementProcessors.put(Target.LIST, OptimizedXmlToDocxConverter::processListElement);
+        elementProcessors.put(Target.ITEM, OptimizedXmlToDocxConverter::processItemElement);
 
         // 媒体元素
-        elementProcessors.put("image", this::processImageElement);
-        elementProcessors.put("img", this::processImageElement);
-        elementProcessors.put("link", this::processLinkElement);
-        elementProcessors.put("a", this::processLinkElement);
+        elementProcessors.put(Target.IMAGE, OptimizedXmlToDocxConverter::processImageElement);
+        elementProcessors.put(Target.LINK, OptimizedXmlToDocxConverter::processLinkElement);
 
         // 其他元素
-        elementProcessors.put("break", this::processBreakElement);
-        elementProcessors.put("br", this::processBreakElement);
-        elementProcessors.put("section", this::processSectionElement);
+        elementProcessors.put(Target.BREAK, OptimizedXmlToDocxConverter::processBreakElement);
+        elementProcessors.put(Target.SECTION, OptimizedXmlToDocxConverter::processSectionElement);
+        elementProcessors.put(Target.CONTAINER, OptimizedXmlToDocxConverter::processChildElements);
+        elementProcessors.put(Target.IGNORE, (context, element, currentParagraph) -> { });
+        return Collections.unmodifiableMap(elementProcessors);
     }
 
     /**
      * 从XML字符串转换为DOCX
      */
     public byte[] convertXmlToDocx(String xmlContent, ConversionOptions options) throws BoundesuWordsException {
+        if (options != null && (options.isUseStreamingParser() || validates(options))) {
+            return toBytes(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)), options);
+        }
         try {
-            org.w3c.dom.Document xmlDoc = parseXmlString(xmlContent);
+            org.w3c.dom.Document xmlDoc = parseXmlString(xmlContent, parserSettings(options));
             return convertXmlToDocx(xmlDoc, options);
         } catch (Exception e) {
             throw new BoundesuWordsException("XML_CONVERSION_ERROR", "XML转换失败: " + e.getMessage(), e);
@@ -111,28 +131,91 @@ public class OptimizedXmlToDocxConverter {
      * 从XML文件转换为DOCX
      */
     public byte[] convertXmlFileToDocx(String xmlFilePath, ConversionOptions options) throws BoundesuWordsException {
+        if (options != null && (options.isUseStreamingParser() || validates(options))) {
+            try (InputStream in = Files.newInputStream(Paths.get(xmlFilePath))) {
+                return toBytes(in, options);
+            } catch (IOException e) {
+                throw new BoundesuWordsException("XML_FILE_CONVERSION_ERROR", "XML文件转换失败: " + e.getMessage(), e);
+            }
+        }
         try {
-            org.w3c.dom.Document xmlDoc = parseXmlFile(xmlFilePath);
+            org.w3c.dom.Document xmlDoc = parseXmlFile(xmlFilePath, parserSettings(options));
             return convertXmlToDocx(xmlDoc, options);
         } catch (Exception e) {
             throw new BoundesuWordsException("XML_FILE_CONVERSION_ERROR", "XML文件转换失败: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 从XML输入流转换为DOCX并写入输出流
+     * 启用 {@link ConversionOptions#setUseStreamingParser(boolean)} 时使用StAX流式解析，
+     * 不构建DOM，只在内存中保留当前元素的祖先栈，适合处理数百MB的XML数据文件
+     *
+     * <p>设置了 {@link ConversionOptions#setSchemaLocation(String)} 时在同一次读取中完成Schema校验：
+     * DOM模式由解析器边解析边校验，流式模式把每个StAX事件同步交给校验器。</p>
+     */
+    public void convertXmlToDocx(InputStream xmlStream, OutputStream docxStream, ConversionOptions options)
+            throws BoundesuWordsException {
+        if (options == null) {
+            options = new ConversionOptions();
+        }
+        Schema schema = options.getSchemaLocation() != null
+                ? XmlSchemaCache.getSchema(options.getSchemaLocation()) : options.getParserSettings().getSchema();
+        XmlParserProvider.ParserSettings settings = options.getParserSettings().withSchema(schema);
+        ValidationErrorCollector errors = new ValidationErrorCollector(options);
+        try (XWPFDocument document = new XWPFDocument()) {
+            ConversionContext context = new ConversionContext(document, options);
+            setDocumentProperties(context);
+            if (options.isUseStreamingParser()) {
+                StaxValidationBridge validation = schema != null ? new StaxValidationBridge(schema, errors) : null;
+                new StreamingXmlConverter(document, options, validation).convert(xmlStream);
+            } else {
+                processXmlDocument(context, XmlParserProvider.parse(xmlStream, settings, schema != null ? errors : null));
+            }
+            errors.finish();
+            document.write(docxStream);
+        } catch (XMLStreamException | SAXException e) {
+            if (errors.hasFailed()) {
+                throw errors.toException();
+            }
+            throw new BoundesuWordsException("XML_CONVERSION_ERROR", "XML转换失败: " + e.getMessage(), e);
+        } catch (ParserConfigurationException | IOException e) {
+            throw new BoundesuWordsException("DOCX_GENERATION_ERROR", "DOCX生成失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 是否需要Schema校验：指定了Schema位置，或解析器设置中带有Schema
+     */
+    private static boolean validates(ConversionOptions options) {
+        return options.getSchemaLocation() != null || options.getParserSettings().getSchema() != null;
+    }
+
+    private static XmlParserProvider.ParserSettings parserSettings(ConversionOptions options) {
+        return options != null ? options.getParserSettings() : XmlParserProvider.ParserSettings.DEFAULT;
+    }
+
+    private byte[] toBytes(InputStream xmlStream, ConversionOptions options) throws BoundesuWordsException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        convertXmlToDocx(xmlStream, outputStream, options);
+        return outputStream.toByteArray();
+    }
+
     /**
      * 从XML文档转换为DOCX
      */
     public byte[] convertXmlToDocx(org.w3c.dom.Document xmlDoc, ConversionOptions options) throws BoundesuWordsException {
-        try {
-            if (options == null) {
-                options = new ConversionOptions();
-            }
+        if (options == null) {
+            options = new ConversionOptions();
+        }
+        try (XWPFDocument document = new XWPFDocument()) {
+            ConversionContext context = new ConversionContext(document, options);
 
             // 设置文档属性
-            setDocumentProperties(options);
+            setDocumentProperties(context);
 
             // 处理XML文档
-            processXmlDocument(xmlDoc, options);
+            processXmlDocument(context, xmlDoc);
 
             // 转换为字节数组
             try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
@@ -147,79 +230,100 @@ public class OptimizedXmlToDocxConverter {
     /**
      * 解析XML字符串
      */
-    private org.w3c.dom.Document parseXmlString(String xmlContent) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        return builder.parse(new ByteArrayInputStream(xmlContent.getBytes("UTF-8")));
+    private static org.w3c.dom.Document parseXmlString(String xmlContent, XmlParserProvider.ParserSettings settings)
+            throws ParserConfigurationException, SAXException, IOException {
+        return XmlParserProvider.parse(xmlContent, settings);
     }
 
     /**
      * 解析XML文件
      */
-    private org.w3c.dom.Document parseXmlFile(String xmlFilePath) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        return builder.parse(new File(xmlFilePath));
+    private static org.w3c.dom.Document parseXmlFile(String xmlFilePath, XmlParserProvider.ParserSettings settings)
+            throws ParserConfigurationException, SAXException, IOException {
+        return XmlParserProvider.parse(new File(xmlFilePath), settings);
     }
 
     /**
      * 设置文档属性
      */
-    private void setDocumentProperties(ConversionOptions options) {
+    private static void setDocumentProperties(ConversionContext context) {
         // 设置文档核心属性
-        if (options.getTitle() != null && !options.getTitle().isEmpty()) {
-            document.getProperties().getCoreProperties().setTitle(options.getTitle());
+        if (context.options.getTitle() != null && !context.options.getTitle().isEmpty()) {
+            context.document.getProperties().getCoreProperties().setTitle(context.options.getTitle());
         }
-        if (options.getAuthor() != null && !options.getAuthor().isEmpty()) {
-            document.getProperties().getCoreProperties().setCreator(options.getAuthor());
+        if (context.options.getAuthor() != null && !context.options.getAuthor().isEmpty()) {
+            context.document.getProperties().getCoreProperties().setCreator(context.options.getAuthor());
         }
-        if (options.getSubject() != null && !options.getSubject().isEmpty()) {
-            document.getProperties().getCoreProperties().setSubjectProperty(options.getSubject());
+        if (context.options.getSubject() != null && !context.options.getSubject().isEmpty()) {
+            context.document.getProperties().getCoreProperties().setSubjectProperty(context.options.getSubject());
         }
     }
 
     /**
      * 处理XML文档
      */
-    private void processXmlDocument(org.w3c.dom.Document xmlDoc, ConversionOptions options) {
+    private static void processXmlDocument(ConversionContext context, org.w3c.dom.Document xmlDoc) {
         Element rootElement = xmlDoc.getDocumentElement();
-        processElement(rootElement, null, options);
+        processElement(context, rootElement, null);
     }
 
     /**
      * 处理XML元素
      */
-    private void processElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
-        String elementName = element.getNodeName().toLowerCase();
-
-        ElementProcessor processor = elementProcessors.get(elementName);
-        if (processor != null) {
-            processor.process(element, currentParagraph, options);
-        } else {
-            // 默认处理：递归处理子元素
-            processChildElements(element, currentParagraph, options);
+    private static void processElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
+        XmlMappingRules.MatchState parentState = context.state;
+        int parentStyle = context.runStyle;
+        try {
+            Target target = enter(context, element);
+            ELEMENT_PROCESSORS.get(target).process(context, element, currentParagraph);
+        } finally {
+            context.state = parentState;
+            context.runStyle = parentStyle;
         }
     }
 
+    /**
+     * 按映射规则解析元素的目标，并把上下文的匹配状态和继承样式推进到该元素；调用方负责恢复
+     */
+    private static Target enter(ConversionContext context, Element element) {
+        String name = element.getNodeName().toLowerCase();
+        context.state = context.rules.next(context.state, name);
+        XmlMappingRules.AttributeLookup attributes =
+                attribute -> element.hasAttribute(attribute) ? element.getAttribute(attribute) : null;
+        context.runStyle |= context.rules.styles(context.state, attributes);
+        XmlMappingRules.Rule rule = context.rules.resolve(context.state, name, attributes);
+        context.headingLevel = rule != null ? rule.getHeadingLevel() : 0;
+        return rule != null ? rule.getTarget() : Target.CONTAINER;
+    }
+
+    /**
+     * 创建文本段，格式为元素自身的样式位叠加映射规则指定的样式，通过文档的字符样式引用，
+     * 默认字体和字号由 docDefaults 给出
+     */
+    private static XWPFRun createRun(ConversionContext context, XWPFParagraph paragraph, String text,
+                                     int styleBits, String color) {
+        XWPFRun run = paragraph.createRun();
+        run.setText(text);
+        context.styles.applyRun(run, context.runStyle | styleBits, color, 0, null);
+        return run;
+    }
+
     /**
      * 处理子元素
      */
-    private void processChildElements(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processChildElements(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         NodeList children = element.getChildNodes();
         for (int i = 0; i < children.getLength(); i++) {
             Node child = children.item(i);
             if (child.getNodeType() == Node.ELEMENT_NODE) {
-                processElement((Element) child, currentParagraph, options);
+                processElement(context, (Element) child, currentParagraph);
             } else if (child.getNodeType() == Node.TEXT_NODE) {
                 String text = child.getNodeValue().trim();
                 if (!text.isEmpty()) {
                     if (currentParagraph == null) {
-                        currentParagraph = document.createParagraph();
+                        currentParagraph = context.newParagraph();
                     }
-                    XWPFRun run = currentParagraph.createRun();
-                    run.setText(text);
-                    run.setFontSize(options.getDefaultFontSize());
-                    run.setFontFamily(options.getDefaultFontFamily());
+                    createRun(context, currentParagraph, text, 0, null);
                 }
             }
         }
@@ -228,23 +332,18 @@ public class OptimizedXmlToDocxConverter {
     /**
      * 处理文档元素
      */
-    private void processDocumentElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processDocumentElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         log.debug("处理文档根元素");
-        processChildElements(element, null, options);
+        processChildElements(context, element, null);
     }
 
     /**
      * 处理标题元素
      */
-    private void processTitleElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
-        XWPFParagraph paragraph = document.createParagraph();
-        paragraph.setAlignment(ParagraphAlignment.CENTER);
-
-        XWPFRun run = paragraph.createRun();
-        run.setText(element.getTextContent());
-        run.setBold(true);
-        run.setFontSize(18);
-        run.setFontFamily(options.getDefaultFontFamily());
+    private static void processTitleElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
+        XWPFParagraph paragraph = context.newParagraph();
+        paragraph.setStyle(context.styles.titleStyle(TITLE_FONT_SIZE));
+        createRun(context, paragraph, element.getTextContent(), 0, null);
 
         log.debug("处理标题: {}", element.getTextContent());
     }
@@ -254,7 +353,11 @@ public class OptimizedXmlToDocxConverter {
     /**
      * 处理标题元素
      */
-    private void processHeadingElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processHeadingElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
+        if (context.headingLevel > 0) {
+            processHeadingElement(context, element, currentParagraph, context.headingLevel);
+            return;
+        }
         String levelAttr = element.getAttribute("level");
         int level = 1;
         try {
@@ -264,44 +367,42 @@ public class OptimizedXmlToDocxConverter {
         } catch (NumberFormatException e) {
             level = 1;
         }
-        processHeadingElement(element, currentParagraph, options, level);
+        processHeadingElement(context, element, currentParagraph, level);
     }
 
     /**
      * 处理指定级别的标题元素
      */
-    private void processHeadingElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options, int level) {
-        XWPFParagraph paragraph = document.createParagraph();
-
-        XWPFRun run = paragraph.createRun();
-        run.setText(element.getTextContent());
-        run.setBold(true);
-
-        // 根据级别设置字体大小
-        int fontSize = Math.max(12, 20 - level * 2);
-        run.setFontSize(fontSize);
-        run.setFontFamily(options.getDefaultFontFamily());
+    private static void processHeadingElement(ConversionContext context, Element element, XWPFParagraph currentParagraph, int level) {
+        XWPFParagraph paragraph = context.newParagraph();
+        // 粗体和按级别的字号由标题段落样式给出
+        paragraph.setStyle(context.styles.headingStyle(level, headingFontSize(level)));
+        createRun(context, paragraph, element.getTextContent(), 0, null);
 
         log.debug("处理{}级标题: {}", level, element.getTextContent());
     }
 
+    /**
+     * 标题字号：max(12, 20 - 级别 * 2) 磅
+     */
+    static int headingFontSize(int level) {
+        return Math.max(12, 20 - level * 2);
+    }
+
     /**
      * 处理段落元素
      */
-    private void processParagraphElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
-        XWPFParagraph paragraph = document.createParagraph();
+    private static void processParagraphElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
+        XWPFParagraph paragraph = context.newParagraph();
 
         // 处理段落内容和子元素
-        processChildElements(element, paragraph, options);
+        processChildElements(context, element, paragraph);
 
         // 如果段落为空，添加文本内容
         if (paragraph.getRuns().isEmpty()) {
             String text = element.getTextContent().trim();
             if (!text.isEmpty()) {
-                XWPFRun run = paragraph.createRun();
-                run.setText(text);
-                run.setFontSize(options.getDefaultFontSize());
-                run.setFontFamily(options.getDefaultFontFamily());
+                createRun(context, paragraph, text, 0, null);
             }
         }
 
@@ -311,148 +412,171 @@ public class OptimizedXmlToDocxConverter {
     /**
      * 处理文本元素
      */
-    private void processTextElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processTextElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         if (currentParagraph == null) {
-            currentParagraph = document.createParagraph();
+            currentParagraph = context.newParagraph();
         }
 
-        XWPFRun run = currentParagraph.createRun();
-        run.setText(element.getTextContent());
-        run.setFontSize(options.getDefaultFontSize());
-        run.setFontFamily(options.getDefaultFontFamily());
+        createRun(context, currentParagraph, element.getTextContent(), 0, null);
     }
 
     /**
      * 处理粗体元素
      */
-    private void processBoldElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processBoldElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         if (currentParagraph == null) {
-            currentParagraph = document.createParagraph();
+            currentParagraph = context.newParagraph();
         }
 
-        XWPFRun run = currentParagraph.createRun();
-        run.setText(element.getTextContent());
-        run.setBold(true);
-        run.setFontSize(options.getDefaultFontSize());
-        run.setFontFamily(options.getDefaultFontFamily());
+        createRun(context, currentParagraph, element.getTextContent(), StyleInterner.BOLD, null);
     }
 
     /**
      * 处理斜体元素
      */
-    private void processItalicElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processItalicElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         if (currentParagraph == null) {
-            currentParagraph = document.createParagraph();
+            currentParagraph = context.newParagraph();
         }
 
-        XWPFRun run = currentParagraph.createRun();
-        run.setText(element.getTextContent());
-        run.setItalic(true);
-        run.setFontSize(options.getDefaultFontSize());
-        run.setFontFamily(options.getDefaultFontFamily());
+        createRun(context, currentParagraph, element.getTextContent(), StyleInterner.ITALIC, null);
     }
 
     /**
      * 处理下划线元素
      */
-    private void processUnderlineElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processUnderlineElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         if (currentParagraph == null) {
-            currentParagraph = document.createParagraph();
+            currentParagraph = context.newParagraph();
         }
 
-        XWPFRun run = currentParagraph.createRun();
-        run.setText(element.getTextContent());
-        run.setUnderline(UnderlinePatterns.SINGLE);
-        run.setFontSize(options.getDefaultFontSize());
-        run.setFontFamily(options.getDefaultFontFamily());
+        createRun(context, currentParagraph, element.getTextContent(), StyleInterner.UNDERLINE, null);
     }
 
     /**
      * 处理表格元素
+     * 只遍历直接子元素，单元格内容按正常元素处理，嵌套表格和列表会写入单元格内部
      */
-    private void processTableElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
-        XWPFTable table = document.createTable();
+    private static void processTableElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
+        XWPFTable table = context.newTable();
+        XmlMappingRules.MatchState tableState = context.state;
+        int tableStyle = context.runStyle;
 
-        // 处理表格行
-        NodeList rows = element.getElementsByTagName("row");
-        if (rows.getLength() == 0) {
-            rows = element.getElementsByTagName("tr");
+        int rowCount = 0;
+        try {
+            for (Node rowNode = element.getFirstChild(); rowNode != null; rowNode = rowNode.getNextSibling()) {
+                context.state = tableState;
+                context.runStyle = tableStyle;
+                if (!isElement(context, rowNode, Target.ROW)) {
+                    continue;
+                }
+                XWPFTableRow row = XmlBlockSupport.nextRow(table, rowCount++);
+                XmlMappingRules.MatchState rowState = context.state;
+                int rowStyle = context.runStyle;
+
+                int cellCount = 0;
+                for (Node cellNode = rowNode.getFirstChild(); cellNode != null; cellNode = cellNode.getNextSibling()) {
+                    context.state = rowState;
+                    context.runStyle = rowStyle;
+                    if (isElement(context, cellNode, Target.CELL)) {
+                        processCellContent(context, (Element) cellNode, XmlBlockSupport.cellAt(row, cellCount++));
+                    }
+                }
+            }
+        } finally {
+            context.state = tableState;
+            context.runStyle = tableStyle;
         }
 
-        for (int i = 0; i < rows.getLength(); i++) {
-            Element rowElement = (Element) rows.item(i);
-            XWPFTableRow row = (i == 0) ? table.getRow(0) : table.createRow();
+        log.debug("处理表格，行数: {}", rowCount);
+    }
 
-            // 处理表格单元格
-            NodeList cells = rowElement.getElementsByTagName("cell");
-            if (cells.getLength() == 0) {
-                cells = rowElement.getElementsByTagName("td");
-            }
+    /**
+     * 将单元格元素的内容写入单元格
+     */
+    private static void processCellContent(ConversionContext context, Element cellElement, XWPFTableCell cell) {
+        XWPFTableCell outerCell = context.cell;
+        boolean outerParagraphUsed = context.cellParagraphUsed;
+        int outerListDepth = context.listDepth;
 
-            for (int j = 0; j < cells.getLength(); j++) {
-                Element cellElement = (Element) cells.item(j);
-                XWPFTableCell cell = (j == 0 && row.getTableCells().size() > 0) ?
-                        row.getCell(0) : row.createCell();
-
-                // 设置单元格内容
-                XWPFParagraph cellParagraph = cell.getParagraphs().get(0);
-                XWPFRun cellRun = cellParagraph.createRun();
-                cellRun.setText(cellElement.getTextContent());
-                cellRun.setFontSize(options.getDefaultFontSize());
-                cellRun.setFontFamily(options.getDefaultFontFamily());
-            }
+        context.cell = cell;
+        context.cellParagraphUsed = false;
+        context.listDepth = 0;
+        try {
+            processChildElements(context, cellElement, null);
+            XmlBlockSupport.closeCell(cell);
+        } finally {
+            context.cell = outerCell;
+            context.cellParagraphUsed = outerParagraphUsed;
+            context.listDepth = outerListDepth;
         }
+    }
 
-        log.debug("处理表格，行数: {}", rows.getLength());
+    /**
+     * 判断子节点是否映射为指定目标；是时上下文的匹配状态停留在该子元素上
+     */
+    private static boolean isElement(ConversionContext context, Node node, Target target) {
+        return node.getNodeType() == Node.ELEMENT_NODE && enter(context, (Element) node) == target;
     }
 
     /**
      * 处理表格行元素（由表格处理器调用）
      */
-    private void processRowElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processRowElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         // 行处理在表格处理器中完成
     }
 
     /**
      * 处理表格单元格元素（由表格处理器调用）
      */
-    private void processCellElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processCellElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         // 单元格处理在表格处理器中完成
     }
 
     /**
      * 处理列表元素
-     */
-    private void processListElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
-        NodeList items = element.getElementsByTagName("item");
-        if (items.getLength() == 0) {
-            items = element.getElementsByTagName("li");
-        }
-
-        for (int i = 0; i < items.getLength(); i++) {
-            Element itemElement = (Element) items.item(i);
-            XWPFParagraph paragraph = document.createParagraph();
-
-            XWPFRun run = paragraph.createRun();
-            run.setText("• " + itemElement.getTextContent());
-            run.setFontSize(options.getDefaultFontSize());
-            run.setFontFamily(options.getDefaultFontFamily());
+     * 只遍历直接子元素中的列表项，列表项段落引用文档共用的编号定义，嵌套列表使用下一级编号
+     */
+    private static void processListElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
+        BigInteger numId = context.listNumbering().startList(
+                XmlBlockSupport.isOrderedList(element.getNodeName(), element.getAttribute("type")));
+        int level = context.listDepth;
+        context.listDepth = level + 1;
+        XmlMappingRules.MatchState listState = context.state;
+        int listStyle = context.runStyle;
+        int itemCount = 0;
+        try {
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                context.state = listState;
+                context.runStyle = listStyle;
+                if (!isElement(context, child, Target.ITEM)) {
+                    continue;
+                }
+                XWPFParagraph paragraph = context.newParagraph();
+                XmlBlockSupport.startListItem(paragraph, numId, level);
+                processChildElements(context, (Element) child, paragraph);
+                itemCount++;
+            }
+        } finally {
+            context.listDepth = level;
+            context.state = listState;
+            context.runStyle = listStyle;
         }
 
-        log.debug("处理列表，项目数: {}", items.getLength());
+        log.debug("处理列表，项目数: {}", itemCount);
     }
 
     /**
      * 处理列表项元素（由列表处理器调用）
      */
-    private void processItemElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processItemElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         // 列表项处理在列表处理器中完成
     }
 
     /**
      * 处理图片元素
      */
-    private void processImageElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processImageElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         // 图片处理暂时跳过，可以根据需要实现
         log.debug("跳过图片元素处理");
     }
@@ -460,25 +584,20 @@ public class OptimizedXmlToDocxConverter {
     /**
      * 处理链接元素
      */
-    private void processLinkElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processLinkElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         if (currentParagraph == null) {
-            currentParagraph = document.createParagraph();
+            currentParagraph = context.newParagraph();
         }
 
-        XWPFRun run = currentParagraph.createRun();
-        run.setText(element.getTextContent());
-        run.setColor("0000FF"); // 蓝色
-        run.setUnderline(UnderlinePatterns.SINGLE);
-        run.setFontSize(options.getDefaultFontSize());
-        run.setFontFamily(options.getDefaultFontFamily());
+        createRun(context, currentParagraph, element.getTextContent(), StyleInterner.UNDERLINE, LINK_COLOR);
     }
 
     /**
      * 处理换行元素
      */
-    private void processBreakElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processBreakElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         if (currentParagraph == null) {
-            currentParagraph = document.createParagraph();
+            currentParagraph = context.newParagraph();
         }
 
         XWPFRun run = currentParagraph.createRun();
@@ -488,31 +607,66 @@ public class OptimizedXmlToDocxConverter {
     /**
      * 处理章节元素
      */
-    private void processSectionElement(Element element, XWPFParagraph currentParagraph, ConversionOptions options) {
+    private static void processSectionElement(ConversionContext context, Element element, XWPFParagraph currentParagraph) {
         // 添加分页符
-        XWPFParagraph paragraph = document.createParagraph();
+        XWPFParagraph paragraph = context.newParagraph();
         XWPFRun run = paragraph.createRun();
         run.addBreak(BreakType.PAGE);
 
         // 处理章节内容
-        processChildElements(element, null, options);
+        processChildElements(context, element, null);
 
         log.debug("处理章节");
     }
 
     /**
-     * 获取当前文档
-     */
-    public XWPFDocument getDocument() {
-        return document;
-    }
+     * 单次转换的上下文：目标文档与转换选项，不在调用之间共享
+     */
+    private static final class ConversionContext {
+        private final XWPFDocument document;
+        private final ConversionOptions options;
+        private final XmlMappingRules rules;
+        /** 当前元素在映射规则中的匹配状态 */
+        private XmlMappingRules.MatchState state;
+        /** 当前元素规则指定的标题级别，0 表示未指定 */
+        private int headingLevel;
+        /** 样式规则叠加并继承下来的样式位 */
+        private int runStyle;
+        /** 当前写入的单元格，null 表示文档正文 */
+        private XWPFTableCell cell;
+        private boolean cellParagraphUsed;
+        private int listDepth;
+        private ListNumbering listNumbering;
+        private final StyleInterner styles;
+
+        private ConversionContext(XWPFDocument document, ConversionOptions options) {
+            this.document = document;
+            this.options = options;
+            this.styles = new StyleInterner(document, options.getDefaultFontFamily(), options.getDefaultFontSize());
+            this.rules = options.getMappingRules();
+            this.state = rules.initialState();
+        }
+
+        private XWPFParagraph newParagraph() {
+            if (cell == null) {
+                return document.createParagraph();
+            }
+            XWPFParagraph paragraph = XmlBlockSupport.newCellParagraph(cell, cellParagraphUsed);
+            cellParagraphUsed = true;
+            return paragraph;
+        }
 
-    /**
-     * 关闭文档
-     */
-    public void close() throws IOException {
-        if (document != null) {
-            document.close();
+        private ListNumbering listNumbering() {
+            if (listNumbering == null) {
+                listNumbering = new ListNumbering(document);
+            }
+            return listNumbering;
+        }
+
+        private XWPFTable newTable() {
+            // 单元格首段之后的内容必须排在表格后面
+            cellParagraphUsed = true;
+            return XmlBlockSupport.createTable(document, cell);
         }
     }
 
@@ -521,7 +675,7 @@ public class OptimizedXmlToDocxConverter {
      */
     @FunctionalInterface
     private interface ElementProcessor {
-        void process(Element element, XWPFParagraph currentParagraph, ConversionOptions options);
+        void process(ConversionContext context, Element element, XWPFParagraph currentParagraph);
     }
 
     /**
@@ -535,6 +689,14 @@ public class OptimizedXmlToDocxConverter {
         private boolean preserveFormatting = true;
         private int defaultFontSize = 12;
         private String defaultFontFamily = "宋体";
+        private boolean useStreamingParser = false;
+        private int bufferSize = 8192;
+        private XmlMappingRules mappingRules = XmlMappingRules.BUILT_IN;
+        private String schemaLocation;
+        private int maxErrorCount = 10;
+        private boolean ignoreParseErrors = false;
+        private boolean logParseErrors = true;
+        private XmlParserProvider.ParserSettings parserSettings = XmlParserProvider.ParserSettings.DEFAULT;
 
         // Getters and Setters
         public String getTitle() {
@@ -599,5 +761,103 @@ public class OptimizedXmlToDocxConverter {
             this.defaultFontFamily = defaultFontFamily;
             return this;
         }
+
+        public boolean isUseStreamingParser() {
+            return useStreamingParser;
+        }
+
+        /**
+         * 设置是否使用流式解析（对应 XmlLoadConfig 的 useStreamingParser）
+         */
+        public ConversionOptions setUseStreamingParser(boolean useStreamingParser) {
+            this.useStreamingParser = useStreamingParser;
+            return this;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        /**
+         * 设置流式读取缓冲区大小（对应 XmlLoadConfig 的 bufferSize）
+         */
+        public ConversionOptions setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public XmlMappingRules getMappingRules() {
+            return mappingRules;
+        }
+
+        /**
+         * 设置声明式映射规则，DOM模式与流式模式共用；为 null 时只使用内置元素词汇
+         */
+        public ConversionOptions setMappingRules(XmlMappingRules mappingRules) {
+            this.mappingRules = mappingRules != null ? mappingRules : XmlMappingRules.BUILT_IN;
+            return this;
+        }
+
+        public String getSchemaLocation() {
+            return schemaLocation;
+        }
+
+        /**
+         * 设置转换时校验使用的XML Schema位置（文件路径、URL或 classpath: 资源），null 表示不校验
+         */
+        public ConversionOptions setSchemaLocation(String schemaLocation) {
+            this.schemaLocation = schemaLocation;
+            return this;
+        }
+
+        public int getMaxErrorCount() {
+            return maxErrorCount;
+        }
+
+        /**
+         * 设置最多收集的校验错误数（对应 XmlLoadConfig 的 maxErrorCount）
+         */
+        public ConversionOptions setMaxErrorCount(int maxErrorCount) {
+            this.maxErrorCount = maxErrorCount;
+            return this;
+        }
+
+        public boolean isIgnoreParseErrors() {
+            return ignoreParseErrors;
+        }
+
+        /**
+         * 设置是否忽略校验错误继续转换（对应 XmlLoadConfig 的 ignoreParseErrors）
+         */
+        public ConversionOptions setIgnoreParseErrors(boolean ignoreParseErrors) {
+            this.ignoreParseErrors = ignoreParseErrors;
+            return this;
+        }
+
+        public boolean isLogParseErrors() {
+            return logParseErrors;
+        }
+
+        /**
+         * 设置是否记录校验错误日志（对应 XmlLoadConfig 的 logParseErrors）
+         */
+        public ConversionOptions setLogParseErrors(boolean logParseErrors) {
+            this.logParseErrors = logParseErrors;
+            return this;
+        }
+
+        public XmlParserProvider.ParserSettings getParserSettings() {
+            return parserSettings;
+        }
+
+        /**
+         * 设置解析器设置（命名空间、实体、注释与CDATA处理），DOM解析与流式解析都按此配置解析器，
+         * null 表示使用 {@link XmlParserProvider.ParserSettings#DEFAULT}。
+         * Schema校验由 {@link #setSchemaLocation(String)} 决定，设置中带有的Schema在未指定位置时生效
+         */
+        public ConversionOptions setParserSettings(XmlParserProvider.ParserSettings parserSettings) {
+            this.parserSettings = parserSettings != null ? parserSettings : XmlParserProvider.ParserSettings.DEFAULT;
+            return this;
+        }
     }
 }
\ No newline at end of file
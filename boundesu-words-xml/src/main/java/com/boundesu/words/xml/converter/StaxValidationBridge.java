@@ -0,0 +1,117 @@
+package com.boundesu.words.xml.converter;
+
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+
+/**
+ * 把StAX事件转发给 {@link ValidatorHandler}
+ * 流式转换读取每个事件时同步校验，不需要为校验再读一遍输入。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+final class StaxValidationBridge {
+
+    private final ValidatorHandler handler;
+    private final AttributesImpl attributes = new AttributesImpl();
+
+    StaxValidationBridge(Schema schema, ValidationErrorCollector errors) {
+        // ValidatorHandler 不是线程安全的，每次转换单独创建
+        this.handler = schema.newValidatorHandler();
+        this.handler.setErrorHandler(errors);
+    }
+
+    /**
+     * 开始校验，错误位置取自读取器的当前位置
+     */
+    void startDocument(XMLStreamReader reader) throws SAXException {
+        handler.setDocumentLocator(new ReaderLocator(reader));
+        handler.startDocument();
+    }
+
+    void endDocument() throws SAXException {
+        handler.endDocument();
+    }
+
+    /**
+     * 转发当前事件，只处理元素、文本和空白事件
+     */
+    void forward(XMLStreamReader reader) throws SAXException {
+        switch (reader.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    handler.startPrefixMapping(nonNull(reader.getNamespacePrefix(i)), nonNull(reader.getNamespaceURI(i)));
+                }
+                attributes.clear();
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    attributes.addAttribute(nonNull(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+                            qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                            nonNull(reader.getAttributeType(i)), reader.getAttributeValue(i));
+                }
+                handler.startElement(nonNull(reader.getNamespaceURI()), reader.getLocalName(),
+                        qualifiedName(reader.getPrefix(), reader.getLocalName()), attributes);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                handler.endElement(nonNull(reader.getNamespaceURI()), reader.getLocalName(),
+                        qualifiedName(reader.getPrefix(), reader.getLocalName()));
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    handler.endPrefixMapping(nonNull(reader.getNamespacePrefix(i)));
+                }
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+                handler.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            case XMLStreamConstants.SPACE:
+                handler.ignorableWhitespace(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * 以StAX读取器的当前位置作为SAX定位器
+     */
+    private static final class ReaderLocator implements Locator {
+        private final XMLStreamReader reader;
+
+        private ReaderLocator(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public String getPublicId() {
+            return reader.getLocation().getPublicId();
+        }
+
+        @Override
+        public String getSystemId() {
+            return reader.getLocation().getSystemId();
+        }
+
+        @Override
+        public int getLineNumber() {
+            return reader.getLocation().getLineNumber();
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return reader.getLocation().getColumnNumber();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.boundesu.words.xml.converter;
+
+import com.boundesu.words.common.style.ListNumbering;
+import com.boundesu.words.common.style.StyleInterner;
+import com.boundesu.words.xml.converter.XmlMappingRules.Target;
+import com.boundesu.words.xml.util.XmlParserProvider;
+import org.apache.poi.xwpf.usermodel.BreakType;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 流式XML转换引擎
+ * 使用StAX拉取事件驱动与 {@link OptimizedXmlToDocxConverter} 相同的元素词汇
+ * （段落、标题、表格/行/单元格、列表/项、粗体/斜体/下划线、链接、换行等）和 {@link XmlMappingRules}，
+ * 内存中只保留当前元素的祖先栈和尚未输出的文本，适合处理超大的XML数据文件。
+ *
+ * <p>与DOM模式的差异：嵌套的格式元素会叠加格式，而不是像DOM模式那样取整个元素的文本内容。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+class StreamingXmlConverter {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingXmlConverter.class);
+
+    /** 按解析设置（不含Schema）缓存的StAX工厂，配置完成后只用于创建读取器 */
+    private static final Map<XmlParserProvider.ParserSettings, XMLInputFactory> INPUT_FACTORIES =
+            new ConcurrentHashMap<>();
+
+    private final XWPFDocument document;
+    private final OptimizedXmlToDocxConverter.ConversionOptions options;
+    private final XmlMappingRules rules;
+    private final StaxValidationBridge validation;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private final ListNumbering listNumbering;
+    private final StyleInterner styles;
+
+    /**
+     * @param validation 同步校验的桥接器，null 表示不校验
+     */
+    StreamingXmlConverter(XWPFDocument document, OptimizedXmlToDocxConverter.ConversionOptions options,
+                          StaxValidationBridge validation) {
+        this.document = document;
+        this.options = options;
+        this.rules = options.getMappingRules();
+        this.validation = validation;
+        this.listNumbering = new ListNumbering(document);
+        this.styles = new StyleInterner(document, options.getDefaultFontFamily(), options.getDefaultFontSize());
+    }
+
+    /**
+     * 读取整个输入流并写入文档，启用校验时每个事件先交给校验器
+     */
+    void convert(InputStream xmlStream) throws XMLStreamException, SAXException {
+        InputStream in = new BufferedInputStream(xmlStream, Math.max(options.getBufferSize(), 1024));
+        XMLStreamReader reader = inputFactory(options.getParserSettings(), validation != null).createXMLStreamReader(in);
+        long elements = 0;
+        try {
+            if (validation != null) {
+                validation.startDocument(reader);
+            }
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (validation != null) {
+                    validation.forward(reader);
+                }
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement(reader);
+                        elements++;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (!stack.isEmpty() && stack.peek().acceptsText()) {
+                            stack.peek().text.append(reader.getTextCharacters(), reader.getTextStart(),
+                                    reader.getTextLength());
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (validation != null) {
+                validation.endDocument();
+            }
+        } finally {
+            reader.close();
+        }
+        log.debug("流式处理完成，元素数: {}", elements);
+    }
+
+    private void startElement(XMLStreamReader reader) {
+        Frame parent = stack.peek();
+        if (parent != null) {
+            flushText(parent);
+        }
+
+        String name = qualifiedName(reader);
+        XmlMappingRules.MatchState state = rules.next(parent != null ? parent.state : rules.initialState(), name);
+        XmlMappingRules.AttributeLookup attributes = attribute -> reader.getAttributeValue(null, attribute);
+        Target kind;
+        XmlMappingRules.Rule rule = null;
+        if (parent != null && parent.kind == Target.IGNORE) {
+            kind = Target.IGNORE;
+        } else {
+            rule = rules.resolve(state, name, attributes);
+            kind = rule != null ? rule.getTarget() : Target.CONTAINER;
+        }
+        Frame frame = parent != null ? parent.child(kind, state) : new Frame(kind, state);
+        int styleBits = rules.styles(state, attributes);
+        frame.bold |= (styleBits & XmlMappingRules.BOLD) != 0;
+        frame.italic |= (styleBits & XmlMappingRules.ITALIC) != 0;
+        frame.underline |= (styleBits & XmlMappingRules.UNDERLINE) != 0;
+
+        switch (kind) {
+            case DOCUMENT:
+                frame.paragraph = null;
+                break;
+            case TITLE:
+                frame.paragraph = newParagraph(frame);
+                frame.paragraph.setStyle(styles.titleStyle(OptimizedXmlToDocxConverter.TITLE_FONT_SIZE));
+                break;
+            case HEADING:
+                frame.paragraph = newParagraph(frame);
+                int level = headingLevel(rule, reader);
+                frame.paragraph.setStyle(styles.headingStyle(level, OptimizedXmlToDocxConverter.headingFontSize(level)));
+                break;
+            case PARAGRAPH:
+                frame.paragraph = newParagraph(frame);
+                break;
+            case BOLD:
+                frame.bold = true;
+                break;
+            case ITALIC:
+                frame.italic = true;
+                break;
+            case UNDERLINE:
+                frame.underline = true;
+                break;
+            case LINK:
+                frame.underline = true;
+                frame.color = OptimizedXmlToDocxConverter.LINK_COLOR;
+                break;
+            case TABLE:
+                frame.paragraph = null;
+                if (parent != null) {
+                    // 表格之后的文本需要新段落，不能写回表格前面的段落
+                    parent.paragraph = null;
+                }
+                break;
+            case ROW:
+                startRow(frame);
+                break;
+            case CELL:
+                startCell(frame);
+                break;
+            case LIST:
+                frame.listDepth++;
+                frame.listNumId = listNumbering.startList(
+                        XmlBlockSupport.isOrderedList(name, reader.getAttributeValue(null, "type")));
+                break;
+            case ITEM:
+                frame.paragraph = newParagraph(frame);
+                if (frame.listNumId == null) {
+                    // 不在列表中的列表项按无序列表输出
+                    frame.listNumId = listNumbering.startList(false);
+                }
+                XmlBlockSupport.startListItem(frame.paragraph, frame.listNumId, Math.max(frame.listDepth - 1, 0));
+                break;
+            case BREAK:
+                ensureParagraph(frame).createRun().addBreak();
+                break;
+            case SECTION:
+                if (frame.cell == null) {
+                    document.createParagraph().createRun().addBreak(BreakType.PAGE);
+                    frame.paragraph = null;
+                }
+                break;
+            default:
+                break;
+        }
+        stack.push(frame);
+    }
+
+    private void endElement() {
+        Frame frame = stack.pop();
+        flushText(frame);
+        if (frame.kind == Target.CELL && frame.cell != null) {
+            XmlBlockSupport.closeCell(frame.cell);
+        }
+        if (frame.kind == Target.TABLE && frame.table != null) {
+            log.debug("处理表格，行数: {}", frame.rowCount);
+        }
+    }
+
+    private void startRow(Frame frame) {
+        Frame tableFrame = stack.peek();
+        if (tableFrame == null || tableFrame.kind != Target.TABLE) {
+            return;
+        }
+        if (tableFrame.table == null) {
+            tableFrame.table = XmlBlockSupport.createTable(document, tableFrame.cell);
+        }
+        frame.row = XmlBlockSupport.nextRow(tableFrame.table, tableFrame.rowCount++);
+    }
+
+    private void startCell(Frame frame) {
+        Frame rowFrame = stack.peek();
+        if (rowFrame == null || rowFrame.row == null) {
+            return;
+        }
+        XWPFTableCell cell = XmlBlockSupport.cellAt(rowFrame.row, rowFrame.cellCount++);
+        frame.cell = cell;
+        frame.paragraph = cell.getParagraphs().get(0);
+    }
+
+    /**
+     * 将帧内累积的文本输出为一个带格式的文本段
+     */
+    private void flushText(Frame frame) {
+        if (frame.text.length() == 0) {
+            return;
+        }
+        String text = frame.text.toString();
+        frame.text.setLength(0);
+        if (frame.isBlock()) {
+            text = text.trim();
+        }
+        if (text.trim().isEmpty()) {
+            return;
+        }
+
+        XWPFRun run = ensureParagraph(frame).createRun();
+        run.setText(text);
+        int styleBits = (frame.bold ? StyleInterner.BOLD : 0) | (frame.italic ? StyleInterner.ITALIC : 0)
+                | (frame.underline ? StyleInterner.UNDERLINE : 0);
+        styles.applyRun(run, styleBits, frame.color, 0, null);
+    }
+
+    private XWPFParagraph ensureParagraph(Frame frame) {
+        if (frame.paragraph == null) {
+            frame.paragraph = newParagraph(frame);
+        }
+        return frame.paragraph;
+    }
+
+    /**
+     * 新建块级段落；位于单元格内时写入单元格，单元格首段为空时直接复用
+     */
+    private XWPFParagraph newParagraph(Frame frame) {
+        if (frame.cell == null) {
+            return document.createParagraph();
+        }
+        XWPFParagraph first = frame.cell.getParagraphs().get(0);
+        return first.getRuns().isEmpty() && frame.paragraph == first ? first : frame.cell.addParagraph();
+    }
+
+    /**
+     * 与解析设置对应的StAX工厂，校验需要命名空间信息
+     */
+    private static XMLInputFactory inputFactory(XmlParserProvider.ParserSettings settings, boolean validating) {
+        XmlParserProvider.ParserSettings key = settings.withSchema(null)
+                .withNamespaceAware(settings.isNamespaceAware() || validating);
+        return INPUT_FACTORIES.computeIfAbsent(key, StreamingXmlConverter::createInputFactory);
+    }
+
+    /**
+     * 把解析设置映射到StAX属性；StAX没有忽略注释的开关，注释事件本身不会写入文档
+     */
+    private static XMLInputFactory createInputFactory(XmlParserProvider.ParserSettings settings) {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, settings.isNamespaceAware());
+        factory.setProperty(XMLInputFactory.IS_COALESCING, settings.isCoalescing());
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, settings.isExpandEntityReferences());
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, settings.isResolveExternalEntities());
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, settings.isResolveExternalEntities());
+        return factory;
+    }
+
+    private static String qualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        String localName = reader.getLocalName();
+        String name = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+        return name.toLowerCase();
+    }
+
+    private static int headingLevel(XmlMappingRules.Rule rule, XMLStreamReader reader) {
+        if (rule.getHeadingLevel() > 0) {
+            return rule.getHeadingLevel();
+        }
+        String level = reader.getAttributeValue(null, "level");
+        try {
+            return level != null && !level.isEmpty() ? Integer.parseInt(level) : 1;
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * 祖先栈中的一帧：元素类别、输出位置和继承的格式
+     */
+    private static class Frame {
+        private final Target kind;
+        /** 映射规则的匹配状态，子元素由此继续匹配 */
+        private final XmlMappingRules.MatchState state;
+        private final StringBuilder text = new StringBuilder();
+        private XWPFParagraph paragraph;
+        private XWPFTable table;
+        private XWPFTableRow row;
+        private XWPFTableCell cell;
+        private int rowCount;
+        private int cellCount;
+        private int listDepth;
+        /** 所在列表的编号实例 */
+        private BigInteger listNumId;
+        private boolean bold;
+        private boolean italic;
+        private boolean underline;
+        private String color;
+
+        private Frame(Target kind, XmlMappingRules.MatchState state) {
+            this.kind = kind;
+            this.state = state;
+        }
+
+        /**
+         * 创建子帧，继承输出段落和格式
+         */
+        private Frame child(Target childKind, XmlMappingRules.MatchState childState) {
+            Frame child = new Frame(childKind, childState);
+            child.paragraph = paragraph;
+            child.cell = cell;
+            child.listDepth = listDepth;
+            child.listNumId = listNumId;
+            child.bold = bold;
+            child.italic = italic;
+            child.underline = underline;
+            child.color = color;
+            return child;
+        }
+
+        private boolean acceptsText() {
+            return kind != Target.IMAGE && kind != Target.IGNORE && kind != Target.TABLE && kind != Target.ROW
+                    && kind != Target.LIST;
+        }
+
+        private boolean isBlock() {
+            return kind != Target.BOLD && kind != Target.ITALIC && kind != Target.UNDERLINE
+                    && kind != Target.LINK && kind != Target.TEXT;
+        }
+    }
+}
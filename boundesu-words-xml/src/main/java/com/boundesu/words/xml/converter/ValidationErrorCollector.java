@@ -0,0 +1,104 @@
+package com.boundesu.words.xml.converter;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 转换过程中的校验错误收集器
+ * 按转换选项处理Schema校验错误：
+ * <ul>
+ *     <li>不忽略错误时，收集到 maxErrorCount 个错误即中止转换，并在异常中报告已收集的错误</li>
+ *     <li>忽略错误时继续转换，只记录日志，超过 maxErrorCount 个后不再逐条记录</li>
+ * </ul>
+ * 格式错误（fatal error）无法忽略，总是中止转换。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+final class ValidationErrorCollector implements ErrorHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidationErrorCollector.class);
+
+    private final int maxErrorCount;
+    private final boolean ignoreErrors;
+    private final boolean logErrors;
+    private final List<String> messages = new ArrayList<>();
+    private int errorCount;
+
+    ValidationErrorCollector(OptimizedXmlToDocxConverter.ConversionOptions options) {
+        this.maxErrorCount = Math.max(options.getMaxErrorCount(), 1);
+        this.ignoreErrors = options.isIgnoreParseErrors();
+        this.logErrors = options.isLogParseErrors();
+    }
+
+    @Override
+    public void warning(SAXParseException exception) {
+        if (logErrors) {
+            log.debug("XML校验警告 {}", describe(exception));
+        }
+    }
+
+    @Override
+    public void error(SAXParseException exception) throws SAXException {
+        errorCount++;
+        String message = describe(exception);
+        if (messages.size() < maxErrorCount) {
+            messages.add(message);
+        }
+        if (logErrors) {
+            if (errorCount <= maxErrorCount) {
+                log.warn("XML校验错误 {}", message);
+            } else if (errorCount == maxErrorCount + 1) {
+                log.warn("XML校验错误超过 {} 个，后续错误不再记录", maxErrorCount);
+            }
+        }
+        if (!ignoreErrors && errorCount >= maxErrorCount) {
+            throw exception;
+        }
+    }
+
+    @Override
+    public void fatalError(SAXParseException exception) throws SAXException {
+        if (logErrors) {
+            log.warn("XML格式错误 {}", describe(exception));
+        }
+        throw exception;
+    }
+
+    /**
+     * 是否因校验错误导致转换失败
+     */
+    boolean hasFailed() {
+        return !ignoreErrors && errorCount > 0;
+    }
+
+    int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * 转换结束时调用：存在未忽略的校验错误则抛出异常
+     */
+    void finish() throws BoundesuWordsException {
+        if (hasFailed()) {
+            throw toException();
+        }
+    }
+
+    BoundesuWordsException toException() {
+        return new BoundesuWordsException("XML_VALIDATION_ERROR",
+                "XML校验失败，共 " + errorCount + " 个错误: " + String.join("; ", messages));
+    }
+
+    private static String describe(SAXParseException exception) {
+        return "[第 " + exception.getLineNumber() + " 行第 " + exception.getColumnNumber() + " 列] "
+                + exception.getMessage();
+    }
+}
@@ -0,0 +1,89 @@
+package com.boundesu.words.xml.converter;
+
+import com.boundesu.words.common.style.ListNumbering;
+import org.apache.poi.xwpf.usermodel.BodyElementType;
+import org.apache.poi.xwpf.usermodel.IBodyElement;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * 表格与列表构建辅助方法
+ * 供DOM模式和流式模式共用，支持在单元格内嵌套表格以及多级列表。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+final class XmlBlockSupport {
+
+    private XmlBlockSupport() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 创建表格：cell 为 null 时追加到文档正文，否则作为嵌套表格追加到单元格末尾
+     */
+    static XWPFTable createTable(XWPFDocument document, XWPFTableCell cell) {
+        if (cell == null) {
+            return document.createTable();
+        }
+        XWPFTable table = new XWPFTable(cell.getCTTc().addNewTbl(), cell);
+        cell.insertTable(cell.getBodyElements().size(), table);
+        return table;
+    }
+
+    /**
+     * 获取表格的下一行：首行使用表格创建时自带的行
+     */
+    static XWPFTableRow nextRow(XWPFTable table, int rowIndex) {
+        return rowIndex == 0 ? table.getRow(0) : table.createRow();
+    }
+
+    /**
+     * 获取行中指定位置的单元格，createRow() 复制出的单元格优先复用
+     */
+    static XWPFTableCell cellAt(XWPFTableRow row, int cellIndex) {
+        return cellIndex < row.getTableCells().size() ? row.getCell(cellIndex) : row.createCell();
+    }
+
+    /**
+     * 在单元格中新建段落：首段尚未使用时直接复用
+     */
+    static XWPFParagraph newCellParagraph(XWPFTableCell cell, boolean firstParagraphUsed) {
+        List<XWPFParagraph> paragraphs = cell.getParagraphs();
+        if (!firstParagraphUsed && !paragraphs.isEmpty()) {
+            return paragraphs.get(0);
+        }
+        return cell.addParagraph();
+    }
+
+    /**
+     * 结束单元格：单元格必须以段落结尾，以嵌套表格结尾时补一个空段落
+     */
+    static void closeCell(XWPFTableCell cell) {
+        List<IBodyElement> elements = cell.getBodyElements();
+        if (elements.isEmpty() || elements.get(elements.size() - 1).getElementType() == BodyElementType.TABLE) {
+            cell.addParagraph();
+        }
+    }
+
+    /**
+     * 判断列表元素是否为有序列表：元素名为 ol，或 type 属性为 ordered/numbered
+     */
+    static boolean isOrderedList(String elementName, String type) {
+        return "ol".equalsIgnoreCase(elementName) || "ordered".equalsIgnoreCase(type)
+                || "numbered".equalsIgnoreCase(type);
+    }
+
+    /**
+     * 初始化列表项段落：引用列表的编号实例和嵌套级别，符号和缩进由编号定义给出
+     */
+    static void startListItem(XWPFParagraph paragraph, BigInteger numId, int level) {
+        ListNumbering.applyTo(paragraph, numId, level);
+    }
+}
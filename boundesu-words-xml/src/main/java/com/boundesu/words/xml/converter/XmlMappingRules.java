@@ -0,0 +1,524 @@
+package com.boundesu.words.xml.converter;
+
+import com.boundesu.words.common.style.StyleInterner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 声明式XML到Word映射规则
+ * 将路径模式（如 {@code invoice/lines/line}）映射为Word结构（表格行、段落、粗体等），
+ * 规则在构建时编译为路径前缀树，匹配时按元素逐级转移状态并缓存转移结果，
+ * 每个节点只需一次哈希查找，不做正则或XPath求值。DOM模式与流式模式共用同一套规则。
+ *
+ * <p>模式语法：</p>
+ * <ul>
+ *     <li>以 {@code /} 分隔的元素名，从根元素开始匹配（元素名不区分大小写）</li>
+ *     <li>{@code *} 匹配任意一个元素，{@code **} 匹配任意多层（含零层）元素</li>
+ *     <li>末段可带属性条件：{@code line[@type]} 或 {@code amount[@sign=negative]}</li>
+ * </ul>
+ *
+ * <p>文本格式每行一条：{@code 模式 = 目标}，目标为 {@link Target} 名称（小写），
+ * 标题可写作 {@code heading:2}；{@code #} 开头为注释。目标后可用 {@code +} 追加文本样式
+ * （{@code cell+italic}），只写样式（{@code +bold}）时不改变元素的结构映射，只叠加样式。
+ * 同一元素匹配多条结构规则时，带属性条件的规则优先，其次后声明的规则优先；
+ * 没有结构规则匹配时使用内置元素词汇。样式规则全部叠加，并由子元素继承。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class XmlMappingRules {
+
+    /** 不含自定义规则，只使用内置元素词汇 */
+    public static final XmlMappingRules BUILT_IN = new Builder().build();
+
+    /** 样式位：粗体，与 {@link StyleInterner} 的格式位相同 */
+    static final int BOLD = StyleInterner.BOLD;
+    /** 样式位：斜体 */
+    static final int ITALIC = StyleInterner.ITALIC;
+    /** 样式位：下划线 */
+    static final int UNDERLINE = StyleInterner.UNDERLINE;
+
+    /** 单个状态最多缓存的转移数，防止元素名无限增长时占用过多内存 */
+    private static final int MAX_CACHED_TRANSITIONS = 4096;
+
+    private static final Map<String, Rule> VOCABULARY = new HashMap<>();
+
+    static {
+        vocabulary(Target.DOCUMENT, "document", "root");
+        vocabulary(Target.TITLE, "title");
+        vocabulary(Target.HEADING, "heading");
+        for (int level = 1; level <= 6; level++) {
+            VOCABULARY.put("h" + level, new Rule(Target.HEADING, level, 0, null, null, -1));
+        }
+        vocabulary(Target.PARAGRAPH, "paragraph", "p");
+        vocabulary(Target.TEXT, "text");
+        vocabulary(Target.BOLD, "bold", "b");
+        vocabulary(Target.ITALIC, "italic", "i");
+        vocabulary(Target.UNDERLINE, "underline", "u");
+        vocabulary(Target.TABLE, "table");
+        vocabulary(Target.ROW, "row", "tr");
+        vocabulary(Target.CELL, "cell", "td");
+        vocabulary(Target.LIST, "list");
+        vocabulary(Target.ITEM, "item", "li");
+        vocabulary(Target.IMAGE, "image", "img");
+        vocabulary(Target.LINK, "link", "a");
+        vocabulary(Target.BREAK, "break", "br");
+        vocabulary(Target.SECTION, "section");
+    }
+
+    private final boolean empty;
+    private final MatchState initialState;
+    private final MatchState emptyState;
+    private final Map<List<Integer>, MatchState> states = new ConcurrentHashMap<>();
+
+    private XmlMappingRules(TrieNode root, boolean empty) {
+        this.empty = empty;
+        this.emptyState = new MatchState(new TrieNode[0]);
+        this.initialState = empty ? emptyState : intern(closure(Collections.singletonList(root)));
+    }
+
+    private static void vocabulary(Target target, String... names) {
+        for (String name : names) {
+            VOCABULARY.put(name, new Rule(target, 0, 0, null, null, -1));
+        }
+    }
+
+    /**
+     * 创建规则构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 解析文本格式的规则
+     *
+     * @param rulesText 规则文本，每行 {@code 模式 = 目标[+样式...]}
+     * @return 编译后的规则
+     * @throws IllegalArgumentException 规则格式错误
+     */
+    public static XmlMappingRules parse(String rulesText) {
+        Builder builder = new Builder();
+        String[] lines = rulesText.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf("->");
+            int separatorLength = 2;
+            if (separator < 0) {
+                separator = line.lastIndexOf('=');
+                separatorLength = 1;
+            }
+            if (separator <= 0) {
+                throw new IllegalArgumentException("第 " + (i + 1) + " 行缺少目标: " + line);
+            }
+            String pattern = line.substring(0, separator).trim();
+            String[] parts = line.substring(separator + separatorLength).trim().toLowerCase().split("\\+", -1);
+            try {
+                String target = parts[0].trim();
+                if (!target.isEmpty()) {
+                    int level = 0;
+                    int colon = target.indexOf(':');
+                    if (colon > 0) {
+                        level = Integer.parseInt(target.substring(colon + 1).trim());
+                        target = target.substring(0, colon).trim();
+                    }
+                    builder.rule(pattern, Target.valueOf(target.toUpperCase()), level);
+                }
+                if (parts.length > 1) {
+                    Target[] styles = new Target[parts.length - 1];
+                    for (int p = 1; p < parts.length; p++) {
+                        styles[p - 1] = Target.valueOf(parts[p].trim().toUpperCase());
+                    }
+                    builder.style(pattern, styles);
+                } else if (target.isEmpty()) {
+                    throw new IllegalArgumentException("缺少目标");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("第 " + (i + 1) + " 行规则无效: " + line + "，" + e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 匹配开始前（根元素之外）的状态
+     */
+    MatchState initialState() {
+        return initialState;
+    }
+
+    /**
+     * 进入名为 name 的子元素后的状态
+     */
+    MatchState next(MatchState state, String name) {
+        if (state.nodes.length == 0) {
+            return emptyState;
+        }
+        MatchState cached = state.transitions.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<TrieNode> targets = new ArrayList<>();
+        for (TrieNode node : state.nodes) {
+            TrieNode child = node.children.get(name);
+            if (child != null) {
+                targets.add(child);
+            }
+            if (node.star != null) {
+                targets.add(node.star);
+            }
+            if (node.globstar) {
+                targets.add(node);
+            }
+        }
+        MatchState next = targets.isEmpty() ? emptyState : intern(closure(targets));
+        if (state.transitions.size() < MAX_CACHED_TRANSITIONS) {
+            state.transitions.put(name, next);
+        }
+        return next;
+    }
+
+    /**
+     * 计算元素匹配的样式规则叠加出的样式位（{@link #BOLD}、{@link #ITALIC}、{@link #UNDERLINE}）
+     */
+    int styles(MatchState state, AttributeLookup attributes) {
+        int styles = 0;
+        for (Rule rule : state.styleRules) {
+            if (rule.matches(attributes)) {
+                styles |= rule.styles;
+            }
+        }
+        return styles;
+    }
+
+    /**
+     * 解析元素对应的结构规则：先匹配自定义规则，再回退到内置词汇
+     *
+     * @return 匹配的规则，都不匹配时返回 null（按普通容器处理）
+     */
+    Rule resolve(MatchState state, String name, AttributeLookup attributes) {
+        for (Rule rule : state.rules) {
+            if (rule.matches(attributes)) {
+                return rule;
+            }
+        }
+        return VOCABULARY.get(name);
+    }
+
+    /**
+     * 是否只包含内置词汇
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    private static List<TrieNode> closure(List<TrieNode> nodes) {
+        List<TrieNode> result = new ArrayList<>(nodes);
+        for (int i = 0; i < result.size(); i++) {
+            TrieNode globstar = result.get(i).globstarChild;
+            if (globstar != null && !result.contains(globstar)) {
+                result.add(globstar);
+            }
+        }
+        return result;
+    }
+
+    private MatchState intern(List<TrieNode> nodes) {
+        TreeSet<TrieNode> sorted = new TreeSet<>(Comparator.comparingInt(node -> node.id));
+        sorted.addAll(nodes);
+        List<Integer> key = new ArrayList<>(sorted.size());
+        for (TrieNode node : sorted) {
+            key.add(node.id);
+        }
+        return states.computeIfAbsent(key, k -> new MatchState(sorted.toArray(new TrieNode[0])));
+    }
+
+    /**
+     * 映射目标
+     */
+    public enum Target {
+        /** 文档根容器 */
+        DOCUMENT,
+        /** 居中标题 */
+        TITLE,
+        /** 标题，级别来自规则或 level 属性 */
+        HEADING,
+        /** 段落 */
+        PARAGRAPH,
+        /** 文本段 */
+        TEXT,
+        /** 粗体 */
+        BOLD,
+        /** 斜体 */
+        ITALIC,
+        /** 下划线 */
+        UNDERLINE,
+        /** 表格 */
+        TABLE,
+        /** 表格行 */
+        ROW,
+        /** 单元格 */
+        CELL,
+        /** 列表 */
+        LIST,
+        /** 列表项 */
+        ITEM,
+        /** 图片（暂不输出） */
+        IMAGE,
+        /** 链接样式文本 */
+        LINK,
+        /** 换行 */
+        BREAK,
+        /** 章节（前置分页符） */
+        SECTION,
+        /** 普通容器，只处理子元素 */
+        CONTAINER,
+        /** 忽略元素及其全部内容 */
+        IGNORE
+    }
+
+    /**
+     * 属性读取接口，属性不存在时返回 null
+     */
+    @FunctionalInterface
+    interface AttributeLookup {
+        String get(String name);
+    }
+
+    /**
+     * 规则构建器
+     */
+    public static final class Builder {
+        private final TrieNode root = new TrieNode(0);
+        private int nextNodeId = 1;
+        private int order;
+
+        private Builder() {
+        }
+
+        /**
+         * 添加规则
+         */
+        public Builder rule(String pattern, Target target) {
+            return rule(pattern, target, 0);
+        }
+
+        /**
+         * 添加规则
+         *
+         * @param pattern      路径模式
+         * @param target       映射目标
+         * @param headingLevel 标题级别，仅对 {@link Target#HEADING} 有效，0 表示使用 level 属性
+         */
+        public Builder rule(String pattern, Target target, int headingLevel) {
+            if (target == null) {
+                throw new IllegalArgumentException("规则目标不能为空");
+            }
+            return add(pattern, target, headingLevel, 0);
+        }
+
+        /**
+         * 添加样式规则：不改变元素的结构映射，只为其文本叠加样式
+         *
+         * @param pattern 路径模式，常与属性条件一起使用，如 {@code **}{@code /amount[@sign=negative]}
+         * @param styles  {@link Target#BOLD}、{@link Target#ITALIC} 或 {@link Target#UNDERLINE}
+         */
+        public Builder style(String pattern, Target... styles) {
+            int bits = 0;
+            for (Target style : styles) {
+                if (style == Target.BOLD) {
+                    bits |= BOLD;
+                } else if (style == Target.ITALIC) {
+                    bits |= ITALIC;
+                } else if (style == Target.UNDERLINE) {
+                    bits |= UNDERLINE;
+                } else {
+                    throw new IllegalArgumentException("不支持的样式: " + style);
+                }
+            }
+            if (bits == 0) {
+                throw new IllegalArgumentException("样式不能为空");
+            }
+            return add(pattern, null, 0, bits);
+        }
+
+        private Builder add(String pattern, Target target, int headingLevel, int styles) {
+            if (pattern == null || pattern.trim().isEmpty()) {
+                throw new IllegalArgumentException("规则模式不能为空");
+            }
+            String path = pattern.trim();
+            while (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+
+            String attribute = null;
+            String value = null;
+            int bracket = path.indexOf('[');
+            if (bracket >= 0) {
+                if (!path.endsWith("]") || path.indexOf('/', bracket) >= 0 || path.charAt(bracket + 1) != '@') {
+                    throw new IllegalArgumentException("属性条件只能写在最后一段，格式为 [@名称] 或 [@名称=值]: " + pattern);
+                }
+                String condition = path.substring(bracket + 2, path.length() - 1);
+                path = path.substring(0, bracket);
+                int equals = condition.indexOf('=');
+                if (equals >= 0) {
+                    attribute = condition.substring(0, equals).trim();
+                    value = unquote(condition.substring(equals + 1).trim());
+                } else {
+                    attribute = condition.trim();
+                }
+            }
+
+            TrieNode node = root;
+            for (String segment : path.split("/")) {
+                String name = segment.trim().toLowerCase();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("规则模式包含空路径段: " + pattern);
+                }
+                node = child(node, name);
+            }
+            node.rules.add(new Rule(target, headingLevel, styles, attribute, value, order++));
+            return this;
+        }
+
+        /**
+         * 编译规则
+         */
+        public XmlMappingRules build() {
+            freeze(root);
+            return new XmlMappingRules(root, order == 0);
+        }
+
+        private TrieNode child(TrieNode node, String name) {
+            if ("**".equals(name)) {
+                if (node.globstarChild == null) {
+                    node.globstarChild = new TrieNode(nextNodeId++);
+                    node.globstarChild.globstar = true;
+                }
+                return node.globstarChild;
+            }
+            if ("*".equals(name)) {
+                if (node.star == null) {
+                    node.star = new TrieNode(nextNodeId++);
+                }
+                return node.star;
+            }
+            return node.children.computeIfAbsent(name, n -> new TrieNode(nextNodeId++));
+        }
+
+        private static void freeze(TrieNode node) {
+            node.rules.sort(Rule.PRIORITY);
+            for (TrieNode child : node.children.values()) {
+                freeze(child);
+            }
+            if (node.star != null) {
+                freeze(node.star);
+            }
+            if (node.globstarChild != null) {
+                freeze(node.globstarChild);
+            }
+        }
+
+        private static String unquote(String value) {
+            if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"")
+                    || value.startsWith("'") && value.endsWith("'"))) {
+                return value.substring(1, value.length() - 1);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 编译后的单条规则
+     */
+    static final class Rule {
+        /** 带属性条件的规则优先，其次后声明的优先 */
+        private static final Comparator<Rule> PRIORITY = (a, b) -> {
+            if ((a.attribute != null) != (b.attribute != null)) {
+                return a.attribute != null ? -1 : 1;
+            }
+            return Integer.compare(b.order, a.order);
+        };
+
+        /** 结构目标，样式规则为 null */
+        private final Target target;
+        private final int headingLevel;
+        private final int styles;
+        private final String attribute;
+        private final String value;
+        private final int order;
+
+        private Rule(Target target, int headingLevel, int styles, String attribute, String value, int order) {
+            this.target = target;
+            this.headingLevel = headingLevel;
+            this.styles = styles;
+            this.attribute = attribute;
+            this.value = value;
+            this.order = order;
+        }
+
+        Target getTarget() {
+            return target;
+        }
+
+        int getHeadingLevel() {
+            return headingLevel;
+        }
+
+        private boolean matches(AttributeLookup attributes) {
+            if (attribute == null) {
+                return true;
+            }
+            String actual = attributes.get(attribute);
+            return actual != null && (value == null || value.equals(actual));
+        }
+    }
+
+    /**
+     * 匹配状态：当前路径可能命中的前缀树节点集合
+     */
+    static final class MatchState {
+        private final TrieNode[] nodes;
+        private final Rule[] rules;
+        private final Rule[] styleRules;
+        private final Map<String, MatchState> transitions = new ConcurrentHashMap<>();
+
+        private MatchState(TrieNode[] nodes) {
+            this.nodes = nodes;
+            List<Rule> collected = new ArrayList<>();
+            List<Rule> styles = new ArrayList<>();
+            for (TrieNode node : nodes) {
+                for (Rule rule : node.rules) {
+                    (rule.target != null ? collected : styles).add(rule);
+                }
+            }
+            collected.sort(Rule.PRIORITY);
+            this.rules = collected.toArray(new Rule[0]);
+            this.styleRules = styles.toArray(new Rule[0]);
+        }
+    }
+
+    private static final class TrieNode {
+        private final int id;
+        private final Map<String, TrieNode> children = new HashMap<>();
+        private final List<Rule> rules = new ArrayList<>();
+        private TrieNode star;
+        private TrieNode globstarChild;
+        private boolean globstar;
+
+        private TrieNode(int id) {
+            this.id = id;
+        }
+    }
+}
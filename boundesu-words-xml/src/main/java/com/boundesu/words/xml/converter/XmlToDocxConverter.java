@@ -3,6 +3,7 @@ package com.boundesu.words.xml.converter;
 import com.boundesu.words.common.constants.ErrorConstants;
 import com.boundesu.words.common.constants.FormatConstants;
 import com.boundesu.words.common.exception.BoundesuWordsException;
+import com.boundesu.words.xml.util.XmlParserProvider;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.apache.poi.xwpf.usermodel.XWPFRun;
@@ -12,8 +13,6 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
@@ -27,6 +26,24 @@ public class XmlToDocxConverter {
 
     private static final Logger log = LoggerFactory.getLogger(XmlToDocxConverter.class);
 
+    private final XmlParserProvider.ParserSettings parserSettings;
+
+    /**
+     * 使用默认解析设置
+     */
+    public XmlToDocxConverter() {
+        this(XmlParserProvider.ParserSettings.DEFAULT);
+    }
+
+    /**
+     * 使用指定的解析设置（例如 XmlLoadConfig#toParserSettings() 的结果）
+     *
+     * @param parserSettings 解析设置，null 表示默认设置
+     */
+    public XmlToDocxConverter(XmlParserProvider.ParserSettings parserSettings) {
+        this.parserSettings = parserSettings != null ? parserSettings : XmlParserProvider.ParserSettings.DEFAULT;
+    }
+
     /**
      * 将XML内容转换为DOCX文档
      *
@@ -39,9 +56,8 @@ public class XmlToDocxConverter {
             log.info("开始转换XML内容到DOCX文档");
 
             // 解析XML内容
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            org.w3c.dom.Document xmlDoc = builder.parse(new ByteArrayInputStream(xmlContent.getBytes(FormatConstants.ENCODING_UTF8)));
+            org.w3c.dom.Document xmlDoc = XmlParserProvider.parse(
+                    new ByteArrayInputStream(xmlContent.getBytes(FormatConstants.ENCODING_UTF8)), parserSettings);
 
             // 创建DOCX文档
             XWPFDocument docxDoc = new XWPFDocument();
@@ -70,9 +86,7 @@ public class XmlToDocxConverter {
             log.info("开始转换XML输入流到DOCX文档");
 
             // 解析XML输入流
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            org.w3c.dom.Document xmlDoc = builder.parse(xmlInputStream);
+            org.w3c.dom.Document xmlDoc = XmlParserProvider.parse(xmlInputStream, parserSettings);
 
             // 创建DOCX文档
             XWPFDocument docxDoc = new XWPFDocument();
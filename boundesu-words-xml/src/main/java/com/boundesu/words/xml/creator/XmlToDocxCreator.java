@@ -1,104 +1,77 @@
 package com.boundesu.words.xml.creator;
 
+import com.boundesu.words.common.block.Block;
+import com.boundesu.words.common.block.BlockDocxWriter;
+import com.boundesu.words.common.block.Run;
 import com.boundesu.words.common.exception.BoundesuWordsException;
-import org.apache.poi.xwpf.usermodel.*;
+import com.boundesu.words.common.style.ListNumbering;
+import org.apache.poi.xwpf.usermodel.BreakType;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 基于XML转换的DOCX创建器
  * 使用自定义XML格式，然后转换为DOCX
  *
+ * <p>添加的内容记录为紧凑的只追加操作日志：整型操作码数组加去重的字符串表，
+ * {@link #createDocument()} 直接回放日志生成Word文档；{@link #exportToBytes()} 回放日志为 {@link Block}
+ * 交给共用的 {@link BlockDocxWriter} 输出，不经过XWPF。XML视图只在调用
+ * {@link #getXmlContent()} 时按需序列化，不再同时在内存中保留DOM和元素列表。</p>
+ *
  * @author Boundesu Team
  * @version 1.0.0
  */
 public class XmlToDocxCreator {
 
     private static final Logger log = LoggerFactory.getLogger(XmlToDocxCreator.class);
-    private final List<XmlElement> xmlElements = new ArrayList<>();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    /** 标题：级别、文本 */
+    private static final int OP_HEADING = 1;
+    /** 段落：是否加粗、文本 */
+    private static final int OP_PARAGRAPH = 2;
+    /** 表格：行数，每行为单元格数加各单元格文本 */
+    private static final int OP_TABLE = 3;
+    /** 列表：是否有序、项数、各项文本 */
+    private static final int OP_LIST = 4;
+    /** 分页符：无操作数 */
+    private static final int OP_PAGE_BREAK = 5;
+
+    private int[] operations = new int[64];
+    private int operationLength;
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private int elementCount;
     private String title = "";
     private String author = "";
-    private org.w3c.dom.Document xmlDocument;
-    private Element rootElement;
 
     public XmlToDocxCreator() {
-        initializeXmlDocument();
-    }
-
-    /**
-     * 初始化XML文档
-     */
-    private void initializeXmlDocument() {
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            xmlDocument = builder.newDocument();
-
-            // 创建根元素
-            rootElement = xmlDocument.createElement("document");
-            xmlDocument.appendChild(rootElement);
-
-            // 添加文档信息元素
-            Element metaElement = xmlDocument.createElement("metadata");
-            rootElement.appendChild(metaElement);
-
-            // 添加内容元素
-            Element contentElement = xmlDocument.createElement("content");
-            rootElement.appendChild(contentElement);
-
-        } catch (ParserConfigurationException e) {
-            throw new RuntimeException("初始化XML文档失败", e);
-        }
-    }
-
-    /**
-     * 更新元数据
-     */
-    private void updateMetadata(String key, String value) {
-        NodeList metaNodes = rootElement.getElementsByTagName("metadata");
-        if (metaNodes.getLength() > 0) {
-            Element metaElement = (Element) metaNodes.item(0);
-
-            // 查找或创建指定的元数据元素
-            NodeList keyNodes = metaElement.getElementsByTagName(key);
-            Element keyElement;
-            if (keyNodes.getLength() > 0) {
-                keyElement = (Element) keyNodes.item(0);
-            } else {
-                keyElement = xmlDocument.createElement(key);
-                metaElement.appendChild(keyElement);
-            }
-            keyElement.setTextContent(value);
-        }
     }
 
     /**
      * 添加标题
      */
     public XmlToDocxCreator addHeading(String text, int level) {
-        Element headingElement = xmlDocument.createElement("heading");
-        headingElement.setAttribute("level", String.valueOf(level));
-        headingElement.setTextContent(text);
-
-        addToContent(headingElement);
-        xmlElements.add(new XmlElement("heading", text, "level=" + level));
+        append(OP_HEADING, level, intern(text));
 
         log.debug("添加{}级标题: {}", level, text);
         return this;
@@ -115,16 +88,9 @@ public class XmlToDocxCreator {
      * 添加段落（可指定是否加粗）
      */
     public XmlToDocxCreator addParagraph(String text, boolean bold) {
-        Element paragraphElement = xmlDocument.createElement("paragraph");
-        if (bold) {
-            paragraphElement.setAttribute("style", "bold");
-        }
-        paragraphElement.setTextContent(text);
-
-        addToContent(paragraphElement);
-        xmlElements.add(new XmlElement("paragraph", text, bold ? "style=bold" : ""));
+        append(OP_PARAGRAPH, bold ? 1 : 0, intern(text));
 
-        log.debug("添加段落: {}", text.length() > 50 ? text.substring(0, 50) + "..." : text);
+        log.debug("添加段落: {}", text != null && text.length() > 50 ? text.substring(0, 50) + "..." : text);
         return this;
     }
 
@@ -136,24 +102,17 @@ public class XmlToDocxCreator {
             return this;
         }
 
-        Element tableElement = xmlDocument.createElement("table");
-
+        append(OP_TABLE, data.length);
         for (String[] rowData : data) {
-            Element rowElement = xmlDocument.createElement("row");
-
-            for (String cellData : rowData) {
-                Element cellElement = xmlDocument.createElement("cell");
-                cellElement.setTextContent(cellData != null ? cellData : "");
-                rowElement.appendChild(cellElement);
+            int cellCount = rowData != null ? rowData.length : 0;
+            append(cellCount);
+            for (int j = 0; j < cellCount; j++) {
+                append(intern(rowData[j]));
             }
-
-            tableElement.appendChild(rowElement);
         }
+        elementCount++;
 
-        addToContent(tableElement);
-        xmlElements.add(new XmlElement("table", "", "rows=" + data.length + ",cols=" + data[0].length));
-
-        log.debug("添加表格: {}行{}列", data.length, data[0].length);
+        log.debug("添加表格: {}行{}列", data.length, data[0] != null ? data[0].length : 0);
         return this;
     }
 
@@ -165,17 +124,12 @@ public class XmlToDocxCreator {
             return this;
         }
 
-        Element listElement = xmlDocument.createElement("list");
-        listElement.setAttribute("type", ordered ? "ordered" : "unordered");
-
+        append(OP_LIST, ordered ? 1 : 0);
+        append(items.size());
         for (String item : items) {
-            Element itemElement = xmlDocument.createElement("item");
-            itemElement.setTextContent(item);
-            listElement.appendChild(itemElement);
+            append(intern(item));
         }
-
-        addToContent(listElement);
-        xmlElements.add(new XmlElement("list", "", "type=" + (ordered ? "ordered" : "unordered") + ",items=" + items.size()));
+        elementCount++;
 
         log.debug("添加{}列表: {}项", ordered ? "有序" : "无序", items.size());
         return this;
@@ -185,23 +139,46 @@ public class XmlToDocxCreator {
      * 添加分页符
      */
     public XmlToDocxCreator addPageBreak() {
-        Element breakElement = xmlDocument.createElement("pagebreak");
-        addToContent(breakElement);
-        xmlElements.add(new XmlElement("pagebreak", "", ""));
+        append(OP_PAGE_BREAK);
+        elementCount++;
 
         log.debug("添加分页符");
         return this;
     }
 
     /**
-     * 添加元素到内容区域
+     * 追加一条完整的操作（操作码及其操作数）
      */
-    private void addToContent(Element element) {
-        NodeList contentNodes = rootElement.getElementsByTagName("content");
-        if (contentNodes.getLength() > 0) {
-            Element contentElement = (Element) contentNodes.item(0);
-            contentElement.appendChild(element);
+    private void append(int opcode, int first, int second) {
+        append(opcode, first);
+        append(second);
+        elementCount++;
+    }
+
+    private void append(int opcode, int operand) {
+        append(opcode);
+        append(operand);
+    }
+
+    private void append(int value) {
+        if (operationLength == operations.length) {
+            operations = Arrays.copyOf(operations, operationLength * 2);
         }
+        operations[operationLength++] = value;
+    }
+
+    /**
+     * 将字符串放入字符串表，重复的文本（如表格中的相同单元格）只保存一份
+     */
+    private int intern(String text) {
+        String value = text != null ? text : "";
+        Integer index = stringIndex.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndex.put(value, index);
+        }
+        return index;
     }
 
     /**
@@ -219,12 +196,8 @@ public class XmlToDocxCreator {
                 document.getProperties().getCoreProperties().setCreator(author);
             }
 
-            // 处理XML内容
-            NodeList contentNodes = rootElement.getElementsByTagName("content");
-            if (contentNodes.getLength() > 0) {
-                Element contentElement = (Element) contentNodes.item(0);
-                processXmlElements(document, contentElement.getChildNodes());
-            }
+            // 回放操作日志
+            replay(document);
 
             log.info("DOCX文档创建完成");
             return document;
@@ -235,41 +208,32 @@ public class XmlToDocxCreator {
     }
 
     /**
-     * 处理XML元素并转换为Word内容
+     * 回放操作日志并转换为Word内容
      */
-    private void processXmlElements(XWPFDocument document, NodeList nodes) {
-        for (int i = 0; i < nodes.getLength(); i++) {
-            Node node = nodes.item(i);
-            if (node.getNodeType() == Node.ELEMENT_NODE) {
-                Element element = (Element) node;
-                String tagName = element.getTagName();
-
-                switch (tagName) {
-                    case "heading":
-                        int level = Integer.parseInt(element.getAttribute("level"));
-                        addHeadingToDocument(document, element.getTextContent(), level);
-                        break;
-                    case "paragraph":
-                        boolean isBold = "bold".equals(element.getAttribute("style"));
-                        addParagraphToDocument(document, element.getTextContent(), isBold);
-                        break;
-                    case "table":
-                        addTableToDocument(document, element);
-                        break;
-                    case "list":
-                        boolean ordered = "ordered".equals(element.getAttribute("type"));
-                        addListToDocument(document, element, ordered);
-                        break;
-                    case "pagebreak":
-                        addPageBreakToDocument(document);
-                        break;
-                    default:
-                        // 对于其他元素，提取文本内容作为段落
-                        if (!element.getTextContent().trim().isEmpty()) {
-                            addParagraphToDocument(document, element.getTextContent(), false);
-                        }
-                        break;
-                }
+    private void replay(XWPFDocument document) {
+        ListNumbering listNumbering = new ListNumbering(document);
+        int pc = 0;
+        while (pc < operationLength) {
+            switch (operations[pc++]) {
+                case OP_HEADING:
+                    int level = operations[pc++];
+                    addHeadingToDocument(document, strings.get(operations[pc++]), level);
+                    break;
+                case OP_PARAGRAPH:
+                    boolean bold = operations[pc++] != 0;
+                    addParagraphToDocument(document, strings.get(operations[pc++]), bold);
+                    break;
+                case OP_TABLE:
+                    pc = addTableToDocument(document, pc);
+                    break;
+                case OP_LIST:
+                    pc = addListToDocument(document, listNumbering, pc);
+                    break;
+                case OP_PAGE_BREAK:
+                    addPageBreakToDocument(document);
+                    break;
+                default:
+                    throw new IllegalStateException("未知操作码: " + operations[pc - 1]);
             }
         }
     }
@@ -303,50 +267,50 @@ public class XmlToDocxCreator {
 
     /**
      * 添加表格到文档
+     *
+     * @return 表格操作之后的日志位置
      */
-    private void addTableToDocument(XWPFDocument document, Element tableElement) {
-        NodeList rows = tableElement.getElementsByTagName("row");
-        if (rows.getLength() == 0) {
-            return;
-        }
-
+    private int addTableToDocument(XWPFDocument document, int pc) {
+        int rowCount = operations[pc++];
         XWPFTable table = document.createTable();
 
-        for (int i = 0; i < rows.getLength(); i++) {
-            Element rowElement = (Element) rows.item(i);
+        for (int i = 0; i < rowCount; i++) {
             XWPFTableRow row = (i == 0) ? table.getRow(0) : table.createRow();
 
-            NodeList cells = rowElement.getElementsByTagName("cell");
-            for (int j = 0; j < cells.getLength(); j++) {
-                Element cellElement = (Element) cells.item(j);
-                XWPFTableCell cell = (j == 0 && row.getTableCells().size() > 0) ?
-                        row.getCell(0) : row.createCell();
+            int cellCount = operations[pc++];
+            for (int j = 0; j < cellCount; j++) {
+                XWPFTableCell cell = j < row.getTableCells().size() ? row.getCell(j) : row.createCell();
 
                 XWPFParagraph cellParagraph = cell.getParagraphs().get(0);
                 XWPFRun cellRun = cellParagraph.createRun();
-                cellRun.setText(cellElement.getTextContent());
+                cellRun.setText(strings.get(operations[pc++]));
                 cellRun.setFontSize(12);
                 cellRun.setFontFamily("宋体");
             }
         }
+        return pc;
     }
 
     /**
-     * 添加列表到文档
+     * 添加列表到文档，列表项使用Word原生编号
+     *
+     * @return 列表操作之后的日志位置
      */
-    private void addListToDocument(XWPFDocument document, Element listElement, boolean ordered) {
-        NodeList items = listElement.getElementsByTagName("item");
+    private int addListToDocument(XWPFDocument document, ListNumbering listNumbering, int pc) {
+        boolean ordered = operations[pc++] != 0;
+        int itemCount = operations[pc++];
+        BigInteger numId = listNumbering.startList(ordered);
 
-        for (int i = 0; i < items.getLength(); i++) {
-            Element itemElement = (Element) items.item(i);
+        for (int i = 0; i < itemCount; i++) {
             XWPFParagraph paragraph = document.createParagraph();
+            ListNumbering.applyTo(paragraph, numId, 0);
 
             XWPFRun run = paragraph.createRun();
-            String prefix = ordered ? (i + 1) + ". " : "• ";
-            run.setText(prefix + itemElement.getTextContent());
+            run.setText(strings.get(operations[pc++]));
             run.setFontSize(12);
             run.setFontFamily("宋体");
         }
+        return pc;
     }
 
     /**
@@ -359,44 +323,213 @@ public class XmlToDocxCreator {
     }
 
     /**
-     * 导出为字节数组
+     * 回放操作日志，逐块交给输出器
      */
-    public byte[] exportToBytes() throws BoundesuWordsException {
-        try (XWPFDocument document = createDocument();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    private void replay(BlockDocxWriter writer) {
+        int pc = 0;
+        while (pc < operationLength) {
+            switch (operations[pc++]) {
+                case OP_HEADING:
+                    int level = operations[pc++];
+                    writer.write(Block.heading(strings.get(operations[pc++]), Math.min(Math.max(level, 1), 6)));
+                    break;
+                case OP_PARAGRAPH:
+                    boolean bold = operations[pc++] != 0;
+                    writer.write(Block.paragraph(strings.get(operations[pc++]), bold ? Run.BOLD : 0));
+                    break;
+                case OP_TABLE:
+                    pc = replayTable(writer, pc);
+                    break;
+                case OP_LIST:
+                    pc = replayList(writer, pc);
+                    break;
+                case OP_PAGE_BREAK:
+                    writer.write(Block.pageBreak());
+                    break;
+                default:
+                    throw new IllegalStateException("未知操作码: " + operations[pc - 1]);
+            }
+        }
+    }
 
-            document.write(outputStream);
-            return outputStream.toByteArray();
+    /**
+     * 回放表格操作
+     *
+     * @return 表格操作之后的日志位置
+     */
+    private int replayTable(BlockDocxWriter writer, int pc) {
+        int rowCount = operations[pc++];
+        String[][] data = new String[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            int cellCount = operations[pc++];
+            data[i] = new String[cellCount];
+            for (int j = 0; j < cellCount; j++) {
+                data[i][j] = strings.get(operations[pc++]);
+            }
+        }
+        writer.write(Block.table(data, false));
+        return pc;
+    }
+
+    /**
+     * 回放列表操作
+     *
+     * @return 列表操作之后的日志位置
+     */
+    private int replayList(BlockDocxWriter writer, int pc) {
+        boolean ordered = operations[pc++] != 0;
+        int itemCount = operations[pc++];
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(strings.get(operations[pc++]));
+        }
+        writer.write(Block.list(items, ordered));
+        return pc;
+    }
 
+    /**
+     * 导出为字节数组：回放日志直接输出WordprocessingML，不经过XWPF
+     */
+    public byte[] exportToBytes() throws BoundesuWordsException {
+        try {
+            BlockDocxWriter writer = new BlockDocxWriter();
+            replay(writer);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(writer.getBodySize() + 8192);
+            writer.writeTo(outputStream, title, author, "", "", false);
+            return outputStream.toByteArray();
         } catch (IOException e) {
             throw new BoundesuWordsException("EXPORT_ERROR", "导出文档失败: " + e.getMessage(), e);
         }
     }
 
     /**
-     * 获取当前XML内容（用于调试）
+     * 获取当前XML内容（用于调试），由操作日志按需序列化
      */
     public String getXmlContent() {
+        StringWriter out = new StringWriter();
         try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-
-            StringWriter writer = new StringWriter();
-            transformer.transform(new DOMSource(xmlDocument), new StreamResult(writer));
-            return writer.toString();
-        } catch (Exception e) {
+            XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out);
+            try {
+                writeXml(writer);
+            } finally {
+                writer.close();
+            }
+            return out.toString();
+        } catch (XMLStreamException e) {
             return "获取XML内容失败: " + e.getMessage();
         }
     }
 
+    private void writeXml(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartDocument("UTF-8", "1.0");
+        newLine(writer, 0);
+        writer.writeStartElement("document");
+
+        newLine(writer, 1);
+        writer.writeStartElement("metadata");
+        if (!title.isEmpty()) {
+            writeTextElement(writer, 2, "title", title);
+        }
+        if (!author.isEmpty()) {
+            writeTextElement(writer, 2, "author", author);
+        }
+        if (!title.isEmpty() || !author.isEmpty()) {
+            newLine(writer, 1);
+        }
+        writer.writeEndElement();
+
+        newLine(writer, 1);
+        writer.writeStartElement("content");
+        int pc = 0;
+        while (pc < operationLength) {
+            switch (operations[pc++]) {
+                case OP_HEADING:
+                    newLine(writer, 2);
+                    writer.writeStartElement("heading");
+                    writer.writeAttribute("level", String.valueOf(operations[pc++]));
+                    writer.writeCharacters(strings.get(operations[pc++]));
+                    writer.writeEndElement();
+                    break;
+                case OP_PARAGRAPH:
+                    newLine(writer, 2);
+                    writer.writeStartElement("paragraph");
+                    if (operations[pc++] != 0) {
+                        writer.writeAttribute("style", "bold");
+                    }
+                    writer.writeCharacters(strings.get(operations[pc++]));
+                    writer.writeEndElement();
+                    break;
+                case OP_TABLE:
+                    newLine(writer, 2);
+                    writer.writeStartElement("table");
+                    int rowCount = operations[pc++];
+                    for (int i = 0; i < rowCount; i++) {
+                        newLine(writer, 3);
+                        writer.writeStartElement("row");
+                        int cellCount = operations[pc++];
+                        for (int j = 0; j < cellCount; j++) {
+                            writeTextElement(writer, 4, "cell", strings.get(operations[pc++]));
+                        }
+                        newLine(writer, 3);
+                        writer.writeEndElement();
+                    }
+                    newLine(writer, 2);
+                    writer.writeEndElement();
+                    break;
+                case OP_LIST:
+                    newLine(writer, 2);
+                    writer.writeStartElement("list");
+                    writer.writeAttribute("type", operations[pc++] != 0 ? "ordered" : "unordered");
+                    int itemCount = operations[pc++];
+                    for (int i = 0; i < itemCount; i++) {
+                        writeTextElement(writer, 3, "item", strings.get(operations[pc++]));
+                    }
+                    newLine(writer, 2);
+                    writer.writeEndElement();
+                    break;
+                case OP_PAGE_BREAK:
+                    newLine(writer, 2);
+                    writer.writeEmptyElement("pagebreak");
+                    break;
+                default:
+                    throw new IllegalStateException("未知操作码: " + operations[pc - 1]);
+            }
+        }
+        if (operationLength > 0) {
+            newLine(writer, 1);
+        }
+        writer.writeEndElement();
+
+        newLine(writer, 0);
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    }
+
+    private static void writeTextElement(XMLStreamWriter writer, int depth, String name, String text)
+            throws XMLStreamException {
+        newLine(writer, depth);
+        writer.writeStartElement(name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    private static void newLine(XMLStreamWriter writer, int depth) throws XMLStreamException {
+        StringBuilder indent = new StringBuilder(depth * 2 + 1).append('\n');
+        for (int i = 0; i < depth; i++) {
+            indent.append("  ");
+        }
+        writer.writeCharacters(indent.toString());
+    }
+
     /**
      * 清空所有内容
      */
     public XmlToDocxCreator clear() {
-        xmlElements.clear();
-        initializeXmlDocument();
+        operations = new int[64];
+        operationLength = 0;
+        strings.clear();
+        stringIndex.clear();
+        elementCount = 0;
         title = "";
         author = "";
 
@@ -408,7 +541,7 @@ public class XmlToDocxCreator {
      * 获取元素数量
      */
     public int getElementCount() {
-        return xmlElements.size();
+        return elementCount;
     }
 
     /**
@@ -422,8 +555,7 @@ public class XmlToDocxCreator {
      * 设置文档标题
      */
     public XmlToDocxCreator setTitle(String title) {
-        this.title = title;
-        updateMetadata("title", title);
+        this.title = title != null ? title : "";
         return this;
     }
 
@@ -438,41 +570,7 @@ public class XmlToDocxCreator {
      * 设置文档作者
      */
     public XmlToDocxCreator setAuthor(String author) {
-        this.author = author;
-        updateMetadata("author", author);
+        this.author = author != null ? author : "";
         return this;
     }
-
-    /**
-     * XML元素内部类
-     */
-    private static class XmlElement {
-        private final String tagName;
-        private final String content;
-        private final String attributes;
-
-        public XmlElement(String tagName, String content, String attributes) {
-            this.tagName = tagName;
-            this.content = content;
-            this.attributes = attributes;
-        }
-
-        public String getTagName() {
-            return tagName;
-        }
-
-        public String getContent() {
-            return content;
-        }
-
-        public String getAttributes() {
-            return attributes;
-        }
-
-        @Override
-        public String toString() {
-            return String.format("XmlElement{tagName='%s', content='%s', attributes='%s'}",
-                    tagName, content.length() > 30 ? content.substring(0, 30) + "..." : content, attributes);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,14 +1,16 @@
 package com.boundesu.words.xml.parser;
 
+import com.boundesu.words.xml.util.XmlParserProvider;
 import org.w3c.dom.*;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.StringReader;
 import java.util.*;
 
 /**
@@ -20,6 +22,32 @@ import java.util.*;
  */
 public class XmlContentParser {
 
+    /** 推断标签映射时最多采样的元素数 */
+    public static final int DEFAULT_SAMPLE_ELEMENTS = 2000;
+
+    /** 推断标签映射时最多读取的字符数 */
+    public static final int DEFAULT_SAMPLE_CHARS = 64 * 1024;
+
+    private static final int MAX_CACHED_MAPPINGS = 256;
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    /** 按根元素（命名空间 + 名称）缓存的推断结果，同类数据源共享同一结构 */
+    private static final Map<String, XmlTagMapping> MAPPING_CACHE =
+            new LinkedHashMap<String, XmlTagMapping>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XmlTagMapping> eldest) {
+                    return size() > MAX_CACHED_MAPPINGS;
+                }
+            };
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
     /**
      * 解析XML内容并生成文档结构
      *
@@ -38,10 +66,21 @@ public class XmlContentParser {
      * @return 文档结构列表
      */
     public static List<XmlDocumentStructure> parseXmlContent(String xmlContent, XmlTagMapping tagMapping) {
+        return parseXmlContent(xmlContent, tagMapping, XmlParserProvider.ParserSettings.DEFAULT);
+    }
+
+    /**
+     * 按指定解析设置解析XML内容并生成文档结构
+     *
+     * @param xmlContent XML内容
+     * @param tagMapping 标签映射配置
+     * @param settings   解析设置
+     * @return 文档结构列表
+     */
+    public static List<XmlDocumentStructure> parseXmlContent(String xmlContent, XmlTagMapping tagMapping,
+                                                             XmlParserProvider.ParserSettings settings) {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+            Document doc = XmlParserProvider.parse(xmlContent, settings);
 
             List<XmlDocumentStructure> structures = new ArrayList<>();
             Element root = doc.getDocumentElement();
@@ -54,6 +93,34 @@ public class XmlContentParser {
         }
     }
 
+    /**
+     * 解析XML内容，可选使用 {@link XmlStructureCache#getDefault() 共享结构缓存}
+     * 启用缓存时，相同内容与相同标签映射的重复解析直接返回缓存的只读结构，
+     * 调用方不能修改返回的结构（修改方法会抛出 {@link UnsupportedOperationException}）
+     *
+     * @param xmlContent XML内容
+     * @param tagMapping 标签映射配置
+     * @param useCache   是否使用结构缓存
+     * @return 文档结构列表
+     */
+    public static List<XmlDocumentStructure> parseXmlContent(String xmlContent, XmlTagMapping tagMapping,
+                                                             boolean useCache) {
+        if (!useCache) {
+            return parseXmlContent(xmlContent, tagMapping);
+        }
+        return XmlStructureCache.getDefault().get(xmlContent, tagMapping);
+    }
+
+    /**
+     * 把结构列表及其整棵子树冻结为只读
+     */
+    static List<XmlDocumentStructure> freeze(List<XmlDocumentStructure> structures) {
+        for (XmlDocumentStructure structure : structures) {
+            structure.freeze();
+        }
+        return Collections.unmodifiableList(structures);
+    }
+
     /**
      * 递归解析XML元素
      *
@@ -116,81 +183,171 @@ public class XmlContentParser {
 
     /**
      * 智能解析XML内容，自动识别常见文档结构
+     * 只流式读取开头的一段样本（默认 {@link #DEFAULT_SAMPLE_ELEMENTS} 个元素或
+     * {@link #DEFAULT_SAMPLE_CHARS} 个字符），不构建DOM
      *
      * @param xmlContent XML内容
      * @return 智能标签映射
      */
     public static XmlTagMapping createSmartTagMapping(String xmlContent) {
+        return createSmartTagMapping(xmlContent, DEFAULT_SAMPLE_ELEMENTS, DEFAULT_SAMPLE_CHARS);
+    }
+
+    /**
+     * 根据有限样本推断标签映射
+     *
+     * @param xmlContent  XML内容
+     * @param maxElements 最多采样的元素数
+     * @param maxChars    最多读取的字符数
+     * @return 智能标签映射，解析失败时返回默认映射
+     */
+    public static XmlTagMapping createSmartTagMapping(String xmlContent, int maxElements, int maxChars) {
         XmlTagMapping mapping = new XmlTagMapping();
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(xmlContent));
+            if (moveToRootElement(reader)) {
+                sampleElements(reader, mapping, maxElements, maxChars);
+            }
+        } catch (XMLStreamException e) {
+            // 如果解析失败，返回已采样部分得到的映射
+        } finally {
+            closeQuietly(reader);
+        }
+        return mapping;
+    }
 
+    /**
+     * 获取XML对应的标签映射，按根元素的命名空间和名称缓存
+     * 同一类型的数据源只在首次遇到时采样推断，之后只读取到根元素即可命中缓存，
+     * 随后的 {@link #parseXmlContent(String, XmlTagMapping)} 是对输入的唯一一次完整解析
+     *
+     * @param xmlContent XML内容
+     * @return 标签映射（副本，可自由修改）
+     */
+    public static XmlTagMapping getCachedTagMapping(String xmlContent) {
+        XMLStreamReader reader = null;
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)));
+            reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(xmlContent));
+            if (!moveToRootElement(reader)) {
+                return new XmlTagMapping();
+            }
+            String key = "{" + Objects.toString(reader.getNamespaceURI(), "") + "}" + reader.getLocalName();
+            XmlTagMapping mapping;
+            synchronized (MAPPING_CACHE) {
+                mapping = MAPPING_CACHE.get(key);
+            }
+            if (mapping == null) {
+                mapping = new XmlTagMapping();
+                sampleElements(reader, mapping, DEFAULT_SAMPLE_ELEMENTS, DEFAULT_SAMPLE_CHARS);
+                synchronized (MAPPING_CACHE) {
+                    MAPPING_CACHE.put(key, mapping);
+                }
+            }
+            return new XmlTagMapping(mapping);
+        } catch (XMLStreamException e) {
+            return new XmlTagMapping();
+        } finally {
+            closeQuietly(reader);
+        }
+    }
 
-            // 分析XML结构，自动识别标签类型
-            analyzeXmlStructure(doc.getDocumentElement(), mapping);
+    /**
+     * 清空标签映射缓存
+     */
+    public static void clearTagMappingCache() {
+        synchronized (MAPPING_CACHE) {
+            MAPPING_CACHE.clear();
+        }
+    }
 
-        } catch (Exception e) {
-            // 如果解析失败，返回默认映射
+    /**
+     * 获取已缓存的文档类型数量
+     */
+    public static int getTagMappingCacheSize() {
+        synchronized (MAPPING_CACHE) {
+            return MAPPING_CACHE.size();
         }
+    }
 
-        return mapping;
+    private static boolean moveToRootElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * 分析XML结构，自动识别标签类型
-     *
-     * @param element 根元素
-     * @param mapping 标签映射
+     * 从当前所在的开始标签起采样，逐个识别出现过的标签
      */
-    private static void analyzeXmlStructure(Element element, XmlTagMapping mapping) {
-        // 递归分析所有元素
-        analyzeElement(element, mapping, new HashSet<>());
+    private static void sampleElements(XMLStreamReader reader, XmlTagMapping mapping, int maxElements, int maxChars)
+            throws XMLStreamException {
+        Set<String> analyzedTags = new HashSet<>();
+        int elements = 0;
+        while (true) {
+            if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+                analyzeTag(qualifiedName(reader), mapping, analyzedTags);
+                elements++;
+                int offset = reader.getLocation().getCharacterOffset();
+                if (elements >= maxElements || (offset >= 0 && offset >= maxChars)) {
+                    return;
+                }
+            }
+            if (!reader.hasNext()) {
+                return;
+            }
+            reader.next();
+        }
+    }
+
+    private static String qualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        String name = prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+        return name.toLowerCase();
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // 忽略关闭异常
+            }
+        }
     }
 
     /**
-     * 分析单个元素
+     * 分析单个标签
      *
-     * @param element      元素
+     * @param tagName      标签名（小写）
      * @param mapping      标签映射
      * @param analyzedTags 已分析的标签集合
      */
-    private static void analyzeElement(Element element, XmlTagMapping mapping, Set<String> analyzedTags) {
-        String tagName = element.getTagName().toLowerCase();
-
+    private static void analyzeTag(String tagName, XmlTagMapping mapping, Set<String> analyzedTags) {
         // 避免重复分析
-        if (analyzedTags.contains(tagName)) {
+        if (!analyzedTags.add(tagName)) {
             return;
         }
-        analyzedTags.add(tagName);
 
-        // 根据标签名称和内容特征进行智能识别
-        if (isLikelyHeading(tagName, element)) {
-            int level = guessHeadingLevel(tagName, element);
+        // 根据标签名称特征进行智能识别
+        if (isLikelyHeading(tagName)) {
+            int level = guessHeadingLevel(tagName);
             mapping.addHeadingTag(tagName, level);
-        } else if (isLikelyParagraph(tagName, element)) {
+        } else if (isLikelyParagraph(tagName)) {
             mapping.addParagraphTag(tagName);
-        } else if (isLikelyList(tagName, element)) {
+        } else if (isLikelyList(tagName)) {
             mapping.addListTag(tagName);
-        } else if (isLikelyTable(tagName, element)) {
+        } else if (isLikelyTable(tagName)) {
             mapping.addTableTag(tagName);
         }
-
-        // 递归分析子元素
-        NodeList children = element.getChildNodes();
-        for (int i = 0; i < children.getLength(); i++) {
-            Node child = children.item(i);
-            if (child.getNodeType() == Node.ELEMENT_NODE) {
-                analyzeElement((Element) child, mapping, analyzedTags);
-            }
-        }
     }
 
     /**
      * 判断是否可能是标题标签
      */
-    private static boolean isLikelyHeading(String tagName, Element element) {
+    private static boolean isLikelyHeading(String tagName) {
         return tagName.contains("title") || tagName.contains("head") ||
                 tagName.matches("h[1-6]") || tagName.equals("caption");
     }
@@ -198,7 +355,7 @@ public class XmlContentParser {
     /**
      * 判断是否可能是段落标签
      */
-    private static boolean isLikelyParagraph(String tagName, Element element) {
+    private static boolean isLikelyParagraph(String tagName) {
         return tagName.contains("para") || tagName.contains("text") ||
                 tagName.contains("content") || tagName.equals("p");
     }
@@ -206,7 +363,7 @@ public class XmlContentParser {
     /**
      * 判断是否可能是列表标签
      */
-    private static boolean isLikelyList(String tagName, Element element) {
+    private static boolean isLikelyList(String tagName) {
         return tagName.contains("list") || tagName.contains("item") ||
                 tagName.equals("ul") || tagName.equals("ol");
     }
@@ -214,7 +371,7 @@ public class XmlContentParser {
     /**
      * 判断是否可能是表格标签
      */
-    private static boolean isLikelyTable(String tagName, Element element) {
+    private static boolean isLikelyTable(String tagName) {
         return tagName.contains("table") || tagName.contains("grid") ||
                 tagName.contains("row") || tagName.contains("cell");
     }
@@ -222,7 +379,7 @@ public class XmlContentParser {
     /**
      * 猜测标题级别
      */
-    private static int guessHeadingLevel(String tagName, Element element) {
+    private static int guessHeadingLevel(String tagName) {
         if (tagName.matches("h[1-6]")) {
             return Integer.parseInt(tagName.substring(1));
         }
@@ -298,6 +455,7 @@ public class XmlContentParser {
         private Map<String, String> attributes;
         private List<XmlDocumentStructure> children;
         private int level;
+        private boolean frozen;
 
         public XmlDocumentStructure(String tagName, String content, int level) {
             this.tagName = tagName;
@@ -313,6 +471,7 @@ public class XmlContentParser {
         }
 
         public void setTagName(String tagName) {
+            checkMutable();
             this.tagName = tagName;
         }
 
@@ -321,6 +480,7 @@ public class XmlContentParser {
         }
 
         public void setContent(String content) {
+            checkMutable();
             this.content = content;
         }
 
@@ -329,6 +489,7 @@ public class XmlContentParser {
         }
 
         public void setAttributes(Map<String, String> attributes) {
+            checkMutable();
             this.attributes = attributes;
         }
 
@@ -337,6 +498,7 @@ public class XmlContentParser {
         }
 
         public void setChildren(List<XmlDocumentStructure> children) {
+            checkMutable();
             this.children = children;
         }
 
@@ -345,17 +507,45 @@ public class XmlContentParser {
         }
 
         public void setLevel(int level) {
+            checkMutable();
             this.level = level;
         }
 
         public void addChild(XmlDocumentStructure child) {
+            checkMutable();
             this.children.add(child);
         }
 
         public void addAttribute(String name, String value) {
+            checkMutable();
             this.attributes.put(name, value);
         }
 
+        /**
+         * 是否已冻结为只读（来自结构缓存的结构总是只读的）
+         */
+        public boolean isFrozen() {
+            return frozen;
+        }
+
+        private void freeze() {
+            if (frozen) {
+                return;
+            }
+            for (XmlDocumentStructure child : children) {
+                child.freeze();
+            }
+            attributes = Collections.unmodifiableMap(attributes);
+            children = Collections.unmodifiableList(children);
+            frozen = true;
+        }
+
+        private void checkMutable() {
+            if (frozen) {
+                throw new UnsupportedOperationException("结构已缓存共享，不能修改");
+            }
+        }
+
         public boolean hasChildren() {
             return !children.isEmpty();
         }
@@ -382,6 +572,17 @@ public class XmlContentParser {
         private final Set<String> tableTags;
         private final Set<String> ignoreTags;
 
+        /**
+         * 复制构造函数
+         */
+        public XmlTagMapping(XmlTagMapping other) {
+            this.headingTags = new HashMap<>(other.headingTags);
+            this.paragraphTags = new HashSet<>(other.paragraphTags);
+            this.listTags = new HashSet<>(other.listTags);
+            this.tableTags = new HashSet<>(other.tableTags);
+            this.ignoreTags = new HashSet<>(other.ignoreTags);
+        }
+
         public XmlTagMapping() {
             this.headingTags = new HashMap<>();
             this.paragraphTags = new HashSet<>();
@@ -493,5 +694,18 @@ public class XmlContentParser {
         public int getHeadingLevel(String tag) {
             return headingTags.getOrDefault(tag, 1);
         }
+
+        /**
+         * 映射内容的规范化表示，内容相同的映射得到相同字符串，用作缓存键的一部分
+         */
+        public String fingerprint() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("h=").append(new TreeMap<>(headingTags));
+            builder.append(";p=").append(new TreeSet<>(paragraphTags));
+            builder.append(";l=").append(new TreeSet<>(listTags));
+            builder.append(";t=").append(new TreeSet<>(tableTags));
+            builder.append(";i=").append(new TreeSet<>(ignoreTags));
+            return builder.toString();
+        }
     }
 }
\ No newline at end of file
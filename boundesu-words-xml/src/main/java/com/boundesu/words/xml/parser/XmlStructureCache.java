@@ -0,0 +1,119 @@
+package com.boundesu.words.xml.parser;
+
+import com.boundesu.words.common.cache.ConversionCache;
+import com.boundesu.words.common.cache.WeightedLruCache;
+import com.boundesu.words.common.constants.ConfigConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 已解析XML结构缓存
+ * 以“XML内容 + 标签映射”的哈希为键，缓存 {@link XmlContentParser#parseXmlContent(String, XmlContentParser.XmlTagMapping)}
+ * 生成的结构树。缓存中的结构已冻结为只读，可以被多个线程和多次转换共享。
+ *
+ * <p>容量按结构树的估算内存占用计量，超过上限时按最近访问顺序淘汰；
+ * 单个结构树超过容量的1/4时不缓存，避免挤掉大量小条目。默认缓存可以通过
+ * {@link #setDefault(XmlStructureCache)} 替换为其他容量的实例。</p>
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public class XmlStructureCache {
+
+    private static final Logger log = LoggerFactory.getLogger(XmlStructureCache.class);
+
+    private static final String CACHE_TYPE = "xml-structure";
+
+    private static volatile XmlStructureCache defaultCache = new XmlStructureCache(ConfigConstants.MAX_MEMORY_CACHE_SIZE);
+
+    private final WeightedLruCache<String, List<XmlContentParser.XmlDocumentStructure>> entries;
+
+    /**
+     * 构造函数
+     *
+     * @param maxWeight 最大估算内存占用（字节）
+     */
+    public XmlStructureCache(long maxWeight) {
+        this.entries = new WeightedLruCache<>(maxWeight, XmlStructureCache::estimateWeight);
+    }
+
+    /**
+     * 获取进程内共享的默认缓存
+     */
+    public static XmlStructureCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * 替换进程内共享的默认缓存
+     *
+     * @param cache 新的默认缓存
+     */
+    public static void setDefault(XmlStructureCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("默认缓存不能为空");
+        }
+        defaultCache = cache;
+    }
+
+    /**
+     * 获取XML的结构树，命中缓存时不再解析
+     *
+     * @param xmlContent XML内容
+     * @param tagMapping 标签映射
+     * @return 只读的结构列表
+     */
+    public List<XmlContentParser.XmlDocumentStructure> get(String xmlContent,
+                                                           XmlContentParser.XmlTagMapping tagMapping) {
+        String key = ConversionCache.key(CACHE_TYPE, tagMapping.fingerprint(),
+                xmlContent.getBytes(StandardCharsets.UTF_8));
+        List<XmlContentParser.XmlDocumentStructure> structures = entries.get(key);
+        if (structures != null) {
+            return structures;
+        }
+
+        // 解析在锁外进行，并发的相同请求最多重复解析一次，结果相同
+        structures = XmlContentParser.freeze(XmlContentParser.parseXmlContent(xmlContent, tagMapping));
+        if (!entries.put(key, structures)) {
+            log.debug("结构树过大，不放入缓存");
+        }
+        return structures;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        return entries.getStatistics();
+    }
+
+    /**
+     * 估算结构树占用的内存：对象头、字段、字符串按UTF-16计算
+     */
+    static long estimateWeight(List<XmlContentParser.XmlDocumentStructure> structures) {
+        long total = 16 + 8L * structures.size();
+        for (XmlContentParser.XmlDocumentStructure structure : structures) {
+            total += 48 + stringWeight(structure.getTagName()) + stringWeight(structure.getContent());
+            for (Map.Entry<String, String> attribute : structure.getAttributes().entrySet()) {
+                total += 32 + stringWeight(attribute.getKey()) + stringWeight(attribute.getValue());
+            }
+            total += estimateWeight(structure.getChildren());
+        }
+        return total;
+    }
+
+    private static long stringWeight(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+}
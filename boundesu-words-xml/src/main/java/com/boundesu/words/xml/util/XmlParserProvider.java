@@ -0,0 +1,366 @@
+package com.boundesu.words.xml.util;
+
+import org.w3c.dom.Document;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.validation.Schema;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * XML解析器提供者
+ * 缓存按配置创建的 {@link DocumentBuilderFactory} 与全局 {@link TransformerFactory}，
+ * 并为每个线程复用 {@link DocumentBuilder} 和 {@link Transformer}，
+ * 避免每次解析都经过服务加载器查找工厂并重新创建解析器。同时统计解析次数与耗时。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class XmlParserProvider {
+
+    private static final Map<ParserSettings, DocumentBuilderFactory> FACTORIES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<ParserSettings, DocumentBuilder>> BUILDERS =
+            ThreadLocal.withInitial(HashMap::new);
+
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+    private static final ThreadLocal<Transformer[]> TRANSFORMERS = ThreadLocal.withInitial(() -> new Transformer[2]);
+
+    private static final AtomicLong PARSE_COUNT = new AtomicLong();
+    private static final AtomicLong PARSE_FAILURES = new AtomicLong();
+    private static final AtomicLong PARSE_NANOS = new AtomicLong();
+    private static final AtomicLong BUILDERS_CREATED = new AtomicLong();
+
+    private XmlParserProvider() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 获取当前线程复用的解析器，返回前已重置状态
+     *
+     * @param settings 解析设置
+     * @return 文档解析器（只能在当前线程使用）
+     * @throws ParserConfigurationException 解析器配置异常
+     */
+    public static DocumentBuilder getDocumentBuilder(ParserSettings settings) throws ParserConfigurationException {
+        Map<ParserSettings, DocumentBuilder> builders = BUILDERS.get();
+        DocumentBuilder builder = builders.get(settings);
+        if (builder == null) {
+            DocumentBuilderFactory factory = FACTORIES.computeIfAbsent(settings, XmlParserProvider::createFactory);
+            // DocumentBuilderFactory 不保证线程安全，只在创建解析器时加锁
+            synchronized (factory) {
+                builder = factory.newDocumentBuilder();
+            }
+            builders.put(settings, builder);
+            BUILDERS_CREATED.incrementAndGet();
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    /**
+     * 解析XML字符串
+     */
+    public static Document parse(String xmlContent, ParserSettings settings)
+            throws ParserConfigurationException, SAXException, IOException {
+        return parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)), settings);
+    }
+
+    /**
+     * 解析XML输入流
+     */
+    public static Document parse(InputStream inputStream, ParserSettings settings)
+            throws ParserConfigurationException, SAXException, IOException {
+        return parse(inputStream, settings, null);
+    }
+
+    /**
+     * 解析XML输入流，校验错误与解析错误交给指定的错误处理器
+     * 设置中带有 {@link ParserSettings#withSchema(Schema)} 时，Schema校验在同一次解析中完成
+     *
+     * @param errorHandler 错误处理器，null 表示使用解析器默认行为
+     */
+    public static Document parse(InputStream inputStream, ParserSettings settings, ErrorHandler errorHandler)
+            throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder = getDocumentBuilder(settings);
+        if (errorHandler != null) {
+            builder.setErrorHandler(errorHandler);
+        }
+        long start = System.nanoTime();
+        try {
+            Document document = builder.parse(inputStream);
+            record(start, true);
+            return document;
+        } catch (SAXException | IOException e) {
+            record(start, false);
+            throw e;
+        }
+    }
+
+    /**
+     * 解析XML文件
+     */
+    public static Document parse(File file, ParserSettings settings)
+            throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder = getDocumentBuilder(settings);
+        long start = System.nanoTime();
+        try {
+            Document document = builder.parse(file);
+            record(start, true);
+            return document;
+        } catch (SAXException | IOException e) {
+            record(start, false);
+            throw e;
+        }
+    }
+
+    /**
+     * 创建空白XML文档
+     */
+    public static Document newDocument() throws ParserConfigurationException {
+        return getDocumentBuilder(ParserSettings.DEFAULT).newDocument();
+    }
+
+    /**
+     * 获取当前线程复用的序列化器，输出UTF-8并包含XML声明
+     * 每次返回前重置并重新设置输出属性，上一次调用方留下的属性、参数和错误监听器不会带到下一次；
+     * 只供 {@link XmlUtils} 在同一线程内立即使用，不对外暴露
+     *
+     * @param prettyPrint 是否缩进输出
+     * @return 序列化器（只能在当前线程使用）
+     * @throws TransformerConfigurationException 序列化器配置异常
+     */
+    static Transformer getTransformer(boolean prettyPrint) throws TransformerConfigurationException {
+        Transformer[] transformers = TRANSFORMERS.get();
+        int slot = prettyPrint ? 1 : 0;
+        Transformer transformer = transformers[slot];
+        if (transformer == null) {
+            synchronized (TRANSFORMER_FACTORY) {
+                transformer = TRANSFORMER_FACTORY.newTransformer();
+            }
+            transformers[slot] = transformer;
+        } else {
+            transformer.reset();
+        }
+        if (prettyPrint) {
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+        }
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+        return transformer;
+    }
+
+    /**
+     * 获取解析统计信息
+     */
+    public static Map<String, Object> getStatistics() {
+        long count = PARSE_COUNT.get();
+        long nanos = PARSE_NANOS.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("parseCount", count);
+        stats.put("parseFailures", PARSE_FAILURES.get());
+        stats.put("totalParseMillis", nanos / 1_000_000);
+        stats.put("averageParseMicros", count == 0 ? 0 : nanos / count / 1_000);
+        stats.put("buildersCreated", BUILDERS_CREATED.get());
+        stats.put("cachedFactories", FACTORIES.size());
+        return stats;
+    }
+
+    /**
+     * 重置解析统计信息
+     */
+    public static void resetStatistics() {
+        PARSE_COUNT.set(0);
+        PARSE_FAILURES.set(0);
+        PARSE_NANOS.set(0);
+        BUILDERS_CREATED.set(0);
+    }
+
+    private static void record(long start, boolean success) {
+        PARSE_NANOS.addAndGet(System.nanoTime() - start);
+        PARSE_COUNT.incrementAndGet();
+        if (!success) {
+            PARSE_FAILURES.incrementAndGet();
+        }
+    }
+
+    private static DocumentBuilderFactory createFactory(ParserSettings settings) {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        // Schema校验需要命名空间信息
+        factory.setNamespaceAware(settings.namespaceAware || settings.schema != null);
+        factory.setValidating(settings.validating);
+        factory.setSchema(settings.schema);
+        factory.setExpandEntityReferences(settings.expandEntityReferences);
+        factory.setIgnoringComments(settings.ignoringComments);
+        factory.setCoalescing(settings.coalescing);
+        if (!settings.resolveExternalEntities) {
+            setFeature(factory, "http://xml.org/sax/features/external-general-entities", false);
+            setFeature(factory, "http://xml.org/sax/features/external-parameter-entities", false);
+            setFeature(factory, "http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setXIncludeAware(false);
+        }
+        return factory;
+    }
+
+    private static void setFeature(DocumentBuilderFactory factory, String feature, boolean value) {
+        try {
+            factory.setFeature(feature, value);
+        } catch (ParserConfigurationException e) {
+            // 解析器实现不支持该特性时忽略
+        }
+    }
+
+    /**
+     * 解析设置
+     * 对应 XmlLoadConfig 中影响解析器创建的选项，相同设置共享同一个工厂
+     */
+    public static final class ParserSettings {
+
+        /** 默认设置：不处理命名空间，展开实体引用，不加载外部实体 */
+        public static final ParserSettings DEFAULT = new ParserSettings(false, false, true, false, false, false, null);
+
+        /** 处理命名空间的设置 */
+        public static final ParserSettings NAMESPACE_AWARE = DEFAULT.withNamespaceAware(true);
+
+        private final boolean namespaceAware;
+        private final boolean validating;
+        private final boolean expandEntityReferences;
+        private final boolean resolveExternalEntities;
+        private final boolean ignoringComments;
+        private final boolean coalescing;
+        /** 解析时同时校验的Schema，按实例区分 */
+        private final Schema schema;
+
+        private ParserSettings(boolean namespaceAware, boolean validating, boolean expandEntityReferences,
+                               boolean resolveExternalEntities, boolean ignoringComments, boolean coalescing,
+                               Schema schema) {
+            this.namespaceAware = namespaceAware;
+            this.validating = validating;
+            this.expandEntityReferences = expandEntityReferences;
+            this.resolveExternalEntities = resolveExternalEntities;
+            this.ignoringComments = ignoringComments;
+            this.coalescing = coalescing;
+            this.schema = schema;
+        }
+
+        public ParserSettings withNamespaceAware(boolean value) {
+            return new ParserSettings(value, validating, expandEntityReferences, resolveExternalEntities,
+                    ignoringComments, coalescing, schema);
+        }
+
+        public ParserSettings withValidating(boolean value) {
+            return new ParserSettings(namespaceAware, value, expandEntityReferences, resolveExternalEntities,
+                    ignoringComments, coalescing, schema);
+        }
+
+        public ParserSettings withExpandEntityReferences(boolean value) {
+            return new ParserSettings(namespaceAware, validating, value, resolveExternalEntities,
+                    ignoringComments, coalescing, schema);
+        }
+
+        public ParserSettings withResolveExternalEntities(boolean value) {
+            return new ParserSettings(namespaceAware, validating, expandEntityReferences, value,
+                    ignoringComments, coalescing, schema);
+        }
+
+        public ParserSettings withIgnoringComments(boolean value) {
+            return new ParserSettings(namespaceAware, validating, expandEntityReferences, resolveExternalEntities,
+                    value, coalescing, schema);
+        }
+
+        public ParserSettings withCoalescing(boolean value) {
+            return new ParserSettings(namespaceAware, validating, expandEntityReferences, resolveExternalEntities,
+                    ignoringComments, value, schema);
+        }
+
+        /**
+         * 解析时使用Schema校验，Schema应来自 {@link XmlSchemaCache} 以便共享解析器工厂
+         */
+        public ParserSettings withSchema(Schema value) {
+            return new ParserSettings(namespaceAware, validating, expandEntityReferences, resolveExternalEntities,
+                    ignoringComments, coalescing, value);
+        }
+
+        public boolean isNamespaceAware() {
+            return namespaceAware;
+        }
+
+        public boolean isValidating() {
+            return validating;
+        }
+
+        public boolean isExpandEntityReferences() {
+            return expandEntityReferences;
+        }
+
+        public boolean isResolveExternalEntities() {
+            return resolveExternalEntities;
+        }
+
+        public boolean isIgnoringComments() {
+            return ignoringComments;
+        }
+
+        public boolean isCoalescing() {
+            return coalescing;
+        }
+
+        public Schema getSchema() {
+            return schema;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParserSettings)) {
+                return false;
+            }
+            ParserSettings that = (ParserSettings) o;
+            return namespaceAware == that.namespaceAware && validating == that.validating
+                    && expandEntityReferences == that.expandEntityReferences
+                    && resolveExternalEntities == that.resolveExternalEntities
+                    && ignoringComments == that.ignoringComments && coalescing == that.coalescing
+                    && schema == that.schema;
+        }
+
+        @Override
+        public int hashCode() {
+            int bits = 0;
+            bits |= namespaceAware ? 1 : 0;
+            bits |= validating ? 2 : 0;
+            bits |= expandEntityReferences ? 4 : 0;
+            bits |= resolveExternalEntities ? 8 : 0;
+            bits |= ignoringComments ? 16 : 0;
+            bits |= coalescing ? 32 : 0;
+            return schema == null ? bits : 31 * System.identityHashCode(schema) + bits;
+        }
+
+        @Override
+        public String toString() {
+            return "ParserSettings{namespaceAware=" + namespaceAware + ", validating=" + validating
+                    + ", expandEntityReferences=" + expandEntityReferences
+                    + ", resolveExternalEntities=" + resolveExternalEntities
+                    + ", ignoringComments=" + ignoringComments + ", coalescing=" + coalescing
+                    + ", schema=" + (schema != null) + "}";
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.boundesu.words.xml.util;
+
+import com.boundesu.words.common.exception.BoundesuWordsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 编译后的XML Schema缓存
+ * {@link Schema} 是线程安全且不可变的，每个位置只编译一次，之后所有校验共享同一实例。
+ * 位置支持文件路径、URL（含 {@code file:}）以及 {@code classpath:} 前缀的类路径资源。
+ *
+ * @author Boundesu Team
+ * @version 1.0.0
+ */
+public final class XmlSchemaCache {
+
+    private static final Logger log = LoggerFactory.getLogger(XmlSchemaCache.class);
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+    private static final AtomicLong COMPILE_COUNT = new AtomicLong();
+    private static final AtomicLong CACHE_HITS = new AtomicLong();
+
+    private XmlSchemaCache() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * 获取指定位置的Schema，首次访问时编译并缓存
+     *
+     * @param location Schema位置
+     * @return 编译后的Schema
+     * @throws BoundesuWordsException Schema不存在或编译失败
+     */
+    public static Schema getSchema(String location) throws BoundesuWordsException {
+        if (location == null || location.trim().isEmpty()) {
+            throw new BoundesuWordsException("XML_SCHEMA_ERROR", "Schema位置不能为空");
+        }
+        Schema schema = SCHEMAS.get(location);
+        if (schema != null) {
+            CACHE_HITS.incrementAndGet();
+            return schema;
+        }
+        try {
+            return SCHEMAS.computeIfAbsent(location, XmlSchemaCache::compileUnchecked);
+        } catch (IllegalStateException e) {
+            throw new BoundesuWordsException("XML_SCHEMA_ERROR", "Schema编译失败: " + location + "，" + e.getMessage(),
+                    e.getCause());
+        }
+    }
+
+    /**
+     * 移除指定位置的缓存，Schema文件更新后调用
+     */
+    public static void evict(String location) {
+        SCHEMAS.remove(location);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        SCHEMAS.clear();
+    }
+
+    /**
+     * 获取缓存统计信息
+     */
+    public static Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cachedSchemas", SCHEMAS.size());
+        stats.put("compileCount", COMPILE_COUNT.get());
+        stats.put("cacheHits", CACHE_HITS.get());
+        return stats;
+    }
+
+    private static Schema compileUnchecked(String location) {
+        try {
+            URL url = resolve(location);
+            // SchemaFactory 不保证线程安全，每次编译单独创建
+            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            long start = System.nanoTime();
+            Schema schema = factory.newSchema(url);
+            COMPILE_COUNT.incrementAndGet();
+            log.debug("编译Schema: {}，耗时 {} ms", location, (System.nanoTime() - start) / 1_000_000);
+            return schema;
+        } catch (SAXException | MalformedURLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static URL resolve(String location) throws MalformedURLException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            String resource = location.substring(CLASSPATH_PREFIX.length());
+            if (resource.startsWith("/")) {
+                resource = resource.substring(1);
+            }
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            URL url = (loader != null ? loader : XmlSchemaCache.class.getClassLoader()).getResource(resource);
+            if (url == null) {
+                throw new MalformedURLException("类路径中不存在: " + resource);
+            }
+            return url;
+        }
+        if (location.contains("://") || location.startsWith("file:")) {
+            return new URL(location);
+        }
+        File file = new File(location);
+        if (!file.isFile()) {
+            throw new MalformedURLException("文件不存在: " + location);
+        }
+        return file.toURI().toURL();
+    }
+}
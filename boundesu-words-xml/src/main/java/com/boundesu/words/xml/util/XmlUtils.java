@@ -5,19 +5,13 @@ import com.boundesu.words.common.util.StringUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
@@ -47,17 +41,24 @@ public class XmlUtils {
      * @throws BoundesuWordsException 解析异常
      */
     public static Document parseXml(String xmlContent) throws BoundesuWordsException {
+        return parseXml(xmlContent, XmlParserProvider.ParserSettings.NAMESPACE_AWARE);
+    }
+
+    /**
+     * 按指定设置解析XML字符串
+     *
+     * @param xmlContent XML内容
+     * @param settings   解析设置
+     * @return XML文档
+     * @throws BoundesuWordsException 解析异常
+     */
+    public static Document parseXml(String xmlContent, XmlParserProvider.ParserSettings settings) throws BoundesuWordsException {
         if (StringUtils.isBlank(xmlContent)) {
             throw new BoundesuWordsException("XML内容不能为空");
         }
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setValidating(false);
-
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.parse(new ByteArrayInputStream(xmlContent.getBytes("UTF-8")));
+            return XmlParserProvider.parse(xmlContent, settings);
         } catch (ParserConfigurationException | SAXException | IOException e) {
             throw new BoundesuWordsException("解析XML失败", e);
         }
@@ -71,17 +72,24 @@ public class XmlUtils {
      * @throws BoundesuWordsException 解析异常
      */
     public static Document parseXmlFile(String xmlFilePath) throws BoundesuWordsException {
+        return parseXmlFile(xmlFilePath, XmlParserProvider.ParserSettings.NAMESPACE_AWARE);
+    }
+
+    /**
+     * 按指定设置解析XML文件
+     *
+     * @param xmlFilePath XML文件路径
+     * @param settings    解析设置
+     * @return XML文档
+     * @throws BoundesuWordsException 解析异常
+     */
+    public static Document parseXmlFile(String xmlFilePath, XmlParserProvider.ParserSettings settings) throws BoundesuWordsException {
         if (StringUtils.isBlank(xmlFilePath)) {
             throw new BoundesuWordsException("XML文件路径不能为空");
         }
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setValidating(false);
-
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.parse(new File(xmlFilePath));
+            return XmlParserProvider.parse(new File(xmlFilePath), settings);
         } catch (ParserConfigurationException | SAXException | IOException e) {
             throw new BoundesuWordsException("解析XML文件失败: " + xmlFilePath, e);
         }
@@ -112,16 +120,7 @@ public class XmlUtils {
         }
 
         try {
-            TransformerFactory factory = TransformerFactory.newInstance();
-            Transformer transformer = factory.newTransformer();
-
-            if (prettyPrint) {
-                transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            }
-
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+            Transformer transformer = XmlParserProvider.getTransformer(prettyPrint);
 
             StringWriter writer = new StringWriter();
             transformer.transform(new DOMSource(document), new StreamResult(writer));
@@ -161,17 +160,7 @@ public class XmlUtils {
         }
 
         try {
-            TransformerFactory factory = TransformerFactory.newInstance();
-            Transformer transformer = factory.newTransformer();
-
-            if (prettyPrint) {
-                transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            }
-
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-
+            Transformer transformer = XmlParserProvider.getTransformer(prettyPrint);
             transformer.transform(new DOMSource(document), new StreamResult(new File(filePath)));
         } catch (TransformerException e) {
             throw new BoundesuWordsException("保存XML文档到文件失败: " + filePath, e);
@@ -186,9 +175,7 @@ public class XmlUtils {
      */
     public static Document createDocument() throws BoundesuWordsException {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.newDocument();
+            return XmlParserProvider.newDocument();
         } catch (ParserConfigurationException e) {
             throw new BoundesuWordsException("创建XML文档失败", e);
         }
@@ -278,10 +265,10 @@ public class XmlUtils {
             return children;
         }
 
-        NodeList nodeList = parent.getElementsByTagName(tagName);
-        for (int i = 0; i < nodeList.getLength(); i++) {
-            Node node = nodeList.item(i);
-            if (node instanceof Element && node.getParentNode() == parent) {
+        // 只遍历直接子节点，避免 getElementsByTagName 扫描整棵子树
+        boolean any = "*".equals(tagName);
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && (any || tagName.equals(node.getNodeName()))) {
                 children.add((Element) node);
             }
         }